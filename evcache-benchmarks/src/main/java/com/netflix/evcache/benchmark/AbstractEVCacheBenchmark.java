@@ -0,0 +1,140 @@
+package com.netflix.evcache.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.netflix.evcache.EVCache;
+import com.netflix.evcache.EVCacheException;
+import com.netflix.evcache.EVCacheLatch;
+import com.netflix.evcache.EVCacheLatch.Policy;
+import com.netflix.evcache.test.EmbeddedMemcachedServer;
+
+/**
+ * Common setup for the EVCache benchmarks.
+ *
+ * Every trial starts one {@link EmbeddedMemcachedServer} per server group, points the app at them through the
+ * {@code <APP>-NODES} property understood by {@link com.netflix.evcache.pool.SimpleNodeListProvider} and builds
+ * an {@link EVCache} for it. The protocol is switched with {@code evcache.use.binary.protocol}. Since that
+ * property and the pool manager are process wide each parameter combination runs in its own fork.
+ *
+ * Throughput mode reports ops/s and SampleTime mode reports the latency percentiles (p99 included). Run with
+ * {@code -prof gc} (the default for the {@code jmh} gradle task) to get the allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public abstract class AbstractEVCacheBenchmark {
+
+    protected static final String APP_NAME = "EVCACHE_BENCHMARK";
+    protected static final int TTL = 900;
+
+    @Param({ "binary", "ascii" })
+    public String protocol;
+
+    @Param({ "2" })
+    public int serverGroups;
+
+    @Param({ "1000" })
+    public int keyCount;
+
+    protected final List<EmbeddedMemcachedServer> servers = new ArrayList<EmbeddedMemcachedServer>();
+    protected EVCache evCache;
+    protected String[] keys;
+
+    @Setup(Level.Trial)
+    public void setupTrial() throws Exception {
+        final StringBuilder nodes = new StringBuilder();
+        for (int i = 0; i < serverGroups; i++) {
+            final EmbeddedMemcachedServer server = new EmbeddedMemcachedServer(0);
+            servers.add(server);
+            if (i > 0) nodes.append(';');
+            nodes.append("SERVERGROUP").append(i + 1).append('=').append(server.getAddress());
+        }
+
+        final Properties props = new Properties();
+        props.setProperty("evcache.use.simple.node.list.provider", "true");
+        props.setProperty(APP_NAME + ".use.simple.node.list.provider", "true");
+        props.setProperty(APP_NAME + "-NODES", nodes.toString());
+        props.setProperty("evcache.use.binary.protocol", String.valueOf("binary".equals(protocol)));
+        configure(props);
+        for (String name : props.stringPropertyNames()) {
+            System.setProperty(name, props.getProperty(name));
+        }
+
+        evCache = new EVCache.Builder().setAppName(APP_NAME).setCachePrefix("bench").enableRetry().build();
+
+        keys = new String[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = "key_" + i;
+        }
+        awaitReady();
+        populate();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownTrial() {
+        for (EmbeddedMemcachedServer server : servers) {
+            server.shutdown();
+        }
+        servers.clear();
+    }
+
+    /**
+     * Hook for subclasses to add app level properties before the {@link EVCache} is built.
+     */
+    protected void configure(Properties props) {
+    }
+
+    /**
+     * Hook for subclasses to load the data they read during the measurement.
+     */
+    protected void populate() throws Exception {
+    }
+
+    protected String randomKey() {
+        return keys[ThreadLocalRandom.current().nextInt(keys.length)];
+    }
+
+    protected static byte[] randomValue(int size) {
+        final byte[] value = new byte[size];
+        ThreadLocalRandom.current().nextBytes(value);
+        return value;
+    }
+
+    protected <T> void setAndWait(String key, T value) throws EVCacheException, InterruptedException {
+        final EVCacheLatch latch = evCache.set(key, value, TTL, Policy.ALL);
+        if (!latch.await(2, TimeUnit.SECONDS)) throw new IllegalStateException("Timed out writing " + key);
+    }
+
+    /*
+     * The pool connects asynchronously, wait until a write is acknowledged by every server group.
+     */
+    private void awaitReady() throws Exception {
+        final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(30);
+        while (System.currentTimeMillis() < deadline) {
+            final EVCacheLatch latch = evCache.set("ready", "ready", TTL, Policy.ALL);
+            if (latch.await(1, TimeUnit.SECONDS) && latch.getSuccessCount() == serverGroups && "ready".equals(evCache.get("ready"))) return;
+            Thread.sleep(100);
+        }
+        throw new IllegalStateException("EVCache " + APP_NAME + " did not become ready for " + servers);
+    }
+}
@@ -0,0 +1,58 @@
+package com.netflix.evcache.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Multi key reads through {@code EVCacheImpl.getBulk}. Exercises the node grouping in
+ * {@code EVCacheMemcachedClient.asyncGetBulk}, the read queue admission in {@code EVCacheClient} and the key
+ * canonicalization in {@code EVCacheKey}. {@code hitRatio} controls how many of the requested keys exist so the
+ * partial fallback path is covered as well.
+ */
+@Threads(2)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EVCacheBulkBenchmark extends AbstractEVCacheBenchmark {
+
+    private static final int BATCHES = 64;
+
+    @Param({ "10", "100", "500" })
+    public int bulkSize;
+
+    @Param({ "1.0", "0.5" })
+    public double hitRatio;
+
+    @Param({ "100" })
+    public int valueSize;
+
+    private List<List<String>> batches;
+
+    @Override
+    protected void populate() throws Exception {
+        for (String key : keys) {
+            setAndWait(key, randomValue(valueSize));
+        }
+        batches = new ArrayList<List<String>>(BATCHES);
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < BATCHES; i++) {
+            final List<String> batch = new ArrayList<String>(bulkSize);
+            for (int j = 0; j < bulkSize; j++) {
+                final String key = keys[random.nextInt(keys.length)];
+                batch.add(random.nextDouble() < hitRatio ? key : "miss_" + key);
+            }
+            batches.add(batch);
+        }
+    }
+
+    @Benchmark
+    public Map<String, byte[]> getBulk() throws Exception {
+        return evCache.<byte[]> getBulk(batches.get(ThreadLocalRandom.current().nextInt(BATCHES)));
+    }
+}
@@ -0,0 +1,57 @@
+package com.netflix.evcache.benchmark;
+
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Large values with {@code <app>.chunk.data} enabled so {@code EVCacheClient} splits writes into
+ * {@code key_00..key_NN} and reassembles them (and verifies the checksum) on read.
+ */
+@Threads(2)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EVCacheChunkingBenchmark extends AbstractEVCacheBenchmark {
+
+    @Param({ "16384", "131072", "524288" })
+    public int valueSize;
+
+    private static final int CHUNKED_KEYS = 64;
+
+    private byte[] value;
+
+    @Override
+    protected void configure(Properties props) {
+        props.setProperty(APP_NAME + ".chunk.data", "true");
+    }
+
+    @Override
+    protected void populate() throws Exception {
+        value = randomValue(valueSize);
+        for (int i = 0; i < CHUNKED_KEYS; i++) {
+            setAndWait(keys[i], value);
+        }
+    }
+
+    /*
+     * Keep the working set small, every key holds up to half a MB per server group.
+     */
+    @Override
+    protected String randomKey() {
+        return keys[ThreadLocalRandom.current().nextInt(Math.min(CHUNKED_KEYS, keys.length))];
+    }
+
+    @Benchmark
+    public byte[] get() throws Exception {
+        return evCache.<byte[]> get(randomKey());
+    }
+
+    @Benchmark
+    public void set() throws Exception {
+        setAndWait(randomKey(), value);
+    }
+}
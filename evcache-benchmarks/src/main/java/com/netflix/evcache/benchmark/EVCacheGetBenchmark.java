@@ -0,0 +1,37 @@
+package com.netflix.evcache.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Single key reads through {@code EVCacheImpl.get} and {@code getAndTouch}, for hits and misses.
+ */
+@Threads(4)
+public class EVCacheGetBenchmark extends AbstractEVCacheBenchmark {
+
+    @Param({ "100", "1024" })
+    public int valueSize;
+
+    @Override
+    protected void populate() throws Exception {
+        for (String key : keys) {
+            setAndWait(key, randomValue(valueSize));
+        }
+    }
+
+    @Benchmark
+    public byte[] get() throws Exception {
+        return evCache.<byte[]> get(randomKey());
+    }
+
+    @Benchmark
+    public byte[] getMiss() throws Exception {
+        return evCache.<byte[]> get("miss_" + randomKey());
+    }
+
+    @Benchmark
+    public byte[] getAndTouch() throws Exception {
+        return evCache.<byte[]> getAndTouch(randomKey(), TTL);
+    }
+}
@@ -0,0 +1,35 @@
+package com.netflix.evcache.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Threads;
+
+import com.netflix.evcache.EVCacheLatch;
+import com.netflix.evcache.EVCacheLatch.Policy;
+
+/**
+ * Writes through {@code EVCacheImpl.set} to every server group, waiting for all of them to acknowledge so the
+ * measured latency covers the full fan out.
+ */
+@Threads(4)
+public class EVCacheSetBenchmark extends AbstractEVCacheBenchmark {
+
+    @Param({ "100", "1024" })
+    public int valueSize;
+
+    private byte[] value;
+
+    @Override
+    protected void populate() throws Exception {
+        value = randomValue(valueSize);
+    }
+
+    @Benchmark
+    public boolean set() throws Exception {
+        final EVCacheLatch latch = evCache.set(randomKey(), value, TTL, Policy.ALL);
+        latch.await(2, TimeUnit.SECONDS);
+        return latch.isDone();
+    }
+}
@@ -0,0 +1,100 @@
+package com.netflix.evcache.benchmark;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.base.Charsets;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.netflix.evcache.util.KeyHasher;
+import com.netflix.evcache.util.KeyHasher.HashingAlgorithm;
+
+/**
+ * Compares the {@link KeyHasher} paths for every {@link HashingAlgorithm} against the way hashed keys used to be
+ * computed, a new Guava hasher per key followed by a copy of the truncated digest. No memcached server is needed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(2)
+@Fork(1)
+public class KeyHasherBenchmark {
+
+    @Param({ "murmur3", "adler32", "crc32", "sha1", "sha256", "siphash24", "goodfasthash", "md5" })
+    public String algorithm;
+
+    @Param({ "32", "200" })
+    public int keyLength;
+
+    @Param({ "0", "10" })
+    public int maxHashingBytes;
+
+    private HashingAlgorithm hashingAlgorithm;
+    private HashFunction hashFunction;
+    private String key;
+    private ByteBuffer buffer;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        hashingAlgorithm = HashingAlgorithm.valueOf(algorithm);
+        hashFunction = guavaHashFunction(hashingAlgorithm);
+        final StringBuilder sb = new StringBuilder(keyLength).append("evcache:");
+        while (sb.length() < keyLength) sb.append(sb.length() % 10);
+        key = sb.toString();
+        buffer = ByteBuffer.allocate(64);
+    }
+
+    private static HashFunction guavaHashFunction(HashingAlgorithm hashingAlgorithm) {
+        switch (hashingAlgorithm) {
+            case murmur3: return Hashing.murmur3_128();
+            case adler32: return Hashing.adler32();
+            case crc32: return Hashing.crc32();
+            case sha1: return Hashing.sha1();
+            case sha256: return Hashing.sha256();
+            case siphash24: return Hashing.sipHash24();
+            case goodfasthash: return Hashing.goodFastHash(128);
+            default: return Hashing.md5();
+        }
+    }
+
+    @Benchmark
+    public String guavaEncoded() {
+        byte[] digest = hashFunction.newHasher().putString(key, Charsets.UTF_8).hash().asBytes();
+        if (maxHashingBytes > 0 && maxHashingBytes < digest.length) digest = Arrays.copyOfRange(digest, 0, maxHashingBytes);
+        return Base64.getEncoder().withoutPadding().encodeToString(digest);
+    }
+
+    @Benchmark
+    public String encoded() {
+        return KeyHasher.getHashedKeyEncoded(key, hashingAlgorithm, maxHashingBytes);
+    }
+
+    @Benchmark
+    public byte[] bytes() {
+        return KeyHasher.getHashedKeyInBytes(key, hashingAlgorithm, maxHashingBytes);
+    }
+
+    @Benchmark
+    public int byteBuffer() {
+        buffer.clear();
+        return KeyHasher.getHashedKey(key, hashingAlgorithm, maxHashingBytes, buffer);
+    }
+}
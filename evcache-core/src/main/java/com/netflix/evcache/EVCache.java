@@ -1,11 +1,14 @@
 package com.netflix.evcache;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
 
 import javax.annotation.Nullable;
@@ -69,7 +72,7 @@ import rx.Single;
 public interface EVCache {
 
     public static enum Call {
-        GET, GETL, GET_AND_TOUCH, ASYNC_GET, BULK, SET, DELETE, INCR, DECR, TOUCH, APPEND, PREPEND, REPLACE, ADD, APPEND_OR_ADD, GET_ALL, META_GET, META_SET, META_DEBUG
+        GET, GETL, GET_AND_TOUCH, ASYNC_GET, BULK, SET, DELETE, INCR, DECR, TOUCH, APPEND, PREPEND, REPLACE, ADD, APPEND_OR_ADD, GET_ALL, META_GET, META_SET, META_DEBUG, GET_STREAM, SET_STREAM, SET_BULK, DELETE_BULK, TOUCH_BULK
     };
 
     /**
@@ -270,6 +273,54 @@ public interface EVCache {
     <T> EVCacheLatch set(String key, T value, Transcoder<T> tc, int timeToLive, EVCacheLatch.Policy policy)
             throws EVCacheException;
 
+    /**
+     * Set many objects in the EVCACHE (using the default Transcoder) regardless of
+     * any existing value. The keys of all the copies are grouped by memcached node
+     * and enqueued as one batch per node.
+     *
+     * @param values
+     *            the value of each key. Ensure the keys are properly encoded and do
+     *            not contain whitespace or control characters. The max length of a key
+     *            (including prefix) is 250 characters.
+     * @param timeToLive
+     *            the expiration of the objects i.e. less than 30 days in
+     *            seconds or the exact expiry time as UNIX time
+     * @param policy
+     *            The Latch is released once every key has been written on as many
+     *            copies as the Policy requires.
+     * @return EVCacheBulkLatch which encompasses the Operations of all the keys. It
+     *         can also be queried for the status of each key.
+     * @throws EVCacheException
+     *             in the rare circumstance where the request is throttled, no copy
+     *             can be found, chunking is enabled or issues Serializing the values
+     */
+    <T> EVCacheBulkLatch setBulk(Map<String, T> values, int timeToLive, EVCacheLatch.Policy policy) throws EVCacheException;
+
+    /**
+     * Set many objects in the EVCACHE using the given Transcoder regardless of
+     * any existing value. The keys of all the copies are grouped by memcached node
+     * and enqueued as one batch per node.
+     *
+     * @param values
+     *            the value of each key. Ensure the keys are properly encoded and do
+     *            not contain whitespace or control characters. The max length of a key
+     *            (including prefix) is 250 characters.
+     * @param tc
+     *            the Transcoder to serialize the data
+     * @param timeToLive
+     *            the expiration of the objects i.e. less than 30 days in
+     *            seconds or the exact expiry time as UNIX time
+     * @param policy
+     *            The Latch is released once every key has been written on as many
+     *            copies as the Policy requires.
+     * @return EVCacheBulkLatch which encompasses the Operations of all the keys. It
+     *         can also be queried for the status of each key.
+     * @throws EVCacheException
+     *             in the rare circumstance where the request is throttled, no copy
+     *             can be found, chunking is enabled or issues Serializing the values
+     */
+    <T> EVCacheBulkLatch setBulk(Map<String, T> values, Transcoder<T> tc, int timeToLive, EVCacheLatch.Policy policy) throws EVCacheException;
+
     /**
      * Replace an existing object in the EVCACHE using the default Transcoder &
      * default TTL. If the object does not exist in EVCACHE then the value is
@@ -457,6 +508,25 @@ public interface EVCache {
      */
     <T> EVCacheLatch delete(String key, EVCacheLatch.Policy policy) throws EVCacheException;
 
+    /**
+     * Remove many keys from the Cache. The keys of all the copies are grouped by
+     * memcached node and enqueued as one batch per node.
+     *
+     * @param keys
+     *            the non-null keys to be removed. Ensure the keys are properly encoded
+     *            and do not contain whitespace or control characters. The max length
+     *            of a key (including prefix) is 250 characters.
+     * @param policy
+     *            The Latch is released once every key has been removed from as many
+     *            copies as the Policy requires.
+     * @return EVCacheBulkLatch which encompasses the Operations of all the keys. It
+     *         can also be queried for the status of each key.
+     * @throws EVCacheException
+     *             in the rare circumstance where the request is throttled, no copy
+     *             can be found or chunking is enabled
+     */
+    EVCacheBulkLatch deleteBulk(Collection<String> keys, EVCacheLatch.Policy policy) throws EVCacheException;
+
     /**
      * Retrieve the value for the given key.
      *
@@ -877,6 +947,52 @@ public interface EVCache {
      */
     public long decr(String key, long by, long def, int exp) throws EVCacheException;
 
+    /**
+     * Increment the given counter on all the copies in parallel without waiting for the result.
+     *
+     * @param key
+     *            the key. Ensure the key is
+     *            properly encoded and does not contain whitespace or control
+     *            characters. The max length of the key (including prefix)
+     *            is 250 characters.
+     * @param by
+     *            the amount to increment
+     * @param def
+     *            the default value (if the counter does not exist)
+     * @param exp
+     *            the expiration of this object
+     * @param policy
+     *            the number of copies that have to answer before the future completes
+     * @return a future of the highest value returned by the copies, or -1 if we were unable to increment or add. The
+     *         copies that are behind are set to this value once all of them have answered.
+     * @throws EVCacheException
+     *             in the circumstance where the request is throttled or no copy can be found
+     */
+    public CompletableFuture<Long> incrAsync(String key, long by, long def, int exp, Policy policy) throws EVCacheException;
+
+    /**
+     * Decrement the given counter on all the copies in parallel without waiting for the result.
+     *
+     * @param key
+     *            the key. Ensure the key is
+     *            properly encoded and does not contain whitespace or control
+     *            characters. The max length of the key (including prefix)
+     *            is 250 characters.
+     * @param by
+     *            the amount to decrement
+     * @param def
+     *            the default value (if the counter does not exist)
+     * @param exp
+     *            the expiration of this object
+     * @param policy
+     *            the number of copies that have to answer before the future completes
+     * @return a future of the highest value returned by the copies, or -1 if we were unable to decrement or add. The
+     *         copies that are behind are set to this value once all of them have answered.
+     * @throws EVCacheException
+     *             in the circumstance where the request is throttled or no copy can be found
+     */
+    public CompletableFuture<Long> decrAsync(String key, long by, long def, int exp, Policy policy) throws EVCacheException;
+
     /**
      * Append the given value to the existing value in EVCache. You cannot
      * append if the key does not exist in EVCache. If the value has not changed
@@ -1039,6 +1155,27 @@ public interface EVCache {
      */
     <T> EVCacheLatch touch(String key, int ttl, EVCacheLatch.Policy policy) throws EVCacheException;
 
+    /**
+     * Touch many keys, resetting their expiration. The keys of all the copies are
+     * grouped by memcached node and enqueued as one batch per node.
+     *
+     * @param keys
+     *            the non-null keys to touch. Ensure the keys are properly encoded
+     *            and do not contain whitespace or control characters. The max length
+     *            of a key (including prefix) is 250 characters.
+     * @param ttl
+     *            the new expiration of the keys
+     * @param policy
+     *            The Latch is released once every key has been touched on as many
+     *            copies as the Policy requires.
+     * @return EVCacheBulkLatch which encompasses the Operations of all the keys. It
+     *         can also be queried for the status of each key.
+     * @throws EVCacheException
+     *             in the rare circumstance where the request is throttled, no copy
+     *             can be found or chunking is enabled
+     */
+    EVCacheBulkLatch touchBulk(Collection<String> keys, int ttl, EVCacheLatch.Policy policy) throws EVCacheException;
+
     /**
      * Append the given value to the existing value in EVCache. If the Key does not exist the the key will added.
      *
@@ -1098,6 +1235,47 @@ public interface EVCache {
      */
     <T> EVCacheLatch appendOrAdd(String key, T value, Transcoder<T> tc, int timeToLive, Policy policy) throws EVCacheException;
 
+    /**
+     * Set a byte array value in EVCache by writing it to the returned stream, regardless of any existing value.
+     * The value is written to every server group in chunks as the bytes are written to the stream, so it does not
+     * need to be held in memory, and is visible to readers once the stream has been closed.
+     *
+     * Chunking (the {@code <app>.chunk.data} property) must be enabled and keys must not be hashed. The value can be
+     * read with {@link #getStream(String)} or with the get calls as a {@code byte[]}.
+     *
+     * @param key
+     *            the key under which this object should be added. Ensure the
+     *            key is properly encoded and does not contain whitespace or
+     *            control characters. The max length of the key (including prefix)
+     *            is 250 characters.
+     * @param timeToLive
+     *            the expiration of this object i.e. less than 30 days in
+     *            seconds or the exact expiry time as UNIX time
+     * @return the stream to write the value to. Closing it throws an IOException if the value could not be written
+     *         to any server group.
+     * @throws EVCacheException
+     *             if the value can not be written to any server group
+     */
+    OutputStream setStream(String key, int timeToLive) throws EVCacheException;
+
+    /**
+     * Retrieve the value of the given key as a stream of bytes. A chunked value is read a few chunks at a time as
+     * the stream is consumed, so it does not need to be held in memory. A chunk that is missing or a checksum that
+     * does not match once the last chunk is read surface as an IOException from the stream.
+     *
+     * Chunking (the {@code <app>.chunk.data} property) must be enabled and keys must not be hashed.
+     *
+     * @param key
+     *            key to get. Ensure the key is properly encoded and does not
+     *            contain whitespace or control characters. The max length of the key (including prefix)
+     *            is 250 characters.
+     * @return the stream over the bytes of the value or null if the key does not exist
+     * @throws EVCacheException
+     *             if the value is not a byte array or in the circumstance where queue is too full to accept any
+     *             more requests or any IO Related issues
+     */
+    InputStream getStream(String key) throws EVCacheException;
+
     /**
      * The {@code appName} that will be used by this {@code EVCache}.
      *
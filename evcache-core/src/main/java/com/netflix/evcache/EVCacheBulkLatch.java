@@ -0,0 +1,42 @@
+package com.netflix.evcache;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Future;
+
+/**
+ * The latch of a write of many keys. It counts the operations of all the keys and copies, and is released once every
+ * key has completed on as many copies as the {@link EVCacheLatch.Policy} requires.
+ *
+ * The state of each key can be queried any time, so the keys that have to be written again can be found.
+ */
+public interface EVCacheBulkLatch extends EVCacheLatch {
+
+    /**
+     * Returns the Futures of the copies of the given key.
+     *
+     * @param key
+     *            the key as passed to the bulk write
+     * @return the futures of the key, empty if the key is not part of this Latch
+     */
+    List<Future<Boolean>> getFutures(String key);
+
+    /**
+     * Returns the number of copies of the given key that were successfully written.
+     *
+     * @param key
+     *            the key as passed to the bulk write
+     * @return the current successful copy count of the key
+     */
+    int getSuccessCount(String key);
+
+    /**
+     * Returns the keys for which all the operations are completed but fewer copies were successfully written than
+     * the Policy requires (at least one copy if the Policy is NONE). All the keys failed when the write was not
+     * sent at all, for example as it was throttled.
+     *
+     * @return the keys that failed
+     */
+    Set<String> getFailedKeys();
+
+}
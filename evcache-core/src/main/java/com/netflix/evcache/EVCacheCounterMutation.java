@@ -0,0 +1,170 @@
+package com.netflix.evcache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.netflix.evcache.operation.EVCacheOperationFuture;
+import com.netflix.evcache.pool.EVCacheClient;
+
+import net.spy.memcached.CachedData;
+import net.spy.memcached.MemcachedConnection;
+import net.spy.memcached.ops.Operation;
+
+/**
+ * An incr or decr of a counter sent to all the copies in parallel.
+ *
+ * The value completes with the highest value returned once as many copies as the policy requires have answered, or
+ * with -1 if none of them has the counter. Copies that have not answered within the timeout are counted as failed.
+ * Once all the copies have answered the value is reconciled without blocking the caller: a copy that failed is
+ * incremented by 0 with the highest value as the default, and a copy with another value is overwritten with it.
+ */
+class EVCacheCounterMutation {
+
+    private static final Logger log = LoggerFactory.getLogger(EVCacheCounterMutation.class);
+
+    private final boolean incr;
+    private final EVCacheClient[] clients;
+    private final String[] keys;
+    private final int timeToLive;
+    private final int requiredAnswers;
+    private final AtomicLongArray values;
+    private final AtomicIntegerArray answered;
+    private final AtomicInteger answers = new AtomicInteger();
+    private final EVCacheOperationFuture<Long>[] futures;
+    private final CompletableFuture<Long> value = new CompletableFuture<Long>();
+    private final CompletableFuture<Long> reconciledValue = new CompletableFuture<Long>();
+    private volatile ScheduledFuture<?> timeout;
+
+    /**
+     * @param incr true for an incr, false for a decr
+     * @param keys the key of the counter for each client
+     * @param requiredAnswers the number of copies that have to answer before the value is known
+     */
+    @SuppressWarnings("unchecked")
+    EVCacheCounterMutation(boolean incr, EVCacheClient[] clients, String[] keys, int timeToLive, int requiredAnswers) {
+        this.incr = incr;
+        this.clients = clients;
+        this.keys = keys;
+        this.timeToLive = timeToLive;
+        this.requiredAnswers = requiredAnswers;
+        this.values = new AtomicLongArray(clients.length);
+        for (int i = 0; i < clients.length; i++) {
+            values.set(i, -1);
+        }
+        this.answered = new AtomicIntegerArray(clients.length);
+        this.futures = new EVCacheOperationFuture[clients.length];
+    }
+
+    /**
+     * @return the value of the counter once the copies required by the policy have answered
+     */
+    CompletableFuture<Long> getValue() {
+        return value;
+    }
+
+    /**
+     * @return the value of the counter once all the copies have answered or timed out
+     */
+    CompletableFuture<Long> getReconciledValue() {
+        return reconciledValue;
+    }
+
+    /**
+     * Sends the mutation to all the copies.
+     *
+     * @param timeoutMillis the time after which the copies that have not answered are counted as failed
+     */
+    void send(long by, long defaultVal, long timeoutMillis, ScheduledExecutorService scheduler) {
+        if (requiredAnswers <= 0) value.complete(Long.valueOf(-1));
+        for (int i = 0; i < clients.length; i++) {
+            final int index = i;
+            try {
+                final EVCacheOperationFuture<Long> future = mutate(clients[i], keys[i], by, defaultVal);
+                futures[i] = future;
+                future.addListener((EVCacheGetOperationListener<Long>) f -> onAnswer(index, getValue(future)));
+            } catch (Exception e) {
+                if (log.isDebugEnabled()) log.debug("Exception mutating key : " + keys[i] + " in " + clients[i], e);
+                onAnswer(index, -1);
+            }
+        }
+        if (answers.get() < clients.length) timeout = scheduler.schedule(this::timeOut, timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private EVCacheOperationFuture<Long> mutate(EVCacheClient client, String key, long by, long defaultVal) throws EVCacheException {
+        return incr ? client.asyncIncr(key, by, defaultVal, timeToLive) : client.asyncDecr(key, by, defaultVal, timeToLive);
+    }
+
+    private long getValue(EVCacheOperationFuture<Long> future) {
+        try {
+            final Long val = future.get();
+            return (val == null) ? -1 : val.longValue();
+        } catch (Exception e) {
+            if (log.isDebugEnabled()) log.debug("Exception getting the value of key : " + future.getKey(), e);
+            return -1;
+        }
+    }
+
+    private void timeOut() {
+        for (int i = 0; i < clients.length; i++) {
+            if (answered.get(i) != 0) continue;
+            final Operation op = (futures[i] == null) ? null : futures[i].getOperation();
+            if (op != null) {
+                MemcachedConnection.opTimedOut(op);
+                op.timeOut();
+            }
+            onAnswer(i, -1);
+        }
+    }
+
+    private void onAnswer(int index, long val) {
+        if (!answered.compareAndSet(index, 0, 1)) return;
+        values.set(index, val);
+        final int count = answers.incrementAndGet();
+        if (count == requiredAnswers) value.complete(Long.valueOf(getMax()));
+        if (count < clients.length) return;
+
+        final ScheduledFuture<?> scheduledTimeout = timeout;
+        if (scheduledTimeout != null) scheduledTimeout.cancel(false);
+        final long max = getMax();
+        value.complete(Long.valueOf(max));
+        reconcile(max);
+        reconciledValue.complete(Long.valueOf(max));
+    }
+
+    private long getMax() {
+        long max = -1;
+        for (int i = 0; i < values.length(); i++) {
+            max = Math.max(max, values.get(i));
+        }
+        return max;
+    }
+
+    private void reconcile(long max) {
+        if (max == -1) return;
+        CachedData cd = null;
+        for (int i = 0; i < clients.length; i++) {
+            final long val = values.get(i);
+            if (val == max) continue;
+            try {
+                if (val == -1) {
+                    if (log.isDebugEnabled()) log.debug("Copy in " + clients[i] + " had a value = -1 so setting it to current value = " + max + " for key : " + keys[i]);
+                    mutate(clients[i], keys[i], 0, max);
+                } else {
+                    if (log.isDebugEnabled()) log.debug("Copy in " + clients[i] + " had a value of " + val + " so setting it to current value = " + max + " for key : " + keys[i]);
+                    if (cd == null) cd = clients[i].getTranscoder().encode(String.valueOf(max));
+                    clients[i].set(keys[i], cd, timeToLive);
+                }
+            } catch (Exception e) {
+                if (log.isDebugEnabled()) log.debug("Exception reconciling key : " + keys[i] + " in " + clients[i], e);
+            }
+        }
+    }
+}
@@ -2,22 +2,34 @@ package com.netflix.evcache;
 
 import static com.netflix.evcache.util.Sneaky.sneakyThrow;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.management.ManagementFactory;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.management.MBeanServer;
 import javax.management.ObjectName;
@@ -31,7 +43,11 @@ import com.netflix.evcache.EVCacheInMemoryCache.DataNotFoundException;
 import com.netflix.evcache.EVCacheLatch.Policy;
 import com.netflix.evcache.event.EVCacheEvent;
 import com.netflix.evcache.event.EVCacheEventListener;
+import com.netflix.evcache.event.invalidation.EVCacheInvalidationBroadcaster;
+import com.netflix.evcache.metrics.EVCacheMeterTable;
 import com.netflix.evcache.metrics.EVCacheMetricsFactory;
+import com.netflix.evcache.operation.EVCacheBulkGetFuture;
+import com.netflix.evcache.operation.EVCacheBulkLatchImpl;
 import com.netflix.evcache.operation.EVCacheFuture;
 import com.netflix.evcache.operation.EVCacheItem;
 import com.netflix.evcache.operation.EVCacheItemMetaData;
@@ -41,6 +57,7 @@ import com.netflix.evcache.pool.EVCacheClient;
 import com.netflix.evcache.pool.EVCacheClientPool;
 import com.netflix.evcache.pool.EVCacheClientPoolManager;
 import com.netflix.evcache.pool.EVCacheClientUtil;
+import com.netflix.evcache.pool.EVCacheEncodedValue;
 import com.netflix.evcache.pool.EVCacheValue;
 import com.netflix.evcache.pool.ServerGroup;
 import com.netflix.evcache.util.KeyHasher;
@@ -51,10 +68,14 @@ import com.netflix.spectator.api.Tag;
 import com.netflix.spectator.api.Timer;
 
 import net.spy.memcached.CachedData;
+import net.spy.memcached.internal.ListenableFuture;
+import net.spy.memcached.internal.OperationCompletionListener;
+import net.spy.memcached.internal.OperationFuture;
 import net.spy.memcached.transcoders.Transcoder;
 import rx.Observable;
 import rx.Scheduler;
 import rx.Single;
+import rx.schedulers.Schedulers;
 
 /**
  * An implementation of a ephemeral volatile cache.
@@ -83,6 +104,8 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
     private final Property<Boolean> _throwExceptionFP, _zoneFallbackFP, _useInMemoryCache;
     private final Property<Boolean> _bulkZoneFallbackFP;
     private final Property<Boolean> _bulkPartialZoneFallbackFP;
+    private final Property<Boolean> _bulkSplitFallbackFP;
+    private final Property<Integer> _bulkHedgeDelayFP;
     private final List<Tag> tags;
     private EVCacheInMemoryCache<?> cache;
     private EVCacheClientUtil clientUtil = null;
@@ -91,8 +114,9 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
     private final Property<String> hashingAlgo;
     private final Property<Boolean> shouldEncodeHashKey;
     private final Property<Integer> maxHashingBytes;
-    private final EVCacheTranscoder evcacheValueTranscoder;
+    private final EVCacheValueTranscoder evcacheValueTranscoder;
     private final Property<Integer> maxReadDuration, maxWriteDuration;
+    private final EVCacheReadHedger readHedger;
 
     protected final EVCacheClientPoolManager _poolManager;
     private final Map<String, Timer> timerMap = new ConcurrentHashMap<String, Timer>();
@@ -135,6 +159,8 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
         _zoneFallbackFP = propertyRepository.get(_metricName + ".fallback.zone", Boolean.class).orElseGet(_appName + ".fallback.zone").orElse(true);
         _bulkZoneFallbackFP = propertyRepository.get(_appName + ".bulk.fallback.zone", Boolean.class).orElse(true);
         _bulkPartialZoneFallbackFP = propertyRepository.get(_appName+ ".bulk.partial.fallback.zone", Boolean.class).orElse(true);
+        _bulkSplitFallbackFP = propertyRepository.get(_appName+ ".bulk.split.fallback", Boolean.class).orElse(false);
+        _bulkHedgeDelayFP = propertyRepository.get(_appName+ ".bulk.hedge.delay", Integer.class).orElse(-1);
         if(_cacheName == null) {
             _useInMemoryCache = propertyRepository.get(_appName + ".use.inmemory.cache", Boolean.class).orElseGet("evcache.use.inmemory.cache").orElse(false);
         } else {
@@ -144,6 +170,7 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
          maxReadDuration = propertyRepository.get(_appName + ".max.read.duration.metric", Integer.class).orElseGet("evcache.max.write.duration.metric").orElse(20);
          maxWriteDuration = propertyRepository.get(_appName + ".max.write.duration.metric", Integer.class).orElseGet("evcache.max.write.duration.metric").orElse(50);
          ignoreTouch = propertyRepository.get(appName + ".ignore.touch", Boolean.class).orElse(false);
+         readHedger = new EVCacheReadHedger(_appName, poolManager, tags);
 
 
         this.hashKey = propertyRepository.get(appName + ".hash.key", Boolean.class).orElse(false);
@@ -151,8 +178,7 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
         this.shouldEncodeHashKey = propertyRepository.get(appName + ".hash.encode", Boolean.class).orElse(true);
         this.maxHashingBytes = propertyRepository.get(appName + ".hash.max.bytes", Integer.class).orElse(-1);
         this.autoHashKeys = propertyRepository.get(_appName + ".auto.hash.keys", Boolean.class).orElseGet("evcache.auto.hash.keys").orElse(false);
-        this.evcacheValueTranscoder = new EVCacheTranscoder();
-        evcacheValueTranscoder.setCompressionThreshold(Integer.MAX_VALUE);
+        this.evcacheValueTranscoder = new EVCacheValueTranscoder(propertyRepository.get(_appName + ".hash.value.binary", Boolean.class).orElseGet("evcache.hash.value.binary").orElse(false));
 
         // default max key length is 200, instead of using what is defined in MemcachedClientIF.MAX_KEY_LENGTH (250). This is to accommodate
         // auto key prepend with appname for duet feature.
@@ -224,6 +250,27 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
         return _zoneFallback;
     }
 
+    /*
+     * Returns the client of the server group a read of the given client is hedged to, or null if reads are not hedged.
+     */
+    private EVCacheClient getHedgeClient(EVCacheClient client, boolean hasZF) {
+        if (!hasZF || !readHedger.isEnabled()) return null;
+        return _pool.getEVCacheClientForReadExclude(client.getServerGroup());
+    }
+
+    /*
+     * Returns the clients to fall back to, leaving out the server group the read was already hedged to.
+     */
+    private List<EVCacheClient> getEVCacheClientsForReadExcluding(ServerGroup serverGroup, ServerGroup hedgedServerGroup) {
+        final List<EVCacheClient> fbClients = _pool.getEVCacheClientsForReadExcluding(serverGroup);
+        if (hedgedServerGroup == null || fbClients == null || fbClients.isEmpty()) return fbClients;
+        final List<EVCacheClient> clients = new ArrayList<EVCacheClient>(fbClients.size());
+        for (EVCacheClient fbClient : fbClients) {
+            if (!hedgedServerGroup.equals(fbClient.getServerGroup())) clients.add(fbClient);
+        }
+        return clients;
+    }
+
     private boolean shouldLog() {
         return _poolManager.shouldLog(_appName);
     }
@@ -302,6 +349,70 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
         return (EVCacheInMemoryCache<T>) cache;
     }
 
+    /*
+     * Drops a key that was changed from the inmemory cache and, if a broadcaster is set, from the inmemory
+     * caches of the other instances.
+     */
+    private void invalidateInMemoryCache(EVCacheKey evcKey) {
+        final EVCacheInMemoryCache<?> inMemoryCache = this.cache;
+        if (inMemoryCache != null) inMemoryCache.delete(evcKey);
+        if (!_useInMemoryCache.get()) return;
+        final EVCacheInvalidationBroadcaster broadcaster = _poolManager.getInvalidationBroadcaster();
+        if (broadcaster != null) {
+            try {
+                broadcaster.broadcast(_appName, evcKey.getCanonicalKey(false));
+            } catch (Exception e) {
+                if (log.isDebugEnabled() && shouldLog()) log.debug("Exception broadcasting the invalidation for APP " + _appName + ", key : " + evcKey, e);
+            }
+        }
+    }
+
+    /*
+     * Starts the invalidation of keys that are about to be written, or returns null if the inmemory cache is not used.
+     */
+    private InMemoryCacheInvalidation startInMemoryCacheInvalidation(Collection<EVCacheKey> evcKeys) {
+        if (this.cache == null && !_useInMemoryCache.get()) return null;
+        return new InMemoryCacheInvalidation(evcKeys);
+    }
+
+    /**
+     * The keys are dropped from the inmemory cache before they are written, but a read racing with the write can still
+     * load the old value. So once the writes are sent and all of them are complete the keys are dropped again and the
+     * invalidation is broadcast to the other instances. Futures that can not be listened to count as complete.
+     */
+    private final class InMemoryCacheInvalidation implements OperationCompletionListener {
+        private final Collection<EVCacheKey> evcKeys;
+        private final AtomicInteger pending = new AtomicInteger(1);
+
+        private InMemoryCacheInvalidation(Collection<EVCacheKey> evcKeys) {
+            this.evcKeys = evcKeys;
+            final EVCacheInMemoryCache<?> inMemoryCache = EVCacheImpl.this.cache;
+            if (inMemoryCache != null) {
+                for (EVCacheKey evcKey : evcKeys) inMemoryCache.delete(evcKey);
+            }
+        }
+
+        void add(Future<?> future) {
+            if (!(future instanceof ListenableFuture) || future.isDone()) return;
+            pending.incrementAndGet();
+            ((ListenableFuture<?, OperationCompletionListener>) future).addListener(this);
+        }
+
+        void sent() {
+            complete();
+        }
+
+        @Override
+        public void onComplete(OperationFuture<?> future) {
+            complete();
+        }
+
+        private void complete() {
+            if (pending.decrementAndGet() != 0) return;
+            for (EVCacheKey evcKey : evcKeys) invalidateInMemoryCache(evcKey);
+        }
+    }
+
     public <T> T get(String key) throws EVCacheException {
         return this.get(key, (Transcoder<T>) _transcoder);
     }
@@ -321,6 +432,7 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
                     case GETL:
                     case BULK:
                     case ASYNC_GET:
+                    case GET_STREAM:
                         operationType = EVCacheMetricsFactory.READ;
                         break;
                     default :
@@ -351,6 +463,7 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
                 case GETL:
                 case BULK:
                 case ASYNC_GET:
+                case GET_STREAM:
                     operationType = EVCacheMetricsFactory.READ;
                     break;
                 default :
@@ -414,6 +527,21 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
         return doGet(evcKey, tc);
     }
 
+    /*
+     * Reads the key for the in-memory cache. When the servers support meta gets the value is read along with the
+     * seconds it has left to live, otherwise the item only holds the value. Meta gets do not assemble chunks, so
+     * chunked values are read with a get. Returns null on a miss.
+     */
+    <T> EVCacheItem<T> doGetItem(EVCacheKey evcKey, Transcoder<T> tc) throws EVCacheException {
+        final EVCacheClient client = _pool.getEVCacheClientForRead();
+        if (client != null && !client.isChunkingEnabled() && client.getEVCacheMemcachedClient().supportsMetaGets()) return metaGetInternal(evcKey.getKey(), tc, false);
+        final T value = doGet(evcKey, tc);
+        if (value == null) return null;
+        final EVCacheItem<T> item = new EVCacheItem<T>();
+        item.setData(value);
+        return item;
+    }
+
     <T> T doGet(EVCacheKey evcKey , Transcoder<T> tc) throws EVCacheException {
         final boolean throwExc = doThrowException();
         EVCacheClient client = _pool.getEVCacheClientForRead();
@@ -447,9 +575,15 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
         try {
             final boolean hasZF = hasZoneFallback();
             boolean throwEx = hasZF ? false : throwExc;
-            T data = getData(client, evcKey, tc, throwEx, hasZF);
+            final boolean _throwEx = throwEx;
+            final EVCacheClient hedgeClient = getHedgeClient(client, hasZF);
+            final EVCacheReadHedger.Result<T> result = readHedger.get(client, hedgeClient, Call.GET, c -> getData(c, evcKey, tc, _throwEx, hasZF),
+                    c -> getData(c, evcKey, tc, _throwEx, hasZF, Schedulers.computation()));
+            T data = result.getValue();
+            if (result.getHedgedServerGroup() != null) tries++;
+            if (data != null) client = result.getClient();
             if (data == null && hasZF) {
-                final List<EVCacheClient> fbClients = _pool.getEVCacheClientsForReadExcluding(client.getServerGroup());
+                final List<EVCacheClient> fbClients = getEVCacheClientsForReadExcluding(client.getServerGroup(), result.getHedgedServerGroup());
                 if (fbClients != null && !fbClients.isEmpty()) {
                     for (int i = 0; i < fbClients.size(); i++) {
                         final EVCacheClient fbClient = fbClients.get(i);
@@ -507,7 +641,7 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
             throw new EVCacheException("Exception getting data for APP " + _appName + ", key = " + evcKey, ex);
         } finally {
             final long duration = EVCacheMetricsFactory.getInstance().getRegistry().clock().wallTime()- start;
-            getTimer(Call.GET.name(), EVCacheMetricsFactory.READ, cacheOperation, status, tries, maxReadDuration.get().intValue(), client.getServerGroup()).record(duration, TimeUnit.MILLISECONDS);
+            getTimer(Call.GET, EVCacheMetricsFactory.READ, cacheOperation, status, tries, maxReadDuration.get().intValue(), client.getServerGroup()).record(duration, TimeUnit.MILLISECONDS);
             if (log.isDebugEnabled() && shouldLog()) log.debug("GET : APP " + _appName + ", Took " + duration + " milliSec.");
         }
     }
@@ -611,7 +745,7 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
             throw new EVCacheException("Exception getting with metadata for APP " + _appName + ", key = " + evcKey, ex);
         } finally {
             final long duration = EVCacheMetricsFactory.getInstance().getRegistry().clock().wallTime()- start;
-            getTimer(Call.META_DEBUG.name(), EVCacheMetricsFactory.READ, cacheOperation, status, tries, maxReadDuration.get().intValue(), client.getServerGroup()).record(duration, TimeUnit.MILLISECONDS);
+            getTimer(Call.META_DEBUG, EVCacheMetricsFactory.READ, cacheOperation, status, tries, maxReadDuration.get().intValue(), client.getServerGroup()).record(duration, TimeUnit.MILLISECONDS);
             if (log.isDebugEnabled() && shouldLog()) log.debug("META_DEBUG : APP " + _appName + ", Took " + duration + " milliSec.");
         }
     }
@@ -655,9 +789,15 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
         try {
             final boolean hasZF = hasZoneFallback();
             boolean throwEx = hasZF ? false : throwExc;
-            EVCacheItem<T> data = getEVCacheItem(client, evcKey, tc, throwEx, hasZF, isOriginalKeyHashed);
+            final boolean _throwEx = throwEx;
+            final EVCacheClient hedgeClient = getHedgeClient(client, hasZF);
+            final EVCacheReadHedger.Result<EVCacheItem<T>> result = readHedger.get(client, hedgeClient, Call.META_GET, c -> getEVCacheItem(c, evcKey, tc, _throwEx, hasZF, isOriginalKeyHashed),
+                    c -> getEVCacheItem(c, evcKey, tc, _throwEx, hasZF, isOriginalKeyHashed, Schedulers.computation()));
+            EVCacheItem<T> data = result.getValue();
+            if (result.getHedgedServerGroup() != null) tries++;
+            if (data != null) client = result.getClient();
             if (data == null && hasZF) {
-                final List<EVCacheClient> fbClients = _pool.getEVCacheClientsForReadExcluding(client.getServerGroup());
+                final List<EVCacheClient> fbClients = getEVCacheClientsForReadExcluding(client.getServerGroup(), result.getHedgedServerGroup());
                 if (fbClients != null && !fbClients.isEmpty()) {
                     for (int i = 0; i < fbClients.size(); i++) {
                         final EVCacheClient fbClient = fbClients.get(i);
@@ -715,7 +855,7 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
             throw new EVCacheException("Exception getting with meta data for APP " + _appName + ", key = " + evcKey, ex);
         } finally {
             final long duration = EVCacheMetricsFactory.getInstance().getRegistry().clock().wallTime()- start;
-            getTimer(Call.META_GET.name(), EVCacheMetricsFactory.READ, cacheOperation, status, tries, maxReadDuration.get().intValue(), client.getServerGroup()).record(duration, TimeUnit.MILLISECONDS);
+            getTimer(Call.META_GET, EVCacheMetricsFactory.READ, cacheOperation, status, tries, maxReadDuration.get().intValue(), client.getServerGroup()).record(duration, TimeUnit.MILLISECONDS);
             if (log.isDebugEnabled() && shouldLog()) log.debug("META_GET : APP " + _appName + ", Took " + duration + " milliSec.");
         }
     }
@@ -822,7 +962,7 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
             throw new EVCacheException("Exception getting data for APP " + _appName + ", key = " + key, ex);
         } finally {
             final long duration = EVCacheMetricsFactory.getInstance().getRegistry().clock().wallTime()- startTime;
-            getTimer(Call.GET_ALL.name(), EVCacheMetricsFactory.READ, cacheOperation, status, tries, maxReadDuration.get().intValue(), null).record(duration, TimeUnit.MILLISECONDS);
+            getTimer(Call.GET_ALL, EVCacheMetricsFactory.READ, cacheOperation, status, tries, maxReadDuration.get().intValue(), null).record(duration, TimeUnit.MILLISECONDS);
             if (log.isDebugEnabled() && shouldLog()) log.debug("GET : CONSISTENT : APP " + _appName + ", Took " + duration + " milliSec.");
         }
 
@@ -860,9 +1000,11 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
         final long start = EVCacheMetricsFactory.getInstance().getRegistry().clock().wallTime();
         final boolean hasZF = hasZoneFallback();
         final boolean throwEx = hasZF ? false : throwExc;
-        return getData(client, evcKey, tc, throwEx, hasZF, scheduler).flatMap(data -> {
+        final EVCacheClient hedgeClient = getHedgeClient(client, hasZF);
+        return readHedger.get(client, hedgeClient, Call.GET, c -> getData(c, evcKey, tc, throwEx, hasZF, scheduler), scheduler).flatMap(result -> {
+            final T data = result.getValue();
             if (data == null && hasZF) {
-                final List<EVCacheClient> fbClients = _pool.getEVCacheClientsForReadExcluding(client.getServerGroup());
+                final List<EVCacheClient> fbClients = getEVCacheClientsForReadExcluding(client.getServerGroup(), result.getHedgedServerGroup());
                 if (fbClients != null && !fbClients.isEmpty()) {
                     return Observable.concat(Observable.from(fbClients).map(
                             fbClient -> getData(fbClients.indexOf(fbClient), fbClients.size(), fbClient, evcKey, tc, throwEx, throwExc, false, scheduler) //TODO : for the last one make sure to pass throwExc
@@ -906,7 +1048,7 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
             }
         }).doAfterTerminate(() -> {
             final long duration = EVCacheMetricsFactory.getInstance().getRegistry().clock().wallTime()- start;
-            getTimer(Call.GET_AND_TOUCH.name(), EVCacheMetricsFactory.READ, null, EVCacheMetricsFactory.SUCCESS, 1, maxReadDuration.get().intValue(), client.getServerGroup()).record(duration, TimeUnit.MILLISECONDS);
+            getTimer(Call.GET_AND_TOUCH, EVCacheMetricsFactory.READ, null, EVCacheMetricsFactory.SUCCESS, 1, maxReadDuration.get().intValue(), client.getServerGroup()).record(duration, TimeUnit.MILLISECONDS);
             if (log.isDebugEnabled() && shouldLog()) log.debug("GET : APP " + _appName + ", Took " + duration + " milliSec.");
         });
     }
@@ -1026,6 +1168,35 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
         }
     }
 
+    private <T> Single<EVCacheItem<T>> getEVCacheItem(EVCacheClient client, EVCacheKey evcKey, Transcoder<T> tc, boolean throwException, boolean hasZF, boolean isOriginalKeyHashed, Scheduler scheduler) {
+        if (client == null) return Single.error(new IllegalArgumentException("Client cannot be null"));
+        final Transcoder<T> transcoder = (tc == null) ? ((_transcoder == null) ? (Transcoder<T>) client.getTranscoder() : (Transcoder<T>) _transcoder) : tc;
+        final String hashKey = isOriginalKeyHashed ? evcKey.getKey() : evcKey.getHashKey(client.isDuetClient(), client.getHashingAlgorithm(), client.shouldEncodeHashKey(), client.getMaxHashingBytes());
+        final String canonicalKey = evcKey.getCanonicalKey(client.isDuetClient());
+        final Single<EVCacheItem<T>> item;
+        if (hashKey != null) {
+            item = client.metaGet(hashKey, evcacheValueTranscoder, throwException, hasZF, scheduler).map(obj -> {
+                if (obj == null || !(obj.getData() instanceof EVCacheValue)) return null;
+                final EVCacheValue val = (EVCacheValue) obj.getData();
+                // compare the key embedded in the value to the original key only if the original key is not passed hashed
+                if (!isOriginalKeyHashed && !(val.getKey().equals(canonicalKey))) {
+                    incrementFailure(EVCacheMetricsFactory.KEY_HASH_COLLISION, Call.META_GET.name(), EVCacheMetricsFactory.META_GET_OPERATION);
+                    return null;
+                }
+                obj.setData(transcoder.decode(new CachedData(val.getFlags(), val.getValue(), CachedData.MAX_SIZE)));
+                obj.setFlag(val.getFlags());
+                return (EVCacheItem<T>) obj;
+            });
+        } else {
+            item = client.metaGet(canonicalKey, transcoder, throwException, hasZF, scheduler);
+        }
+        return item.onErrorReturn(ex -> {
+            if (log.isDebugEnabled() && shouldLog()) log.debug("Exception while getting with meta data for APP " + _appName + ", key : " + evcKey + "; hasZF : " + hasZF, ex);
+            if (!throwException || hasZF) return null;
+            throw sneakyThrow(ex);
+        });
+    }
+
     private <T> Single<T> getData(int index, int size, EVCacheClient client, EVCacheKey canonicalKey, Transcoder<T> tc, boolean throwEx, boolean throwExc, boolean hasZF, Scheduler scheduler) {
         if(index >= size -1) throwEx = throwExc;
         return getData(client, canonicalKey, tc, throwEx, hasZF, scheduler);
@@ -1033,26 +1204,38 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
 
     private <T> Single<T> getData(EVCacheClient client, EVCacheKey evcKey, Transcoder<T> tc, boolean throwException, boolean hasZF, Scheduler scheduler) {
         if (client == null) return Single.error(new IllegalArgumentException("Client cannot be null"));
-        if(evcKey.getHashKey(client.isDuetClient(), client.getHashingAlgorithm(), client.shouldEncodeHashKey(), client.getMaxHashingBytes()) != null) {
-            return Single.error(new IllegalArgumentException("Not supported"));
-        } else {
-            final Transcoder<T> transcoder = (tc == null) ? ((_transcoder == null) ? (Transcoder<T>) client.getTranscoder() : (Transcoder<T>) _transcoder) : tc;
-            return client.get(evcKey.getCanonicalKey(client.isDuetClient()), transcoder, throwException, hasZF, scheduler).onErrorReturn(ex -> {
-                if (ex instanceof EVCacheReadQueueException) {
-                    if (log.isDebugEnabled() && shouldLog()) log.debug("EVCacheReadQueueException while getting data for APP " + _appName + ", key : " + evcKey + "; hasZF : " + hasZF, ex);
-                    if (!throwException || hasZF) return null;
-                    throw sneakyThrow(ex);
-                } else if (ex instanceof EVCacheException) {
-                    if (log.isDebugEnabled() && shouldLog()) log.debug("EVCacheException while getting data for APP " + _appName + ", key : " + evcKey + "; hasZF : " + hasZF, ex);
-                    if (!throwException || hasZF) return null;
-                    throw sneakyThrow(ex);
-                } else {
-                    if (log.isDebugEnabled() && shouldLog()) log.debug("Exception while getting data for APP " + _appName + ", key : " + evcKey, ex);
-                    if (!throwException || hasZF) return null;
-                    throw sneakyThrow(ex);
+        final Transcoder<T> transcoder = (tc == null) ? ((_transcoder == null) ? (Transcoder<T>) client.getTranscoder() : (Transcoder<T>) _transcoder) : tc;
+        final String hashKey = evcKey.getHashKey(client.isDuetClient(), client.getHashingAlgorithm(), client.shouldEncodeHashKey(), client.getMaxHashingBytes());
+        final String canonicalKey = evcKey.getCanonicalKey(client.isDuetClient());
+        final Single<T> data;
+        if (hashKey != null) {
+            data = client.get(hashKey, evcacheValueTranscoder, throwException, hasZF, scheduler).map(obj -> {
+                if (!(obj instanceof EVCacheValue)) return null;
+                final EVCacheValue val = (EVCacheValue) obj;
+                if (!val.getKey().equals(canonicalKey)) {
+                    incrementFailure(EVCacheMetricsFactory.KEY_HASH_COLLISION, Call.GET.name(), EVCacheMetricsFactory.READ);
+                    return null;
                 }
+                return transcoder.decode(new CachedData(val.getFlags(), val.getValue(), CachedData.MAX_SIZE));
             });
+        } else {
+            data = client.get(canonicalKey, transcoder, throwException, hasZF, scheduler);
         }
+        return data.onErrorReturn(ex -> {
+            if (ex instanceof EVCacheReadQueueException) {
+                if (log.isDebugEnabled() && shouldLog()) log.debug("EVCacheReadQueueException while getting data for APP " + _appName + ", key : " + evcKey + "; hasZF : " + hasZF, ex);
+                if (!throwException || hasZF) return null;
+                throw sneakyThrow(ex);
+            } else if (ex instanceof EVCacheException) {
+                if (log.isDebugEnabled() && shouldLog()) log.debug("EVCacheException while getting data for APP " + _appName + ", key : " + evcKey + "; hasZF : " + hasZF, ex);
+                if (!throwException || hasZF) return null;
+                throw sneakyThrow(ex);
+            } else {
+                if (log.isDebugEnabled() && shouldLog()) log.debug("Exception while getting data for APP " + _appName + ", key : " + evcKey, ex);
+                if (!throwException || hasZF) return null;
+                throw sneakyThrow(ex);
+            }
+        });
     }
 
     private final int MAX_IN_SEC = 2592000;
@@ -1109,10 +1292,12 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
         final long start = EVCacheMetricsFactory.getInstance().getRegistry().clock().wallTime();
         final boolean hasZF = hasZoneFallback();
         final boolean throwEx = hasZF ? false : throwExc;
+        final EVCacheClient hedgeClient = getHedgeClient(client, hasZF);
         //anyway we have to touch all copies so let's just reuse getData instead of getAndTouch
-        return getData(client, evcKey, tc, throwEx, hasZF, scheduler).flatMap(data -> {
+        return readHedger.get(client, hedgeClient, Call.GET_AND_TOUCH, c -> getData(c, evcKey, tc, throwEx, hasZF, scheduler), scheduler).flatMap(result -> {
+            final T data = result.getValue();
             if (data == null && hasZF) {
-                final List<EVCacheClient> fbClients = _pool.getEVCacheClientsForReadExcluding(client.getServerGroup());
+                final List<EVCacheClient> fbClients = getEVCacheClientsForReadExcluding(client.getServerGroup(), result.getHedgedServerGroup());
                 if (fbClients != null && !fbClients.isEmpty()) {
                     return Observable.concat(Observable.from(fbClients).map(
                             //TODO : for the last one make sure to pass throwExc
@@ -1164,7 +1349,7 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
             }
         }).doAfterTerminate(() -> {
             final long duration = EVCacheMetricsFactory.getInstance().getRegistry().clock().wallTime()- start;
-            getTimer(Call.GET_AND_TOUCH.name(), EVCacheMetricsFactory.READ, null, EVCacheMetricsFactory.SUCCESS, 1, maxReadDuration.get().intValue(),client.getServerGroup()).record(duration, TimeUnit.MILLISECONDS);
+            getTimer(Call.GET_AND_TOUCH, EVCacheMetricsFactory.READ, null, EVCacheMetricsFactory.SUCCESS, 1, maxReadDuration.get().intValue(),client.getServerGroup()).record(duration, TimeUnit.MILLISECONDS);
             if (log.isDebugEnabled() && shouldLog()) log.debug("GET_AND_TOUCH : APP " + _appName + ", Took " + duration+ " milliSec.");
         });
     }
@@ -1242,9 +1427,15 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
         try {
             final boolean hasZF = hasZoneFallback();
             boolean throwEx = hasZF ? false : throwExc;
-            T data = getData(client, evcKey, tc, throwEx, hasZF);
+            final boolean _throwEx = throwEx;
+            final EVCacheClient hedgeClient = getHedgeClient(client, hasZF);
+            final EVCacheReadHedger.Result<T> result = readHedger.get(client, hedgeClient, Call.GET_AND_TOUCH, c -> getData(c, evcKey, tc, _throwEx, hasZF),
+                    c -> getData(c, evcKey, tc, _throwEx, hasZF, Schedulers.computation()));
+            T data = result.getValue();
+            if (result.getHedgedServerGroup() != null) tries++;
+            if (data != null) client = result.getClient();
             if (data == null && hasZF) {
-                final List<EVCacheClient> fbClients = _pool.getEVCacheClientsForReadExcluding(client.getServerGroup());
+                final List<EVCacheClient> fbClients = getEVCacheClientsForReadExcluding(client.getServerGroup(), result.getHedgedServerGroup());
                 for (int i = 0; i < fbClients.size(); i++) {
                     final EVCacheClient fbClient = fbClients.get(i);
                     if(i >= fbClients.size() - 1) throwEx = throwExc;
@@ -1305,7 +1496,7 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
             throw new EVCacheException("Exception executing getAndTouch APP " + _appName + ", key = " + evcKey, ex);
         } finally {
             final long duration = EVCacheMetricsFactory.getInstance().getRegistry().clock().wallTime()- start;
-            getTimer(Call.GET_AND_TOUCH.name(), EVCacheMetricsFactory.READ, cacheOperation, status, tries, maxReadDuration.get().intValue(), client.getServerGroup()).record(duration, TimeUnit.MILLISECONDS);
+            getTimer(Call.GET_AND_TOUCH, EVCacheMetricsFactory.READ, cacheOperation, status, tries, maxReadDuration.get().intValue(), client.getServerGroup()).record(duration, TimeUnit.MILLISECONDS);
             if (log.isDebugEnabled() && shouldLog()) log.debug("Took " + duration + " milliSec to get&Touch the value for APP " + _appName + ", key " + evcKey);
         }
     }
@@ -1390,7 +1581,7 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
         } finally {
             final long duration = EVCacheMetricsFactory.getInstance().getRegistry().clock().wallTime()- start;
             getTTLDistributionSummary(Call.TOUCH.name(), EVCacheMetricsFactory.WRITE, EVCacheMetricsFactory.TTL).record(timeToLive);
-            getTimer(Call.TOUCH.name(), EVCacheMetricsFactory.WRITE, null, status, 1, maxWriteDuration.get().intValue(), null).record(duration, TimeUnit.MILLISECONDS);
+            getTimer(Call.TOUCH, EVCacheMetricsFactory.WRITE, null, status, 1, maxWriteDuration.get().intValue(), null).record(duration, TimeUnit.MILLISECONDS);
             if (log.isDebugEnabled() && shouldLog()) log.debug("TOUCH : APP " + _appName + " for key : " + evcKey + " with timeToLive : " + timeToLive);
         }
     }
@@ -1515,7 +1706,7 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
             throw new EVCacheException("Exception getting data for APP " + _appName + ", key : " + key, ex);
         } finally {
             final long duration = EVCacheMetricsFactory.getInstance().getRegistry().clock().wallTime()- start;
-            getTimer(Call.ASYNC_GET.name(), EVCacheMetricsFactory.READ, null, status, 1, maxReadDuration.get().intValue(), client.getServerGroup()).record(duration, TimeUnit.MILLISECONDS);
+            getTimer(Call.ASYNC_GET, EVCacheMetricsFactory.READ, null, status, 1, maxReadDuration.get().intValue(), client.getServerGroup()).record(duration, TimeUnit.MILLISECONDS);
             if (log.isDebugEnabled() && shouldLog()) log.debug("Took " + duration + " milliSec to execute AsyncGet the value for APP " + _appName + ", key " + key);
         }
 
@@ -1523,65 +1714,257 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
     }
 
     private <T> Map<EVCacheKey, T> getBulkData(EVCacheClient client, Collection<EVCacheKey> evcacheKeys, Transcoder<T> tc, boolean throwException, boolean hasZF) throws Exception {
+        return getBulkData(client, evcacheKeys, tc, throwException, hasZF, client.getPool().getBulkReadTimeout().get().longValue());
+    }
+
+    /*
+     * Reads the keys from the client waiting at most timeout milliseconds.
+     */
+    private <T> Map<EVCacheKey, T> getBulkData(EVCacheClient client, Collection<EVCacheKey> evcacheKeys, Transcoder<T> tc, boolean throwException, boolean hasZF, long timeout) throws Exception {
         try {
-            boolean hasHashedKey = false;
             final Map<String, EVCacheKey> keyMap = new HashMap<String, EVCacheKey>(evcacheKeys.size() * 2);
-            for(EVCacheKey evcKey : evcacheKeys) {
-                String key = evcKey.getCanonicalKey(client.isDuetClient());
-                String hashKey = evcKey.getHashKey(client.isDuetClient(), client.getHashingAlgorithm(), client.shouldEncodeHashKey(), client.getMaxHashingBytes());
-                if(hashKey != null) {
-                    if (log.isDebugEnabled() && shouldLog()) log.debug("APP " + _appName + ", key [" + key + "], has been hashed [" + hashKey + "]");
-                    key = hashKey;
-                    hasHashedKey = true;
+            final boolean hasHashedKey = getBulkKeys(client, evcacheKeys, keyMap);
+            if(hasHashedKey) {
+                final Map<String, Object> objMap = client.getBulk(keyMap.keySet(), evcacheValueTranscoder, throwException, hasZF, timeout);
+                return (objMap == null) ? null : decodeBulkData(client, keyMap, objMap, tc, true);
+            } else {
+                if(tc == null && _transcoder != null) tc = (Transcoder<T>)_transcoder;
+                final Map<String, T> objMap = client.getBulk(keyMap.keySet(), tc, throwException, hasZF, timeout);
+                return (objMap == null) ? null : decodeBulkData(client, keyMap, objMap, tc, false);
+            }
+        } catch (Exception ex) {
+            if (log.isDebugEnabled() && shouldLog()) log.debug("Exception while getBulk data for APP " + _appName + ", key : " + evcacheKeys, ex);
+            if (!throwException || hasZF) return null;
+            throw ex;
+        }
+    }
+
+    /*
+     * Fills the keyMap with the keys to read from the given client, hashed if the client hashes keys, mapped to their
+     * EVCacheKey. Returns true if any of the keys was hashed.
+     */
+    private boolean getBulkKeys(EVCacheClient client, Collection<EVCacheKey> evcacheKeys, Map<String, EVCacheKey> keyMap) {
+        boolean hasHashedKey = false;
+        for(EVCacheKey evcKey : evcacheKeys) {
+            String key = evcKey.getCanonicalKey(client.isDuetClient());
+            String hashKey = evcKey.getHashKey(client.isDuetClient(), client.getHashingAlgorithm(), client.shouldEncodeHashKey(), client.getMaxHashingBytes());
+            if(hashKey != null) {
+                if (log.isDebugEnabled() && shouldLog()) log.debug("APP " + _appName + ", key [" + key + "], has been hashed [" + hashKey + "]");
+                key = hashKey;
+                hasHashedKey = true;
+            }
+            keyMap.put(key, evcKey);
+        }
+        return hasHashedKey;
+    }
+
+    /*
+     * Maps the values read for the keys of the keyMap back to their EVCacheKey. Hashed keys are read as EVCacheValue
+     * which is decoded here and dropped if it belongs to another key.
+     */
+    private <T> Map<EVCacheKey, T> decodeBulkData(EVCacheClient client, Map<String, EVCacheKey> keyMap, Map<String, ?> objMap, Transcoder<T> tc, boolean hasHashedKey) {
+        final Map<EVCacheKey, T> retMap = new HashMap<EVCacheKey, T>((int)(objMap.size()/0.75) + 1);
+        for (Map.Entry<String, ?> i : objMap.entrySet()) {
+            final Object obj = i.getValue();
+            final EVCacheKey evcKey = keyMap.get(i.getKey());
+            if(hasHashedKey && obj instanceof EVCacheValue) {
+                if (log.isDebugEnabled() && shouldLog()) log.debug("APP " + _appName + ", The value for key [" + i.getKey() + "] is EVCache Value");
+                final EVCacheValue val = (EVCacheValue)obj;
+                final CachedData cd = new CachedData(val.getFlags(), val.getValue(), CachedData.MAX_SIZE);
+                final T tVal;
+                if(tc == null) {
+                    tVal = (T)client.getTranscoder().decode(cd);
+                } else {
+                    tVal = tc.decode(cd);
                 }
-                keyMap.put(key, evcKey);
+                if(evcKey.getCanonicalKey(client.isDuetClient()).equals(val.getKey())) {
+                    if (log.isDebugEnabled() && shouldLog()) log.debug("APP " + _appName + ", key [" + i.getKey() + "] EVCacheKey " + evcKey);
+                    retMap.put(evcKey, tVal);
+                } else {
+                    if (log.isDebugEnabled() && shouldLog()) log.debug("CACHE COLLISION : APP " + _appName + ", key [" + i.getKey() + "] EVCacheKey " + evcKey);
+                    incrementFailure(EVCacheMetricsFactory.KEY_HASH_COLLISION, Call.BULK.name(), EVCacheMetricsFactory.READ);
+                }
+            } else {
+                if (log.isDebugEnabled() && shouldLog()) log.debug("APP " + _appName + ", key [" + i.getKey() + "] EVCacheKey " + evcKey);
+                retMap.put(evcKey, (T)obj);
             }
-            if(hasHashedKey) {
-                final Map<String, Object> objMap = client.getBulk(keyMap.keySet(), evcacheValueTranscoder, throwException, hasZF);
-                final Map<EVCacheKey, T> retMap = new HashMap<EVCacheKey, T>((int)(objMap.size()/0.75) + 1);
-                for (Map.Entry<String, Object> i : objMap.entrySet()) {
-                    final Object obj = i.getValue();
-                    if(obj instanceof EVCacheValue) {
-                        if (log.isDebugEnabled() && shouldLog()) log.debug("APP " + _appName + ", The value for key [" + i.getKey() + "] is EVCache Value");
-                        final EVCacheValue val = (EVCacheValue)obj;
-                        final CachedData cd = new CachedData(val.getFlags(), val.getValue(), CachedData.MAX_SIZE);
-                        final T tVal;
-                        if(tc == null) {
-                            tVal = (T)client.getTranscoder().decode(cd);
-                        } else {
-                            tVal = tc.decode(cd);
-                        }
-                        final EVCacheKey evcKey = keyMap.get(i.getKey());
-                        if(evcKey.getCanonicalKey(client.isDuetClient()).equals(val.getKey())) {
-                            if (log.isDebugEnabled() && shouldLog()) log.debug("APP " + _appName + ", key [" + i.getKey() + "] EVCacheKey " + evcKey);
-                            retMap.put(evcKey, tVal);
-                        } else {
-                            if (log.isDebugEnabled() && shouldLog()) log.debug("CACHE COLLISION : APP " + _appName + ", key [" + i.getKey() + "] EVCacheKey " + evcKey);
-                            incrementFailure(EVCacheMetricsFactory.KEY_HASH_COLLISION, Call.BULK.name(), EVCacheMetricsFactory.READ);
-                        }
-                    } else {
-                        final EVCacheKey evcKey = keyMap.get(i.getKey());
-                        if (log.isDebugEnabled() && shouldLog()) log.debug("APP " + _appName + ", key [" + i.getKey() + "] EVCacheKey " + evcKey);
-                        retMap.put(evcKey, (T)obj);
+        }
+        return retMap;
+    }
+
+    private List<EVCacheKey> getKeys(EVCacheKey[] keys, BitSet indexes) {
+        final List<EVCacheKey> keyList = new ArrayList<EVCacheKey>(indexes.cardinality());
+        for (int i = indexes.nextSetBit(0); i >= 0; i = indexes.nextSetBit(i + 1)) {
+            keyList.add(keys[i]);
+        }
+        return keyList;
+    }
+
+    /*
+     * Reads the missing keys from all the fallback clients at once and merges the values as each of them answers, until
+     * all the keys are found or the deadline (in System.nanoTime()) passes. The values found are put in retMap and their
+     * keys cleared from missing, so a key takes the value of the first fallback server group that answers with it.
+     * Returns the number of fallback reads sent.
+     */
+    private <T> int getFallbackBulkData(List<EVCacheClient> fbClients, EVCacheKey[] keys, BitSet missing, Map<EVCacheKey, T> retMap, Transcoder<T> tc, long deadline) throws InterruptedException {
+        final CompletionService<Map<EVCacheKey, T>> fbService = new ExecutorCompletionService<Map<EVCacheKey, T>>(_poolManager.getEVCacheBulkFallbackExecutor());
+        final List<Future<Map<EVCacheKey, T>>> fbReads = new ArrayList<Future<Map<EVCacheKey, T>>>(fbClients.size());
+        getBulkDataAsync(fbClients, getKeys(keys, missing), tc, deadline, fbService, fbReads);
+        mergeBulkData(fbService, fbReads, keys, missing, retMap, deadline);
+        return fbReads.size();
+    }
+
+    /*
+     * Sends a read of the keys to each of the fallback clients on the bulk fallback executor through fbService and adds
+     * the reads to fbReads. A read the executor rejects, because all its threads and its queue are busy, is skipped.
+     */
+    private <T> void getBulkDataAsync(List<EVCacheClient> fbClients, List<EVCacheKey> keys, Transcoder<T> tc, long deadline, CompletionService<Map<EVCacheKey, T>> fbService, List<Future<Map<EVCacheKey, T>>> fbReads) {
+        for (EVCacheClient fbClient : fbClients) {
+            final long timeout = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (timeout <= 0) return;
+            try {
+                fbReads.add(fbService.submit(() -> {
+                    if (log.isDebugEnabled() && shouldLog()) log.debug("Fallback for APP " + _appName + ", key [" + keys + "], Fallback Server Group : " + fbClient.getServerGroup().getName());
+                    return getBulkData(fbClient, keys, tc, false, true, timeout);
+                }));
+            } catch (RejectedExecutionException e) {
+                if (log.isDebugEnabled() && shouldLog()) log.debug("Fallback for APP " + _appName + " to Server Group " + fbClient.getServerGroup().getName() + " rejected", e);
+            }
+        }
+    }
+
+    /*
+     * Waits for the fallback reads in the order they complete and puts the values they found for the missing keys in
+     * retMap, clearing those keys from missing. Stops once no key is missing or the deadline (in System.nanoTime())
+     * passes and cancels the reads that have not completed.
+     */
+    private <T> void mergeBulkData(CompletionService<Map<EVCacheKey, T>> fbService, List<Future<Map<EVCacheKey, T>>> fbReads, EVCacheKey[] keys, BitSet missing, Map<EVCacheKey, T> retMap, long deadline) throws InterruptedException {
+        try {
+            for (int pending = fbReads.size(); pending > 0 && !missing.isEmpty(); pending--) {
+                final Future<Map<EVCacheKey, T>> fbRead = fbService.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (fbRead == null) break;
+                final Map<EVCacheKey, T> fbRetMap;
+                try {
+                    fbRetMap = fbRead.get();
+                } catch (ExecutionException | CancellationException e) {
+                    if (log.isDebugEnabled() && shouldLog()) log.debug("Exception during bulk fallback for APP " + _appName, e);
+                    continue;
+                }
+                if (fbRetMap == null || fbRetMap.isEmpty()) continue;
+                for (int i = missing.nextSetBit(0); i >= 0; i = missing.nextSetBit(i + 1)) {
+                    final T value = fbRetMap.get(keys[i]);
+                    if (value != null) {
+                        retMap.put(keys[i], value);
+                        missing.clear(i);
+                        if (log.isDebugEnabled() && shouldLog()) log.debug("Fallback for APP " + _appName + ", key [" + keys[i] + (log.isTraceEnabled() ? "], Value [" + value: "]"));
                     }
                 }
-                return retMap;
+            }
+        } finally {
+            for (Future<Map<EVCacheKey, T>> fbRead : fbReads) {
+                fbRead.cancel(true);
+            }
+        }
+    }
+
+    /*
+     * Reads the keys from the client and, as soon as the read of one of its nodes completes, reads the keys that node
+     * did not have from all the fallback clients at once instead of waiting for the whole bulk read. Nodes
+     * that complete together are retried together. The keys of the nodes that could not take more reads are retried
+     * right away and the keys of the nodes that have not completed within the bulk hedge delay are retried at that
+     * point. Values read from the client take precedence over the fallback ones. The fallback reads are added to
+     * fbReads and the whole read, fallback included, is bounded by the bulk read timeout.
+     *
+     * Returns the keys that were found, or null if the bulk read could not be sent.
+     */
+    private <T> Map<EVCacheKey, T> getBulkDataSplit(EVCacheClient client, List<EVCacheClient> fbClients, Collection<EVCacheKey> evcacheKeys, Transcoder<T> tc, List<Future<Map<EVCacheKey, T>>> fbReads) {
+        final CompletionService<Map<EVCacheKey, T>> fbService = new ExecutorCompletionService<Map<EVCacheKey, T>>(_poolManager.getEVCacheBulkFallbackExecutor());
+        final Set<EVCacheKey> keySet = new LinkedHashSet<EVCacheKey>(evcacheKeys);
+        final EVCacheKey[] keys = keySet.toArray(new EVCacheKey[keySet.size()]);
+        final Map<EVCacheKey, Integer> indexes = new HashMap<EVCacheKey, Integer>(keys.length * 2);
+        for (int i = 0; i < keys.length; i++) {
+            indexes.put(keys[i], Integer.valueOf(i));
+        }
+        final int bulkReadTimeout = client.getPool().getBulkReadTimeout().get().intValue();
+        final long start = System.nanoTime();
+        final long deadline = start + TimeUnit.MILLISECONDS.toNanos(bulkReadTimeout);
+        final int hedgeDelay = _bulkHedgeDelayFP.get().intValue();
+        final long hedgeAt = start + TimeUnit.MILLISECONDS.toNanos(hedgeDelay >= 0 ? hedgeDelay : bulkReadTimeout / 2);
+        try {
+            final Map<String, EVCacheKey> keyMap = new HashMap<String, EVCacheKey>(keys.length * 2);
+            final boolean hasHashedKey = getBulkKeys(client, evcacheKeys, keyMap);
+            final Transcoder<Object> transcoder = (Transcoder<Object>) (hasHashedKey ? evcacheValueTranscoder : ((tc == null) ? _transcoder : tc));
+            final EVCacheBulkGetFuture<Object> future = client.asyncGetBulk(keyMap.keySet(), transcoder);
+
+            final Map<EVCacheKey, T> retMap = new HashMap<EVCacheKey, T>((keys.length * 4) / 3 + 1);
+            final BitSet retried = new BitSet(keys.length);
+            final BitSet retry = new BitSet(keys.length);
+            for (Map.Entry<String, EVCacheKey> i : keyMap.entrySet()) {
+                if (!future.getRequestedKeys().contains(i.getKey())) retry.set(indexes.get(i.getValue()).intValue());
+            }
+            int pendingNodes = future.getNodeCount();
+            while (true) {
+                if (!retry.isEmpty()) {
+                    getBulkDataAsync(fbClients, getKeys(keys, retry), tc, deadline, fbService, fbReads);
+                    retried.or(retry);
+                    retry.clear();
+                }
+                if (pendingNodes == 0) break;
+                final long wait = hedgeAt - System.nanoTime();
+                Collection<String> nodeKeys = (wait > 0) ? future.pollCompletedNode(wait, TimeUnit.NANOSECONDS) : null;
+                if (nodeKeys == null) break;
+                do {
+                    pendingNodes--;
+                    final Map<EVCacheKey, T> nodeRetMap = decodeBulkData(client, keyMap, future.getCompleted(nodeKeys), tc, hasHashedKey);
+                    retMap.putAll(nodeRetMap);
+                    for (String key : nodeKeys) {
+                        final EVCacheKey evcKey = keyMap.get(key);
+                        if (nodeRetMap.get(evcKey) == null) retry.set(indexes.get(evcKey).intValue());
+                    }
+                } while (pendingNodes > 0 && (nodeKeys = future.pollCompletedNode(0, TimeUnit.NANOSECONDS)) != null);
+            }
+            if (pendingNodes > 0) {
+                readHedger.increment(Call.BULK, EVCacheMetricsFactory.HEDGED);
+                for (String key : future.getPendingKeys()) {
+                    retry.set(indexes.get(keyMap.get(key)).intValue());
+                }
+                if (log.isDebugEnabled() && shouldLog()) log.debug("BULK : APP " + _appName + ", hedging keys " + getKeys(keys, retry) + " of the nodes that have not completed within " + TimeUnit.NANOSECONDS.toMillis(hedgeAt - start) + " milliSec");
+                getBulkDataAsync(fbClients, getKeys(keys, retry), tc, deadline, fbService, fbReads);
+                retried.or(retry);
+            }
 
-            } else {
-                if(tc == null && _transcoder != null) tc = (Transcoder<T>)_transcoder;
-                final Map<String, T> objMap = client.getBulk(keyMap.keySet(), tc, throwException, hasZF);
-                final Map<EVCacheKey, T> retMap = new HashMap<EVCacheKey, T>((int)(objMap.size()/0.75) + 1);
-                for (Map.Entry<String, T> i : objMap.entrySet()) {
-                    final EVCacheKey evcKey = keyMap.get(i.getKey());
-                    if (log.isDebugEnabled() && shouldLog()) log.debug("APP " + _appName + ", key [" + i.getKey() + "] EVCacheKey " + evcKey);
-                    retMap.put(evcKey, i.getValue());
+            // wait for the client only if some keys were neither found nor retried, otherwise take what it has read
+            boolean waitForClient = false;
+            for (int i = retried.nextClearBit(0); i < keys.length; i = retried.nextClearBit(i + 1)) {
+                if (retMap.get(keys[i]) == null) {
+                    waitForClient = true;
+                    break;
                 }
-                return retMap;
             }
+            final Map<String, Object> objMap = waitForClient ? future.getSome(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS, false, true) : future.getCompleted();
+            retMap.putAll(decodeBulkData(client, keyMap, objMap, tc, hasHashedKey));
+
+            final BitSet missing = new BitSet(keys.length);
+            for (int i = retried.nextSetBit(0); i >= 0; i = retried.nextSetBit(i + 1)) {
+                if (retMap.get(keys[i]) == null) missing.set(i);
+            }
+            mergeBulkData(fbService, fbReads, keys, missing, retMap, deadline);
+            if (!missing.isEmpty()) {
+                // the nodes that were hedged may have completed while the fallback reads were awaited
+                final Map<EVCacheKey, T> lateRetMap = decodeBulkData(client, keyMap, future.getCompleted(), tc, hasHashedKey);
+                for (int i = missing.nextSetBit(0); i >= 0; i = missing.nextSetBit(i + 1)) {
+                    final T value = lateRetMap.get(keys[i]);
+                    if (value != null) retMap.put(keys[i], value);
+                }
+            }
+            return retMap;
         } catch (Exception ex) {
             if (log.isDebugEnabled() && shouldLog()) log.debug("Exception while getBulk data for APP " + _appName + ", key : " + evcacheKeys, ex);
-            if (!throwException || hasZF) return null;
-            throw ex;
+            for (Future<Map<EVCacheKey, T>> fbRead : fbReads) {
+                fbRead.cancel(true);
+            }
+            fbReads.clear();
+            return null;
         }
     }
 
@@ -1598,41 +1981,76 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
         if (null == keys) throw new IllegalArgumentException();
         if (keys.isEmpty()) return Collections.<String, T> emptyMap();
         checkTTL(timeToLive, Call.BULK);
-        final boolean throwExc = doThrowException();
-        final EVCacheClient client = _pool.getEVCacheClientForRead();
-        if (client == null) {
-            incrementFastFail(EVCacheMetricsFactory.NULL_CLIENT, Call.BULK);
-            if (throwExc) throw new EVCacheException("Could not find a client to get the data in bulk");
-            return Collections.<String, T> emptyMap();// Fast failure
-        }
 
         final Map<String, T> decanonicalR = new HashMap<String, T>((keys.size() * 4) / 3 + 1);
-        final Collection<EVCacheKey> evcKeys = new ArrayList<EVCacheKey>();
-        /* Canonicalize keys and perform fast failure checking */
+        final Collection<EVCacheKey> evcKeys = new ArrayList<EVCacheKey>(keys.size());
         for (String k : keys) {
-            final EVCacheKey evcKey = getEVCacheKey(k);
-            T value = null;
-            if (_useInMemoryCache.get()) {
-                try {
-                    final Transcoder<T> transcoder = (tc == null) ? ((_transcoder == null) ? (Transcoder<T>) _pool.getEVCacheClientForRead().getTranscoder() : (Transcoder<T>) _transcoder) : tc;
-                    value = (T) getInMemoryCache(transcoder).get(evcKey);
-                    if(value == null)  if (log.isInfoEnabled() && shouldLog()) log.info("Value not_found in inmemory cache for APP " + _appName + ", key : " + evcKey + "; value : " + value );
-                } catch (ExecutionException e) {
-                    if (log.isDebugEnabled() && shouldLog()) log.debug("ExecutionException while getting data from InMemory Cache", e);
-                    throw new EVCacheException("ExecutionException", e);
-                }
+            evcKeys.add(getEVCacheKey(k));
+        }
+
+        if (!_useInMemoryCache.get()) {
+            final Map<EVCacheKey, T> retMap = doGetBulk(evcKeys, tc, touch, timeToLive);
+            if (retMap == null) return null;
+            for (Map.Entry<EVCacheKey, T> i : retMap.entrySet()) {
+                decanonicalR.put(i.getKey().getKey(), i.getValue());
             }
-            if(value == null) {
-                evcKeys.add(evcKey);
+            return decanonicalR;
+        }
+
+        /*
+         * The keys missing from the inmemory cache are fetched with a single bulk call. Without touch this goes through
+         * the cache's loadAll, with touch the misses are fetched here so the TTL can be applied and then put in the cache.
+         */
+        final Transcoder<T> transcoder = (tc == null) ? ((_transcoder == null) ? (Transcoder<T>) _pool.getEVCacheClientForRead().getTranscoder() : (Transcoder<T>) _transcoder) : tc;
+        final EVCacheInMemoryCache<T> inMemoryCache = getInMemoryCache(transcoder);
+        final Map<EVCacheKey, T> cached;
+        Map<EVCacheKey, T> fetched = null;
+        try {
+            if (touch) {
+                cached = inMemoryCache.getAllPresent(evcKeys);
+                if (cached.size() < evcKeys.size()) {
+                    final List<EVCacheKey> missingKeys = new ArrayList<EVCacheKey>(evcKeys.size() - cached.size());
+                    for (EVCacheKey evcKey : evcKeys) {
+                        if (!cached.containsKey(evcKey)) missingKeys.add(evcKey);
+                    }
+                    fetched = doGetBulk(missingKeys, tc, touch, timeToLive);
+                    if (fetched != null) {
+                        for (Map.Entry<EVCacheKey, T> i : fetched.entrySet()) {
+                            if (i.getValue() != null) inMemoryCache.put(i.getKey(), i.getValue(), timeToLive);
+                        }
+                    }
+                }
             } else {
-                decanonicalR.put(evcKey.getKey(), value);
-                if (log.isDebugEnabled() && shouldLog()) log.debug("Value retrieved from inmemory cache for APP " + _appName + ", key : " + evcKey + (log.isTraceEnabled() ? "; value : " + value : ""));
+                cached = inMemoryCache.getAll(evcKeys);
             }
+        } catch (ExecutionException e) {
+            if (log.isDebugEnabled() && shouldLog()) log.debug("ExecutionException while getting data from InMemory Cache", e);
+            if (e.getCause() instanceof EVCacheException) throw (EVCacheException) e.getCause();
+            throw new EVCacheException("ExecutionException", e);
+        }
+
+        for (EVCacheKey evcKey : evcKeys) {
+            T value = cached.get(evcKey);
+            if (value == null && fetched != null) value = fetched.get(evcKey);
+            decanonicalR.put(evcKey.getKey(), value);
+            if (value == null && log.isInfoEnabled() && shouldLog()) log.info("Value not_found in inmemory cache for APP " + _appName + ", key : " + evcKey);
         }
-        
-        if(evcKeys.size() == 0 && decanonicalR.size() == keys.size()) {
-        	if (log.isDebugEnabled() && shouldLog()) log.debug("All Values retrieved from inmemory cache for APP " + _appName + ", keys : " + keys + (log.isTraceEnabled() ? "; value : " + decanonicalR : ""));
-        	return decanonicalR;
+        if (log.isDebugEnabled() && shouldLog()) log.debug("Values retrieved through inmemory cache for APP " + _appName + ", keys : " + keys + (log.isTraceEnabled() ? "; value : " + decanonicalR : ""));
+        return decanonicalR;
+    }
+
+    /*
+     * Fetches the given keys from EVCache with a single bulk call, falling back to the other server groups if enabled.
+     * The returned map has an entry for every key that was looked up, with a null value for the misses.
+     */
+    <T> Map<EVCacheKey, T> doGetBulk(final Collection<EVCacheKey> evcKeys, Transcoder<T> tc, boolean touch, int timeToLive) throws EVCacheException {
+        if (evcKeys.isEmpty()) return Collections.<EVCacheKey, T> emptyMap();
+        final boolean throwExc = doThrowException();
+        final EVCacheClient client = _pool.getEVCacheClientForRead();
+        if (client == null) {
+            incrementFastFail(EVCacheMetricsFactory.NULL_CLIENT, Call.BULK);
+            if (throwExc) throw new EVCacheException("Could not find a client to get the data in bulk");
+            return Collections.<EVCacheKey, T> emptyMap();// Fast failure
         }
 
         final EVCacheEvent event = createEVCacheEvent(Collections.singletonList(client), Call.BULK);
@@ -1641,8 +2059,8 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
             try {
                 if (shouldThrottle(event)) {
                     incrementFastFail(EVCacheMetricsFactory.THROTTLED, Call.BULK);
-                    if (throwExc) throw new EVCacheException("Request Throttled for app " + _appName + " & keys " + keys);
-                    return Collections.<String, T> emptyMap();
+                    if (throwExc) throw new EVCacheException("Request Throttled for app " + _appName + " & keys " + evcKeys);
+                    return Collections.<EVCacheKey, T> emptyMap();
                 }
             } catch(EVCacheException ex) {
                 if(throwExc) throw ex;
@@ -1661,9 +2079,35 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
         try {
             final boolean hasZF = hasZoneFallbackForBulk();
             boolean throwEx = hasZF ? false : throwExc;
-            Map<EVCacheKey, T> retMap = getBulkData(client, evcKeys, tc, throwEx, hasZF);
+            Map<EVCacheKey, T> retMap = null;
             List<EVCacheClient> fbClients = null;
-            if (hasZF) {
+            boolean splitRead = false;
+            if (hasZF && _bulkSplitFallbackFP.get() && !client.isChunkingEnabled()) {
+                fbClients = _pool.getEVCacheClientsForReadExcluding(client.getServerGroup());
+                if (fbClients != null && !fbClients.isEmpty()) {
+                    if (event != null) {
+                        try {
+                            if (shouldThrottle(event)) {
+                                status = EVCacheMetricsFactory.THROTTLED;
+                                if (throwExc) throw new EVCacheException("Request Throttled for app " + _appName + " & keys " + evcKeys);
+                                return null;
+                            }
+                        } catch(EVCacheException ex) {
+                            status = EVCacheMetricsFactory.THROTTLED;
+                            if(throwExc) throw ex;
+                            return null;
+                        }
+                    }
+                    final List<Future<Map<EVCacheKey, T>>> fbReads = new ArrayList<Future<Map<EVCacheKey, T>>>();
+                    retMap = getBulkDataSplit(client, fbClients, evcKeys, tc, fbReads);
+                    splitRead = (retMap != null);
+                    tries += fbReads.size();
+                }
+            }
+            // the partial fallback is bounded by the bulk read timeout from here
+            final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(client.getPool().getBulkReadTimeout().get().intValue());
+            if (!splitRead) retMap = getBulkData(client, evcKeys, tc, throwEx, hasZF);
+            if (hasZF && !splitRead) {
                 if (retMap == null || retMap.isEmpty()) {
                     fbClients = _pool.getEVCacheClientsForReadExcluding(client.getServerGroup());
                     if (fbClients != null && !fbClients.isEmpty()) {
@@ -1690,93 +2134,67 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
                         }
                         //increment("BULK-FULL_RETRY-" + ((retMap == null || retMap.isEmpty()) ? "MISS" : "HIT"));
                     }
-                } else if (retMap != null && keys.size() > retMap.size() && _bulkPartialZoneFallbackFP.get()) {
-                    final int initRetrySize = keys.size() - retMap.size();
-                    List<EVCacheKey> retryEVCacheKeys = new ArrayList<EVCacheKey>(initRetrySize);
-                    for (Iterator<EVCacheKey> keysItr = evcKeys.iterator(); keysItr.hasNext();) {
-                        final EVCacheKey key = keysItr.next();
-                        if (!retMap.containsKey(key)) {
-                            retryEVCacheKeys.add(key);
-                        }
+                } else if (retMap != null && evcKeys.size() > retMap.size() && _bulkPartialZoneFallbackFP.get()) {
+                    final EVCacheKey[] keys = evcKeys.toArray(new EVCacheKey[evcKeys.size()]);
+                    final BitSet missing = new BitSet(keys.length);
+                    for (int i = 0; i < keys.length; i++) {
+                        if (retMap.get(keys[i]) == null) missing.set(i);
                     }
 
                     fbClients = _pool.getEVCacheClientsForReadExcluding(client.getServerGroup());
                     if (fbClients != null && !fbClients.isEmpty()) {
-                        for (int ind = 0; ind < fbClients.size(); ind++) {
-                            final EVCacheClient fbClient = fbClients.get(ind);
-                            if (event != null) {
-                                try {
-                                    if (shouldThrottle(event)) {
-                                        status = EVCacheMetricsFactory.THROTTLED;
-                                        if (throwExc) throw new EVCacheException("Request Throttled for app " + _appName + " & keys " + retryEVCacheKeys);
-                                        return null;
-                                    }
-                                } catch(EVCacheException ex) {
+                        if (event != null) {
+                            try {
+                                if (shouldThrottle(event)) {
                                     status = EVCacheMetricsFactory.THROTTLED;
-                                    if(throwExc) throw ex;
+                                    if (throwExc) throw new EVCacheException("Request Throttled for app " + _appName + " & keys " + getKeys(keys, missing));
                                     return null;
                                 }
-                            }
-                            tries++;
-
-                            final Map<EVCacheKey, T> fbRetMap = getBulkData(fbClient, retryEVCacheKeys, tc, false, hasZF);
-                            if (log.isDebugEnabled() && shouldLog()) log.debug("Fallback for APP " + _appName + ", key [" + retryEVCacheKeys + "], Fallback Server Group : " + fbClient .getServerGroup().getName());
-                            for (Map.Entry<EVCacheKey, T> i : fbRetMap.entrySet()) {
-                                retMap.put(i.getKey(), i.getValue());
-                                if (log.isDebugEnabled() && shouldLog()) log.debug("Fallback for APP " + _appName + ", key [" + i.getKey() + (log.isTraceEnabled() ? "], Value [" + i.getValue(): "]"));
-                            }
-                            if (retryEVCacheKeys.size() == fbRetMap.size()) break;
-                            if (ind < fbClients.size()) {
-                                retryEVCacheKeys = new ArrayList<EVCacheKey>(keys.size() - retMap.size());
-                                for (Iterator<EVCacheKey> keysItr = evcKeys.iterator(); keysItr.hasNext();) {
-                                    final EVCacheKey key = keysItr.next();
-                                    if (!retMap.containsKey(key)) {
-                                        retryEVCacheKeys.add(key);
-                                    }
-                                }
+                            } catch(EVCacheException ex) {
+                                status = EVCacheMetricsFactory.THROTTLED;
+                                if(throwExc) throw ex;
+                                return null;
                             }
                         }
+                        tries += getFallbackBulkData(fbClients, keys, missing, retMap, tc, deadline);
                     }
-                    if (log.isDebugEnabled() && shouldLog() && retMap.size() == keys.size()) log.debug("Fallback SUCCESS for APP " + _appName + ",  retMap [" + retMap + "]");
+                    if (log.isDebugEnabled() && shouldLog() && retMap.size() == evcKeys.size()) log.debug("Fallback SUCCESS for APP " + _appName + ",  retMap [" + retMap + "]");
                 }
             }
 
-            if(decanonicalR.isEmpty()) {
-                if (retMap == null || retMap.isEmpty()) {
-                    if (log.isInfoEnabled() && shouldLog()) log.info("BULK : APP " + _appName + " ; Full cache miss for keys : " + keys);
-                    if (event != null) event.setAttribute("status", "BMISS_ALL");
-                    final Map<String, T> returnMap = new HashMap<String, T>();
-                    if (retMap != null && retMap.isEmpty()) {
-                        for (String k : keys) {
-                            returnMap.put(k, null);
-                        }
+            if (retMap == null || retMap.isEmpty()) {
+                if (log.isInfoEnabled() && shouldLog()) log.info("BULK : APP " + _appName + " ; Full cache miss for keys : " + evcKeys);
+                if (event != null) event.setAttribute("status", "BMISS_ALL");
+                final Map<EVCacheKey, T> returnMap = new HashMap<EVCacheKey, T>();
+                if (retMap != null && retMap.isEmpty()) {
+                    for (EVCacheKey k : evcKeys) {
+                        returnMap.put(k, null);
                     }
-                    //increment("BulkMissFull");
-                    cacheOperation = EVCacheMetricsFactory.NO;
-                    /* If both Retry and first request fail Exit Immediately. */
-                    if (event != null) endEvent(event);
-                    return returnMap;
                 }
+                //increment("BulkMissFull");
+                cacheOperation = EVCacheMetricsFactory.NO;
+                /* If both Retry and first request fail Exit Immediately. */
+                if (event != null) endEvent(event);
+                return returnMap;
             }
 
-            /* Decanonicalize the keys */
+            final Map<EVCacheKey, T> resultMap = new HashMap<EVCacheKey, T>((evcKeys.size() * 4) / 3 + 1);
             boolean partialHit = false;
             final List<String> decanonicalHitKeys = new ArrayList<String>(retMap.size());
             for (Iterator<EVCacheKey> itr = evcKeys.iterator(); itr.hasNext();) {
                 final EVCacheKey key = itr.next();
-                final String deCanKey = key.getKey();
                 final T value = retMap.get(key);
                 if (value != null) {
-                    decanonicalR.put(deCanKey, value);
+                    resultMap.put(key, value);
                     if (touch) touchData(key, timeToLive);
-                    decanonicalHitKeys.add(deCanKey);
+                    decanonicalHitKeys.add(key.getKey());
                 } else {
                     partialHit = true;
                     // this ensures the fallback was tried
-                    decanonicalR.put(deCanKey, null);
+                    resultMap.put(key, null);
                 }
             }
-            if (!decanonicalR.isEmpty()) {
+            if (!resultMap.isEmpty()) {
                 if (!partialHit) {
                     if (event != null) event.setAttribute("status", "BHIT");
                 } else {
@@ -1786,13 +2204,13 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
                     }
                     //increment("BulkHitPartial");
                     cacheOperation = EVCacheMetricsFactory.PARTIAL;
-                    if (log.isInfoEnabled() && shouldLog()) log.info("BULK_HIT_PARTIAL for APP " + _appName + ", keys in cache [" + decanonicalR + "], all keys [" + keys + "]");
+                    if (log.isInfoEnabled() && shouldLog()) log.info("BULK_HIT_PARTIAL for APP " + _appName + ", keys in cache [" + decanonicalHitKeys + "], all keys [" + evcKeys + "]");
                 }
             }
 
-            if (log.isDebugEnabled() && shouldLog()) log.debug("BulkGet; APP " + _appName + ", keys : " + keys + (log.isTraceEnabled() ? "; value : " + decanonicalR : ""));
+            if (log.isDebugEnabled() && shouldLog()) log.debug("BulkGet; APP " + _appName + ", keys : " + evcKeys + (log.isTraceEnabled() ? "; value : " + resultMap : ""));
             if (event != null) endEvent(event);
-            return decanonicalR;
+            return resultMap;
         } catch (net.spy.memcached.internal.CheckedOperationTimeoutException ex) {
             status = EVCacheMetricsFactory.TIMEOUT;
             if (log.isDebugEnabled() && shouldLog()) log.debug("CheckedOperationTimeoutException getting bulk data for APP " + _appName + ", keys : " + evcKeys, ex);
@@ -1824,8 +2242,8 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
 //                if(tries >= 0) tagList.add(new BasicTag(EVCacheMetricsFactory.ATTEMPT, String.valueOf(tries)));
                 bulkKeysSize = EVCacheMetricsFactory.getInstance().getDistributionSummary(EVCacheMetricsFactory.OVERALL_KEYS_SIZE, tagList);
             }
-            bulkKeysSize.record(keys.size());
-            getTimer(Call.BULK.name(), EVCacheMetricsFactory.READ, cacheOperation, status, tries, maxReadDuration.get().intValue(), client.getServerGroup()).record(duration, TimeUnit.MILLISECONDS);
+            bulkKeysSize.record(evcKeys.size());
+            getTimer(Call.BULK, EVCacheMetricsFactory.READ, cacheOperation, status, tries, maxReadDuration.get().intValue(), client.getServerGroup()).record(duration, TimeUnit.MILLISECONDS);
             if (log.isDebugEnabled() && shouldLog()) log.debug("BULK : APP " + _appName + " Took " + duration + " milliSec to get the value for key " + evcKeys);
         }
     }
@@ -1891,6 +2309,7 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
         }
 
         final EVCacheKey evcKey = getEVCacheKey(key);
+        final InMemoryCacheInvalidation invalidation = startInMemoryCacheInvalidation(Collections.singletonList(evcKey));
         final EVCacheEvent event = createEVCacheEvent(Arrays.asList(clients), Call.SET);
         if (event != null) {
             event.setEVCacheKeys(Arrays.asList(evcKey));
@@ -1914,28 +2333,18 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
         final EVCacheLatchImpl latch = new EVCacheLatchImpl(policy == null ? Policy.ALL_MINUS_1 : policy, latchCount, _appName);
         try {
             CachedData cd = null;
+            final EVCacheEncodedValue encodedValue = new EVCacheEncodedValue(evcKey, value, tc != null ? tc : _transcoder, evcacheValueTranscoder, timeToLive);
             for (EVCacheClient client : clients) {
-                String canonicalKey = evcKey.getCanonicalKey(client.isDuetClient());
-                String hashKey = evcKey.getHashKey(client.isDuetClient(), client.getHashingAlgorithm(), client.shouldEncodeHashKey(), client.getMaxHashingBytes());
-                if (tc != null) {
-                    cd = tc.encode(value);
-                } else if (_transcoder != null) {
-                    cd = ((Transcoder<Object>) _transcoder).encode(value);
-                } else {
-                    cd = client.getTranscoder().encode(value);
-                }
-                if (hashKey != null) {
-                    final EVCacheValue val = new EVCacheValue(canonicalKey, cd.getData(), cd.getFlags(), timeToLive, System.currentTimeMillis());
-                    cd = evcacheValueTranscoder.encode(val);
-                }
-                final Future<Boolean> future = client.set(hashKey == null ? canonicalKey : hashKey, cd, timeToLive, latch);
+                cd = encodedValue.get(client);
+                final Future<Boolean> future = client.set(evcKey.getDerivedKey(client.isDuetClient(), client.getHashingAlgorithm(), client.shouldEncodeHashKey(), client.getMaxHashingBytes()), cd, timeToLive, latch);
+                if (invalidation != null) invalidation.add(future);
                 if (log.isDebugEnabled() && shouldLog())
                     log.debug("SET : APP " + _appName + ", Future " + future + " for key : " + evcKey);
             }
             if (event != null) {
                 event.setTTL(timeToLive);
                 event.setCachedData(cd);
-                if(_eventsUsingLatchFP.get()) {
+                if(completeEventOnLatch(Call.SET, clients, latch.getPolicy())) {
                     latch.setEVCacheEvent(event);
                     latch.scheduledFutureValidation();
                 } else {
@@ -1950,13 +2359,341 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
             if (!throwExc) return new EVCacheLatchImpl(policy, 0, _appName);
             throw new EVCacheException("Exception setting data for APP " + _appName + ", key : " + evcKey, ex);
         } finally {
+            if (invalidation != null) invalidation.sent();
             final long duration = EVCacheMetricsFactory.getInstance().getRegistry().clock().wallTime()- start;
             getTTLDistributionSummary(Call.SET.name(), EVCacheMetricsFactory.WRITE, EVCacheMetricsFactory.TTL).record(timeToLive);
-            getTimer(Call.SET.name(), EVCacheMetricsFactory.WRITE, null, status, 1, maxWriteDuration.get().intValue(), null).record(duration, TimeUnit.MILLISECONDS);
+            getTimer(Call.SET, EVCacheMetricsFactory.WRITE, null, status, 1, maxWriteDuration.get().intValue(), null).record(duration, TimeUnit.MILLISECONDS);
             if (log.isDebugEnabled() && shouldLog()) log.debug("SET : APP " + _appName + ", Took " + duration + " milliSec for key : " + evcKey);
         }
     }
 
+    @Override
+    public <T> EVCacheBulkLatch setBulk(Map<String, T> values, int timeToLive, Policy policy) throws EVCacheException {
+        return setBulk(values, (Transcoder<T>) _transcoder, timeToLive, policy);
+    }
+
+    @Override
+    public <T> EVCacheBulkLatch setBulk(Map<String, T> values, Transcoder<T> tc, int timeToLive, Policy policy) throws EVCacheException {
+        if (null == values) throw new IllegalArgumentException("Values cannot be null");
+        return writeBulk(Call.SET_BULK, values.keySet(), values, tc, timeToLive, policy);
+    }
+
+    @Override
+    public EVCacheBulkLatch deleteBulk(Collection<String> keys, Policy policy) throws EVCacheException {
+        if (null == keys) throw new IllegalArgumentException("Keys cannot be null");
+        return writeBulk(Call.DELETE_BULK, keys, null, null, 0, policy);
+    }
+
+    @Override
+    public EVCacheBulkLatch touchBulk(Collection<String> keys, int timeToLive, Policy policy) throws EVCacheException {
+        if (null == keys) throw new IllegalArgumentException("Keys cannot be null");
+        return writeBulk(Call.TOUCH_BULK, keys, null, null, timeToLive, policy);
+    }
+
+    /**
+     * Returns true if the event of a write is completed by its latch. Quiet writes are never acknowledged, so the event
+     * is ended right away when all the clients write the call quietly.
+     */
+    private boolean completeEventOnLatch(Call call, EVCacheClient[] clients, Policy policy) {
+        if (!_eventsUsingLatchFP.get()) return false;
+        if (call == Call.TOUCH_BULK) return true;
+        for (EVCacheClient client : clients) {
+            if (!client.writesQuietly(policy)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Writes many keys with one event, latch and timer for the whole call. Each value is encoded once for all the
+     * copies, and each client enqueues the keys of a node as one batch.
+     */
+    private <T> EVCacheBulkLatch writeBulk(Call call, Collection<String> keys, Map<String, T> values, Transcoder<T> tc, int timeToLive, Policy policy) throws EVCacheException {
+        if (call != Call.DELETE_BULK) checkTTL(timeToLive, call);
+        final Policy latchPolicy = (policy == null) ? Policy.ALL_MINUS_1 : policy;
+
+        final boolean throwExc = doThrowException();
+        final EVCacheClient[] clients = _pool.getEVCacheClientForWrite();
+        if (clients.length == 0) {
+            incrementFastFail(EVCacheMetricsFactory.NULL_CLIENT, call);
+            if (throwExc) throw new EVCacheException("Could not find a client to write the data");
+            return new EVCacheBulkLatchImpl(latchPolicy, 0, keys, _appName); // Fast failure, every key is failed
+        }
+
+        final List<EVCacheKey> evcKeys = new ArrayList<EVCacheKey>(keys.size());
+        for (String key : keys) {
+            if (key == null || (values != null && values.get(key) == null)) throw new IllegalArgumentException("Key or value cannot be null");
+            evcKeys.add(getEVCacheKey(key));
+        }
+        final InMemoryCacheInvalidation invalidation = (call == Call.TOUCH_BULK) ? null : startInMemoryCacheInvalidation(evcKeys);
+        final EVCacheEvent event = createEVCacheEvent(Arrays.asList(clients), call);
+        if (event != null) {
+            event.setEVCacheKeys(evcKeys);
+            try {
+                if (shouldThrottle(event)) {
+                    incrementFastFail(EVCacheMetricsFactory.THROTTLED, call);
+                    if (throwExc) throw new EVCacheException("Request Throttled for app " + _appName + " & keys " + keys);
+                    return new EVCacheBulkLatchImpl(latchPolicy, 0, keys, _appName);
+                }
+            } catch(EVCacheException ex) {
+                if(throwExc) throw ex;
+                incrementFastFail(EVCacheMetricsFactory.THROTTLED, call);
+                return new EVCacheBulkLatchImpl(latchPolicy, 0, keys, _appName);
+            }
+            startEvent(event);
+        }
+
+        final long start = EVCacheMetricsFactory.getInstance().getRegistry().clock().wallTime();
+        String status = EVCacheMetricsFactory.SUCCESS;
+        final EVCacheBulkLatchImpl latch = new EVCacheBulkLatchImpl(latchPolicy, clients.length - _pool.getWriteOnlyEVCacheClients().length, keys, _appName);
+        int written = 0;
+        try {
+            final EVCacheEncodedValue[] encodedValues = (values == null) ? null : new EVCacheEncodedValue[evcKeys.size()];
+            final int mapSize = (int) (evcKeys.size() / 0.75) + 1;
+            for (EVCacheClient client : clients) {
+                final Map<String, String> keysByDerivedKey = new HashMap<String, String>(mapSize);
+                final Map<String, CachedData> clientValues = (values == null) ? null : new HashMap<String, CachedData>(mapSize);
+                for (int i = 0; i < evcKeys.size(); i++) {
+                    final EVCacheKey evcKey = evcKeys.get(i);
+                    final String derivedKey = evcKey.getDerivedKey(client.isDuetClient(), client.getHashingAlgorithm(), client.shouldEncodeHashKey(), client.getMaxHashingBytes());
+                    keysByDerivedKey.put(derivedKey, evcKey.getKey());
+                    if (values != null) {
+                        if (encodedValues[i] == null) encodedValues[i] = new EVCacheEncodedValue(evcKey, values.get(evcKey.getKey()), tc != null ? tc : _transcoder, evcacheValueTranscoder, timeToLive);
+                        clientValues.put(derivedKey, encodedValues[i].get(client));
+                    }
+                }
+
+                final Map<String, ListenableFuture<Boolean, OperationCompletionListener>> futures;
+                if (call == Call.SET_BULK) {
+                    futures = client.setBulk(clientValues, timeToLive, latchPolicy);
+                } else if (call == Call.TOUCH_BULK) {
+                    futures = client.touchBulk(keysByDerivedKey.keySet(), timeToLive);
+                } else {
+                    futures = client.deleteBulk(keysByDerivedKey.keySet(), latchPolicy);
+                }
+                if (invalidation != null) {
+                    for (Future<Boolean> future : futures.values()) invalidation.add(future);
+                }
+                if (!client.isInWriteOnly()) {
+                    for (Map.Entry<String, ListenableFuture<Boolean, OperationCompletionListener>> entry : futures.entrySet()) {
+                        latch.addFuture(keysByDerivedKey.get(entry.getKey()), entry.getValue());
+                    }
+                }
+                written++;
+            }
+            if (event != null) {
+                event.setTTL(timeToLive);
+                if(completeEventOnLatch(call, clients, latchPolicy)) {
+                    latch.setEVCacheEvent(event);
+                } else {
+                    endEvent(event);
+                }
+            }
+            return latch;
+        } catch (Exception ex) {
+            if (log.isDebugEnabled() && shouldLog()) log.debug("Exception writing the data for APP " + _appName + ", keys : " + evcKeys, ex);
+            status = EVCacheMetricsFactory.ERROR;
+            if (event != null) {
+                event.setStatus(status);
+                eventError(event, ex);
+            }
+            if (!throwExc) {
+                // the writes already enqueued are reported as they complete, the copies of the other clients as failed
+                for (int i = written; i < clients.length; i++) {
+                    if (clients[i].isInWriteOnly()) continue;
+                    for (String key : keys) latch.addFuture(key, new EVCacheClient.DefaultFuture());
+                }
+                return latch;
+            }
+            throw new EVCacheException("Exception writing data for APP " + _appName + ", keys : " + evcKeys, ex);
+        } finally {
+            if (invalidation != null) invalidation.sent();
+            final long duration = EVCacheMetricsFactory.getInstance().getRegistry().clock().wallTime()- start;
+            if (call != Call.DELETE_BULK) getTTLDistributionSummary(call.name(), EVCacheMetricsFactory.WRITE, EVCacheMetricsFactory.TTL).record(timeToLive);
+            getTimer(call, EVCacheMetricsFactory.WRITE, null, status, 1, maxWriteDuration.get().intValue(), null).record(duration, TimeUnit.MILLISECONDS);
+            if (log.isDebugEnabled() && shouldLog()) log.debug(call + " : APP " + _appName + ", Took " + duration + " milliSec for " + evcKeys.size() + " keys");
+        }
+    }
+
+    public OutputStream setStream(String key, int timeToLive) throws EVCacheException {
+        if (null == key) throw new IllegalArgumentException("Key cannot be null");
+        checkTTL(timeToLive, Call.SET_STREAM);
+
+        final EVCacheClient[] clients = _pool.getEVCacheClientForWrite();
+        if (clients.length == 0) {
+            incrementFastFail(EVCacheMetricsFactory.NULL_CLIENT, Call.SET_STREAM);
+            throw new EVCacheException("Could not find a client to set the data");
+        }
+
+        final EVCacheKey evcKey = getEVCacheKey(key);
+        final EVCacheEvent event = createEVCacheEvent(Arrays.asList(clients), Call.SET_STREAM);
+        if (event != null) {
+            event.setEVCacheKeys(Arrays.asList(evcKey));
+            if (shouldThrottle(event)) {
+                incrementFastFail(EVCacheMetricsFactory.THROTTLED, Call.SET_STREAM);
+                throw new EVCacheException("Request Throttled for app " + _appName + " & key " + key);
+            }
+            startEvent(event);
+        }
+
+        final List<OutputStream> streams = new ArrayList<OutputStream>(clients.length);
+        final List<ServerGroup> serverGroups = new ArrayList<ServerGroup>(clients.length);
+        for (EVCacheClient client : clients) {
+            requireUnhashedKey(client, evcKey);
+            try {
+                streams.add(client.setStream(evcKey.getDerivedKey(client.isDuetClient(), client.getHashingAlgorithm(), client.shouldEncodeHashKey(), client.getMaxHashingBytes()), timeToLive));
+                serverGroups.add(client.getServerGroup());
+            } catch (EVCacheException ex) {
+                if (log.isDebugEnabled() && shouldLog()) log.debug("SET_STREAM : APP " + _appName + ", unable to write key : " + evcKey + " to " + client.getServerGroup(), ex);
+            }
+        }
+        if (streams.isEmpty()) {
+            if (event != null) endEvent(event);
+            throw new EVCacheException("Could not find a server group to set the data for APP " + _appName + ", key : " + evcKey);
+        }
+        if (event != null) event.setTTL(timeToLive);
+        return new ReplicatedOutputStream(evcKey, streams, serverGroups, event);
+    }
+
+    public InputStream getStream(String key) throws EVCacheException {
+        if (null == key) throw new IllegalArgumentException("Key cannot be null");
+        final boolean throwExc = doThrowException();
+        EVCacheClient client = _pool.getEVCacheClientForRead();
+        if (client == null) {
+            incrementFastFail(EVCacheMetricsFactory.NULL_CLIENT, Call.GET_STREAM);
+            if (throwExc) throw new EVCacheException("Could not find a client to get the data APP " + _appName);
+            return null; // Fast failure
+        }
+
+        final EVCacheKey evcKey = getEVCacheKey(key);
+        final long start = EVCacheMetricsFactory.getInstance().getRegistry().clock().wallTime();
+        String status = EVCacheMetricsFactory.SUCCESS;
+        String cacheOperation = EVCacheMetricsFactory.YES;
+        int tries = 1;
+        try {
+            final boolean hasZF = hasZoneFallback();
+            InputStream in = getStream(client, evcKey, hasZF ? false : throwExc);
+            if (in == null && hasZF) {
+                final List<EVCacheClient> fbClients = _pool.getEVCacheClientsForReadExcluding(client.getServerGroup());
+                if (fbClients != null) {
+                    for (int i = 0; i < fbClients.size() && in == null; i++) {
+                        tries++;
+                        client = fbClients.get(i);
+                        in = getStream(client, evcKey, (i == fbClients.size() - 1) ? throwExc : false);
+                    }
+                }
+            }
+            if (in == null) {
+                cacheOperation = EVCacheMetricsFactory.NO;
+                if (log.isInfoEnabled() && shouldLog()) log.info("GET_STREAM : APP " + _appName + " ; cache miss for key : " + evcKey);
+            }
+            if (log.isDebugEnabled() && shouldLog()) log.debug("GET_STREAM : APP " + _appName + ", key [" + evcKey + "], ServerGroup : " + client.getServerGroup());
+            return in;
+        } catch (EVCacheException ex) {
+            status = EVCacheMetricsFactory.ERROR;
+            if (!throwExc) return null;
+            throw ex;
+        } catch (Exception ex) {
+            status = EVCacheMetricsFactory.ERROR;
+            if (!throwExc) return null;
+            throw new EVCacheException("Exception getting the stream for APP " + _appName + ", key = " + evcKey, ex);
+        } finally {
+            final long duration = EVCacheMetricsFactory.getInstance().getRegistry().clock().wallTime()- start;
+            getTimer(Call.GET_STREAM, EVCacheMetricsFactory.READ, cacheOperation, status, tries, maxReadDuration.get().intValue(), client.getServerGroup()).record(duration, TimeUnit.MILLISECONDS);
+            if (log.isDebugEnabled() && shouldLog()) log.debug("GET_STREAM : APP " + _appName + ", Took " + duration + " milliSec.");
+        }
+    }
+
+    private InputStream getStream(EVCacheClient client, EVCacheKey evcKey, boolean throwExc) throws Exception {
+        requireUnhashedKey(client, evcKey);
+        return client.getStream(evcKey.getDerivedKey(client.isDuetClient(), client.getHashingAlgorithm(), client.shouldEncodeHashKey(), client.getMaxHashingBytes()), throwExc);
+    }
+
+    // the envelope of hashed keys carries the canonical key ahead of the value and can't be written as it is produced
+    private void requireUnhashedKey(EVCacheClient client, EVCacheKey evcKey) throws EVCacheException {
+        if (evcKey.getHashKey(client.isDuetClient(), client.getHashingAlgorithm(), client.shouldEncodeHashKey(), client.getMaxHashingBytes()) != null) {
+            throw new EVCacheException("Streaming is not supported for hashed keys. APP " + _appName + ", ServerGroup : " + client.getServerGroup());
+        }
+    }
+
+    /**
+     * Writes a streamed value to every server group. A server group that fails is dropped and the write only fails
+     * if it fails in all of them. The key is dropped from the inmemory cache and the invalidation is broadcast once
+     * the stream is closed, as the value is only replaced then.
+     */
+    private final class ReplicatedOutputStream extends OutputStream {
+        private final EVCacheKey evcKey;
+        private final List<OutputStream> streams;
+        private final List<ServerGroup> serverGroups;
+        private final EVCacheEvent event;
+        private final long start = EVCacheMetricsFactory.getInstance().getRegistry().clock().wallTime();
+        private boolean closed = false;
+
+        ReplicatedOutputStream(EVCacheKey evcKey, List<OutputStream> streams, List<ServerGroup> serverGroups, EVCacheEvent event) {
+            this.evcKey = evcKey;
+            this.streams = streams;
+            this.serverGroups = serverGroups;
+            this.event = event;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (closed) throw new IOException("Stream closed");
+            for (int i = streams.size() - 1; i >= 0; i--) {
+                try {
+                    streams.get(i).write(b, off, len);
+                } catch (IOException ex) {
+                    drop(i, ex);
+                }
+            }
+            if (streams.isEmpty()) {
+                close();
+                throw new IOException("Unable to write key " + evcKey + " to any server group of APP " + _appName);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) return;
+            closed = true;
+            String status = EVCacheMetricsFactory.SUCCESS;
+            try {
+                for (int i = streams.size() - 1; i >= 0; i--) {
+                    try {
+                        streams.get(i).close();
+                    } catch (IOException ex) {
+                        drop(i, ex);
+                    }
+                }
+                if (streams.isEmpty()) {
+                    status = EVCacheMetricsFactory.ERROR;
+                    throw new IOException("Unable to write key " + evcKey + " to any server group of APP " + _appName);
+                }
+            } finally {
+                invalidateInMemoryCache(evcKey);
+                if (event != null) endEvent(event);
+                final long duration = EVCacheMetricsFactory.getInstance().getRegistry().clock().wallTime() - start;
+                getTimer(Call.SET_STREAM, EVCacheMetricsFactory.WRITE, null, status, 1, maxWriteDuration.get().intValue(), null).record(duration, TimeUnit.MILLISECONDS);
+                if (log.isDebugEnabled() && shouldLog()) log.debug("SET_STREAM : APP " + _appName + ", Took " + duration + " milliSec for key : " + evcKey);
+            }
+        }
+
+        private void drop(int i, IOException ex) {
+            final OutputStream stream = streams.remove(i);
+            final ServerGroup serverGroup = serverGroups.remove(i);
+            if (log.isDebugEnabled() && shouldLog()) log.debug("SET_STREAM : APP " + _appName + ", dropping " + serverGroup + " for key : " + evcKey, ex);
+            try {
+                stream.close();
+            } catch (IOException e) {
+                // already failed
+            }
+        }
+    }
+
     public <T> EVCacheFuture[] append(String key, T value, int timeToLive) throws EVCacheException {
         return this.append(key, value, null, timeToLive);
     }
@@ -1975,6 +2712,7 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
 
         final EVCacheEvent event = createEVCacheEvent(Arrays.asList(clients), Call.APPEND);
         final EVCacheKey evcKey = getEVCacheKey(key);
+        final InMemoryCacheInvalidation invalidation = startInMemoryCacheInvalidation(Collections.singletonList(evcKey));
         if (event != null) {
             event.setEVCacheKeys(Arrays.asList(evcKey));
             try {
@@ -2014,6 +2752,7 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
                     //if (cd != null) EVCacheMetricsFactory.getInstance().getDistributionSummary(_appName + "-AppendData-Size", tags).record(cd.getData().length);
                 }
                 final Future<Boolean> future = client.append(evcKey.getDerivedKey(client.isDuetClient(), client.getHashingAlgorithm(), client.shouldEncodeHashKey(), client.getMaxHashingBytes()), cd);
+                if (invalidation != null) invalidation.add(future);
                 futures[index++] = new EVCacheFuture(future, key, _appName, client.getServerGroup());
             }
             if (event != null) {
@@ -2033,9 +2772,10 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
             if (!throwExc) return new EVCacheFuture[0];
             throw new EVCacheException("Exception setting data for APP " + _appName + ", key : " + evcKey, ex);
         } finally {
+            if (invalidation != null) invalidation.sent();
             final long duration = EVCacheMetricsFactory.getInstance().getRegistry().clock().wallTime()- start;
             //timer.record(duration, TimeUnit.MILLISECONDS);
-            getTimer(Call.APPEND.name(), EVCacheMetricsFactory.WRITE, null, status, 1, maxWriteDuration.get().intValue(), null).record(duration, TimeUnit.MILLISECONDS);
+            getTimer(Call.APPEND, EVCacheMetricsFactory.WRITE, null, status, 1, maxWriteDuration.get().intValue(), null).record(duration, TimeUnit.MILLISECONDS);
             if (log.isDebugEnabled() && shouldLog()) log.debug("APPEND : APP " + _appName + ", Took " + duration + " milliSec for key : " + evcKey);
         }
     }
@@ -2095,6 +2835,7 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
         }
 
         final EVCacheKey evcKey = getEVCacheKey(key);
+        final InMemoryCacheInvalidation invalidation = startInMemoryCacheInvalidation(Collections.singletonList(evcKey));
        final EVCacheEvent event = createEVCacheEvent(Arrays.asList(clients), Call.DELETE);
         if (event != null) {
             event.setEVCacheKeys(Arrays.asList(evcKey));
@@ -2118,11 +2859,12 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
         try {
             for (int i = 0; i < clients.length; i++) {
                 Future<Boolean> future = clients[i].delete(isOriginalKeyHashed ? evcKey.getKey() : evcKey.getDerivedKey(clients[i].isDuetClient(), clients[i].getHashingAlgorithm(), clients[i].shouldEncodeHashKey(), clients[i].getMaxHashingBytes()), latch);
+                if (invalidation != null) invalidation.add(future);
                 if (log.isDebugEnabled() && shouldLog()) log.debug("DELETE : APP " + _appName + ", Future " + future + " for key : " + evcKey);
             }
 
             if (event != null) {
-                if(_eventsUsingLatchFP.get()) {
+                if(completeEventOnLatch(Call.DELETE, clients, latch.getPolicy())) {
                     latch.setEVCacheEvent(event);
                     latch.scheduledFutureValidation();
                 } else {
@@ -2140,8 +2882,9 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
             if (!throwExc) return new EVCacheLatchImpl(policy, 0, _appName);
             throw new EVCacheException("Exception while deleting the data for APP " + _appName + ", key : " + key, ex);
         } finally {
+            if (invalidation != null) invalidation.sent();
             final long duration = EVCacheMetricsFactory.getInstance().getRegistry().clock().wallTime()- start;
-            getTimer(Call.DELETE.name(), EVCacheMetricsFactory.WRITE, null, status, 1, maxWriteDuration.get().intValue(), null).record(duration, TimeUnit.MILLISECONDS);
+            getTimer(Call.DELETE, EVCacheMetricsFactory.WRITE, null, status, 1, maxWriteDuration.get().intValue(), null).record(duration, TimeUnit.MILLISECONDS);
             //timer.record(duration, TimeUnit.MILLISECONDS);
             if (log.isDebugEnabled() && shouldLog()) log.debug("DELETE : APP " + _appName + " Took " + duration + " milliSec for key : " + key);
         }
@@ -2154,171 +2897,101 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
     }
 
     public long incr(String key, long by, long defaultVal, int timeToLive) throws EVCacheException {
-        if ((null == key) || by < 0 || defaultVal < 0 || timeToLive < 0) throw new IllegalArgumentException();
-        checkTTL(timeToLive, Call.INCR);
+        return getCounterValue(mutate(Call.INCR, key, by, defaultVal, timeToLive, Policy.ALL), Call.INCR, key);
+    }
 
-        final boolean throwExc = doThrowException();
-        final EVCacheClient[] clients = _pool.getEVCacheClientForWrite();
-        if (clients.length == 0) {
-            incrementFastFail(EVCacheMetricsFactory.NULL_CLIENT, Call.INCR);
-            if (log.isDebugEnabled() && shouldLog()) log.debug("INCR : " + _metricPrefix + ":NULL_CLIENT");
-            if (throwExc) throw new EVCacheException("Could not find a client to incr the data");
-            return -1;
-        }
+    public long decr(String key, long by, long defaultVal, int timeToLive) throws EVCacheException {
+        return getCounterValue(mutate(Call.DECR, key, by, defaultVal, timeToLive, Policy.ALL), Call.DECR, key);
+    }
 
-        final EVCacheKey evcKey = getEVCacheKey(key);
-        final EVCacheEvent event = createEVCacheEvent(Arrays.asList(clients), Call.INCR);
-        if (event != null) {
-            event.setEVCacheKeys(Arrays.asList(evcKey));
-            try {
-                if (shouldThrottle(event)) {
-                    incrementFastFail(EVCacheMetricsFactory.THROTTLED, Call.INCR);
-                    if (throwExc) throw new EVCacheException("Request Throttled for app " + _appName + " & key " + key);
-                    return -1;
-                }
-            } catch(EVCacheException ex) {
-                if(throwExc) throw ex;
-                incrementFastFail(EVCacheMetricsFactory.THROTTLED, Call.INCR);
-                return -1;
-            }
-            startEvent(event);
-        }
+    @Override
+    public CompletableFuture<Long> incrAsync(String key, long by, long defaultVal, int timeToLive, Policy policy) throws EVCacheException {
+        return mutate(Call.INCR, key, by, defaultVal, timeToLive, policy);
+    }
 
-        String status = EVCacheMetricsFactory.SUCCESS;
-        final long start = EVCacheMetricsFactory.getInstance().getRegistry().clock().wallTime();
+    @Override
+    public CompletableFuture<Long> decrAsync(String key, long by, long defaultVal, int timeToLive, Policy policy) throws EVCacheException {
+        return mutate(Call.DECR, key, by, defaultVal, timeToLive, policy);
+    }
 
-        long currentValue = -1;
+    private long getCounterValue(CompletableFuture<Long> future, Call call, String key) throws EVCacheException {
         try {
-            final long[] vals = new long[clients.length];
-            int index = 0;
-            for (EVCacheClient client : clients) {
-                vals[index] = client.incr(evcKey.getDerivedKey(client.isDuetClient(), client.getHashingAlgorithm(), client.shouldEncodeHashKey(), client.getMaxHashingBytes()), by, defaultVal, timeToLive);
-                if (vals[index] != -1 && currentValue < vals[index]) {
-                    currentValue = vals[index];
-                    if (log.isDebugEnabled()) log.debug("INCR : APP " + _appName + " current value = " + currentValue + " for key : " + key + " from client : " + client);
-                }
-                index++;
-            }
-
-            if (currentValue != -1) {
-                CachedData cd = null;
-                if (log.isDebugEnabled()) log.debug("INCR : APP " + _appName + " current value = " + currentValue + " for key : " + key);
-                for (int i = 0; i < vals.length; i++) {
-                    if (vals[i] == -1 && currentValue > -1) {
-                        if (log.isDebugEnabled()) log.debug("INCR : APP " + _appName + "; Zone " + clients[i].getZone()
-                                + " had a value = -1 so setting it to current value = " + currentValue + " for key : " + key);
-                        clients[i].incr(evcKey.getDerivedKey(clients[i].isDuetClient(), clients[i].getHashingAlgorithm(), clients[i].shouldEncodeHashKey(), clients[i].getMaxHashingBytes()), 0, currentValue, timeToLive);
-                    } else if (vals[i] != currentValue) {
-                        if(cd == null) cd = clients[i].getTranscoder().encode(String.valueOf(currentValue));
-                        if (log.isDebugEnabled()) log.debug("INCR : APP " + _appName + "; Zone " + clients[i].getZone()
-                                + " had a value of " + vals[i] + " so setting it to current value = " + currentValue + " for key : " + key);
-                        clients[i].set(evcKey.getDerivedKey(clients[i].isDuetClient(), clients[i].getHashingAlgorithm(), clients[i].shouldEncodeHashKey(), clients[i].getMaxHashingBytes()), cd, timeToLive);
-                    }
-                }
-            }
-            if (event != null) endEvent(event);
-            if (log.isDebugEnabled()) log.debug("INCR : APP " + _appName + " returning value = " + currentValue + " for key : " + key);
-            return currentValue;
+            // the mutation times out the copies that do not answer, the extra wait only guards against a stuck executor
+            return future.get(2 * getMutateTimeout(), TimeUnit.MILLISECONDS).longValue();
         } catch (Exception ex) {
-            status = EVCacheMetricsFactory.ERROR;
-            if (log.isDebugEnabled() && shouldLog()) log.debug("Exception incrementing the value for APP " + _appName + ", key : " + key, ex);
-            if (event != null) {
-                event.setStatus(status);
-                eventError(event, ex);
-            }
-            if (!throwExc) return -1;
-            throw new EVCacheException("Exception incrementing value for APP " + _appName + ", key : " + key, ex);
-        } finally {
-            final long duration = EVCacheMetricsFactory.getInstance().getRegistry().clock().wallTime()- start;
-            getTimer(Call.INCR.name(), EVCacheMetricsFactory.WRITE, null, status, 1, maxWriteDuration.get().intValue(), null).record(duration, TimeUnit.MILLISECONDS);
-            if (log.isDebugEnabled() && shouldLog()) log.debug("INCR : APP " + _appName + ", Took " + duration
-                    + " milliSec for key : " + key + " with value as " + currentValue);
+            if (ex instanceof InterruptedException) Thread.currentThread().interrupt();
+            if (log.isDebugEnabled() && shouldLog()) log.debug("Exception waiting for " + call + " of APP " + _appName + ", key : " + key, ex);
+            if (!doThrowException()) return -1;
+            throw new EVCacheException("Exception waiting for " + call + " of APP " + _appName + ", key : " + key, ex);
         }
     }
 
-    public long decr(String key, long by, long defaultVal, int timeToLive) throws EVCacheException {
+    private long getMutateTimeout() {
+        final EVCacheClient[] clients = _pool.getEVCacheClientForWrite();
+        if (clients.length == 0) return _pool.getOperationTimeout().get().longValue();
+        return clients[0].getEVCacheMemcachedClient().getMutateOperationTimeout();
+    }
+
+    /**
+     * Sends the incr or decr to all the write clients in parallel. The returned future completes with the highest value
+     * once as many copies as the policy requires have answered; the copies that are behind are repaired once all of them
+     * have answered, without blocking the caller.
+     *
+     * @see EVCacheCounterMutation
+     */
+    private CompletableFuture<Long> mutate(Call call, String key, long by, long defaultVal, int timeToLive, Policy policy) throws EVCacheException {
         if ((null == key) || by < 0 || defaultVal < 0 || timeToLive < 0) throw new IllegalArgumentException();
-        checkTTL(timeToLive, Call.DECR);
+        checkTTL(timeToLive, call);
 
         final boolean throwExc = doThrowException();
         final EVCacheClient[] clients = _pool.getEVCacheClientForWrite();
         if (clients.length == 0) {
-            incrementFastFail(EVCacheMetricsFactory.NULL_CLIENT, Call.DECR);
-            if (log.isDebugEnabled() && shouldLog()) log.debug("DECR : " + _metricPrefix + ":NULL_CLIENT");
-            if (throwExc) throw new EVCacheException("Could not find a client to decr the data");
-            return -1;
+            incrementFastFail(EVCacheMetricsFactory.NULL_CLIENT, call);
+            if (log.isDebugEnabled() && shouldLog()) log.debug(call + " : " + _metricPrefix + ":NULL_CLIENT");
+            if (throwExc) throw new EVCacheException("Could not find a client to " + call.name().toLowerCase() + " the data");
+            return CompletableFuture.completedFuture(Long.valueOf(-1));
         }
 
         final EVCacheKey evcKey = getEVCacheKey(key);
-        final EVCacheEvent event = createEVCacheEvent(Arrays.asList(clients), Call.DECR);
+        final InMemoryCacheInvalidation invalidation = startInMemoryCacheInvalidation(Collections.singletonList(evcKey));
+        final EVCacheEvent event = createEVCacheEvent(Arrays.asList(clients), call);
         if (event != null) {
             event.setEVCacheKeys(Arrays.asList(evcKey));
             try {
                 if (shouldThrottle(event)) {
-                    incrementFastFail(EVCacheMetricsFactory.THROTTLED, Call.DECR);
+                    incrementFastFail(EVCacheMetricsFactory.THROTTLED, call);
                     if (throwExc) throw new EVCacheException("Request Throttled for app " + _appName + " & key " + key);
-                    return -1;
+                    return CompletableFuture.completedFuture(Long.valueOf(-1));
                 }
             } catch(EVCacheException ex) {
                 if(throwExc) throw ex;
-                incrementFastFail(EVCacheMetricsFactory.THROTTLED, Call.DECR);
-                return -1;
+                incrementFastFail(EVCacheMetricsFactory.THROTTLED, call);
+                return CompletableFuture.completedFuture(Long.valueOf(-1));
             }
             startEvent(event);
         }
 
         final long start = EVCacheMetricsFactory.getInstance().getRegistry().clock().wallTime();
-        String status = EVCacheMetricsFactory.SUCCESS;
-        long currentValue = -1;
-        try {
-            final long[] vals = new long[clients.length];
-            int index = 0;
-            for (EVCacheClient client : clients) {
-                vals[index] = client.decr(evcKey.getDerivedKey(client.isDuetClient(), client.getHashingAlgorithm(), client.shouldEncodeHashKey(), client.getMaxHashingBytes()), by, defaultVal, timeToLive);
-                if (vals[index] != -1 && currentValue < vals[index]) {
-                    currentValue = vals[index];
-                    if (log.isDebugEnabled()) log.debug("DECR : APP " + _appName + " current value = " + currentValue + " for key : " + key + " from client : " + client);
-                }
-                index++;
-            }
-
-            if (currentValue != -1) {
-                CachedData cd = null;
-                if (log.isDebugEnabled()) log.debug("DECR : APP " + _appName + " current value = " + currentValue
-                        + " for key : " + key);
-                for (int i = 0; i < vals.length; i++) {
-                    if (vals[i] == -1 && currentValue > -1) {
-                        if (log.isDebugEnabled()) log.debug("DECR : APP " + _appName + "; Zone " + clients[i].getZone()
-                                + " had a value = -1 so setting it to current value = "
-                                + currentValue + " for key : " + key);
-                        clients[i].decr(evcKey.getDerivedKey(clients[i].isDuetClient(), clients[i].getHashingAlgorithm(), clients[i].shouldEncodeHashKey(), clients[i].getMaxHashingBytes()), 0, currentValue, timeToLive);
-                    } else if (vals[i] != currentValue) {
-                        if(cd == null) cd = clients[i].getTranscoder().encode(currentValue);
-                        if (log.isDebugEnabled()) log.debug("DECR : APP " + _appName + "; Zone " + clients[i].getZone()
-                                + " had a value of " + vals[i]
-                                        + " so setting it to current value = " + currentValue + " for key : " + key);
-                        clients[i].set(evcKey.getDerivedKey(clients[i].isDuetClient(), clients[i].getHashingAlgorithm(), clients[i].shouldEncodeHashKey(), clients[i].getMaxHashingBytes()), cd, timeToLive);
-                    }
-                }
-            }
-
-            if (event != null) endEvent(event);
-            if (log.isDebugEnabled()) log.debug("DECR : APP " + _appName + " returning value = " + currentValue + " for key : " + key);
-            return currentValue;
-        } catch (Exception ex) {
-            status = EVCacheMetricsFactory.ERROR;
-            if (log.isDebugEnabled() && shouldLog()) log.debug("Exception decrementing the value for APP " + _appName + ", key : " + key, ex);
+        final String[] keys = new String[clients.length];
+        for (int i = 0; i < clients.length; i++) {
+            keys[i] = evcKey.getDerivedKey(clients[i].isDuetClient(), clients[i].getHashingAlgorithm(), clients[i].shouldEncodeHashKey(), clients[i].getMaxHashingBytes());
+        }
+        final EVCacheCounterMutation mutation = new EVCacheCounterMutation(call == Call.INCR, clients, keys, timeToLive, policyToCount(policy, clients.length));
+        mutation.getReconciledValue().whenComplete((currentValue, ex) -> {
+            // all the copies have answered or timed out and the ones behind are repaired
+            if (invalidation != null) invalidation.sent();
+            final String status = (currentValue != null && currentValue.longValue() != -1) ? EVCacheMetricsFactory.SUCCESS : EVCacheMetricsFactory.FAIL;
             if (event != null) {
                 event.setStatus(status);
-                eventError(event, ex);
+                endEvent(event);
             }
-            if (!throwExc) return -1;
-            throw new EVCacheException("Exception decrementing value for APP " + _appName + ", key : " + key, ex);
-        } finally {
-            final long duration = EVCacheMetricsFactory.getInstance().getRegistry().clock().wallTime()- start;
-            getTimer(Call.DECR.name(), EVCacheMetricsFactory.WRITE, null, status, 1, maxWriteDuration.get().intValue(), null).record(duration, TimeUnit.MILLISECONDS);
-            if (log.isDebugEnabled() && shouldLog()) log.debug("DECR : APP " + _appName + ", Took " + duration + " milliSec for key : " + key + " with value as " + currentValue);
-        }
+            final long duration = EVCacheMetricsFactory.getInstance().getRegistry().clock().wallTime() - start;
+            getTimer(call, EVCacheMetricsFactory.WRITE, null, status, 1, maxWriteDuration.get().intValue(), null).record(duration, TimeUnit.MILLISECONDS);
+            if (log.isDebugEnabled() && shouldLog()) log.debug(call + " : APP " + _appName + ", Took " + duration
+                    + " milliSec for key : " + key + " with value as " + currentValue);
+        });
+        mutation.send(by, defaultVal, clients[0].getEVCacheMemcachedClient().getMutateOperationTimeout(), _poolManager.getEVCacheScheduledExecutor());
+        return mutation.getValue();
     }
 
     @Override
@@ -2350,6 +3023,7 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
         }
 
         final EVCacheKey evcKey = getEVCacheKey(key);
+        final InMemoryCacheInvalidation invalidation = startInMemoryCacheInvalidation(Collections.singletonList(evcKey));
         final EVCacheEvent event = createEVCacheEvent(Arrays.asList(clients), Call.REPLACE);
         if (event != null) {
             event.setEVCacheKeys(Arrays.asList(evcKey));
@@ -2374,20 +3048,11 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
             final EVCacheFuture[] futures = new EVCacheFuture[clients.length];
             CachedData cd = null;
             int index = 0;
+            final EVCacheEncodedValue encodedValue = new EVCacheEncodedValue(evcKey, value, tc != null ? tc : _transcoder, evcacheValueTranscoder, timeToLive);
             for (EVCacheClient client : clients) {
-                if (tc != null) {
-                    cd = tc.encode(value);
-                } else if (_transcoder != null) {
-                    cd = ((Transcoder<Object>) _transcoder).encode(value);
-                } else {
-                    cd = client.getTranscoder().encode(value);
-                }
-
-                if (evcKey.getHashKey(client.isDuetClient(), client.getHashingAlgorithm(), client.shouldEncodeHashKey(), client.getMaxHashingBytes()) != null) {
-                    final EVCacheValue val = new EVCacheValue(evcKey.getCanonicalKey(client.isDuetClient()), cd.getData(), cd.getFlags(), timeToLive, System.currentTimeMillis());
-                    cd = evcacheValueTranscoder.encode(val);
-                }
+                cd = encodedValue.get(client);
                 final Future<Boolean> future = client.replace(evcKey.getDerivedKey(client.isDuetClient(), client.getHashingAlgorithm(), client.shouldEncodeHashKey(), client.getMaxHashingBytes()), cd, timeToLive, latch);
+                if (invalidation != null) invalidation.add(future);
                 futures[index++] = new EVCacheFuture(future, key, _appName, client.getServerGroup());
             }
             if (event != null) {
@@ -2411,8 +3076,9 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
             if (!throwExc) return new EVCacheLatchImpl(policy, 0, _appName);
             throw new EVCacheException("Exception setting data for APP " + _appName + ", key : " + evcKey, ex);
         } finally {
+            if (invalidation != null) invalidation.sent();
             final long duration = EVCacheMetricsFactory.getInstance().getRegistry().clock().wallTime()- start;
-            getTimer(Call.REPLACE.name(), EVCacheMetricsFactory.WRITE, null, status, 1, maxWriteDuration.get().intValue(), null).record(duration, TimeUnit.MILLISECONDS);
+            getTimer(Call.REPLACE, EVCacheMetricsFactory.WRITE, null, status, 1, maxWriteDuration.get().intValue(), null).record(duration, TimeUnit.MILLISECONDS);
             if (log.isDebugEnabled() && shouldLog()) log.debug("REPLACE : APP " + _appName + ", Took " + duration + " milliSec for key : " + evcKey);
         }
     }
@@ -2443,6 +3109,7 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
         }
 
         final EVCacheKey evcKey = getEVCacheKey(key);
+        final InMemoryCacheInvalidation invalidation = startInMemoryCacheInvalidation(Collections.singletonList(evcKey));
         final EVCacheEvent event = createEVCacheEvent(Arrays.asList(clients), Call.APPEND_OR_ADD);
         if (event != null) {
             event.setEVCacheKeys(Arrays.asList(evcKey));
@@ -2480,6 +3147,7 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
                     }
                 }
                 final Future<Boolean> future = client.appendOrAdd(evcKey.getDerivedKey(client.isDuetClient(), client.getHashingAlgorithm(), client.shouldEncodeHashKey(), client.getMaxHashingBytes()), cd, timeToLive, latch);
+                if (invalidation != null) invalidation.add(future);
                 if (log.isDebugEnabled() && shouldLog()) log.debug("APPEND_OR_ADD : APP " + _appName + ", Future " + future + " for key : " + evcKey);
             }
             if (event != null) {
@@ -2503,8 +3171,9 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
             if (!throwExc) return new EVCacheLatchImpl(policy, 0, _appName);
             throw new EVCacheException("Exception while appendOrAdd data for APP " + _appName + ", key : " + evcKey, ex);
         } finally {
+            if (invalidation != null) invalidation.sent();
             final long duration = EVCacheMetricsFactory.getInstance().getRegistry().clock().wallTime()- start;
-            getTimer(Call.APPEND_OR_ADD.name(), EVCacheMetricsFactory.WRITE, null, status, 1, maxWriteDuration.get().intValue(), null).record(duration, TimeUnit.MILLISECONDS);
+            getTimer(Call.APPEND_OR_ADD, EVCacheMetricsFactory.WRITE, null, status, 1, maxWriteDuration.get().intValue(), null).record(duration, TimeUnit.MILLISECONDS);
             if (log.isDebugEnabled() && shouldLog()) log.debug("APPEND_OR_ADD : APP " + _appName + ", Took " + duration + " milliSec for key : " + evcKey);
         }
     }
@@ -2555,6 +3224,7 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
         }
 
         final EVCacheKey evcKey = getEVCacheKey(key);
+        final InMemoryCacheInvalidation invalidation = startInMemoryCacheInvalidation(Collections.singletonList(evcKey));
         final EVCacheEvent event = createEVCacheEvent(Arrays.asList(clients), Call.ADD);
         if (event != null) {
             event.setEVCacheKeys(Arrays.asList(evcKey));
@@ -2586,6 +3256,9 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
             }
             if (clientUtil == null) clientUtil = new EVCacheClientUtil(_appName, _pool.getOperationTimeout().get());
             latch = clientUtil.add(evcKey, cd, evcacheValueTranscoder, timeToLive, policy, clients, latchCount);
+            if (invalidation != null) {
+                for (Future<Boolean> future : latch.getAllFutures()) invalidation.add(future);
+            }
             if (event != null) {
                 event.setTTL(timeToLive);
                 event.setCachedData(cd);
@@ -2609,8 +3282,9 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
             if (!throwExc) return new EVCacheLatchImpl(policy, 0, _appName);
             throw new EVCacheException("Exception adding data for APP " + _appName + ", key : " + evcKey, ex);
         } finally {
+            if (invalidation != null) invalidation.sent();
             final long duration = EVCacheMetricsFactory.getInstance().getRegistry().clock().wallTime()- start;
-            getTimer(Call.ADD.name(), EVCacheMetricsFactory.WRITE, null, status, 1, maxWriteDuration.get().intValue(), null).record(duration, TimeUnit.MILLISECONDS);
+            getTimer(Call.ADD, EVCacheMetricsFactory.WRITE, null, status, 1, maxWriteDuration.get().intValue(), null).record(duration, TimeUnit.MILLISECONDS);
             if (log.isDebugEnabled() && shouldLog()) log.debug("ADD : APP " + _appName + ", Took " + duration + " milliSec for key : " + evcKey);
         }
     }
@@ -2628,6 +3302,34 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
         return distributionSummary;
     }
 
+    private static final String[] TIMER_HITS = { null, EVCacheMetricsFactory.YES, EVCacheMetricsFactory.NO, EVCacheMetricsFactory.PARTIAL };
+    private static final String[] TIMER_STATUSES = { null, EVCacheMetricsFactory.SUCCESS, EVCacheMetricsFactory.ERROR, EVCacheMetricsFactory.TIMEOUT, EVCacheMetricsFactory.THROTTLED, EVCacheMetricsFactory.FAIL };
+    private static final int TIMER_ATTEMPTS = 3;
+    private static final int TIMER_TABLE_SIZE = Call.values().length * TIMER_HITS.length * TIMER_STATUSES.length * TIMER_ATTEMPTS;
+    private final EVCacheMeterTable<Timer> timerTable = new EVCacheMeterTable<Timer>(TIMER_TABLE_SIZE);
+    private final Map<ServerGroup, EVCacheMeterTable<Timer>> serverGroupTimerTables = new ConcurrentHashMap<ServerGroup, EVCacheMeterTable<Timer>>();
+
+    /*
+     * The timers are held in a table per server group indexed by call, hit, status and attempt so looking one up
+     * does not build a name. Hit and status values that are not known fall back to a lookup by name.
+     */
+    private Timer getTimer(Call call, String operationType, String hit, String status, int tries, long duration, ServerGroup serverGroup) {
+        final int hitIndex = EVCacheMeterTable.indexOf(TIMER_HITS, hit);
+        final int statusIndex = EVCacheMeterTable.indexOf(TIMER_STATUSES, status);
+        if (hitIndex < 0 || statusIndex < 0) return getTimer(call.name(), operationType, hit, status, tries, duration, serverGroup);
+
+        EVCacheMeterTable<Timer> table = timerTable;
+        if (serverGroup != null) {
+            table = serverGroupTimerTables.get(serverGroup);
+            if (table == null) table = serverGroupTimerTables.computeIfAbsent(serverGroup, sg -> new EVCacheMeterTable<Timer>(TIMER_TABLE_SIZE));
+        }
+        final int attemptIndex = (tries == 0 || tries == 1) ? 0 : (tries == 2 ? 1 : 2);
+        final int index = ((call.ordinal() * TIMER_HITS.length + hitIndex) * TIMER_STATUSES.length + statusIndex) * TIMER_ATTEMPTS + attemptIndex;
+        final Timer timer = table.get(index);
+        if (timer != null) return timer;
+        return table.putIfAbsent(index, createTimer(call.name(), operationType, hit, status, tries, duration, serverGroup));
+    }
+
     private Timer getTimer(String operation, String operationType, String hit, String status, int tries, long duration, ServerGroup serverGroup) {
         String name = ((hit != null) ? operation + hit : operation);
         if(status != null) name += status;
@@ -2638,6 +3340,12 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
         Timer timer = timerMap.get(name);
         if(timer != null) return timer;
 
+        timer = createTimer(operation, operationType, hit, status, tries, duration, serverGroup);
+        timerMap.put(name, timer);
+        return timer;
+    }
+
+    private Timer createTimer(String operation, String operationType, String hit, String status, int tries, long duration, ServerGroup serverGroup) {
         final List<Tag> tagList = new ArrayList<Tag>(7);
         tagList.addAll(tags);
         if(operation != null) tagList.add(new BasicTag(EVCacheMetricsFactory.CALL_TAG, operation));
@@ -2663,9 +3371,7 @@ public class EVCacheImpl implements EVCache, EVCacheImplMBean {
             tagList.add(new BasicTag(EVCacheMetricsFactory.ZONE, serverGroup.getZone()));
         }
 
-        timer = EVCacheMetricsFactory.getInstance().getPercentileTimer(EVCacheMetricsFactory.OVERALL_CALL, tagList, Duration.ofMillis(duration));
-        timerMap.put(name, timer);
-        return timer;
+        return EVCacheMetricsFactory.getInstance().getPercentileTimer(EVCacheMetricsFactory.OVERALL_CALL, tagList, Duration.ofMillis(duration));
     }
 
     protected List<Tag> getTags() {
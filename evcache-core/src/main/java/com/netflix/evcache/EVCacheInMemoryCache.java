@@ -1,33 +1,30 @@
 package com.netflix.evcache;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock.WriteLock;
 
 import com.netflix.archaius.api.Property;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.google.common.base.Optional;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.CacheStats;
-import com.google.common.cache.LoadingCache;
-import com.google.common.util.concurrent.ListenableFuture;
-import com.google.common.util.concurrent.ListenableFutureTask;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.netflix.evcache.metrics.EVCacheMetricsFactory;
+import com.netflix.evcache.operation.EVCacheItem;
 import com.netflix.evcache.util.EVCacheConfig;
 import com.netflix.spectator.api.BasicTag;
 import com.netflix.spectator.api.Counter;
@@ -35,6 +32,7 @@ import com.netflix.spectator.api.Gauge;
 import com.netflix.spectator.api.Id;
 import com.netflix.spectator.api.Tag;
 
+import net.spy.memcached.CachedData;
 import net.spy.memcached.transcoders.Transcoder;
 
 /**
@@ -42,43 +40,62 @@ import net.spy.memcached.transcoders.Transcoder;
  * helpful when the same key is repeatedly requested from EVCache within a short
  * duration. This can be turned on dynamically and can relive pressure on
  * EVCache Server instances.
+ *
+ * The cache is backed by Caffeine, so admission is frequency based (W-TinyLFU) and
+ * a burst of one hit wonders does not flush the hot keys. The cache is bounded
+ * either by the number of entries ({@code <app>.inmemory.cache.size}) or, when
+ * {@code <app>.inmemory.cache.max.bytes} is set, by the encoded size of the values.
+ * Every entry expires after the configured write (or access) duration but never
+ * outlives its TTL. The TTL is the one the value was written with or, for a value
+ * loaded with a meta get, the time it has left on the server. Refreshes run on the shared
+ * {@link com.netflix.evcache.pool.EVCacheExecutor}. Size and duration changes are
+ * applied to the live cache; only turning refresh or the byte bound on or off
+ * requires a new cache, in which case the current entries are carried over.
+ *
+ * Keys written through this client are dropped from the cache. To drop the keys written by the other instances
+ * set an {@link com.netflix.evcache.event.invalidation.EVCacheInvalidationBroadcaster} on the pool manager.
  */
 public class EVCacheInMemoryCache<T> {
 
     private static final Logger log = LoggerFactory.getLogger(EVCacheInMemoryCache.class);
+    private static final long THIRTY_DAYS_IN_SECONDS = 60 * 60 * 24 * 30;
+
     private final Property<Integer> _cacheDuration; // The key will be cached for this long
     private final Property<Integer> _refreshDuration, _exireAfterAccessDuration;
     private final Property<Integer> _cacheSize; // This many items will be cached
-    private final Property<Integer> _poolSize; // This many threads will be initialized to fetch data from evcache async
+    private final Property<Long> _cacheMaxBytes; // If set the encoded values can occupy at most this many bytes
     private final String appName;
     private final Map<String, Counter> counterMap = new ConcurrentHashMap<String, Counter>();
     private final Map<String, Gauge> gaugeMap = new ConcurrentHashMap<String, Gauge>();
 
-    private LoadingCache<EVCacheKey, Optional<T>> cache;
-    private ExecutorService pool = null;
+    private volatile LoadingCache<EVCacheKey, Entry<T>> cache;
+    private final Executor executor;
 
     private final Transcoder<T> tc;
     private final EVCacheImpl impl;
     private final Id sizeId;
 
     public EVCacheInMemoryCache(String appName, Transcoder<T> tc, EVCacheImpl impl) {
+        this(appName, tc, impl, ForkJoinPool.commonPool());
+    }
+
+    public EVCacheInMemoryCache(String appName, Transcoder<T> tc, EVCacheImpl impl, Executor executor) {
         this.appName = appName;
         this.tc = tc;
         this.impl = impl;
+        this.executor = executor;
 
         this._cacheDuration = EVCacheConfig.getInstance().getPropertyRepository().get(appName + ".inmemory.expire.after.write.duration.ms", Integer.class).orElseGet(appName + ".inmemory.cache.duration.ms").orElse(0);
-        this._cacheDuration.subscribe((i) -> setupCache());
         this._exireAfterAccessDuration = EVCacheConfig.getInstance().getPropertyRepository().get(appName + ".inmemory.expire.after.access.duration.ms", Integer.class).orElse(0);
-        this._exireAfterAccessDuration.subscribe((i) -> setupCache());;
 
         this._refreshDuration = EVCacheConfig.getInstance().getPropertyRepository().get(appName + ".inmemory.refresh.after.write.duration.ms", Integer.class).orElse(0);
-        this._refreshDuration.subscribe((i) -> setupCache());
+        this._refreshDuration.subscribe((i) -> updateRefresh());
 
         this._cacheSize = EVCacheConfig.getInstance().getPropertyRepository().get(appName + ".inmemory.cache.size", Integer.class).orElse(100);
-        this._cacheSize.subscribe((i) -> setupCache());
+        this._cacheSize.subscribe((i) -> updateBound());
 
-        this._poolSize = EVCacheConfig.getInstance().getPropertyRepository().get(appName + ".thread.pool.size", Integer.class).orElse(5);
-        this._poolSize.subscribe((i) -> initRefreshPool());
+        this._cacheMaxBytes = EVCacheConfig.getInstance().getPropertyRepository().get(appName + ".inmemory.cache.max.bytes", Long.class).orElse(0l);
+        this._cacheMaxBytes.subscribe((i) -> updateBound());
 
         final List<Tag> tags = new ArrayList<Tag>(3);
         tags.addAll(impl.getTags());
@@ -89,79 +106,92 @@ public class EVCacheInMemoryCache<T> {
         setupMonitoring(appName);
     }
 
-    private WriteLock writeLock = new ReentrantReadWriteLock().writeLock();
-    private void initRefreshPool() {
-        final ExecutorService oldPool = pool;
-        writeLock.lock();
-        try {
-            final ThreadFactory factory = new ThreadFactoryBuilder().setDaemon(true).setNameFormat(
-                    "EVCacheInMemoryCache-%d").build();
-            pool = Executors.newFixedThreadPool(_poolSize.get(), factory);
-            if(oldPool != null) oldPool.shutdown();
-        } finally {
-            writeLock.unlock();
-        }
+    private boolean isWeighted() {
+        return _cacheMaxBytes.get().longValue() > 0;
     }
 
-
-    private void setupCache() {
+    private synchronized void setupCache() {
         try {
-            CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().recordStats();
-            if(_cacheSize.get() > 0) {
+            Caffeine<EVCacheKey, Entry<T>> builder = Caffeine.newBuilder().recordStats().executor(executor).expireAfter(new EntryExpiry());
+            if (isWeighted()) {
+                builder = builder.maximumWeight(_cacheMaxBytes.get().longValue()).weigher((k, e) -> e.weight);
+            } else if (_cacheSize.get() > 0) {
                 builder = builder.maximumSize(_cacheSize.get());
             }
-            if(_exireAfterAccessDuration.get() > 0) {
-                builder = builder.expireAfterAccess(_exireAfterAccessDuration.get(), TimeUnit.MILLISECONDS);
-            } else if(_cacheDuration.get().intValue() > 0) {
-                builder = builder.expireAfterWrite(_cacheDuration.get(), TimeUnit.MILLISECONDS);
-            }
 
-            if(_refreshDuration.get() > 0) {
+            if (_refreshDuration.get() > 0) {
                 builder = builder.refreshAfterWrite(_refreshDuration.get(), TimeUnit.MILLISECONDS);
             }
-            initRefreshPool();
-            final LoadingCache<EVCacheKey, Optional<T>> newCache = builder.build(
-                    new CacheLoader<EVCacheKey, Optional<T>>() {
-                        public Optional<T> load(EVCacheKey key) throws  EVCacheException, DataNotFoundException {
-                            try {
-                                return  Optional.fromNullable(impl.doGet(key, tc));
-                            } catch (EVCacheException e) {
-                                log.error("EVCacheException while loading key -> "+ key, e);
-                                throw e;
-                            } catch (Exception e) {
-                                log.error("EVCacheException while loading key -> "+ key, e);
-                                throw new EVCacheException("key : " + key + " could not be loaded", e);
+            final LoadingCache<EVCacheKey, Entry<T>> newCache = builder.build(new CacheLoader<EVCacheKey, Entry<T>>() {
+                @Override
+                public Entry<T> load(EVCacheKey key) throws EVCacheException {
+                    try {
+                        final EVCacheItem<T> item = impl.doGetItem(key, tc);
+                        return (item == null) ? newEntry(null, 0) : newEntry(item.getData(), secondsLeft(item));
+                    } catch (EVCacheException e) {
+                        log.error("EVCacheException while loading key -> "+ key, e);
+                        throw e;
+                    } catch (Exception e) {
+                        log.error("EVCacheException while loading key -> "+ key, e);
+                        throw new EVCacheException("key : " + key + " could not be loaded", e);
+                    }
+                }
+
+                /*
+                 * The misses of a bulk lookup are fetched together. Keys not found in EVCache are cached as empty
+                 * entries, the same as a miss of load(). A bulk read has no metadata so these entries only expire
+                 * after the configured duration. Keys that were not read, as the read was throttled, rejected or
+                 * failed, are left out so they are not cached.
+                 */
+                @Override
+                public Map<EVCacheKey, Entry<T>> loadAll(Iterable<? extends EVCacheKey> keys) throws EVCacheException {
+                    final List<EVCacheKey> keyList = new ArrayList<EVCacheKey>();
+                    for (EVCacheKey key : keys) keyList.add(key);
+                    try {
+                        final Map<EVCacheKey, T> values = impl.doGetBulk(keyList, tc, false, 0);
+                        final Map<EVCacheKey, Entry<T>> entries = new HashMap<EVCacheKey, Entry<T>>((keyList.size() * 4) / 3 + 1);
+                        if (values != null) {
+                            for (EVCacheKey key : keyList) {
+                                if (values.containsKey(key)) entries.put(key, newEntry(values.get(key), 0));
                             }
                         }
-
-                        @Override
-                        public ListenableFuture<Optional<T>> reload(EVCacheKey key, Optional<T> oldValue) {
-                            ListenableFutureTask<Optional<T>> task = ListenableFutureTask.create(new Callable<Optional<T>>() {
-                                public Optional<T> call() {
-                                    try {
-                                        final Optional<T> t = load(key);
-                                        if(t == null) {
-                                            EVCacheMetricsFactory.getInstance().increment("EVCacheInMemoryCache" + "-" + appName + "-Reload-NotFound");
-                                            return oldValue;
-                                        } else {
-                                            EVCacheMetricsFactory.getInstance().increment("EVCacheInMemoryCache" + "-" + appName + "-Reload-Success");
-                                        }
-                                        return t;
-                                    } catch (EVCacheException e) {
-                                        log.error("EVCacheException while reloading key -> "+ key, e);
-                                        EVCacheMetricsFactory.getInstance().increment("EVCacheInMemoryCache" + "-" + appName + "-Reload-Fail");
-                                        return oldValue;
-                                    }
-                                }
-                            });
-                            pool.execute(task);
-                            return task;
+                        getCounter("bulkLoadKeys").increment(entries.size());
+                        if (entries.size() < keyList.size()) getCounter("bulkLoadSkipped").increment(keyList.size() - entries.size());
+                        return entries;
+                    } catch (EVCacheException e) {
+                        log.error("EVCacheException while loading keys -> "+ keyList, e);
+                        throw e;
+                    } catch (Exception e) {
+                        log.error("EVCacheException while loading keys -> "+ keyList, e);
+                        throw new EVCacheException("keys : " + keyList + " could not be loaded", e);
+                    }
+                }
+
+                /*
+                 * A refreshed value takes the TTL it was read with. If that is not known it is still bound by the TTL
+                 * of the old entry, so its deadline is kept.
+                 */
+                @Override
+                public Entry<T> reload(EVCacheKey key, Entry<T> oldValue) {
+                    try {
+                        final Entry<T> loaded = load(key);
+                        if (loaded.value == null) {
+                            getCounter("reloadNotFound").increment();
+                        } else {
+                            getCounter("reloadSuccess").increment();
                         }
-                    });
-            if(cache != null) newCache.putAll(cache.asMap());
-            final Cache<EVCacheKey, Optional<T>> currentCache = this.cache;
+                        return new Entry<T>(loaded.value, loaded.weight, (loaded.deadline == Long.MAX_VALUE) ? oldValue.deadline : loaded.deadline);
+                    } catch (EVCacheException e) {
+                        log.error("EVCacheException while reloading key -> "+ key, e);
+                        getCounter("reloadFail").increment();
+                        return oldValue;
+                    }
+                }
+            });
+            final LoadingCache<EVCacheKey, Entry<T>> currentCache = this.cache;
+            if (currentCache != null) newCache.putAll(currentCache.asMap());
             this.cache = newCache;
-            if(currentCache != null) {
+            if (currentCache != null) {
                 currentCache.invalidateAll();
                 currentCache.cleanUp();
             }
@@ -170,30 +200,140 @@ public class EVCacheInMemoryCache<T> {
         }
     }
 
+    /*
+     * Switching between an entry and a byte bound changes the eviction policy so it needs a new cache,
+     * otherwise the maximum is adjusted in place.
+     */
+    private synchronized void updateBound() {
+        final LoadingCache<EVCacheKey, Entry<T>> currentCache = this.cache;
+        if (currentCache == null) return;
+        final boolean weighted = currentCache.policy().eviction().map(e -> e.isWeighted()).orElse(false);
+        final boolean bounded = currentCache.policy().eviction().isPresent();
+        if (weighted != isWeighted() || (!weighted && bounded != (_cacheSize.get() > 0))) {
+            setupCache();
+            return;
+        }
+        currentCache.policy().eviction().ifPresent(e -> e.setMaximum(weighted ? _cacheMaxBytes.get().longValue() : _cacheSize.get().longValue()));
+    }
+
+    private synchronized void updateRefresh() {
+        final LoadingCache<EVCacheKey, Entry<T>> currentCache = this.cache;
+        if (currentCache == null) return;
+        final boolean refreshing = currentCache.policy().refreshAfterWrite().isPresent();
+        if (refreshing != (_refreshDuration.get() > 0)) {
+            setupCache();
+            return;
+        }
+        currentCache.policy().refreshAfterWrite().ifPresent(r -> r.setExpiresAfter(_refreshDuration.get(), TimeUnit.MILLISECONDS));
+    }
+
+    private Entry<T> newEntry(T value, int ttl) {
+        return new Entry<T>(value, weigh(value), deadline(ttl));
+    }
+
+    /*
+     * The weight is the size of the value as it is stored on the server. It is only computed when the cache is
+     * bounded by bytes as it costs an encode.
+     */
+    private int weigh(T value) {
+        if (value == null || !isWeighted()) return 1;
+        try {
+            final CachedData cd = tc.encode(value);
+            return Math.max(1, cd.getData().length);
+        } catch (Exception e) {
+            if (log.isDebugEnabled()) log.debug("Exception weighing value for app " + appName, e);
+            return 1;
+        }
+    }
+
+    /*
+     * Returns the seconds a value read with a meta get has left to live on the server as a relative TTL, 0 if it does
+     * not expire or its metadata was not read.
+     */
+    private static int secondsLeft(EVCacheItem<?> item) {
+        final long seconds = item.getItemMetaData().getSecondsLeftToExpire();
+        return (seconds <= 0) ? 0 : (int) Math.min(seconds, THIRTY_DAYS_IN_SECONDS);
+    }
+
+    /*
+     * Converts a memcached TTL into an absolute deadline in nanoTime, values over 30 days are unix timestamps.
+     */
+    private static long deadline(int ttl) {
+        if (ttl <= 0) return Long.MAX_VALUE;
+        final long remainingMillis;
+        if (ttl <= THIRTY_DAYS_IN_SECONDS) {
+            remainingMillis = TimeUnit.SECONDS.toMillis(ttl);
+        } else {
+            remainingMillis = TimeUnit.SECONDS.toMillis(ttl) - System.currentTimeMillis();
+        }
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+    }
+
+    private class EntryExpiry implements Expiry<EVCacheKey, Entry<T>> {
+
+        private long capToDeadline(Entry<T> entry, long duration) {
+            if (entry.deadline == Long.MAX_VALUE) return duration;
+            return Math.max(0, Math.min(duration, entry.deadline - System.nanoTime()));
+        }
+
+        @Override
+        public long expireAfterCreate(EVCacheKey key, Entry<T> entry, long currentTime) {
+            final int accessDuration = _exireAfterAccessDuration.get().intValue();
+            final int writeDuration = _cacheDuration.get().intValue();
+            final long duration;
+            if (accessDuration > 0) {
+                duration = TimeUnit.MILLISECONDS.toNanos(accessDuration);
+            } else if (writeDuration > 0) {
+                duration = TimeUnit.MILLISECONDS.toNanos(writeDuration);
+            } else {
+                duration = Long.MAX_VALUE;
+            }
+            return capToDeadline(entry, duration);
+        }
+
+        @Override
+        public long expireAfterUpdate(EVCacheKey key, Entry<T> entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(EVCacheKey key, Entry<T> entry, long currentTime, long currentDuration) {
+            final int accessDuration = _exireAfterAccessDuration.get().intValue();
+            if (accessDuration <= 0) return currentDuration;
+            return capToDeadline(entry, TimeUnit.MILLISECONDS.toNanos(accessDuration));
+        }
+    }
+
     private CacheStats previousStats = null;
     private long getSize() {
-        final long size = cache.size();
-        final CacheStats stats = cache.stats();
+        final LoadingCache<EVCacheKey, Entry<T>> currentCache = this.cache;
+        final long size = currentCache.estimatedSize();
+        final CacheStats stats = currentCache.stats();
         if(previousStats != null) {
             try {
                 getCounter("hits").increment(stats.hitCount() - previousStats.hitCount());
                 getCounter("miss").increment(stats.missCount()  - previousStats.missCount());
                 getCounter("evictions").increment(stats.evictionCount()  - previousStats.evictionCount());
+                getCounter("evictionWeight").increment(stats.evictionWeight()  - previousStats.evictionWeight());
                 getCounter("requests").increment(stats.requestCount()  - previousStats.requestCount());
-        
-                getCounter("loadExceptionCount").increment(stats.loadExceptionCount()  - previousStats.loadExceptionCount());
+
+                getCounter("loadExceptionCount").increment(stats.loadFailureCount()  - previousStats.loadFailureCount());
                 getCounter("loadCount").increment(stats.loadCount()  - previousStats.loadCount());
                 getCounter("loadSuccessCount").increment(stats.loadSuccessCount()  - previousStats.loadSuccessCount());
                 getCounter("totalLoadTime-ms").increment(( stats.totalLoadTime() - previousStats.totalLoadTime())/1000000);
-        
+
                 getGauge("hitrate").set(stats.hitRate());
-                getGauge("loadExceptionRate").set(stats.loadExceptionRate());
+                getGauge("loadExceptionRate").set(stats.loadFailureRate());
                 getGauge("averageLoadTime-ms").set(stats.averageLoadPenalty()/1000000);
+                currentCache.policy().eviction().ifPresent(e -> {
+                    if (e.isWeighted()) getGauge("weightedSize").set(e.weightedSize().orElse(0));
+                });
             } catch(Exception e) {
                 log.error("Error while reporting stats", e);
             }
         }
-        previousStats = stats;
+        // stats are per cache instance, a rebuilt cache starts again from zero
+        previousStats = (previousStats != null && stats.requestCount() < previousStats.requestCount()) ? null : stats;
         return size;
     }
 
@@ -229,28 +369,128 @@ public class EVCacheInMemoryCache<T> {
     }
 
     public T get(EVCacheKey key) throws ExecutionException {
-        if (cache == null) return null;
-        final Optional<T> val = cache.get(key);
-        if(!val.isPresent()) return null;
-        if (log.isDebugEnabled()) log.debug("GET : appName : " + appName + "; Key : " + key + "; val : " + val);
-        return val.get();
+        final LoadingCache<EVCacheKey, Entry<T>> currentCache = this.cache;
+        if (currentCache == null) return null;
+        final Entry<T> val;
+        try {
+            val = currentCache.get(key);
+        } catch (CompletionException e) {
+            throw new ExecutionException(e.getCause());
+        } catch (RuntimeException e) {
+            throw new ExecutionException(e);
+        }
+        if(val == null || val.value == null) return null;
+        if (log.isDebugEnabled()) log.debug("GET : appName : " + appName + "; Key : " + key + "; val : " + val.value);
+        return val.value;
+    }
+
+    /**
+     * Returns the values for the given keys, loading all the keys that are not cached with a single bulk call.
+     * Keys that are not found are not part of the returned map.
+     */
+    public Map<EVCacheKey, T> getAll(Collection<EVCacheKey> keys) throws ExecutionException {
+        final LoadingCache<EVCacheKey, Entry<T>> currentCache = this.cache;
+        if (currentCache == null) return Collections.<EVCacheKey, T>emptyMap();
+        try {
+            return values(currentCache.getAll(keys));
+        } catch (CompletionException e) {
+            throw new ExecutionException(e.getCause());
+        } catch (RuntimeException e) {
+            throw new ExecutionException(e);
+        }
+    }
+
+    /**
+     * Returns the values for the given keys that are in the cache without loading the rest.
+     */
+    public Map<EVCacheKey, T> getAllPresent(Collection<EVCacheKey> keys) {
+        final LoadingCache<EVCacheKey, Entry<T>> currentCache = this.cache;
+        if (currentCache == null) return Collections.<EVCacheKey, T>emptyMap();
+        return values(currentCache.getAllPresent(keys));
+    }
+
+    private Map<EVCacheKey, T> values(Map<EVCacheKey, Entry<T>> entries) {
+        final Map<EVCacheKey, T> values = new HashMap<EVCacheKey, T>((entries.size() * 4) / 3 + 1);
+        for (Map.Entry<EVCacheKey, Entry<T>> entry : entries.entrySet()) {
+            if (entry.getValue().value != null) values.put(entry.getKey(), entry.getValue().value);
+        }
+        if (log.isDebugEnabled()) log.debug("GET_ALL : appName : " + appName + "; Keys : " + entries.keySet());
+        return values;
     }
 
     public void put(EVCacheKey key, T value) {
-        if (cache == null) return;
-        cache.put(key, Optional.fromNullable(value));
+        put(key, value, 0);
+    }
+
+    /**
+     * Puts the value in the near cache. The entry will not outlive the given TTL (in memcached format, 0 means
+     * no TTL).
+     */
+    public void put(EVCacheKey key, T value, int ttl) {
+        final LoadingCache<EVCacheKey, Entry<T>> currentCache = this.cache;
+        if (currentCache == null) return;
+        currentCache.put(key, newEntry(value, ttl));
         if (log.isDebugEnabled()) log.debug("PUT : appName : " + appName + "; Key : " + key + "; val : " + value);
     }
 
     public void delete(String key) {
-        if (cache == null) return;
-        cache.invalidate(key);
+        delete(impl.getEVCacheKey(key));
+    }
+
+    public void delete(EVCacheKey key) {
+        final LoadingCache<EVCacheKey, Entry<T>> currentCache = this.cache;
+        if (currentCache == null) return;
+        currentCache.invalidate(key);
         if (log.isDebugEnabled()) log.debug("DEL : appName : " + appName + "; Key : " + key);
     }
 
+    /**
+     * Drops the given canonical key if it belongs to this cache. Called for the keys received from the
+     * {@link com.netflix.evcache.event.invalidation.EVCacheInvalidationBroadcaster}.
+     */
+    public void invalidate(String appName, String canonicalKey) {
+        if (!this.appName.equals(appName) || canonicalKey == null) return;
+        final String prefix = impl.getCachePrefix();
+        final String key;
+        if (prefix == null) {
+            key = canonicalKey;
+        } else if (canonicalKey.length() > prefix.length() && canonicalKey.startsWith(prefix) && canonicalKey.charAt(prefix.length()) == ':') {
+            key = canonicalKey.substring(prefix.length() + 1);
+        } else {
+            return;
+        }
+        try {
+            delete(key);
+            getCounter("invalidations").increment();
+        } catch (RuntimeException e) {
+            if (log.isDebugEnabled()) log.debug("Could not invalidate key " + canonicalKey + " for app " + appName, e);
+        }
+    }
+
     public Map<EVCacheKey, Optional<T>> getAll() {
-        if (cache == null) return Collections.<EVCacheKey, Optional<T>>emptyMap();
-        return cache.asMap();
+        final LoadingCache<EVCacheKey, Entry<T>> currentCache = this.cache;
+        if (currentCache == null) return Collections.<EVCacheKey, Optional<T>>emptyMap();
+        final Map<EVCacheKey, Optional<T>> all = new HashMap<EVCacheKey, Optional<T>>();
+        for (Map.Entry<EVCacheKey, Entry<T>> entry : currentCache.asMap().entrySet()) {
+            all.put(entry.getKey(), Optional.fromNullable(entry.getValue().value));
+        }
+        return Collections.unmodifiableMap(all);
+    }
+
+    /*
+     * A cached value along with its weight and the deadline derived from its TTL. Misses are cached as an entry
+     * with a null value.
+     */
+    private static final class Entry<T> {
+        private final T value;
+        private final int weight;
+        private final long deadline;
+
+        Entry(T value, int weight, long deadline) {
+            this.value = value;
+            this.weight = weight;
+            this.deadline = deadline;
+        }
     }
 
     public static final class DataNotFoundException extends EVCacheException {
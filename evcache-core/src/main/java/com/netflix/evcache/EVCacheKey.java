@@ -3,19 +3,29 @@ package com.netflix.evcache;
 import com.netflix.archaius.api.Property;
 import com.netflix.evcache.util.KeyHasher;
 import com.netflix.evcache.util.KeyHasher.HashingAlgorithm;
-import java.util.HashMap;
-import java.util.Map;
 
-public class EVCacheKey {
+/**
+ * The key of an operation along with its canonical, duet and hashed forms.
+ *
+ * Instances are immutable as far as equality is concerned: {@link #equals(Object)} and {@link #hashCode()} only
+ * use the key and the canonical key and the hash code is computed once, so an EVCacheKey can be used as the key of
+ * a map or cache. The duet and hashed forms are derived on first use and memoized. They are published without
+ * locking; racing threads may each compute the same value, but a thread never sees a partially built one.
+ */
+public final class EVCacheKey {
     private final String appName;
     private final HashingAlgorithm hashingAlgorithmAtAppLevel;
     private final Property<Boolean> shouldEncodeHashKeyAtAppLevel;
     private final Property<Integer> maxHashingBytesAtAppLevel;
     private final String key;
     private final String canonicalKey;
+    private final int hash;
+
+    // Strings and HashedKeys are immutable so a racy write of these is safe, at worst they are computed more than once
     private String canonicalKeyForDuet;
-    private final Map<HashingAlgorithm, String> hashedKeysByAlgorithm;
-    private final Map<HashingAlgorithm, String> hashedKeysByAlgorithmForDuet;
+    // the hashed forms indexed by the ordinal of their algorithm, server groups may use different algorithms
+    private volatile HashedKey[] hashedKeys;
+    private volatile HashedKey[] hashedKeysForDuet;
 
     public EVCacheKey(String appName, String key, String canonicalKey, HashingAlgorithm hashingAlgorithmAtAppLevel, Property<Boolean> shouldEncodeHashKeyAtAppLevel, Property<Integer> maxHashingBytesAtAppLevel) {
         super();
@@ -25,8 +35,7 @@ public class EVCacheKey {
         this.hashingAlgorithmAtAppLevel = hashingAlgorithmAtAppLevel;
         this.shouldEncodeHashKeyAtAppLevel = shouldEncodeHashKeyAtAppLevel;
         this.maxHashingBytesAtAppLevel = maxHashingBytesAtAppLevel;
-        hashedKeysByAlgorithm = new HashMap<>();
-        hashedKeysByAlgorithmForDuet = new HashMap<>();
+        this.hash = computeHashCode(key, canonicalKey);
     }
 
     public String getKey() {
@@ -43,12 +52,14 @@ public class EVCacheKey {
     }
 
     private String getCanonicalKeyForDuet() {
-        if (null == canonicalKeyForDuet) {
+        String duetKey = canonicalKeyForDuet;
+        if (null == duetKey) {
             final int duetKeyLength = appName.length() + 1 + canonicalKey.length();
-            canonicalKeyForDuet = new StringBuilder(duetKeyLength).append(appName).append(':').append(canonicalKey).toString();
+            duetKey = new StringBuilder(duetKeyLength).append(appName).append(':').append(canonicalKey).toString();
+            canonicalKeyForDuet = duetKey;
         }
 
-        return canonicalKeyForDuet;
+        return duetKey;
     }
 
     @Deprecated
@@ -93,7 +104,12 @@ public class EVCacheKey {
         }
 
         // TODO: Once the issue around passing hashedKey in bytes[] is figured, we will start using (nullable) shouldEncodeHashKey, and call KeyHasher.getHashedKeyInBytes() accordingly
-        return hashedKeysByAlgorithm.computeIfAbsent(hashingAlgorithm, ha -> KeyHasher.getHashedKeyEncoded(canonicalKey, ha, maxHashingBytes));
+        HashedKey[] hashed = hashedKeys;
+        if (hashed == null) {
+            hashed = new HashedKey[HashingAlgorithm.values().length];
+            hashedKeys = hashed;
+        }
+        return getHashKey(hashed, canonicalKey, hashingAlgorithm, maxHashingBytes);
     }
 
     private String getHashKeyForDuet(HashingAlgorithm hashingAlgorithm, Boolean shouldEncodeHashKey, Integer maxHashingBytes) {
@@ -102,19 +118,37 @@ public class EVCacheKey {
         }
 
         // TODO: Once the issue around passing hashedKey in bytes[] is figured, we will start using (nullable) shouldEncodeHashKey, and call KeyHasher.getHashedKeyInBytes() accordingly
-        return hashedKeysByAlgorithmForDuet.computeIfAbsent(hashingAlgorithm, ha -> KeyHasher.getHashedKeyEncoded(getCanonicalKeyForDuet(), ha, maxHashingBytes));
+        HashedKey[] hashed = hashedKeysForDuet;
+        if (hashed == null) {
+            hashed = new HashedKey[HashingAlgorithm.values().length];
+            hashedKeysForDuet = hashed;
+        }
+        return getHashKey(hashed, getCanonicalKeyForDuet(), hashingAlgorithm, maxHashingBytes);
     }
 
-    @Override
-    public int hashCode() {
+    private static String getHashKey(HashedKey[] hashed, String canonicalKey, HashingAlgorithm hashingAlgorithm, Integer maxHashingBytes) {
+        final int index = hashingAlgorithm.ordinal();
+        HashedKey hashedKey = hashed[index];
+        if (hashedKey == null || !hashedKey.matches(maxHashingBytes)) {
+            hashedKey = new HashedKey(hashingAlgorithm, maxHashingBytes, KeyHasher.getHashedKeyEncoded(canonicalKey, hashingAlgorithm, maxHashingBytes));
+            hashed[index] = hashedKey;
+        }
+        return hashedKey.value;
+    }
+
+    private static int computeHashCode(String key, String canonicalKey) {
         final int prime = 31;
         int result = 1;
         result = prime * result + ((canonicalKey == null) ? 0 : canonicalKey.hashCode());
-        result = prime * result + ((canonicalKeyForDuet == null) ? 0 : canonicalKeyForDuet.hashCode());
         result = prime * result + ((key == null) ? 0 : key.hashCode());
         return result;
     }
 
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj)
@@ -124,16 +158,13 @@ public class EVCacheKey {
         if (getClass() != obj.getClass())
             return false;
         EVCacheKey other = (EVCacheKey) obj;
+        if (hash != other.hash)
+            return false;
         if (canonicalKey == null) {
             if (other.canonicalKey != null)
                 return false;
         } else if (!canonicalKey.equals(other.canonicalKey))
             return false;
-        if (canonicalKeyForDuet == null) {
-            if (other.canonicalKeyForDuet != null)
-                return false;
-        } else if (!canonicalKeyForDuet.equals(other.canonicalKeyForDuet))
-            return false;
         if (key == null) {
             if (other.key != null)
                 return false;
@@ -144,7 +175,41 @@ public class EVCacheKey {
 
     @Override
     public String toString() {
-        return "EVCacheKey [key=" + key + ", canonicalKey=" + canonicalKey + ", canonicalKeyForDuet=" + canonicalKeyForDuet + (hashedKeysByAlgorithm.size() > 0 ? ", hashedKeysByAlgorithm=" + hashedKeysByAlgorithm.toString() : "") + (hashedKeysByAlgorithmForDuet.size() > 0 ? ", hashedKeysByAlgorithmForDuet=" + hashedKeysByAlgorithmForDuet.toString() + "]" : "]");
+        final HashedKey[] hashed = hashedKeys;
+        final HashedKey[] hashedForDuet = hashedKeysForDuet;
+        return "EVCacheKey [key=" + key + ", canonicalKey=" + canonicalKey + ", canonicalKeyForDuet=" + canonicalKeyForDuet + (hashed != null ? ", hashedKey=" + toString(hashed) : "") + (hashedForDuet != null ? ", hashedKeyForDuet=" + toString(hashedForDuet) + "]" : "]");
+    }
+
+    private static String toString(HashedKey[] hashed) {
+        final StringBuilder sb = new StringBuilder();
+        for (HashedKey hashedKey : hashed) {
+            if (hashedKey != null) sb.append(hashedKey);
+        }
+        return sb.toString();
     }
 
-}
\ No newline at end of file
+    /**
+     * A hashed form of the key along with the hashing parameters it was computed with.
+     */
+    private static final class HashedKey {
+        private final HashingAlgorithm hashingAlgorithm;
+        private final Integer maxHashingBytes;
+        private final String value;
+
+        HashedKey(HashingAlgorithm hashingAlgorithm, Integer maxHashingBytes, String value) {
+            this.hashingAlgorithm = hashingAlgorithm;
+            this.maxHashingBytes = maxHashingBytes;
+            this.value = value;
+        }
+
+        boolean matches(Integer maxHashingBytes) {
+            if (this.maxHashingBytes == null) return maxHashingBytes == null;
+            return maxHashingBytes != null && this.maxHashingBytes.intValue() == maxHashingBytes.intValue();
+        }
+
+        @Override
+        public String toString() {
+            return "{" + hashingAlgorithm + "=" + value + "}";
+        }
+    }
+}
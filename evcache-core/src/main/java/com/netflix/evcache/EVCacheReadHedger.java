@@ -0,0 +1,201 @@
+package com.netflix.evcache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.netflix.archaius.api.Property;
+import com.netflix.archaius.api.PropertyRepository;
+import com.netflix.evcache.EVCache.Call;
+import com.netflix.evcache.metrics.EVCacheMetricsFactory;
+import com.netflix.evcache.pool.EVCacheClient;
+import com.netflix.evcache.pool.EVCacheClientPoolManager;
+import com.netflix.evcache.pool.ServerGroup;
+import com.netflix.spectator.api.BasicTag;
+import com.netflix.spectator.api.Counter;
+import com.netflix.spectator.api.Tag;
+
+import rx.Observable;
+import rx.Scheduler;
+import rx.Single;
+import rx.functions.Func1;
+import rx.schedulers.Schedulers;
+
+/**
+ * Hedges the reads of a key across server groups.
+ *
+ * When {@code <app>.hedge.reads} is enabled and the read of the first server group has not completed within the hedge
+ * delay, the same read is sent to another server group. The first non null value wins and the other read is left to
+ * complete on its own, as it may be shared by coalesced reads; if both miss the caller continues with the regular zone
+ * fallback, skipping the server group already tried.
+ *
+ * The delay is {@code <app>.hedge.delay} milliseconds when set. Otherwise it is the
+ * {@code <app>.hedge.delay.percentile} percentile of the recent read latency of the first server group, but at least
+ * {@code <app>.hedge.delay.min} milliseconds, and half the read timeout until enough reads have been seen.
+ *
+ * Blocking reads that are hedged send both reads asynchronously. The hedge of any read is sent from the hedge executor,
+ * as sending it may block. Hedged reads are counted as {@link EVCacheMetricsFactory#HEDGED}. The ones where the second server
+ * group answered first are counted as {@link EVCacheMetricsFactory#HEDGE_WIN}.
+ */
+class EVCacheReadHedger {
+
+    private static final Logger log = LoggerFactory.getLogger(EVCacheReadHedger.class);
+
+    interface Read<T> {
+        T read(EVCacheClient client) throws Exception;
+    }
+
+    /**
+     * The value of a hedged read along with the client that returned it.
+     */
+    static class Result<T> {
+        private final T value;
+        private final EVCacheClient client;
+        private final ServerGroup hedgedServerGroup;
+
+        Result(T value, EVCacheClient client, ServerGroup hedgedServerGroup) {
+            this.value = value;
+            this.client = client;
+            this.hedgedServerGroup = hedgedServerGroup;
+        }
+
+        T getValue() {
+            return value;
+        }
+
+        /**
+         * @return the client of the server group the value was read from
+         */
+        EVCacheClient getClient() {
+            return client;
+        }
+
+        /**
+         * @return the server group the read was hedged to, or null if it was not hedged
+         */
+        ServerGroup getHedgedServerGroup() {
+            return hedgedServerGroup;
+        }
+    }
+
+    private final List<Tag> tags;
+    private final Property<Boolean> enabled;
+    private final Property<Integer> delay;
+    private final Property<Double> percentile;
+    private final Property<Integer> minDelay;
+    private final Map<String, Counter> counterMap = new ConcurrentHashMap<String, Counter>();
+    private final EVCacheClientPoolManager poolManager;
+    private volatile Scheduler hedgeScheduler;
+
+    EVCacheReadHedger(String appName, EVCacheClientPoolManager poolManager, List<Tag> tags) {
+        this.tags = tags;
+        this.poolManager = poolManager;
+        final PropertyRepository propertyRepository = poolManager.getEVCacheConfig().getPropertyRepository();
+        this.enabled = propertyRepository.get(appName + ".hedge.reads", Boolean.class).orElse(false);
+        this.delay = propertyRepository.get(appName + ".hedge.delay", Integer.class).orElse(-1);
+        this.percentile = propertyRepository.get(appName + ".hedge.delay.percentile", Double.class).orElse(95.0);
+        this.minDelay = propertyRepository.get(appName + ".hedge.delay.min", Integer.class).orElse(1);
+    }
+
+    boolean isEnabled() {
+        return enabled.get().booleanValue();
+    }
+
+    /**
+     * @return the time in microseconds to wait for the read of the given client before hedging it
+     */
+    long getDelayMicros(EVCacheClient client) {
+        final int fixedDelay = delay.get().intValue();
+        if (fixedDelay >= 0) return TimeUnit.MILLISECONDS.toMicros(fixedDelay);
+        final long latency = client.getReadLatencyTracker().getPercentile(percentile.get().doubleValue());
+        if (latency < 0) return TimeUnit.MILLISECONDS.toMicros(client.getPool().getReadTimeout().get().intValue()) / 2;
+        return Math.max(TimeUnit.MILLISECONDS.toMicros(minDelay.get().intValue()), TimeUnit.NANOSECONDS.toMicros(latency));
+    }
+
+    /**
+     * Reads from the given client and, if the read is slower than the hedge delay, from the hedge client as well. The
+     * reads are the asynchronous ones of {@link #get(EVCacheClient, EVCacheClient, Call, Func1, Scheduler)}: the
+     * first one is sent from the caller's thread and the hedge from a thread of the hedge executor, the caller only
+     * waits for their values.
+     *
+     * @param hedgeClient the client of the server group to hedge to, or null to read from the client only
+     * @param read the blocking read, used when the read is not hedged
+     * @param asyncRead the asynchronous read, used when the read is hedged
+     */
+    <T> Result<T> get(EVCacheClient client, EVCacheClient hedgeClient, Call call, Read<T> read, Func1<EVCacheClient, Single<T>> asyncRead) throws Exception {
+        if (hedgeClient == null) return new Result<T>(read.read(client), client, null);
+
+        final Future<Result<T>> future = get(client, hedgeClient, call, asyncRead, getHedgeScheduler()).toObservable().toBlocking().toFuture();
+        // each read is bounded by its own read timeout, this only guards the caller against a read that never completes
+        final long timeout = TimeUnit.MICROSECONDS.toMillis(getDelayMicros(client)) + 2L * client.getPool().getReadTimeout().get().intValue();
+        try {
+            return future.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) throw (Exception) e.getCause();
+            throw e;
+        } catch (TimeoutException e) {
+            // unsubscribes from the reads, the operations themselves are not cancelled as they may be shared
+            future.cancel(false);
+            if (log.isDebugEnabled()) log.debug("Timed out waiting " + timeout + " msec for the hedged read of " + client.getServerGroup() + " and " + hedgeClient.getServerGroup());
+            return new Result<T>(null, client, hedgeClient.getServerGroup());
+        }
+    }
+
+    /*
+     * Sending the hedge may wait for its node, so it is not sent from the caller's scheduler.
+     */
+    private Scheduler getHedgeScheduler() {
+        if (hedgeScheduler == null) hedgeScheduler = Schedulers.from(poolManager.getEVCacheHedgeExecutor());
+        return hedgeScheduler;
+    }
+
+    /**
+     * Reads from the given client and, if no value has been emitted within the hedge delay, from the hedge client as
+     * well. The delay is timed on the given scheduler and the hedge is sent from a thread of the hedge executor.
+     *
+     * @param hedgeClient the client of the server group to hedge to, or null to read from the client only
+     */
+    <T> Single<Result<T>> get(EVCacheClient client, EVCacheClient hedgeClient, Call call, Func1<EVCacheClient, Single<T>> read, Scheduler scheduler) {
+        if (hedgeClient == null) return read.call(client).map(value -> new Result<T>(value, client, null));
+
+        final ServerGroup hedgedServerGroup = hedgeClient.getServerGroup();
+        final AtomicBoolean hedged = new AtomicBoolean(false);
+        return read.call(client).toObservable()
+                .map(value -> new Result<T>(value, client, hedged.get() ? hedgedServerGroup : null))
+                .publish(primary -> Observable.merge(primary,
+                        Observable.timer(getDelayMicros(client), TimeUnit.MICROSECONDS, scheduler).takeUntil(primary).flatMap(tick -> {
+                            hedged.set(true);
+                            increment(call, EVCacheMetricsFactory.HEDGED);
+                            return Observable.defer(() -> read.call(hedgeClient).toObservable()).subscribeOn(getHedgeScheduler()).map(value -> {
+                                if (value != null) increment(call, EVCacheMetricsFactory.HEDGE_WIN);
+                                return new Result<T>(value, hedgeClient, hedgedServerGroup);
+                            });
+                        })))
+                .firstOrDefault(null, result -> result.getValue() != null)
+                .map(result -> (result == null) ? new Result<T>(null, client, hedged.get() ? hedgedServerGroup : null) : result)
+                .toSingle();
+    }
+
+    void increment(Call call, String metric) {
+        final String name = call.name() + metric;
+        Counter counter = counterMap.get(name);
+        if (counter == null) {
+            final List<Tag> tagList = new ArrayList<Tag>(tags.size() + 2);
+            tagList.addAll(tags);
+            tagList.add(new BasicTag(EVCacheMetricsFactory.CALL_TAG, call.name()));
+            tagList.add(new BasicTag(EVCacheMetricsFactory.METRIC, metric));
+            counter = EVCacheMetricsFactory.getInstance().getCounter(EVCacheMetricsFactory.INTERNAL_HEDGE, tagList);
+            counterMap.put(name, counter);
+        }
+        counter.increment();
+    }
+}
@@ -0,0 +1,99 @@
+package com.netflix.evcache;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.netflix.archaius.api.Property;
+import com.netflix.evcache.pool.EVCacheValue;
+
+import net.spy.memcached.CachedData;
+
+/**
+ * Transcoder for the {@link EVCacheValue} envelope that wraps the data of hashed keys.
+ *
+ * When enabled the envelope is written in a fixed binary layout instead of with Java serialization:
+ *
+ * <pre>
+ * version (1 byte) | key length (4 bytes) | canonical key (UTF-8) | flags (4 bytes) | ttl (4 bytes) | create time (8 bytes) | value
+ * </pre>
+ *
+ * and the item is stored with the {@link #BINARY_ENVELOPE_FLAG} flag. Both layouts are always read so the binary one
+ * can be turned on once every reader of the app has been upgraded; older readers treat a binary envelope as a miss.
+ */
+public class EVCacheValueTranscoder extends EVCacheTranscoder {
+
+    private static final Logger log = LoggerFactory.getLogger(EVCacheValueTranscoder.class);
+
+    /**
+     * Set on items holding a binary envelope. The bit is not used by the spymemcached transcoders.
+     */
+    public static final int BINARY_ENVELOPE_FLAG = 1 << 4;
+
+    static final byte VERSION = 1;
+    private static final int HEADER_SIZE = 1 + 4 + 4 + 4 + 8;
+
+    private final Property<Boolean> writeBinary;
+
+    public EVCacheValueTranscoder(Property<Boolean> writeBinary) {
+        super();
+        setCompressionThreshold(Integer.MAX_VALUE);
+        this.writeBinary = writeBinary;
+    }
+
+    @Override
+    public CachedData encode(Object o) {
+        if (o instanceof EVCacheValue && writeBinary.get().booleanValue()) {
+            return encodeBinary((EVCacheValue) o);
+        }
+        return super.encode(o);
+    }
+
+    @Override
+    public Object decode(CachedData d) {
+        if ((d.getFlags() & BINARY_ENVELOPE_FLAG) != 0) {
+            return decodeBinary(d.getData());
+        }
+        return super.decode(d);
+    }
+
+    private CachedData encodeBinary(EVCacheValue val) {
+        final byte[] key = val.getKey().getBytes(StandardCharsets.UTF_8);
+        final byte[] value = val.getValue();
+        final byte[] data = new byte[HEADER_SIZE + key.length + value.length];
+        final ByteBuffer buffer = ByteBuffer.wrap(data);
+        buffer.put(VERSION);
+        buffer.putInt(key.length);
+        buffer.put(key);
+        buffer.putInt(val.getFlags());
+        buffer.putInt((int) val.getTTL());
+        buffer.putLong(val.getCreateTimeUTC());
+        buffer.put(value);
+        return new CachedData(BINARY_ENVELOPE_FLAG, data, getMaxSize());
+    }
+
+    private EVCacheValue decodeBinary(byte[] data) {
+        if (data.length < HEADER_SIZE || data[0] != VERSION) {
+            log.warn("Unable to decode the binary envelope, length : " + data.length + (data.length > 0 ? ", version : " + data[0] : ""));
+            return null;
+        }
+
+        final ByteBuffer buffer = ByteBuffer.wrap(data);
+        buffer.position(1);
+        final int keyLength = buffer.getInt();
+        if (keyLength < 0 || keyLength > data.length - HEADER_SIZE) {
+            log.warn("Unable to decode the binary envelope, length : " + data.length + ", key length : " + keyLength);
+            return null;
+        }
+        final String key = new String(data, buffer.position(), keyLength, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + keyLength);
+        final int flags = buffer.getInt();
+        final int ttl = buffer.getInt();
+        final long createTime = buffer.getLong();
+        final byte[] value = Arrays.copyOfRange(data, buffer.position(), data.length);
+        return new EVCacheValue(key, value, flags, ttl, createTime);
+    }
+}
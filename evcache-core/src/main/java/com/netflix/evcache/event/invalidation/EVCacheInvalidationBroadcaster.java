@@ -0,0 +1,18 @@
+package com.netflix.evcache.event.invalidation;
+
+/**
+ * Publishes the keys changed by this instance so that the in-memory caches of the other instances of the fleet
+ * can drop them. Implementations are expected to deliver the message to the listeners of every instance, this
+ * one included, and must not block the caller.
+ *
+ * To use it set the broadcaster on the {@link com.netflix.evcache.pool.EVCacheClientPoolManager}. The
+ * in-memory caches created by the pool manager then invalidate the keys received from it.
+ */
+public interface EVCacheInvalidationBroadcaster {
+
+    void broadcast(String appName, String canonicalKey);
+
+    void addListener(EVCacheInvalidationListener listener);
+
+    void removeListener(EVCacheInvalidationListener listener);
+}
@@ -0,0 +1,15 @@
+package com.netflix.evcache.event.invalidation;
+
+import java.util.EventListener;
+
+/**
+ * Receives the keys that were changed by an EVCache client and have to be dropped from the in-memory caches.
+ */
+public interface EVCacheInvalidationListener extends EventListener {
+
+    /**
+     * @param appName the EVCache app the key belongs to
+     * @param canonicalKey the canonical key (cache prefix included) that was changed
+     */
+    void onInvalidate(String appName, String canonicalKey);
+}
@@ -0,0 +1,38 @@
+package com.netflix.evcache.event.invalidation;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An in-process {@link EVCacheInvalidationBroadcaster} that hands every key to the listeners registered with it.
+ * Useful for tests and for sharing invalidations between multiple clients in the same JVM.
+ */
+public class LoopbackInvalidationBroadcaster implements EVCacheInvalidationBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(LoopbackInvalidationBroadcaster.class);
+    private final List<EVCacheInvalidationListener> listeners = new CopyOnWriteArrayList<EVCacheInvalidationListener>();
+
+    @Override
+    public void broadcast(String appName, String canonicalKey) {
+        for (EVCacheInvalidationListener listener : listeners) {
+            try {
+                listener.onInvalidate(appName, canonicalKey);
+            } catch (Exception e) {
+                log.error("Exception invalidating key " + canonicalKey + " for app " + appName + " on listener " + listener, e);
+            }
+        }
+    }
+
+    @Override
+    public void addListener(EVCacheInvalidationListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(EVCacheInvalidationListener listener) {
+        listeners.remove(listener);
+    }
+}
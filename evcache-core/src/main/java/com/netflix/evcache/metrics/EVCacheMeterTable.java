@@ -0,0 +1,51 @@
+package com.netflix.evcache.metrics;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A fixed size table of meters addressed by an index the caller computes from the ordinals of the dimensions of
+ * the meter (call, status, hit, attempt...). Looking up a meter is an array read, so the hot path neither builds
+ * a name nor takes a lock. Meters are created on first use and registered with a compare-and-set so concurrent
+ * registration is safe; if two threads race the meter of the winner is used by both.
+ */
+public final class EVCacheMeterTable<M> {
+
+    private final AtomicReferenceArray<M> meters;
+
+    public EVCacheMeterTable(int size) {
+        this.meters = new AtomicReferenceArray<M>(size);
+    }
+
+    public M get(int index) {
+        return meters.get(index);
+    }
+
+    /**
+     * Stores the meter at the given index unless one is already there.
+     *
+     * @return the meter stored at the index
+     */
+    public M putIfAbsent(int index, M meter) {
+        if (meters.compareAndSet(index, null, meter)) return meter;
+        return meters.get(index);
+    }
+
+    public int size() {
+        return meters.length();
+    }
+
+    /**
+     * @return the position of the value in the given array of known values or -1 if it is not one of them. Values
+     *         are usually the constants of {@link EVCacheMetricsFactory} so they are compared by reference first.
+     */
+    public static int indexOf(String[] values, String value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == value) return i;
+        }
+        if (value == null) return -1;
+        for (int i = 0; i < values.length; i++) {
+            if (value.equals(values[i])) return i;
+        }
+        return -1;
+    }
+}
@@ -3,14 +3,11 @@ package com.netflix.evcache.metrics;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.StringTokenizer;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import com.netflix.evcache.util.EVCacheConfig;
 import com.netflix.spectator.api.BasicTag;
@@ -22,6 +19,7 @@ import com.netflix.spectator.api.Spectator;
 import com.netflix.spectator.api.Tag;
 import com.netflix.spectator.api.Timer;
 import com.netflix.spectator.api.histogram.PercentileTimer;
+import com.netflix.spectator.api.patterns.PolledMeter;
 import com.netflix.spectator.ipc.IpcStatus;
 
 import net.spy.memcached.ops.StatusCode;
@@ -34,8 +32,8 @@ public final class EVCacheMetricsFactory {
     private final Map<String, Number> monitorMap = new ConcurrentHashMap<String, Number>();
     private final Map<String, Counter> counterMap = new ConcurrentHashMap<String, Counter>();
     private final Map<String, DistributionSummary> distributionSummaryMap = new ConcurrentHashMap<String, DistributionSummary>();
-    private final Lock writeLock = (new ReentrantReadWriteLock()).writeLock();
-    private final Map<String, Timer> timerMap = new HashMap<String, Timer>();
+    private final Map<String, Timer> timerMap = new ConcurrentHashMap<String, Timer>();
+    private final Map<String, Integer> gaugeHolders = new ConcurrentHashMap<String, Integer>();
 
     private static final EVCacheMetricsFactory INSTANCE = new EVCacheMetricsFactory();
 
@@ -73,27 +71,34 @@ public final class EVCacheMetricsFactory {
 
     public AtomicLong getLongGauge(String cName, Collection<Tag> tags) {
         final String name = tags != null ? cName + tags.toString() : cName;
-        AtomicLong gauge = (AtomicLong)monitorMap.get(name);
-        if (gauge == null) {
-            writeLock.lock();
-            try {
-                if (monitorMap.containsKey(name)) {
-                    gauge = (AtomicLong)monitorMap.get(name);
-                } else {
-                    if(tags != null) {
-                        final Id id = getId(cName, tags);
-                        gauge = getRegistry().gauge(id, new AtomicLong());
-                    } else {
-                        final Id id = getId(cName, null);
-                        gauge = getRegistry().gauge(id, new AtomicLong());
-                    }
-                    monitorMap.put(name, gauge);
-                }
-            } finally {
-                writeLock.unlock();
-            }
-        }
-        return gauge;
+        final AtomicLong gauge = (AtomicLong)monitorMap.get(name);
+        if (gauge != null) return gauge;
+        return (AtomicLong)monitorMap.computeIfAbsent(name, n -> getRegistry().gauge(getId(cName, tags), new AtomicLong()));
+    }
+
+    /**
+     * Returns the gauge like {@link #getLongGauge(String, Collection)} for an owner that goes away, e.g. a node. The
+     * gauge is shared by the owners with the same name and tags and is removed once the last of them has called
+     * {@link #releaseLongGauge(String, Collection)}.
+     */
+    public AtomicLong acquireLongGauge(String cName, Collection<Tag> tags) {
+        final String name = tags != null ? cName + tags.toString() : cName;
+        final AtomicLong[] gauge = new AtomicLong[1];
+        gaugeHolders.compute(name, (n, holders) -> {
+            gauge[0] = getLongGauge(cName, tags);
+            return holders == null ? 1 : holders + 1;
+        });
+        return gauge[0];
+    }
+
+    public void releaseLongGauge(String cName, Collection<Tag> tags) {
+        final String name = tags != null ? cName + tags.toString() : cName;
+        gaugeHolders.computeIfPresent(name, (n, holders) -> {
+            if (holders > 1) return holders - 1;
+            monitorMap.remove(name);
+            PolledMeter.remove(getRegistry(), getId(cName, tags));
+            return null;
+        });
     }
     
     private void addCommonTags(List<Tag> tagList) {
@@ -124,24 +129,9 @@ public final class EVCacheMetricsFactory {
 
     public Counter getCounter(String cName, Collection<Tag> tags) {
         final String name = tags != null ? cName + tags.toString() : cName;
-        Counter counter = counterMap.get(name);
-        if (counter == null) {
-            writeLock.lock();
-            try {
-                if (counterMap.containsKey(name)) {
-                    counter = counterMap.get(name);
-                } else {
-                    List<Tag> tagList = new ArrayList<Tag>(tags.size() + 1);
-                    tagList.addAll(tags);
-                    final Id id = getId(cName, tagList);
-                    counter = getRegistry().counter(id);
-                    counterMap.put(name, counter);
-                }
-            } finally {
-                writeLock.unlock();
-            }
-        }
-        return counter;
+        final Counter counter = counterMap.get(name);
+        if (counter != null) return counter;
+        return counterMap.computeIfAbsent(name, n -> getRegistry().counter(getId(cName, tags)));
     }
 
 
@@ -168,20 +158,7 @@ public final class EVCacheMetricsFactory {
         final String name = tags != null ? metric + tags.toString() : metric;
         final Timer duration = timerMap.get(name);
         if (duration != null) return duration;
-
-        writeLock.lock();
-        try {
-            if (timerMap.containsKey(name))
-                return timerMap.get(name);
-            else {
-                Id id = getId(metric, tags);
-                final Timer _duration = PercentileTimer.builder(getRegistry()).withId(id).withRange(Duration.ofNanos(100000), max).build();
-                timerMap.put(name, _duration);
-                return _duration;
-            }
-        } finally {
-            writeLock.unlock();
-        }
+        return timerMap.computeIfAbsent(name, n -> PercentileTimer.builder(getRegistry()).withId(getId(metric, tags)).withRange(Duration.ofNanos(100000), max).build());
     }
 
     public DistributionSummary getDistributionSummary(String name, Collection<Tag> tags) {
@@ -190,10 +167,7 @@ public final class EVCacheMetricsFactory {
         if(_ds != null) return _ds;
         final Registry registry = Spectator.globalRegistry(); 
         if (registry != null) {
-            Id id = getId(name, tags);
-            final DistributionSummary ds = registry.distributionSummary(id);
-            distributionSummaryMap.put(metricName, ds);
-            return ds;
+            return distributionSummaryMap.computeIfAbsent(metricName, n -> registry.distributionSummary(getId(name, tags)));
         }
         return null;
     }
@@ -271,6 +245,8 @@ public final class EVCacheMetricsFactory {
     public static final String FAST_FAIL                            = "internal.evc.client.fastfail";
     public static final String INTERNAL_OPERATION                   = "internal.evc.client.operation";
     public static final String INTERNAL_PAUSE                       = "internal.evc.client.pause";
+    public static final String INTERNAL_ENQUEUE_STALL               = "internal.evc.client.enqueue.stall";
+    public static final String INTERNAL_QUIET_WRITE_ERROR           = "internal.evc.client.quiet.write.error";
     public static final String INTERNAL_LATCH                       = "internal.evc.client.latch";
     public static final String INTERNAL_LATCH_VERIFY                = "internal.evc.client.latch.verify";
     public static final String INTERNAL_FAIL                        = "internal.evc.client.fail";
@@ -282,15 +258,19 @@ public final class EVCacheMetricsFactory {
 
     public static final String INTERNAL_NUM_CHUNK_SIZE              = "internal.evc.client.chunking.numOfChunks";
     public static final String INTERNAL_CHUNK_DATA_SIZE             = "internal.evc.client.chunking.dataSize";
+    public static final String INTERNAL_CHUNK_FALLBACK              = "internal.evc.client.chunking.fallback";
+    public static final String INTERNAL_HEDGE                       = "internal.evc.client.hedge";
     public static final String INTERNAL_ADD_CALL_FIXUP              = "internal.evc.client.addCall.fixUp";
 
     public static final String INTERNAL_POOL_SG_CONFIG              = "internal.evc.client.pool.asg.config";
     public static final String INTERNAL_POOL_CONFIG                 = "internal.evc.client.pool.config";
     public static final String INTERNAL_POOL_REFRESH                = "internal.evc.client.pool.refresh";
+    public static final String INTERNAL_POOL_WARMUP                 = "internal.evc.client.pool.warmup";
 
     public static final String INTERNAL_STATS                       = "internal.evc.client.stats";
     
     public static final String INTERNAL_TTL                         = "internal.evc.item.ttl";
+    public static final String INTERNAL_COALESCE                    = "internal.evc.client.coalesce";
 
     /*
      * Internal pool config values
@@ -305,6 +285,9 @@ public final class EVCacheMetricsFactory {
     public static final String POOL_REFRESH_QUEUE_FULL              = "refreshOnQueueFull";
     public static final String POOL_REFRESH_ASYNC                   = "refreshAsync";
     public static final String POOL_OPERATIONS                      = "operations";
+    public static final String READ_LIMIT                           = "readLimit";
+    public static final String HEDGED                               = "hedged";
+    public static final String HEDGE_WIN                            = "hedgeWin";
 
 
     /**
@@ -337,6 +320,7 @@ public final class EVCacheMetricsFactory {
     public static final String CONFIG_NAME                      = "evc.config";
     public static final String STAT_NAME                        = "evc.stat.name";
     public static final String FAILED_HOST                      = "evc.failed.host";
+    public static final String HOST                             = "evc.host";
     public static final String OPERATION                        = "evc.operation";
     public static final String OPERATION_STATUS                 = "evc.operation.status";
     public static final String NUMBER_OF_ATTEMPTS               = "evc.attempts";
@@ -381,7 +365,10 @@ public final class EVCacheMetricsFactory {
     public static final String VERIFY                           = "verify";
     public static final String READ_QUEUE_FULL                  = "readQueueFull";
     public static final String INACTIVE_NODE                    = "inactiveNode";
+    public static final String WRITE_QUEUE_FULL                 = "writeQueueFull";
     public static final String IGNORE_INACTIVE_NODES            = "ignoreInactiveNode";
+    public static final String COALESCE_LEADER                  = "leader";
+    public static final String COALESCED                        = "coalesced";
     public static final String INCORRECT_CHUNKS                 = "incorrectNumOfChunks";
     public static final String INVALID_CHUNK_SIZE               = "invalidChunkSize";
     public static final String CHECK_SUM_ERROR                  = "checkSumError";
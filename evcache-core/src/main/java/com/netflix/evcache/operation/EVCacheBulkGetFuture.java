@@ -9,14 +9,17 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
@@ -53,14 +56,43 @@ public class EVCacheBulkGetFuture<T> extends BulkGetFuture<T> {
     private final CountDownLatch latch;
     private final long start;
     private final EVCacheClient client;
+    private final Set<String> requestedKeys;
+    private final Set<Collection<String>> pendingNodes;
+    private final int nodeCount;
+    private final BlockingQueue<Collection<String>> completedNodes;
 
     public EVCacheBulkGetFuture(Map<String, Future<T>> m, Collection<Operation> getOps, CountDownLatch l, ExecutorService service, EVCacheClient client) {
+        this(m, getOps, l, service, client, null);
+    }
+
+    /**
+     * @param nodeKeys the keys of each node read, to follow the completion of each node with
+     *            {@link #pollCompletedNode(long, TimeUnit)}, or null
+     */
+    public EVCacheBulkGetFuture(Map<String, Future<T>> m, Collection<Operation> getOps, CountDownLatch l, ExecutorService service, EVCacheClient client, Collection<Collection<String>> nodeKeys) {
         super(m, getOps, l, service);
         rvMap = m;
         ops = getOps;
         latch = l;
         this.start = System.currentTimeMillis();
         this.client = client;
+        if (nodeKeys == null) {
+            this.requestedKeys = null;
+            this.pendingNodes = null;
+            this.completedNodes = null;
+            this.nodeCount = 0;
+        } else {
+            final Set<String> keys = new HashSet<String>();
+            final Set<Collection<String>> nodes = Collections.newSetFromMap(new IdentityHashMap<Collection<String>, Boolean>(nodeKeys.size()));
+            for (Collection<String> keysOfNode : nodeKeys) {
+                keys.addAll(keysOfNode);
+                nodes.add(keysOfNode);
+            }
+            this.requestedKeys = Collections.unmodifiableSet(keys);
+            this.pendingNodes = Collections.synchronizedSet(nodes);
+            this.completedNodes = new LinkedBlockingQueue<Collection<String>>();
+            this.nodeCount = nodes.size();
+        }
     }
 
     public Map<String, T> getSome(long to, TimeUnit unit, boolean throwException, boolean hasZF)
@@ -211,6 +243,74 @@ public class EVCacheBulkGetFuture<T> extends BulkGetFuture<T> {
         return Collections.unmodifiableSet(rvMap.keySet());
     }
 
+    /**
+     * @return the keys that were sent to a node, which leaves out the keys of nodes that could not take more reads
+     */
+    public Set<String> getRequestedKeys() {
+        return requestedKeys;
+    }
+
+    /**
+     * @return the number of nodes read
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Called as the read of a node completes, after the values it found have been received.
+     *
+     * @param keys the keys that were read from the node
+     */
+    public void signalNodeComplete(Collection<String> keys) {
+        if (pendingNodes != null && pendingNodes.remove(keys)) completedNodes.add(keys);
+    }
+
+    /**
+     * Waits for the read of a node to complete. The values found for its keys are in {@link #getCompleted()} and the
+     * keys missing from it were not found.
+     *
+     * @return the keys of the node whose read completed, or null if none completed within the timeout
+     */
+    public Collection<String> pollCompletedNode(long timeout, TimeUnit unit) throws InterruptedException {
+        return completedNodes.poll(timeout, unit);
+    }
+
+    /**
+     * @return the keys of the nodes whose read has not completed yet
+     */
+    public List<String> getPendingKeys() {
+        final List<String> keys = new ArrayList<String>();
+        if (pendingNodes == null) return keys;
+        synchronized (pendingNodes) {
+            for (Collection<String> keysOfNode : pendingNodes) {
+                keys.addAll(keysOfNode);
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Returns the values received so far without waiting for the rest of the read or treating it as timed out.
+     */
+    public Map<String, T> getCompleted() throws InterruptedException, ExecutionException {
+        return getCompleted(rvMap.keySet());
+    }
+
+    /**
+     * Returns the values received so far for the given keys, see {@link #getCompleted()}.
+     */
+    public Map<String, T> getCompleted(Collection<String> keys) throws InterruptedException, ExecutionException {
+        final Map<String, T> m = new HashMap<String, T>();
+        for (String key : keys) {
+            final Future<T> future = rvMap.get(key);
+            if (future == null) continue;
+            final T value = future.get();
+            if (value != null) m.put(key, value);
+        }
+        return m;
+    }
+
     public void signalComplete() {
         super.signalComplete();
     }
@@ -0,0 +1,334 @@
+package com.netflix.evcache.operation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.netflix.evcache.EVCacheBulkLatch;
+import com.netflix.evcache.event.EVCacheEvent;
+import com.netflix.evcache.event.EVCacheEventListener;
+import com.netflix.evcache.pool.EVCacheClient;
+
+import net.spy.memcached.internal.ListenableFuture;
+import net.spy.memcached.internal.OperationCompletionListener;
+import net.spy.memcached.internal.OperationFuture;
+
+/**
+ * A single latch for the writes of many keys. The futures are added per key and the latch is counted down
+ * once per key, when as many of its copies as the policy requires have completed.
+ */
+public class EVCacheBulkLatchImpl implements EVCacheBulkLatch {
+    private static final Logger log = LoggerFactory.getLogger(EVCacheBulkLatchImpl.class);
+
+    private final Policy policy;
+    private final String appName;
+    private final int expectedCompleteCountPerKey;
+    private final Map<String, KeyFutures> keyFutures;
+    private final Map<Future<Boolean>, KeyFutures> pendingFutures = new ConcurrentHashMap<Future<Boolean>, KeyFutures>();
+    private final CountDownLatch latch;
+    private final AtomicInteger completeCount = new AtomicInteger();
+    private final AtomicBoolean onCompleteDone = new AtomicBoolean();
+
+    private volatile EVCacheEvent evcacheEvent = null;
+
+    /**
+     * @param copies the number of copies of each key that count towards the policy
+     */
+    public EVCacheBulkLatchImpl(Policy policy, int copies, Collection<String> keys, String appName) {
+        this.policy = policy;
+        this.appName = appName;
+        this.expectedCompleteCountPerKey = policyToCount(policy, copies);
+        this.keyFutures = new HashMap<String, KeyFutures>((int) (keys.size() / 0.75) + 1);
+        for (String key : keys) {
+            keyFutures.put(key, new KeyFutures());
+        }
+        this.latch = new CountDownLatch(expectedCompleteCountPerKey == 0 ? 0 : keyFutures.size());
+
+        if (log.isDebugEnabled()) log.debug("Number of Keys = " + keyFutures.size() + "; Number of Futures per key that need to completed for Latch to be released = " + expectedCompleteCountPerKey);
+    }
+
+    /**
+     * Adds the future of a copy of the given key. Futures of keys that are not part of this latch are ignored.
+     *
+     * @param key the key as passed to the bulk write
+     */
+    public void addFuture(String key, ListenableFuture<Boolean, OperationCompletionListener> future) {
+        final KeyFutures kf = keyFutures.get(key);
+        if (kf == null) return;
+        kf.futures.add(future);
+        pendingFutures.put(future, kf);
+        future.addListener(this);
+        // completed futures that are not operations do not call their listeners
+        if (future.isDone()) completed(future);
+    }
+
+    @Override
+    public void onComplete(OperationFuture<?> future) {
+        completed(future);
+    }
+
+    private void completed(Future<?> future) {
+        final KeyFutures kf = pendingFutures.remove(future);
+        if (kf == null) return;
+        completeCount.incrementAndGet();
+        if (kf.completeCount.incrementAndGet() == expectedCompleteCountPerKey) latch.countDown();
+        completeEvent();
+    }
+
+    /*
+     * Completes the event once, when both the latch is released and the event is set.
+     */
+    private void completeEvent() {
+        final EVCacheEvent event = evcacheEvent;
+        if (latch.getCount() == 0 && event != null && onCompleteDone.compareAndSet(false, true)) {
+            for (EVCacheClient client : event.getClients()) {
+                final List<EVCacheEventListener> evcacheEventListenerList = client.getPool().getEVCacheClientPoolManager().getEVCacheEventListeners();
+                for (EVCacheEventListener evcacheEventListener : evcacheEventListenerList) {
+                    evcacheEventListener.onComplete(event);
+                }
+                break;
+            }
+        }
+    }
+
+    private int policyToCount(Policy policy, int count) {
+        if (policy == null || count == 0) return 0;
+        switch (policy) {
+        case NONE:
+            return 0;
+        case ONE:
+            return 1;
+        case QUORUM:
+            return (count <= 2) ? 1 : (count / 2) + 1;
+        case ALL_MINUS_1:
+            return (count <= 2) ? 1 : count - 1;
+        default:
+            return count;
+        }
+    }
+
+    @Override
+    public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+        if (log.isDebugEnabled()) log.debug("Current Latch Count = " + latch.getCount() + "; await for " + timeout + " " + unit.name() + " appName : " + appName);
+        return latch.await(timeout, unit);
+    }
+
+    @Override
+    public boolean isDone() {
+        return latch.getCount() == 0;
+    }
+
+    @Override
+    public List<Future<Boolean>> getFutures(String key) {
+        final KeyFutures kf = keyFutures.get(key);
+        if (kf == null) return Collections.emptyList();
+        return kf.futures;
+    }
+
+    @Override
+    public int getSuccessCount(String key) {
+        final KeyFutures kf = keyFutures.get(key);
+        return (kf == null) ? 0 : getSuccessCount(kf.futures);
+    }
+
+    @Override
+    public Set<String> getFailedKeys() {
+        final int required = Math.max(1, expectedCompleteCountPerKey);
+        final Set<String> failedKeys = new HashSet<String>();
+        for (Map.Entry<String, KeyFutures> entry : keyFutures.entrySet()) {
+            final List<Future<Boolean>> futures = entry.getValue().futures;
+            if (getPendingFutureCount(futures) == 0 && getSuccessCount(futures) < required) failedKeys.add(entry.getKey());
+        }
+        return failedKeys;
+    }
+
+    @Override
+    public List<Future<Boolean>> getPendingFutures() {
+        final List<Future<Boolean>> returnFutures = new ArrayList<Future<Boolean>>();
+        for (KeyFutures kf : keyFutures.values()) {
+            for (Future<Boolean> future : kf.futures) {
+                if (!future.isDone()) returnFutures.add(future);
+            }
+        }
+        return returnFutures;
+    }
+
+    @Override
+    public List<Future<Boolean>> getAllFutures() {
+        final List<Future<Boolean>> returnFutures = new ArrayList<Future<Boolean>>();
+        for (KeyFutures kf : keyFutures.values()) {
+            returnFutures.addAll(kf.futures);
+        }
+        return returnFutures;
+    }
+
+    @Override
+    public List<Future<Boolean>> getCompletedFutures() {
+        final List<Future<Boolean>> returnFutures = new ArrayList<Future<Boolean>>();
+        for (KeyFutures kf : keyFutures.values()) {
+            for (Future<Boolean> future : kf.futures) {
+                if (future.isDone()) returnFutures.add(future);
+            }
+        }
+        return returnFutures;
+    }
+
+    @Override
+    public int getPendingFutureCount() {
+        int count = 0;
+        for (KeyFutures kf : keyFutures.values()) {
+            count += getPendingFutureCount(kf.futures);
+        }
+        return count;
+    }
+
+    @Override
+    public int getCompletedFutureCount() {
+        int count = 0;
+        for (KeyFutures kf : keyFutures.values()) {
+            count += kf.futures.size() - getPendingFutureCount(kf.futures);
+        }
+        return count;
+    }
+
+    @Override
+    public int getPendingCount() {
+        int count = 0;
+        for (KeyFutures kf : keyFutures.values()) {
+            count += Math.max(0, expectedCompleteCountPerKey - kf.completeCount.get());
+        }
+        return count;
+    }
+
+    @Override
+    public int getCompletedCount() {
+        return completeCount.get();
+    }
+
+    @Override
+    public int getFailureCount() {
+        int fail = 0;
+        for (KeyFutures kf : keyFutures.values()) {
+            for (Future<Boolean> future : kf.futures) {
+                try {
+                    if (future.isDone() && future.get().equals(Boolean.FALSE)) fail++;
+                } catch (Exception e) {
+                    fail++;
+                    if (log.isDebugEnabled()) log.debug(e.getMessage(), e);
+                }
+            }
+        }
+        return fail;
+    }
+
+    @Override
+    public int getExpectedSuccessCount() {
+        return getExpectedCompleteCount();
+    }
+
+    @Override
+    public int getExpectedCompleteCount() {
+        return expectedCompleteCountPerKey * keyFutures.size();
+    }
+
+    @Override
+    public int getSuccessCount() {
+        int success = 0;
+        for (KeyFutures kf : keyFutures.values()) {
+            success += getSuccessCount(kf.futures);
+        }
+        return success;
+    }
+
+    private int getSuccessCount(List<Future<Boolean>> futures) {
+        int success = 0;
+        for (Future<Boolean> future : futures) {
+            try {
+                if (future.isDone() && future.get().equals(Boolean.TRUE)) success++;
+            } catch (Exception e) {
+                if (log.isDebugEnabled()) log.debug(e.getMessage(), e);
+            }
+        }
+        return success;
+    }
+
+    private int getPendingFutureCount(List<Future<Boolean>> futures) {
+        int count = 0;
+        for (Future<Boolean> future : futures) {
+            if (!future.isDone()) count++;
+        }
+        return count;
+    }
+
+    @Override
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    public String getAppName() {
+        return appName;
+    }
+
+    @Override
+    public boolean isFastFailure() {
+        for (KeyFutures kf : keyFutures.values()) {
+            if (!kf.futures.isEmpty()) return false;
+        }
+        return true;
+    }
+
+    /**
+     * The event is completed once the latch is released, right away if all the futures completed before it was set.
+     */
+    @Override
+    public void setEVCacheEvent(EVCacheEvent event) {
+        this.evcacheEvent = event;
+        completeEvent();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("{\"AppName\":\"");
+        builder.append(getAppName());
+        builder.append("\",\"Keys\":\"");
+        builder.append(keyFutures.size());
+        builder.append("\",\"isDone\":\"");
+        builder.append(isDone());
+        builder.append("\",\"Pending Count\":\"");
+        builder.append(getPendingCount());
+        builder.append("\",\"Completed Count\":\"");
+        builder.append(getCompletedCount());
+        builder.append("\",\"Failure Count\":\"");
+        builder.append(getFailureCount());
+        builder.append("\",\"Success Count\":\"");
+        builder.append(getSuccessCount());
+        builder.append("\",\"Expected Complete Count\":\"");
+        builder.append(getExpectedCompleteCount());
+        builder.append("\"}");
+        return builder.toString();
+    }
+
+    /*
+     * The futures are added by the writing thread and read by the listener threads.
+     */
+    private static final class KeyFutures {
+        private final List<Future<Boolean>> futures = new CopyOnWriteArrayList<Future<Boolean>>();
+        private final AtomicInteger completeCount = new AtomicInteger();
+    }
+}
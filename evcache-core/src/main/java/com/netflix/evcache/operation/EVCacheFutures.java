@@ -35,7 +35,7 @@ public class EVCacheFutures implements ListenableFuture<Boolean, OperationComple
         this.key = key;
         this.latch = latch;
         this.completionCounter = new AtomicInteger(futures.length);
-        if (latch != null && latch instanceof EVCacheLatchImpl) ((EVCacheLatchImpl) latch).addFuture(this);
+        if (latch != null && latch instanceof EVCacheLatchImpl) ((EVCacheLatchImpl) latch).addCompletingFuture(this);
         for (int i = 0; i < futures.length; i++) {
             final OperationFuture<Boolean> of = futures[i];
             if (of.isDone()) {
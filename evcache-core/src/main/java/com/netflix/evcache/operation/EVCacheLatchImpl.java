@@ -85,6 +85,14 @@ public class EVCacheLatchImpl implements EVCacheLatch, Runnable {
         this.futures.add(future);
     }
 
+    /*
+     * Adds a future that calls onComplete of this latch itself once it is done, like EVCacheFutures does for the
+     * chunks of a value. It is not counted down here if it is already done, or it would be counted twice.
+     */
+    void addCompletingFuture(Future<Boolean> future) {
+        this.futures.add(future);
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -12,6 +12,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.slf4j.Logger;
@@ -28,8 +29,10 @@ import com.sun.management.GcInfo;
 
 import net.spy.memcached.MemcachedConnection;
 import net.spy.memcached.internal.CheckedOperationTimeoutException;
+import net.spy.memcached.internal.OperationCompletionListener;
 import net.spy.memcached.internal.OperationFuture;
 import net.spy.memcached.ops.Operation;
+import net.spy.memcached.ops.OperationStatus;
 import rx.Scheduler;
 import rx.Single;
 import rx.functions.Action0;
@@ -62,14 +65,33 @@ public class EVCacheOperationFuture<T> extends OperationFuture<T> {
     private final String key;
     private final long start;
     private final EVCacheClient client;
+    private final long opTimeout;
+    private final ExecutorService service;
+    private final AtomicBoolean timeoutRecorded;
 
     public EVCacheOperationFuture(String k, CountDownLatch l, AtomicReference<T> oref, long opTimeout, ExecutorService service, EVCacheClient client) {
+        this(k, l, oref, opTimeout, service, client, new AtomicBoolean(), System.currentTimeMillis());
+    }
+
+    private EVCacheOperationFuture(String k, CountDownLatch l, AtomicReference<T> oref, long opTimeout, ExecutorService service, EVCacheClient client, AtomicBoolean timeoutRecorded, long start) {
         super(k, l, oref, opTimeout, service);
         this.latch = l;
         this.objRef = oref;
         this.key = k;
         this.client = client;
-        this.start = System.currentTimeMillis();
+        this.opTimeout = opTimeout;
+        this.service = service;
+        this.timeoutRecorded = timeoutRecorded;
+        this.start = start;
+    }
+
+    /**
+     * Returns a view of this future for one of the callers sharing the operation. The view waits on the same
+     * operation, but cancelling it does not cancel the operation and the timeout of the operation is only
+     * counted once, however many callers time out waiting for it.
+     */
+    public EVCacheOperationFuture<T> share() {
+        return new SharedView<T>(this);
     }
 
     public Operation getOperation() {
@@ -174,9 +196,7 @@ public class EVCacheOperationFuture<T> extends OperationFuture<T> {
             String statusString = EVCacheMetricsFactory.SUCCESS;
             final long pauseDuration = System.currentTimeMillis() - start;
             if (op != null && !status) {
-                // whenever timeout occurs, continuous timeout counter will increase by 1.
-                MemcachedConnection.opTimedOut(op);
-                op.timeOut();
+                recordTimeout();
                 ExecutionException t = null;
                 if(throwException && !hasZF) {
                     if (op.isTimedOut()) { t = new ExecutionException(new CheckedOperationTimeoutException("Checked Operation timed out.", op)); statusString = EVCacheMetricsFactory.CHECKED_OP_TIMEOUT; }
@@ -196,7 +216,8 @@ public class EVCacheOperationFuture<T> extends OperationFuture<T> {
             EVCacheMetricsFactory.getInstance().getPercentileTimer(EVCacheMetricsFactory.INTERNAL_PAUSE, tagList, Duration.ofMillis(EVCacheConfig.getInstance().getPropertyRepository().get(getApp() + ".max.write.duration.metric", Integer.class).orElseGet("evcache.max.write.duration.metric").orElse(50).get().intValue())).record(pauseDuration, TimeUnit.MILLISECONDS);
         }
 
-        if (status)  MemcachedConnection.opSucceeded(op);// continuous timeout counter will be reset
+        // continuous timeout counter will be reset, unless the operation was completed because it timed out
+        if (status && !timeoutRecorded.get()) MemcachedConnection.opSucceeded(op);
 
         return objRef.get();
     }
@@ -215,9 +236,7 @@ public class EVCacheOperationFuture<T> extends OperationFuture<T> {
 
     public Single<T> get(long duration, TimeUnit units, boolean throwException, boolean hasZF, Scheduler scheduler) {
         return observe().timeout(duration, units, Single.create(subscriber -> {
-            // whenever timeout occurs, continuous timeout counter will increase by 1.
-            MemcachedConnection.opTimedOut(op);
-            if (op != null) op.timeOut();
+            recordTimeout();
             //if (!hasZF) EVCacheMetricsFactory.getCounter(appName, null, serverGroup.getName(), appName + "-get-CheckedOperationTimeout", DataSourceType.COUNTER).increment();
             if (throwException) {
                 subscriber.onError(new CheckedOperationTimeoutException("Timed out waiting for operation", op));
@@ -236,6 +255,16 @@ public class EVCacheOperationFuture<T> extends OperationFuture<T> {
         );
     }
 
+    /*
+     * Whenever an operation times out the continuous timeout counter of its node increases by 1. The callers
+     * sharing an operation all time out together, so only the first one counts it.
+     */
+    private void recordTimeout() {
+        if (op == null || !timeoutRecorded.compareAndSet(false, true)) return;
+        MemcachedConnection.opTimedOut(op);
+        op.timeOut();
+    }
+
     public void signalComplete() {
         super.signalComplete();
     }
@@ -266,4 +295,76 @@ public class EVCacheOperationFuture<T> extends OperationFuture<T> {
         return start;
     }
 
+    /*
+     * Listeners are added to the shared future as it is the one completed by the operation.
+     */
+    private static final class SharedView<T> extends EVCacheOperationFuture<T> {
+        private final EVCacheOperationFuture<T> shared;
+
+        SharedView(EVCacheOperationFuture<T> shared) {
+            super(shared.key, shared.latch, shared.objRef, shared.opTimeout, shared.service, shared.client, shared.timeoutRecorded, shared.start);
+            this.shared = shared;
+            if (shared.op != null) setOperation(shared.op);
+        }
+
+        @Override
+        public EVCacheOperationFuture<T> share() {
+            return this;
+        }
+
+        @Override
+        public boolean cancel(boolean ign) {
+            if (log.isDebugEnabled()) log.debug("Not cancelling the shared operation of key : " + getKey());
+            return false;
+        }
+
+        @Override
+        public boolean cancel() {
+            return cancel(false);
+        }
+
+        @Override
+        public T get(long duration, TimeUnit units) throws InterruptedException, TimeoutException, ExecutionException {
+            if (!shared.latch.await(duration, units)) {
+                shared.recordTimeout();
+                throw new CheckedOperationTimeoutException("Timed out waiting for operation", getOperation());
+            }
+            return super.get(duration, units);
+        }
+
+        @Override
+        public OperationStatus getStatus() {
+            return shared.getStatus();
+        }
+
+        @Override
+        public Long getCas() {
+            return shared.getCas();
+        }
+
+        @Override
+        public EVCacheOperationFuture<T> addListener(EVCacheGetOperationListener<T> listener) {
+            shared.addListener(listener);
+            return this;
+        }
+
+        @Override
+        public EVCacheOperationFuture<T> removeListener(EVCacheGetOperationListener<T> listener) {
+            shared.removeListener(listener);
+            return this;
+        }
+
+        @Override
+        public OperationFuture<T> addListener(OperationCompletionListener listener) {
+            shared.addListener(listener);
+            return this;
+        }
+
+        @Override
+        public OperationFuture<T> removeListener(OperationCompletionListener listener) {
+            shared.removeListener(listener);
+            return this;
+        }
+    }
+
 }
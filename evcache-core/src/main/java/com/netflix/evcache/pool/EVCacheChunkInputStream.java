@@ -0,0 +1,170 @@
+package com.netflix.evcache.pool;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import com.netflix.evcache.metrics.EVCacheMetricsFactory;
+import com.netflix.evcache.operation.EVCacheBulkGetFuture;
+import com.netflix.evcache.pool.EVCacheClient.ChunkInfo;
+
+import net.spy.memcached.CachedData;
+import net.spy.memcached.EVCacheMemcachedClient;
+
+/**
+ * Reads a chunked value of a server group as a stream.
+ *
+ * The data chunks are read window chunks at a time and the next window is requested as soon as the current one has
+ * arrived, so at most two windows of chunks are held in memory whatever the size of the value. The checksum is
+ * computed as the chunks are consumed; a missing chunk or a checksum mismatch surfaces as an {@link IOException}
+ * since the bytes before it have already been handed to the caller.
+ *
+ * An instance is not thread safe.
+ */
+class EVCacheChunkInputStream extends InputStream {
+
+    private final EVCacheClient client;
+    private final EVCacheMemcachedClient memcachedClient;
+    private final ChunkInfo chunkInfo;
+    private final List<String> chunkKeys;
+    private final int window;
+    private final long readTimeout;
+    private final int lastChunkSize;
+    private final CRC32 checksum = new CRC32();
+
+    private Map<String, CachedData> prefetched;
+    private EVCacheBulkGetFuture<CachedData> current;
+    private EVCacheBulkGetFuture<CachedData> next;
+    private Map<String, CachedData> chunks;
+    private int windowStart = 0;
+    private int chunkIndex = 0;
+    private byte[] chunk;
+    private int position = 0;
+    private int limit = 0;
+    private boolean closed = false;
+
+    EVCacheChunkInputStream(EVCacheClient client, ChunkInfo chunkInfo, List<String> chunkKeys, Map<String, CachedData> prefetched, int window, long readTimeout) {
+        this.client = client;
+        this.memcachedClient = client.getEVCacheMemcachedClient();
+        this.chunkInfo = chunkInfo;
+        this.chunkKeys = chunkKeys;
+        this.prefetched = prefetched;
+        this.window = Math.max(1, window);
+        this.readTimeout = readTimeout;
+        this.lastChunkSize = (chunkInfo.getLastChunk() == 0 || chunkInfo.getLastChunk() > chunkInfo.getChunkSize()) ? chunkInfo.getChunkSize() : chunkInfo.getLastChunk();
+        this.current = fetch(0);
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureChunk()) return -1;
+        return chunk[position++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || off + len > b.length) throw new IndexOutOfBoundsException();
+        if (len == 0) return 0;
+        if (!ensureChunk()) return -1;
+        final int n = Math.min(len, limit - position);
+        System.arraycopy(chunk, position, b, off, n);
+        position += n;
+        return n;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return closed ? 0 : limit - position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        chunk = null;
+        chunks = null;
+        prefetched = null;
+        if (current != null) current.cancel(false);
+        if (next != null) next.cancel(false);
+    }
+
+    private boolean ensureChunk() throws IOException {
+        if (closed) throw new IOException("Stream closed");
+        if (position < limit) return true;
+        if (chunkIndex == chunkKeys.size()) {
+            if (chunk != null) verifyChecksum();
+            return false;
+        }
+
+        final String chunkKey = chunkKeys.get(chunkIndex);
+        final CachedData data = getChunk(chunkKey);
+        final boolean isLastChunk = (chunkIndex == chunkKeys.size() - 1);
+        final int len = isLastChunk ? lastChunkSize : chunkInfo.getChunkSize();
+        if (data == null || data.getData() == null) {
+            client.incrementFailure(EVCacheMetricsFactory.INCORRECT_CHUNKS, null);
+            throw new IOException("Chunk " + chunkKey + " is missing in " + client.getServerGroup());
+        }
+        if (data.getData().length < len) {
+            client.incrementFailure(EVCacheMetricsFactory.INVALID_CHUNK_SIZE, null);
+            throw new IOException("Chunk " + chunkKey + " of " + data.getData().length + " bytes is shorter than expected : " + len);
+        }
+
+        chunk = data.getData();
+        position = 0;
+        limit = len;
+        checksum.update(chunk, 0, len);
+        chunkIndex++;
+        return true;
+    }
+
+    private CachedData getChunk(String chunkKey) throws IOException {
+        final int start = (chunkIndex / window) * window;
+        while (windowStart < start || chunks == null) {
+            if (chunks != null) {
+                current = next;
+                windowStart += window;
+            }
+            try {
+                chunks = (current == null) ? Collections.<String, CachedData>emptyMap() : current.getSome(readTimeout, TimeUnit.MILLISECONDS, false, false);
+            } catch (Exception e) {
+                throw new IOException("Unable to read the chunks of " + chunkInfo.getKey() + " from " + client.getServerGroup(), e);
+            }
+            // the next window is read while this one is consumed
+            next = fetch(windowStart + window);
+        }
+
+        if (prefetched != null) {
+            final CachedData data = prefetched.get(chunkKey);
+            if (data != null) return data;
+        }
+        return (chunks == null) ? null : chunks.get(chunkKey);
+    }
+
+    private EVCacheBulkGetFuture<CachedData> fetch(int from) {
+        if (from >= chunkKeys.size()) return null;
+        final List<String> keys = chunkKeys.subList(from, Math.min(from + window, chunkKeys.size()));
+        if (prefetched != null) {
+            boolean allPrefetched = true;
+            for (String chunkKey : keys) {
+                if (!prefetched.containsKey(chunkKey)) {
+                    allPrefetched = false;
+                    break;
+                }
+            }
+            if (allPrefetched) return null;
+        }
+        return memcachedClient.asyncGetBulk(keys, client.getChunkingTranscoder(), null);
+    }
+
+    private void verifyChecksum() throws IOException {
+        chunk = null;
+        if (checksum.getValue() != chunkInfo.getChecksum()) {
+            client.incrementFailure(EVCacheMetricsFactory.CHECK_SUM_ERROR, null);
+            throw new IOException("Checksum mismatch for " + chunkInfo.getKey() + " in " + client.getServerGroup() + " : " + checksum.getValue() + " expected : " + chunkInfo.getChecksum());
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.netflix.evcache.pool;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.netflix.evcache.EVCache.Call;
+import com.netflix.evcache.EVCacheException;
+
+import net.spy.memcached.CachedData;
+import net.spy.memcached.EVCacheMemcachedClient;
+import net.spy.memcached.internal.OperationFuture;
+
+/**
+ * Writes a value to a server group as it is produced, using the chunk layout of {@link EVCacheClient}.
+ *
+ * The data chunks (key_01 .. key_NN) are sent as soon as they are filled and at most window chunks are in flight, so
+ * only a few chunks are held in memory whatever the size of the value. The metadata chunk (key_00) is written last by
+ * {@link #close()} once every data chunk has been stored and only then is the previous value under the key itself
+ * deleted. Until then readers see the previous value, or a miss once the chunks of a previous chunked value start to
+ * be replaced as they no longer match its checksum.
+ *
+ * An instance is not thread safe.
+ */
+class EVCacheChunkOutputStream extends OutputStream {
+
+    private static final Logger log = LoggerFactory.getLogger(EVCacheChunkOutputStream.class);
+
+    private final EVCacheClient client;
+    private final EVCacheMemcachedClient memcachedClient;
+    private final String key;
+    private final int timeToLive;
+    private final int chunkSize;
+    private final int window;
+    private final long writeTimeout;
+    private final int flags;
+    private final Deque<OperationFuture<Boolean>> inFlight;
+    private final CRC32 checksum = new CRC32();
+
+    private byte[] buffer;
+    private int position = 0;
+    private int chunkIndex = 1;
+    private long size = 0;
+    private boolean failed = false;
+    private boolean closed = false;
+
+    EVCacheChunkOutputStream(EVCacheClient client, String key, int timeToLive, int chunkSize, int window, long writeTimeout, int flags) {
+        this.client = client;
+        this.memcachedClient = client.getEVCacheMemcachedClient();
+        this.key = key;
+        this.timeToLive = timeToLive;
+        this.chunkSize = chunkSize;
+        this.window = Math.max(1, window);
+        this.writeTimeout = writeTimeout;
+        this.flags = flags;
+        this.inFlight = new ArrayDeque<OperationFuture<Boolean>>(this.window);
+        this.buffer = new byte[chunkSize];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        buffer[position++] = (byte) b;
+        if (position == chunkSize) sendChunk();
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        if (off < 0 || len < 0 || off + len > b.length) throw new IndexOutOfBoundsException();
+        while (len > 0) {
+            final int n = Math.min(len, chunkSize - position);
+            System.arraycopy(b, off, buffer, position, n);
+            position += n;
+            off += n;
+            len -= n;
+            if (position == chunkSize) sendChunk();
+        }
+    }
+
+    /**
+     * Writes the last data chunk and the metadata chunk.
+     *
+     * @throws IOException if a chunk could not be stored, in which case the metadata is not written and the key reads
+     *             as a miss in this server group
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+
+        if (size == 0 && position == 0) {
+            // nothing to chunk, store an empty value under the key itself, it is read ahead of any metadata
+            ensureWriteQueueSize(key);
+            await(memcachedClient.set(key, timeToLive, new CachedData(flags, new byte[0], Integer.MAX_VALUE), null, null));
+            if (failed) throw new IOException("Unable to write key " + key + " to " + client.getServerGroup());
+            awaitDelete(key + "_00");
+            return;
+        }
+
+        int lastChunkSize = chunkSize;
+        if (position > 0) {
+            lastChunkSize = position;
+            buffer = Arrays.copyOf(buffer, position);
+            sendChunk();
+        }
+        buffer = null;
+
+        while (!inFlight.isEmpty()) await(inFlight.poll());
+        if (failed) throw new IOException("Unable to write all the chunks of key " + key + " to " + client.getServerGroup());
+
+        final CachedData metadata = client.encodeChunkInfo(chunkIndex, chunkSize, lastChunkSize, flags, checksum.getValue());
+        ensureWriteQueueSize(key + "_00");
+        await(memcachedClient.set(key + "_00", timeToLive, metadata, null, null));
+        if (failed) throw new IOException("Unable to write the metadata of key " + key + " to " + client.getServerGroup());
+        // a previous value that was not chunked is read ahead of the metadata
+        awaitDelete(key);
+        client.recordChunks(chunkIndex, size);
+        if (log.isDebugEnabled()) log.debug("Streamed " + size + " bytes in " + (chunkIndex - 1) + " chunks of " + chunkSize + " bytes for key " + key + " to " + client.getServerGroup());
+    }
+
+    private void sendChunk() throws IOException {
+        while (inFlight.size() >= window) await(inFlight.poll());
+        if (failed) throw new IOException("Unable to write the chunks of key " + key + " to " + client.getServerGroup());
+
+        final String chunkKey = EVCacheClient.getChunkKey(key, chunkIndex);
+        ensureWriteQueueSize(chunkKey);
+        chunkIndex++;
+        checksum.update(buffer, 0, buffer.length);
+        size += buffer.length;
+        // the operation keeps a reference to the buffer until it has been written, so the next chunk needs a new one
+        inFlight.add(memcachedClient.set(chunkKey, timeToLive, new CachedData(flags, buffer, Integer.MAX_VALUE), null, null));
+        buffer = new byte[chunkSize];
+        position = 0;
+    }
+
+    private void await(OperationFuture<Boolean> future) {
+        try {
+            if (!Boolean.TRUE.equals(future.get(writeTimeout, TimeUnit.MILLISECONDS))) failed = true;
+        } catch (Exception e) {
+            if (log.isDebugEnabled()) log.debug("Exception writing the chunk " + future.getKey() + " to " + client.getServerGroup(), e);
+            failed = true;
+        }
+    }
+
+    /*
+     * Waits for the delete of a key, a key that is not found is already deleted.
+     */
+    private void awaitDelete(String deleteKey) {
+        try {
+            memcachedClient.delete(deleteKey, null).get(writeTimeout, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            if (log.isDebugEnabled()) log.debug("Exception deleting the key " + deleteKey + " from " + client.getServerGroup(), e);
+        }
+    }
+
+    /*
+     * The chunks of a value are spread over the nodes of the server group, each one is rejected if its node can not
+     * take it.
+     */
+    private void ensureWriteQueueSize(String chunkKey) throws IOException {
+        try {
+            if (client.ensureWriteQueueSize(memcachedClient.getEVCacheNode(chunkKey), chunkKey, Call.SET_STREAM)) return;
+        } catch (EVCacheException e) {
+            failed = true;
+            throw new IOException("Unable to write the chunk " + chunkKey + " to " + client.getServerGroup(), e);
+        }
+        failed = true;
+        throw new IOException("Write queue of the node of chunk " + chunkKey + " in " + client.getServerGroup() + " is full. Rejecting the write.");
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) throw new IOException("Stream closed");
+    }
+}
@@ -1,21 +1,26 @@
 package com.netflix.evcache.pool;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.SocketAddress;
 import java.net.URLDecoder;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
-import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
@@ -24,6 +29,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.zip.CRC32;
 import java.util.zip.Checksum;
+import java.util.zip.GZIPInputStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,10 +42,12 @@ import com.netflix.evcache.EVCacheException;
 import com.netflix.evcache.EVCacheLatch;
 import com.netflix.evcache.EVCacheReadQueueException;
 import com.netflix.evcache.metrics.EVCacheMetricsFactory;
+import com.netflix.evcache.operation.EVCacheBulkGetFuture;
 import com.netflix.evcache.operation.EVCacheFutures;
 import com.netflix.evcache.operation.EVCacheItem;
 import com.netflix.evcache.operation.EVCacheItemMetaData;
 import com.netflix.evcache.operation.EVCacheLatchImpl;
+import com.netflix.evcache.operation.EVCacheOperationFuture;
 import com.netflix.evcache.pool.observer.EVCacheConnectionObserver;
 import com.netflix.evcache.util.EVCacheConfig;
 import com.netflix.evcache.util.KeyHasher;
@@ -59,6 +67,9 @@ import net.spy.memcached.NodeLocator;
 import net.spy.memcached.internal.ListenableFuture;
 import net.spy.memcached.internal.OperationCompletionListener;
 import net.spy.memcached.internal.OperationFuture;
+import net.spy.memcached.ops.Mutator;
+import net.spy.memcached.ops.OperationStatus;
+import net.spy.memcached.ops.StatusCode;
 import net.spy.memcached.transcoders.SerializingTranscoder;
 import net.spy.memcached.transcoders.Transcoder;
 import rx.Scheduler;
@@ -72,7 +83,7 @@ public class EVCacheClient {
     private static final Logger log = LoggerFactory.getLogger(EVCacheClient.class);
     private final ConnectionFactory connectionFactory;
     private final EVCacheMemcachedClient evcacheMemcachedClient;
-    private final List<InetSocketAddress> memcachedNodesInZone;
+    private volatile List<InetSocketAddress> memcachedNodesInZone;
     private EVCacheConnectionObserver connectionObserver = null;
     private boolean shutdown = false;
 
@@ -80,7 +91,7 @@ public class EVCacheClient {
     private final String appName;
     private final String zone;
     private final ServerGroup serverGroup;
-    private final EVCacheServerGroupConfig config;
+    private volatile EVCacheServerGroupConfig config;
     private final int maxWriteQueueSize;
 
     private final Property<Integer> readTimeout;
@@ -91,13 +102,30 @@ public class EVCacheClient {
     private final Property<Boolean> hashKeyByServerGroup;
     private final Property<Boolean> shouldEncodeHashKey;
     private final Property<Integer> maxHashingBytes;
-    private final Property<Integer> chunkSize, writeBlock;
+    private final Property<Integer> chunkSize;
     private final ChunkTranscoder chunkingTranscoder;
     private final SerializingTranscoder decodingTranscoder;
     private static final int SPECIAL_BYTEARRAY = (8 << 8);
+    // the flags of SerializingTranscoder
+    private static final int SERIALIZED = 1;
+    private static final int COMPRESSED = 2;
+    private static final int SPECIAL_MASK = 0xff00;
+    // set on the first chunk (key_00) when it holds the binary metadata header
+    private static final int CHUNK_METADATA_FLAG = (1 << 5);
+    private static final byte CHUNK_METADATA_VERSION = 1;
+    private static final int CHUNK_METADATA_SIZE = 1 + 4 + 4 + 4 + 4 + 8;
+    private final Property<Boolean> binaryChunkMetadata;
+    private final Property<Integer> chunkPrefetchCount;
+    private final Property<Boolean> chunkFallback;
+    private final Property<Integer> chunkStreamWindow;
     private final EVCacheClientPool pool;
 //    private Counter addCounter = null;
     private final Property<Boolean> ignoreTouch;
+    private final Property<Boolean> quietWrites;
+    private final Property<Boolean> useInMemoryCache;
+    private final Property<Boolean> coalesceReads;
+    private final EVCacheReadCoalescer readCoalescer;
+    private final EVCacheLatencyTracker readLatencyTracker;
     private List<Tag> tags;
     private final Map<String, Counter> counterMap = new ConcurrentHashMap<String, Counter>();
     private final Property<String> hashingAlgo;
@@ -133,14 +161,22 @@ public class EVCacheClient {
 
         this.enableChunking = EVCacheConfig.getInstance().getPropertyRepository().get(this.serverGroup.getName()+ ".chunk.data", Boolean.class).orElseGet(appName + ".chunk.data").orElse(false);
         this.chunkSize = EVCacheConfig.getInstance().getPropertyRepository().get(this.serverGroup.getName() + ".chunk.size", Integer.class).orElseGet(appName + ".chunk.size").orElse(1180);
-        this.writeBlock = EVCacheConfig.getInstance().getPropertyRepository().get(appName + "." + this.serverGroup.getName() + ".write.block.duration", Integer.class).orElseGet(appName + ".write.block.duration").orElse(25);
+        this.chunkPrefetchCount = EVCacheConfig.getInstance().getPropertyRepository().get(this.serverGroup.getName() + ".chunk.prefetch.count", Integer.class).orElseGet(appName + ".chunk.prefetch.count").orElse(0);
+        this.chunkFallback = EVCacheConfig.getInstance().getPropertyRepository().get(this.serverGroup.getName() + ".chunk.fallback", Boolean.class).orElseGet(appName + ".chunk.fallback").orElse(true);
+        this.chunkStreamWindow = EVCacheConfig.getInstance().getPropertyRepository().get(this.serverGroup.getName() + ".chunk.stream.window", Integer.class).orElseGet(appName + ".chunk.stream.window").orElse(8);
+        this.binaryChunkMetadata = EVCacheConfig.getInstance().getPropertyRepository().get(this.serverGroup.getName() + ".chunk.metadata.binary", Boolean.class).orElseGet(appName + ".chunk.metadata.binary").orElse(false);
         this.chunkingTranscoder = new ChunkTranscoder();
         this.maxWriteQueueSize = maxQueueSize;
         this.ignoreTouch = EVCacheConfig.getInstance().getPropertyRepository().get(appName + "." + this.serverGroup.getName() + ".ignore.touch", Boolean.class).orElseGet(appName + ".ignore.touch").orElse(false);
+        this.quietWrites = EVCacheConfig.getInstance().getPropertyRepository().get(appName + "." + this.serverGroup.getName() + ".quiet.writes", Boolean.class).orElseGet(appName + ".quiet.writes").orElse(false);
+        this.useInMemoryCache = EVCacheConfig.getInstance().getPropertyRepository().get(appName + ".use.inmemory.cache", Boolean.class).orElseGet("evcache.use.inmemory.cache").orElse(false);
 
         this.connectionFactory = pool.getEVCacheClientPoolManager().getConnectionFactoryProvider().getConnectionFactory(this);
         this.connectionObserver = new EVCacheConnectionObserver(this);
         this.ignoreInactiveNodes = EVCacheConfig.getInstance().getPropertyRepository().get(appName + ".ignore.inactive.nodes", Boolean.class).orElse(true);
+        this.coalesceReads = EVCacheConfig.getInstance().getPropertyRepository().get(appName + "." + this.serverGroup.getName() + ".coalesce.reads", Boolean.class).orElseGet(appName + ".coalesce.reads").orElse(false);
+        this.readCoalescer = new EVCacheReadCoalescer(tags);
+        this.readLatencyTracker = new EVCacheLatencyTracker(1024, EVCacheConfig.getInstance().getPropertyRepository().get(appName + ".read.routing.ewma.window", Integer.class).orElse(2000));
 
         this.evcacheMemcachedClient = new EVCacheMemcachedClient(connectionFactory, memcachedNodesInZone, readTimeout, this);
         this.evcacheMemcachedClient.addObserver(connectionObserver);
@@ -179,42 +215,64 @@ public class EVCacheClient {
         return this.maxHashingBytes.get();
     }
 
-    private Collection<String> validateReadQueueSize(Collection<String> canonicalKeys, EVCache.Call call) throws EVCacheException {
-        if (evcacheMemcachedClient.getNodeLocator() == null) return canonicalKeys;
-        final Collection<String> retKeys = new ArrayList<>(canonicalKeys.size());
+    /**
+     * Sends a bulk read of the keys admitted by {@link #validateReadQueueSize(NodeLocator, Collection, EVCache.Call)}.
+     * Without a locator the keys cannot be checked, so all of them are read. The read of each node is followed only if
+     * trackNodes is set.
+     */
+    private <T> EVCacheBulkGetFuture<T> sendBulk(Collection<String> canonicalKeys, Transcoder<T> tc, boolean trackNodes) {
+        final NodeLocator locator = evcacheMemcachedClient.getNodeLocator();
+        if (locator == null) return evcacheMemcachedClient.asyncGetBulk(canonicalKeys, tc, null, trackNodes);
+        return evcacheMemcachedClient.asyncGetBulk(validateReadQueueSize(locator, canonicalKeys, Call.BULK), tc, null, trackNodes);
+    }
+
+    /**
+     * Groups the keys by node, hashing each key once, and drops the keys of nodes that are unavailable or whose
+     * read queue is full. Admission is decided once per node.
+     */
+    private Map<MemcachedNode, Collection<String>> validateReadQueueSize(NodeLocator locator, Collection<String> canonicalKeys, EVCache.Call call) {
+        if (locator instanceof EVCacheNodeLocator) {
+            return ((EVCacheNodeLocator) locator).getPrimaries(canonicalKeys, node -> canAddToReadQueue(node, call));
+        }
+
+        final Map<MemcachedNode, Collection<String>> keysByNode = new HashMap<MemcachedNode, Collection<String>>();
         for (String key : canonicalKeys) {
-            final MemcachedNode node = evcacheMemcachedClient.getNodeLocator().getPrimary(key);
-            if (node instanceof EVCacheNode) {
-                final EVCacheNode evcNode = (EVCacheNode) node;
-                if (!evcNode.isAvailable(call)) {
-                    continue;
-                }
+            final MemcachedNode node = locator.getPrimary(key);
+            Collection<String> nodeKeys = keysByNode.get(node);
+            if (nodeKeys == null) {
+                if (!canAddToReadQueue(node, call)) continue;
+                nodeKeys = new ArrayList<String>();
+                keysByNode.put(node, nodeKeys);
+            }
+            nodeKeys.add(key);
+        }
+        return keysByNode;
+    }
 
-                final int size = evcNode.getReadQueueSize();
-                final boolean canAddToOpQueue = size < (maxReadQueueSize.get() * 2);
-                // if (log.isDebugEnabled()) log.debug("Bulk Current Read Queue
-                // Size - " + size + " for app " + appName + " & zone " + zone +
-                // " ; node " + node);
-                if (!canAddToOpQueue) {
-                    final String hostName;
-                    if(evcNode.getSocketAddress() instanceof InetSocketAddress) {
-                        hostName = ((InetSocketAddress)evcNode.getSocketAddress()).getHostName();
-                    } else {
-                        hostName = evcNode.getSocketAddress().toString();
-                    }
+    private boolean canAddToReadQueue(MemcachedNode node, EVCache.Call call) {
+        if (!(node instanceof EVCacheNode)) return false;
+        final EVCacheNode evcNode = (EVCacheNode) node;
+        if (!evcNode.isAvailable(call)) return false;
 
-                    incrementFailure(EVCacheMetricsFactory.READ_QUEUE_FULL, call, hostName);
-                    if (log.isDebugEnabled()) log.debug("Read Queue Full on Bulk Operation for app : " + appName
-                            + "; zone : " + zone + "; Current Size : " + size + "; Max Size : " + maxReadQueueSize.get() * 2);
-                } else {
-                    retKeys.add(key);
-                }
+        final int size = evcNode.getReadQueueSize();
+        final int limit = evcNode.getReadLimiter().getLimit() * 2;
+        final boolean canAddToOpQueue = size < limit;
+        if (!canAddToOpQueue) {
+            final String hostName;
+            if(evcNode.getSocketAddress() instanceof InetSocketAddress) {
+                hostName = ((InetSocketAddress)evcNode.getSocketAddress()).getHostName();
+            } else {
+                hostName = evcNode.getSocketAddress().toString();
             }
+
+            incrementFailure(EVCacheMetricsFactory.READ_QUEUE_FULL, call, hostName);
+            if (log.isDebugEnabled()) log.debug("Read Queue Full on Bulk Operation for app : " + appName
+                    + "; zone : " + zone + "; Current Size : " + size + "; Max Size : " + limit);
         }
-        return retKeys;
+        return canAddToOpQueue;
     }
 
-    private void incrementFailure(String metric, EVCache.Call call) {
+    void incrementFailure(String metric, EVCache.Call call) {
         incrementFailure(metric, call, null);
     }
         
@@ -232,6 +290,7 @@ public class EVCacheClient {
                 case ASYNC_GET:
                 case  BULK:
                 case  GET_ALL:
+                case GET_STREAM:
                     tagList.add(new BasicTag(EVCacheMetricsFactory.CALL_TYPE_TAG, EVCacheMetricsFactory.READ));
                     break;
                 default :
@@ -248,34 +307,26 @@ public class EVCacheClient {
     }
 
 
-    private boolean ensureWriteQueueSize(MemcachedNode node, String key, EVCache.Call call) throws EVCacheException {
+    /**
+     * Checks if a write can be added to the write queue of the node of the key. A full queue rejects the write right
+     * away instead of blocking the caller; the node itself is left to the health checks and reconnects of the pool.
+     */
+    boolean ensureWriteQueueSize(MemcachedNode node, String key, EVCache.Call call) throws EVCacheException {
         if (node instanceof EVCacheNode) {
             final EVCacheNode evcNode = (EVCacheNode) node;
-            int i = 0;
-            while (true) {
-                final int size = evcNode.getWriteQueueSize();
-                final boolean canAddToOpQueue = size < maxWriteQueueSize;
-                if (log.isDebugEnabled()) log.debug("App : " + appName + "; zone : " + zone + "; key : " + key + "; WriteQSize : " + size);
-                if (canAddToOpQueue) break;
-                try {
-                    Thread.sleep(writeBlock.get());
-                } catch (InterruptedException e) {
-                    throw new EVCacheException("Thread was Interrupted", e);
-                }
-
-                if(i++ > 3) {
-                    final String hostName;
-                    if(evcNode.getSocketAddress() instanceof InetSocketAddress) {
-                        hostName = ((InetSocketAddress)evcNode.getSocketAddress()).getHostName();
-                    } else {
-                        hostName = evcNode.getSocketAddress().toString();
-                    }
-                    incrementFailure(EVCacheMetricsFactory.INACTIVE_NODE, call, hostName);
-                    if (log.isDebugEnabled()) log.debug("Node : " + evcNode + " for app : " + appName + "; zone : "
-                            + zone + " is not active. Will Fail Fast and the write will be dropped for key : " + key);
-                    evcNode.shutdown();
-                    return false;
+            final int size = evcNode.getWriteQueueSize();
+            if (log.isDebugEnabled()) log.debug("App : " + appName + "; zone : " + zone + "; key : " + key + "; WriteQSize : " + size);
+            if (size >= maxWriteQueueSize) {
+                final String hostName;
+                if(evcNode.getSocketAddress() instanceof InetSocketAddress) {
+                    hostName = ((InetSocketAddress)evcNode.getSocketAddress()).getHostName();
+                } else {
+                    hostName = evcNode.getSocketAddress().toString();
                 }
+                incrementFailure(EVCacheMetricsFactory.WRITE_QUEUE_FULL, call, hostName);
+                if (log.isDebugEnabled()) log.debug("Node : " + evcNode + " for app : " + appName + "; zone : "
+                        + zone + " has a full write queue : " + size + ". The write will be rejected for key : " + key);
+                return false;
             }
         }
         return true;
@@ -294,6 +345,7 @@ public class EVCacheClient {
             }
             if (!evcNode.isAvailable(call)) {
                 incrementFailure(EVCacheMetricsFactory.INACTIVE_NODE, call, hostName);
+                readLatencyTracker.onRejected(TimeUnit.MILLISECONDS.toNanos(readTimeout.get().longValue()));
                 if (log.isDebugEnabled()) log.debug("Node : " + node + " for app : " + appName + "; zone : " + zone
                         + " is not active. Will Fail Fast so that we can fallback to Other Zone if available.");
                 if (_throwException) throw new EVCacheConnectException("Connection for Node : " + node + " for app : " + appName
@@ -302,15 +354,17 @@ public class EVCacheClient {
             }
 
             final int size = evcNode.getReadQueueSize();
-            final boolean canAddToOpQueue = size < maxReadQueueSize.get();
+            final int limit = evcNode.getReadLimiter().getLimit();
+            final boolean canAddToOpQueue = size < limit;
             if (log.isDebugEnabled()) log.debug("Current Read Queue Size - " + size + " for app " + appName + " & zone "
                     + zone + " and node : " + evcNode);
             if (!canAddToOpQueue) {
                 incrementFailure(EVCacheMetricsFactory.READ_QUEUE_FULL, call, hostName);
+                readLatencyTracker.onRejected(TimeUnit.MILLISECONDS.toNanos(readTimeout.get().longValue()));
                 if (log.isDebugEnabled()) log.debug("Read Queue Full for Node : " + node + "; app : " + appName
-                        + "; zone : " + zone + "; Current Size : " + size + "; Max Size : " + maxReadQueueSize.get());
+                        + "; zone : " + zone + "; Current Size : " + size + "; Max Size : " + limit);
                 if (_throwException) throw new EVCacheReadQueueException("Read Queue Full for Node : " + node + "; app : "
-                        + appName + "; zone : " + zone + "; Current Size : " + size + "; Max Size : " + maxReadQueueSize.get());
+                        + appName + "; zone : " + zone + "; Current Size : " + size + "; Max Size : " + limit);
                 return false;
             }
         }
@@ -318,67 +372,98 @@ public class EVCacheClient {
     }
 
     private <T> ChunkDetails<T> getChunkDetails(String key) {
+        return getChunkDetails(key, 0);
+    }
 
-        final List<String> firstKeys = new ArrayList<String>(2);
-        firstKeys.add(key);
-        final String firstKey = key + "_00";
-        firstKeys.add(firstKey);
+    /*
+     * Reads the key and the metadata chunk (key_00) in one round trip along with the first prefetch data chunks, so
+     * a value of up to prefetch chunks is read without a second round trip.
+     */
+    private <T> ChunkDetails<T> getChunkDetails(String key, int prefetch) {
+        return getChunkDetails(key, prefetch, readTimeout.get().longValue());
+    }
+
+    private <T> ChunkDetails<T> getChunkDetails(String key, int prefetch, long timeout) {
         try {
-            final Map<String, CachedData> metadataMap = evcacheMemcachedClient.asyncGetBulk(firstKeys, chunkingTranscoder, null)
-                    .getSome(readTimeout.get(), TimeUnit.MILLISECONDS, false, false);
-            if (metadataMap.containsKey(key)) {
-                return new ChunkDetails(null, null, false, metadataMap.get(key));
-            } else if (metadataMap.containsKey(firstKey)) {
-                final ChunkInfo ci = getChunkInfo(firstKey, (String) decodingTranscoder.decode(metadataMap.get(firstKey)));
-                if (ci == null) return null;
-
-                final List<String> keys = new ArrayList<>();
-                for (int i = 1; i < ci.getChunks(); i++) {
-                    final String prefix = (i < 10) ? "0" : "";
-                    keys.add(ci.getKey() + "_" + prefix + i);
-                }
-                return new ChunkDetails(keys, ci, true, null);
-            } else {
-                return null;
-            }
+            final Map<String, CachedData> metadataMap = evcacheMemcachedClient.asyncGetBulk(getFirstKeys(key, prefetch), chunkingTranscoder, null)
+                    .getSome(timeout, TimeUnit.MILLISECONDS, false, false);
+            return toChunkDetails(key, metadataMap);
         } catch (Exception e) {
             log.error(e.getMessage(), e);
         }
         return null;
     }
 
-    private <T> Single<ChunkDetails<T>> getChunkDetails(String key, Scheduler scheduler) {
+    private <T> Single<ChunkDetails<T>> getChunkDetails(String key, int prefetch, long timeout, Scheduler scheduler) {
+        return evcacheMemcachedClient.asyncGetBulk(getFirstKeys(key, prefetch), chunkingTranscoder, null)
+            .getSome(timeout, TimeUnit.MILLISECONDS, false, false, scheduler)
+            .map(metadataMap -> toChunkDetails(key, metadataMap));
+    }
 
-        final List<String> firstKeys = new ArrayList<>(2);
+    private List<String> getFirstKeys(String key, int prefetch) {
+        final List<String> firstKeys = new ArrayList<String>(2 + prefetch);
         firstKeys.add(key);
+        firstKeys.add(key + "_00");
+        for (int i = 1; i <= prefetch; i++) {
+            firstKeys.add(getChunkKey(key, i));
+        }
+        return firstKeys;
+    }
+
+    static String getChunkKey(String key, int index) {
+        final String prefix = (index < 10) ? "0" : "";
+        return key + "_" + prefix + index;
+    }
+
+    private <T> ChunkDetails<T> toChunkDetails(String key, Map<String, CachedData> metadataMap) {
         final String firstKey = key + "_00";
-        firstKeys.add(firstKey);
+        if (metadataMap.containsKey(key)) {
+            return new ChunkDetails(null, null, false, metadataMap.get(key));
+        } else if (metadataMap.containsKey(firstKey)) {
+            final ChunkInfo ci = getChunkInfo(firstKey, metadataMap.get(firstKey));
+            if (ci == null) return null;
+
+            final List<String> keys = new ArrayList<>();
+            for (int i = 1; i < ci.getChunks(); i++) {
+                keys.add(getChunkKey(ci.getKey(), i));
+            }
+            return new ChunkDetails(keys, ci, true, null, metadataMap);
+        } else {
+            return null;
+        }
+    }
 
-        return evcacheMemcachedClient.asyncGetBulk(firstKeys, chunkingTranscoder, null)
-            .getSome(readTimeout.get(), TimeUnit.MILLISECONDS, false, false, scheduler)
-            .map(metadataMap -> {
-                if (metadataMap.containsKey(key)) {
-                    return new ChunkDetails(null, null, false, metadataMap.get(key));
-                } else if (metadataMap.containsKey(firstKey)) {
-                    final ChunkInfo ci = getChunkInfo(firstKey, (String) decodingTranscoder.decode(metadataMap.get(firstKey)));
-                    if (ci == null) return null;
+    /*
+     * Returns the chunks that were not prefetched along with the metadata.
+     */
+    private List<String> getRemainingChunkKeys(ChunkDetails<?> cd) {
+        final Map<String, CachedData> prefetched = cd.getPrefetchedChunks();
+        if (prefetched == null || prefetched.isEmpty()) return cd.getChunkKeys();
+        final List<String> remaining = new ArrayList<>(cd.getChunkKeys().size());
+        for (String chunkKey : cd.getChunkKeys()) {
+            if (!prefetched.containsKey(chunkKey)) remaining.add(chunkKey);
+        }
+        return remaining;
+    }
 
-                    final List<String> keys = new ArrayList<>();
-                    for (int i = 1; i < ci.getChunks(); i++) {
-                        final String prefix = (i < 10) ? "0" : "";
-                        keys.add(ci.getKey() + "_" + prefix + i);
-                    }
-                    return new ChunkDetails(keys, ci, true, null);
-                } else {
-                    return null;
-                }
-            });
+    private Map<String, CachedData> mergeChunks(ChunkDetails<?> cd, Map<String, CachedData> fetched) {
+        final Map<String, CachedData> prefetched = cd.getPrefetchedChunks();
+        if (prefetched == null || prefetched.isEmpty()) return fetched;
+        final Map<String, CachedData> dataMap = new HashMap<>(cd.getChunkKeys().size() * 2);
+        for (String chunkKey : cd.getChunkKeys()) {
+            final CachedData data = prefetched.get(chunkKey);
+            if (data != null) dataMap.put(chunkKey, data);
+        }
+        if (fetched != null) dataMap.putAll(fetched);
+        return dataMap;
     }
 
     private <T> T assembleChunks(String key, boolean touch, int ttl, Transcoder<T> tc, boolean hasZF) {
         try {
-
-            final ChunkDetails<T> cd = getChunkDetails(key);
+            // the metadata, the remaining chunks and a read from the fallback server group share one read timeout
+            final long timeout = readTimeout.get().longValue();
+            final long deadline = System.currentTimeMillis() + timeout;
+            final ChunkDetails<T> cd = getChunkDetails(key, chunkPrefetchCount.get().intValue(), timeout);
             if (cd == null) return null;
             if (!cd.isChunked()) {
                 if (cd.getData() == null) return null;
@@ -389,59 +474,13 @@ public class EVCacheClient {
                 final List<String> keys = cd.getChunkKeys();
                 final ChunkInfo ci = cd.getChunkInfo();
 
-                final Map<String, CachedData> dataMap = evcacheMemcachedClient.asyncGetBulk(keys, chunkingTranscoder, null)
-                        .getSome(readTimeout.get(), TimeUnit.MILLISECONDS, false, false);
-
-                if (dataMap.size() != ci.getChunks() - 1) {
-                    incrementFailure(EVCacheMetricsFactory.INCORRECT_CHUNKS, null);
-                    return null;
-                }
-
-                final byte[] data = new byte[(ci.getChunks() - 2) * ci.getChunkSize() + (ci.getLastChunk() == 0 ? ci
-                        .getChunkSize() : ci.getLastChunk())];
-                int index = 0;
-                for (int i = 0; i < keys.size(); i++) {
-                    final String _key = keys.get(i);
-                    final CachedData _cd = dataMap.get(_key);
-                    if (log.isDebugEnabled()) log.debug("Chunk Key " + _key + "; Value : " + _cd);
-                    if (_cd == null) continue;
-
-                    final byte[] val = _cd.getData();
-
-                    // If we expect a chunk to be present and it is null then return null immediately.
-                    if (val == null) return null;
-                    final int len = (i == keys.size() - 1) ? ((ci.getLastChunk() == 0 || ci.getLastChunk() > ci
-                            .getChunkSize()) ? ci.getChunkSize() : ci.getLastChunk())
-                            : val.length;
-                    if (len != ci.getChunkSize() && i != keys.size() - 1) {
-                        incrementFailure(EVCacheMetricsFactory.INVALID_CHUNK_SIZE, null);
-                        if (log.isWarnEnabled()) log.warn("CHUNK_SIZE_ERROR : Chunks : " + ci.getChunks() + " ; "
-                                + "length : " + len + "; expectedLength : " + ci.getChunkSize() + " for key : " + _key);
-                    }
-                    if (len > 0) {
-                        try {
-                            System.arraycopy(val, 0, data, index, len);
-                        } catch (Exception e) {
-                            StringBuilder sb = new StringBuilder();
-                            sb.append("ArrayCopyError - Key : " + _key + "; final data Size : " + data.length
-                                    + "; copy array size : " + len + "; val size : " + val.length
-                                    + "; key index : " + i + "; copy from : " + index + "; ChunkInfo : " + ci + "\n");
-                            for (int j = 0; j < keys.size(); j++) {
-                                final String skey = keys.get(j);
-                                final byte[] sval = (byte[]) dataMap.get(skey).getData();
-                                sb.append(skey + "=" + sval.length + "\n");
-                            }
-                            if (log.isWarnEnabled()) log.warn(sb.toString(), e);
-                            throw e;
-                        }
-
-                        index += val.length;
-                        if (touch) evcacheMemcachedClient.touch(_key, ttl);
-                    }
-                }
+                final List<String> remainingKeys = getRemainingChunkKeys(cd);
+                final Map<String, CachedData> fetched = remainingKeys.isEmpty() ? null : evcacheMemcachedClient.asyncGetBulk(remainingKeys, chunkingTranscoder, null)
+                        .getSome(getRemainingTime(deadline), TimeUnit.MILLISECONDS, false, false);
+                final Map<String, CachedData> dataMap = mergeChunks(cd, fetched);
 
-                final boolean checksumPass = checkCRCChecksum(data, ci, hasZF);
-                if (!checksumPass) return null;
+                final byte[] data = getChunkData(ci, keys, dataMap, touch, ttl, hasZF, deadline);
+                if (data == null) return null;
                 final Transcoder<T> transcoder = (tc == null ? (Transcoder<T>) evcacheMemcachedClient.getTranscoder()
                         : tc);
                 return transcoder.decode(new CachedData(ci.getFlags(), data, Integer.MAX_VALUE));
@@ -453,7 +492,10 @@ public class EVCacheClient {
     }
 
     private <T> Single<T> assembleChunks(String key, boolean touch, int ttl, Transcoder<T> tc, boolean hasZF, Scheduler scheduler) {
-        return getChunkDetails(key, scheduler).flatMap(cd -> {
+        // the metadata, the remaining chunks and a read from the fallback server group share one read timeout
+        final long timeout = readTimeout.get().longValue();
+        final long deadline = System.currentTimeMillis() + timeout;
+        return getChunkDetails(key, chunkPrefetchCount.get().intValue(), timeout, scheduler).flatMap(cd -> {
             if (cd == null) return Single.just(null);
             if (!cd.isChunked()) {
                 if (cd.getData() == null) return Single.just(null);
@@ -463,60 +505,13 @@ public class EVCacheClient {
                 final List<String> keys = cd.getChunkKeys();
                 final ChunkInfo ci = cd.getChunkInfo();
 
-                return evcacheMemcachedClient.asyncGetBulk(keys, chunkingTranscoder, null)
-                    .getSome(readTimeout.get(), TimeUnit.MILLISECONDS, false, false, scheduler)
-                    .map(dataMap -> {
-                        if (dataMap.size() != ci.getChunks() - 1) {
-                            incrementFailure(EVCacheMetricsFactory.INCORRECT_CHUNKS, null);
-                            return null;
-                        }
-
-                        final byte[] data = new byte[(ci.getChunks() - 2) * ci.getChunkSize() + (ci.getLastChunk() == 0 ? ci
-                            .getChunkSize() : ci.getLastChunk())];
-                        int index = 0;
-                        for (int i = 0; i < keys.size(); i++) {
-                            final String _key = keys.get(i);
-                            final CachedData _cd = dataMap.get(_key);
-                            if (log.isDebugEnabled()) log.debug("Chunk Key " + _key + "; Value : " + _cd);
-                            if (_cd == null) continue;
-
-                            final byte[] val = _cd.getData();
-
-                            // If we expect a chunk to be present and it is null then return null immediately.
-                            if (val == null) return null;
-                            final int len = (i == keys.size() - 1) ? ((ci.getLastChunk() == 0 || ci.getLastChunk() > ci
-                                .getChunkSize()) ? ci.getChunkSize() : ci.getLastChunk())
-                                : val.length;
-                            if (len != ci.getChunkSize() && i != keys.size() - 1) {
-                                incrementFailure(EVCacheMetricsFactory.INVALID_CHUNK_SIZE, null);
-                                if (log.isWarnEnabled()) log.warn("CHUNK_SIZE_ERROR : Chunks : " + ci.getChunks() + " ; "
-                                    + "length : " + len + "; expectedLength : " + ci.getChunkSize() + " for key : " + _key);
-                            }
-                            if (len > 0) {
-                                try {
-                                    System.arraycopy(val, 0, data, index, len);
-                                } catch (Exception e) {
-                                    StringBuilder sb = new StringBuilder();
-                                    sb.append("ArrayCopyError - Key : " + _key + "; final data Size : " + data.length
-                                        + "; copy array size : " + len + "; val size : " + val.length
-                                        + "; key index : " + i + "; copy from : " + index + "; ChunkInfo : " + ci + "\n");
-                                    for (int j = 0; j < keys.size(); j++) {
-                                        final String skey = keys.get(j);
-                                        final byte[] sval = (byte[]) dataMap.get(skey).getData();
-                                        sb.append(skey + "=" + sval.length + "\n");
-                                    }
-                                    if (log.isWarnEnabled()) log.warn(sb.toString(), e);
-                                    throw e;
-                                }
-
-                                System.arraycopy(val, 0, data, index, len);
-                                index += val.length;
-                                if (touch) evcacheMemcachedClient.touch(_key, ttl);
-                            }
-                        }
-
-                        final boolean checksumPass = checkCRCChecksum(data, ci, hasZF);
-                        if (!checksumPass) return null;
+                final List<String> remainingKeys = getRemainingChunkKeys(cd);
+                final Single<Map<String, CachedData>> fetched = remainingKeys.isEmpty() ? Single.just(Collections.<String, CachedData>emptyMap())
+                    : evcacheMemcachedClient.asyncGetBulk(remainingKeys, chunkingTranscoder, null)
+                        .getSome(getRemainingTime(deadline), TimeUnit.MILLISECONDS, false, false, scheduler);
+                return fetched.flatMap(fetchedMap -> getChunkData(ci, keys, mergeChunks(cd, fetchedMap), touch, ttl, hasZF, deadline, scheduler))
+                    .map(data -> {
+                        if (data == null) return null;
                         final Transcoder<T> transcoder = (tc == null ? (Transcoder<T>) evcacheMemcachedClient.getTranscoder()
                             : tc);
                         return transcoder.decode(new CachedData(ci.getFlags(), data, Integer.MAX_VALUE));
@@ -525,12 +520,230 @@ public class EVCacheClient {
         });
     }
 
-    private boolean checkCRCChecksum(byte[] data, final ChunkInfo ci, boolean hasZF) {
-        if (data == null || data.length == 0) return false;
+    /*
+     * Assembles the chunks of a value. If chunks are missing they are read from another server group holding the
+     * same value (same chunk metadata and checksum) and if the assembled value fails its checksum all the chunks are
+     * read from there, instead of treating the value as a miss.
+     */
+    private byte[] getChunkData(ChunkInfo ci, List<String> keys, Map<String, CachedData> dataMap, boolean touch, int ttl, boolean hasZF, long deadline) {
+        if (!chunkFallback.get()) return assembleChunkData(ci, keys, dataMap, touch, ttl, hasZF);
+
+        final List<String> missingKeys = getMissingChunkKeys(keys, dataMap);
+        if (!missingKeys.isEmpty()) {
+            return assembleWithFallbackChunks(ci, keys, dataMap, getChunksFromFallback(ci, missingKeys, deadline), touch, ttl, hasZF);
+        }
+
+        final byte[] data = assembleChunkData(ci, keys, dataMap, touch, ttl, hasZF);
+        if (data != null) return data;
+        return assembleFallbackChunks(ci, keys, getChunksFromFallback(ci, keys, deadline), hasZF);
+    }
+
+    /*
+     * Same as above but the chunks are read from the fallback server group without blocking the calling thread.
+     */
+    private Single<byte[]> getChunkData(ChunkInfo ci, List<String> keys, Map<String, CachedData> dataMap, boolean touch, int ttl, boolean hasZF, long deadline, Scheduler scheduler) {
+        if (!chunkFallback.get()) return Single.just(assembleChunkData(ci, keys, dataMap, touch, ttl, hasZF));
+
+        final List<String> missingKeys = getMissingChunkKeys(keys, dataMap);
+        if (!missingKeys.isEmpty()) {
+            return getChunksFromFallback(ci, missingKeys, deadline, scheduler)
+                .map(fallbackMap -> assembleWithFallbackChunks(ci, keys, dataMap, fallbackMap, touch, ttl, hasZF));
+        }
+
+        final byte[] data = assembleChunkData(ci, keys, dataMap, touch, ttl, hasZF);
+        if (data != null) return Single.just(data);
+        return getChunksFromFallback(ci, keys, deadline, scheduler)
+            .map(fallbackMap -> assembleFallbackChunks(ci, keys, fallbackMap, hasZF));
+    }
 
+    private List<String> getMissingChunkKeys(List<String> keys, Map<String, CachedData> dataMap) {
+        final List<String> missingKeys = new ArrayList<>();
+        for (String chunkKey : keys) {
+            final CachedData cd = (dataMap == null) ? null : dataMap.get(chunkKey);
+            if (cd == null || cd.getData() == null) missingKeys.add(chunkKey);
+        }
+        return missingKeys;
+    }
+
+    /*
+     * Assembles the value from the chunks read with the missing ones filled in from the fallback server group.
+     */
+    private byte[] assembleWithFallbackChunks(ChunkInfo ci, List<String> keys, Map<String, CachedData> dataMap, Map<String, CachedData> fallbackMap, boolean touch, int ttl, boolean hasZF) {
+        final Map<String, CachedData> merged = new HashMap<>(keys.size() * 2);
+        if (dataMap != null) merged.putAll(dataMap);
+        if (fallbackMap != null) merged.putAll(fallbackMap);
+        final byte[] data = assembleChunkData(ci, keys, merged, touch, ttl, hasZF);
+        incrementChunkFallback(EVCacheMetricsFactory.INCORRECT_CHUNKS, data != null);
+        return data;
+    }
+
+    /*
+     * Assembles the value from the chunks of the fallback server group only, after the chunks read failed the checksum.
+     */
+    private byte[] assembleFallbackChunks(ChunkInfo ci, List<String> keys, Map<String, CachedData> fallbackMap, boolean hasZF) {
+        final byte[] fallbackData = (fallbackMap == null) ? null : assembleChunkData(ci, keys, fallbackMap, false, 0, hasZF);
+        incrementChunkFallback(EVCacheMetricsFactory.CHECK_SUM_ERROR, fallbackData != null);
+        return fallbackData;
+    }
+
+    /*
+     * Reads the given chunks of a value from another server group within what is left of the read timeout. Returns
+     * null unless that server group has the same value, i.e. its metadata chunk matches the given chunk info.
+     */
+    private Map<String, CachedData> getChunksFromFallback(ChunkInfo ci, List<String> chunkKeys, long deadline) {
+        try {
+            final long timeout = getRemainingTime(deadline);
+            if (timeout <= 0) return null;
+
+            final EVCacheClient client = getChunkFallbackClient();
+            if (client == null) return null;
+
+            final Map<String, CachedData> dataMap = client.getEVCacheMemcachedClient().asyncGetBulk(getFallbackChunkKeys(ci, chunkKeys), chunkingTranscoder, null)
+                    .getSome(timeout, TimeUnit.MILLISECONDS, false, false);
+            return matchFallbackChunks(client, ci, dataMap);
+        } catch (Exception e) {
+            if (log.isDebugEnabled()) log.debug("Exception reading the chunks of " + ci.getKey() + " from the fallback server group", e);
+        }
+        return null;
+    }
+
+    /*
+     * Same as above but emits the chunks once they are read, on the given scheduler, instead of waiting for them.
+     */
+    private Single<Map<String, CachedData>> getChunksFromFallback(ChunkInfo ci, List<String> chunkKeys, long deadline, Scheduler scheduler) {
+        try {
+            final long timeout = getRemainingTime(deadline);
+            if (timeout <= 0) return Single.just(null);
+
+            final EVCacheClient client = getChunkFallbackClient();
+            if (client == null) return Single.just(null);
+
+            return client.getEVCacheMemcachedClient().asyncGetBulk(getFallbackChunkKeys(ci, chunkKeys), chunkingTranscoder, null)
+                    .getSome(timeout, TimeUnit.MILLISECONDS, false, false, scheduler)
+                    .map(dataMap -> matchFallbackChunks(client, ci, dataMap))
+                    .onErrorReturn(e -> {
+                        if (log.isDebugEnabled()) log.debug("Exception reading the chunks of " + ci.getKey() + " from the fallback server group", e);
+                        return null;
+                    });
+        } catch (Exception e) {
+            if (log.isDebugEnabled()) log.debug("Exception reading the chunks of " + ci.getKey() + " from the fallback server group", e);
+        }
+        return Single.just(null);
+    }
+
+    /*
+     * Returns the server group to read missing chunks from, if it derives the same chunk keys as this client.
+     */
+    private EVCacheClient getChunkFallbackClient() {
+        final EVCacheClient client = pool.getEVCacheClientForReadExclude(serverGroup);
+        if (client == null || client == this || !client.getEnableChunking().get().booleanValue() || client.isDuetClient() != isDuetClient()) return null;
+
+        // the chunk keys are derived for this client, the fallback must derive the same ones
+        if (!Objects.equals(client.getHashingAlgorithm(), getHashingAlgorithm()) || !Objects.equals(client.shouldEncodeHashKey(), shouldEncodeHashKey())
+                || !Objects.equals(client.getMaxHashingBytes(), getMaxHashingBytes())) return null;
+        return client;
+    }
+
+    private List<String> getFallbackChunkKeys(ChunkInfo ci, List<String> chunkKeys) {
+        final List<String> fetchKeys = new ArrayList<>(chunkKeys.size() + 1);
+        fetchKeys.add(ci.getKey() + "_00");
+        fetchKeys.addAll(chunkKeys);
+        return fetchKeys;
+    }
+
+    /*
+     * Returns the chunks read from the fallback server group, or null unless its metadata chunk matches the given
+     * chunk info.
+     */
+    private Map<String, CachedData> matchFallbackChunks(EVCacheClient client, ChunkInfo ci, Map<String, CachedData> dataMap) {
+        if (dataMap == null) return null;
+        final String firstKey = ci.getKey() + "_00";
+        final ChunkInfo fallbackInfo = getChunkInfo(firstKey, dataMap.remove(firstKey));
+        if (fallbackInfo == null || !fallbackInfo.isSameValue(ci)) {
+            if (log.isDebugEnabled()) log.debug("Fallback chunks of " + client.getServerGroup() + " do not match. ChunkInfo : " + ci + "; fallback ChunkInfo : " + fallbackInfo);
+            return null;
+        }
+        return dataMap;
+    }
+
+    private static long getRemainingTime(long deadline) {
+        return Math.max(0, deadline - System.currentTimeMillis());
+    }
+
+    private void incrementChunkFallback(String reason, boolean recovered) {
+        final String name = reason + (recovered ? "-recovered" : "-missed");
+        Counter counter = counterMap.get(name);
+        if (counter == null) {
+            final List<Tag> tagList = new ArrayList<Tag>(tags.size() + 2);
+            tagList.addAll(tags);
+            tagList.add(new BasicTag(EVCacheMetricsFactory.METRIC, reason));
+            tagList.add(new BasicTag(EVCacheMetricsFactory.IPC_RESULT, recovered ? EVCacheMetricsFactory.SUCCESS : EVCacheMetricsFactory.FAIL));
+            counter = EVCacheMetricsFactory.getInstance().getCounter(EVCacheMetricsFactory.INTERNAL_CHUNK_FALLBACK, tagList);
+            counterMap.put(name, counter);
+        }
+        counter.increment();
+    }
+
+    /*
+     * Copies the chunks of a value into a single buffer sized from the chunk info and verifies the CRC32 of the
+     * data while copying it. Returns null if a chunk is missing, has an unexpected size or the checksum does not match.
+     */
+    private byte[] assembleChunkData(ChunkInfo ci, List<String> keys, Map<String, CachedData> dataMap, boolean touch, int ttl, boolean hasZF) {
+        if (dataMap == null || dataMap.size() != ci.getChunks() - 1) {
+            incrementFailure(EVCacheMetricsFactory.INCORRECT_CHUNKS, null);
+            return null;
+        }
+
+        final int lastChunkSize = (ci.getLastChunk() == 0 || ci.getLastChunk() > ci.getChunkSize()) ? ci.getChunkSize() : ci.getLastChunk();
+        final byte[] data = new byte[(ci.getChunks() - 2) * ci.getChunkSize() + lastChunkSize];
         final Checksum checksum = new CRC32();
-        checksum.update(data, 0, data.length);
-        final long currentChecksum = checksum.getValue();
+        int index = 0;
+        for (int i = 0; i < keys.size(); i++) {
+            final String _key = keys.get(i);
+            final CachedData _cd = dataMap.get(_key);
+            if (log.isDebugEnabled()) log.debug("Chunk Key " + _key + "; Value : " + _cd);
+
+            // If we expect a chunk to be present and it is null then return null immediately.
+            final byte[] val = (_cd == null) ? null : _cd.getData();
+            if (val == null) {
+                incrementFailure(EVCacheMetricsFactory.INCORRECT_CHUNKS, null);
+                return null;
+            }
+
+            final boolean isLastChunk = (i == keys.size() - 1);
+            final int len = isLastChunk ? lastChunkSize : val.length;
+            if (!isLastChunk && len != ci.getChunkSize()) {
+                incrementFailure(EVCacheMetricsFactory.INVALID_CHUNK_SIZE, null);
+                if (log.isWarnEnabled()) log.warn("CHUNK_SIZE_ERROR : Chunks : " + ci.getChunks() + " ; "
+                        + "length : " + len + "; expectedLength : " + ci.getChunkSize() + " for key : " + _key);
+            }
+            if (len > val.length || index + len > data.length) {
+                if (log.isWarnEnabled()) {
+                    final StringBuilder sb = new StringBuilder();
+                    sb.append("ArrayCopyError - Key : " + _key + "; final data Size : " + data.length
+                            + "; copy array size : " + len + "; val size : " + val.length
+                            + "; key index : " + i + "; copy from : " + index + "; ChunkInfo : " + ci + "\n");
+                    for (int j = 0; j < keys.size(); j++) {
+                        final String skey = keys.get(j);
+                        final CachedData scd = dataMap.get(skey);
+                        sb.append(skey + "=" + (scd == null || scd.getData() == null ? 0 : scd.getData().length) + "\n");
+                    }
+                    log.warn(sb.toString());
+                }
+                return null;
+            }
+
+            System.arraycopy(val, 0, data, index, len);
+            checksum.update(val, 0, len);
+            index += len;
+            if (touch) evcacheMemcachedClient.touch(_key, ttl);
+        }
+
+        if (!checkCRCChecksum(checksum.getValue(), ci, hasZF)) return null;
+        return data;
+    }
+
+    private boolean checkCRCChecksum(long currentChecksum, final ChunkInfo ci, boolean hasZF) {
         final long expectedChecksum = ci.getChecksum();
         if (log.isDebugEnabled()) log.debug("CurrentChecksum : " + currentChecksum + "; ExpectedChecksum : "
                 + expectedChecksum + " for key : " + ci.getKey());
@@ -546,6 +759,23 @@ public class EVCacheClient {
         return true;
     }
 
+    /*
+     * The metadata of a chunked value is stored in the first chunk (key_00) either as the binary header written by
+     * encodeChunkInfo or as the colon separated string written by older clients.
+     */
+    private ChunkInfo getChunkInfo(String firstKey, CachedData metadata) {
+        if (metadata == null) return null;
+        if ((metadata.getFlags() & CHUNK_METADATA_FLAG) == 0) {
+            return getChunkInfo(firstKey, (String) decodingTranscoder.decode(metadata));
+        }
+
+        final byte[] data = metadata.getData();
+        if (data == null || data.length != CHUNK_METADATA_SIZE || data[0] != CHUNK_METADATA_VERSION) return null;
+        final ByteBuffer buffer = ByteBuffer.wrap(data, 1, CHUNK_METADATA_SIZE - 1);
+        final String key = firstKey.substring(0, firstKey.length() - 3);
+        return new ChunkInfo(buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt(), key, buffer.getLong());
+    }
+
     private ChunkInfo getChunkInfo(String firstKey, String metadata) {
         if (metadata == null) return null;
         final String[] metaItems = metadata.split(":");
@@ -558,7 +788,26 @@ public class EVCacheClient {
         return ci;
     }
 
-    private <T> Map<String, T> assembleChunks(Collection<String> keyList, Transcoder<T> tc, boolean hasZF) {
+    CachedData encodeChunkInfo(int numOfChunks, int chunkSize, int lastChunkSize, int flags, long checksum) {
+        if (!binaryChunkMetadata.get()) {
+            return decodingTranscoder.encode(numOfChunks + ":" + chunkSize + ":" + lastChunkSize + ":" + flags + ":" + checksum);
+        }
+
+        final ByteBuffer buffer = ByteBuffer.allocate(CHUNK_METADATA_SIZE);
+        buffer.put(CHUNK_METADATA_VERSION);
+        buffer.putInt(numOfChunks);
+        buffer.putInt(chunkSize);
+        buffer.putInt(lastChunkSize);
+        buffer.putInt(flags);
+        buffer.putLong(checksum);
+        return new CachedData(CHUNK_METADATA_FLAG, buffer.array(), Integer.MAX_VALUE);
+    }
+
+    /*
+     * Reads the metadata and then the chunks of the keys, both within the timeout in milliseconds.
+     */
+    private <T> Map<String, T> assembleChunks(Collection<String> keyList, Transcoder<T> tc, boolean hasZF, long timeout) {
+        final long deadline = System.currentTimeMillis() + timeout;
         final List<String> firstKeys = new ArrayList<>();
         for (String key : keyList) {
             firstKeys.add(key);
@@ -566,7 +815,7 @@ public class EVCacheClient {
         }
         try {
             final Map<String, CachedData> metadataMap = evcacheMemcachedClient.asyncGetBulk(firstKeys, chunkingTranscoder, null)
-                    .getSome(bulkReadTimeout.get(), TimeUnit.MILLISECONDS, false, false);
+                    .getSome(timeout, TimeUnit.MILLISECONDS, false, false);
             if (metadataMap == null) return null;
 
             final Map<String, T> returnMap = new HashMap<>(keyList.size() * 2);
@@ -578,75 +827,12 @@ public class EVCacheClient {
             }
 
             final List<String> allKeys = new ArrayList<>();
-            final Map<ChunkInfo, SimpleEntry<List<String>, byte[]>> responseMap = new HashMap<>();
-            for (Entry<String, CachedData> entry : metadataMap.entrySet()) {
-                final String firstKey = entry.getKey();
-                final String metadata = (String) decodingTranscoder.decode(entry.getValue());
-                if (metadata == null) continue;
-                final ChunkInfo ci = getChunkInfo(firstKey, metadata);
-                if (ci != null) {
-                    final List<String> ciKeys = new ArrayList<>();
-
-                    for (int i = 1; i < ci.getChunks(); i++) {
-                        final String prefix = (i < 10) ? "0" : "";
-                        final String _key = ci.getKey() + "_" + prefix + i;
-                        allKeys.add(_key);
-                        ciKeys.add(_key);
-                    }
-
-                    final byte[] data = new byte[(ci.getChunks() - 2) * ci.getChunkSize() + ci.getLastChunk()];
-                    responseMap.put(ci, new SimpleEntry<>(ciKeys, data));
-                }
-            }
+            final Map<ChunkInfo, List<String>> responseMap = getChunkKeys(metadataMap, allKeys);
 
             final Map<String, CachedData> dataMap = evcacheMemcachedClient.asyncGetBulk(allKeys, chunkingTranscoder, null)
-                    .getSome(bulkReadTimeout.get(), TimeUnit.MILLISECONDS, false, false);
-
-            for (Entry<ChunkInfo, SimpleEntry<List<String>, byte[]>> entry : responseMap.entrySet()) {
-                final ChunkInfo ci = entry.getKey();
-                final SimpleEntry<List<String>, byte[]> pair = entry.getValue();
-                final List<String> ciKeys = pair.getKey();
-                byte[] data = pair.getValue();
-                int index = 0;
-                for (int i = 0; i < ciKeys.size(); i++) {
-                    final String _key = ciKeys.get(i);
-                    final CachedData cd = dataMap.get(_key);
-                    if (log.isDebugEnabled()) log.debug("Chunk Key " + _key + "; Value : " + cd);
-                    if (cd == null) continue;
-                    final byte[] val = cd.getData();
-
-                    if (val == null) {
-                        data = null;
-                        break;
-                    }
-                    final int len = (i == ciKeys.size() - 1) ? ((ci.getLastChunk() == 0 || ci.getLastChunk() > ci
-                            .getChunkSize()) ? ci.getChunkSize() : ci.getLastChunk())
-                            : val.length;
-                    try {
-                        System.arraycopy(val, 0, data, index, len);
-                    } catch (Exception e) {
-                        StringBuilder sb = new StringBuilder();
-                        sb.append("ArrayCopyError - Key : " + _key + "; final data Size : " + data.length
-                                + "; copy array size : " + len + "; val size : " + val.length
-                                + "; key index : " + i + "; copy from : " + index + "; ChunkInfo : " + ci + "\n");
-                        for (int j = 0; j < ciKeys.size(); j++) {
-                            final String skey = ciKeys.get(j);
-                            final byte[] sval = dataMap.get(skey).getData();
-                            sb.append(skey + "=" + sval.length + "\n");
-                        }
-                        if (log.isWarnEnabled()) log.warn(sb.toString(), e);
-                        throw e;
-                    }
-                    index += val.length;
-                }
-                final boolean checksumPass = checkCRCChecksum(data, ci, hasZF);
-                if (data != null && checksumPass) {
-                    final CachedData cd = new CachedData(ci.getFlags(), data, Integer.MAX_VALUE);
-                    returnMap.put(ci.getKey(), tc.decode(cd));
-                } else {
-                    returnMap.put(ci.getKey(), null);
-                }
-            }
+                    .getSome(getRemainingTime(deadline), TimeUnit.MILLISECONDS, false, false);
+
+            decodeChunks(responseMap, dataMap, tc, hasZF, returnMap, deadline);
             return returnMap;
         } catch (Exception e) {
             log.error(e.getMessage(), e);
@@ -654,7 +840,12 @@ public class EVCacheClient {
         return null;
     }
 
+    /*
+     * Reads the metadata and then the chunks of the keys, both within the bulk read timeout.
+     */
     private <T> Single<Map<String, T>> assembleChunks(Collection<String> keyList, Transcoder<T> tc, boolean hasZF, Scheduler scheduler) {
+        final long timeout = bulkReadTimeout.get().longValue();
+        final long deadline = System.currentTimeMillis() + timeout;
         final List<String> firstKeys = new ArrayList<>();
         for (String key : keyList) {
             firstKeys.add(key);
@@ -662,9 +853,9 @@ public class EVCacheClient {
         }
 
         return evcacheMemcachedClient.asyncGetBulk(firstKeys, chunkingTranscoder, null)
-            .getSome(bulkReadTimeout.get(), TimeUnit.MILLISECONDS, false, false, scheduler)
+            .getSome(timeout, TimeUnit.MILLISECONDS, false, false, scheduler)
             .flatMap(metadataMap -> {
-                if (metadataMap == null) return null;
+                if (metadataMap == null) return Single.<Map<String, T>>just(null);
 
                 final Map<String, T> returnMap = new HashMap<>(keyList.size() * 2);
                 for (String key : keyList) {
@@ -675,79 +866,83 @@ public class EVCacheClient {
                 }
 
                 final List<String> allKeys = new ArrayList<>();
-                final Map<ChunkInfo, SimpleEntry<List<String>, byte[]>> responseMap = new HashMap<>();
-                for (Entry<String, CachedData> entry : metadataMap.entrySet()) {
-                    final String firstKey = entry.getKey();
-                    final String metadata = (String) decodingTranscoder.decode(entry.getValue());
-                    if (metadata == null) continue;
-                    final ChunkInfo ci = getChunkInfo(firstKey, metadata);
-                    if (ci != null) {
-                        final List<String> ciKeys = new ArrayList<>();
-
-                        for (int i = 1; i < ci.getChunks(); i++) {
-                            final String prefix = (i < 10) ? "0" : "";
-                            final String _key = ci.getKey() + "_" + prefix + i;
-                            allKeys.add(_key);
-                            ciKeys.add(_key);
-                        }
+                final Map<ChunkInfo, List<String>> responseMap = getChunkKeys(metadataMap, allKeys);
 
-                        final byte[] data = new byte[(ci.getChunks() - 2) * ci.getChunkSize() + ci.getLastChunk()];
-                        responseMap.put(ci, new SimpleEntry<>(ciKeys, data));
-                    }
+                return evcacheMemcachedClient.asyncGetBulk(allKeys, chunkingTranscoder, null)
+                    .getSome(getRemainingTime(deadline), TimeUnit.MILLISECONDS, false, false, scheduler)
+                    .flatMap(dataMap -> decodeChunks(responseMap, dataMap, tc, hasZF, returnMap, deadline, scheduler));
+            });
+    }
+
+    /*
+     * Returns the keys of the data chunks of every chunked value found in the given metadata and adds them to allKeys.
+     */
+    private Map<ChunkInfo, List<String>> getChunkKeys(Map<String, CachedData> metadataMap, List<String> allKeys) {
+        final Map<ChunkInfo, List<String>> responseMap = new HashMap<>();
+        for (Entry<String, CachedData> entry : metadataMap.entrySet()) {
+            final ChunkInfo ci = getChunkInfo(entry.getKey(), entry.getValue());
+            if (ci != null) {
+                final List<String> ciKeys = new ArrayList<>();
+
+                for (int i = 1; i < ci.getChunks(); i++) {
+                    final String prefix = (i < 10) ? "0" : "";
+                    final String _key = ci.getKey() + "_" + prefix + i;
+                    allKeys.add(_key);
+                    ciKeys.add(_key);
                 }
+                responseMap.put(ci, ciKeys);
+            }
+        }
+        return responseMap;
+    }
 
-                return evcacheMemcachedClient.asyncGetBulk(allKeys, chunkingTranscoder, null)
-                    .getSome(bulkReadTimeout.get(), TimeUnit.MILLISECONDS, false, false, scheduler)
-                    .map(dataMap -> {
-                        for (Entry<ChunkInfo, SimpleEntry<List<String>, byte[]>> entry : responseMap.entrySet()) {
-                            final ChunkInfo ci = entry.getKey();
-                            final SimpleEntry<List<String>, byte[]> pair = entry.getValue();
-                            final List<String> ciKeys = pair.getKey();
-                            byte[] data = pair.getValue();
-                            int index = 0;
-                            for (int i = 0; i < ciKeys.size(); i++) {
-                                final String _key = ciKeys.get(i);
-                                final CachedData cd = dataMap.get(_key);
-                                if (log.isDebugEnabled()) log.debug("Chunk Key " + _key + "; Value : " + cd);
-                                if (cd == null) continue;
-                                final byte[] val = cd.getData();
-
-                                if (val == null) {
-                                    data = null;
-                                    break;
-                                }
-                                final int len = (i == ciKeys.size() - 1) ? ((ci.getLastChunk() == 0 || ci.getLastChunk() > ci
-                                    .getChunkSize()) ? ci.getChunkSize() : ci.getLastChunk())
-                                    : val.length;
-                                try {
-                                    System.arraycopy(val, 0, data, index, len);
-                                } catch (Exception e) {
-                                    StringBuilder sb = new StringBuilder();
-                                    sb.append("ArrayCopyError - Key : " + _key + "; final data Size : " + data.length
-                                        + "; copy array size : " + len + "; val size : " + val.length
-                                        + "; key index : " + i + "; copy from : " + index + "; ChunkInfo : " + ci + "\n");
-                                    for (int j = 0; j < ciKeys.size(); j++) {
-                                        final String skey = ciKeys.get(j);
-                                        final byte[] sval = dataMap.get(skey).getData();
-                                        sb.append(skey + "=" + sval.length + "\n");
-                                    }
-                                    if (log.isWarnEnabled()) log.warn(sb.toString(), e);
-                                    throw e;
-                                }
-                                index += val.length;
-                            }
-                            final boolean checksumPass = checkCRCChecksum(data, ci, hasZF);
-                            if (data != null && checksumPass) {
-                                final CachedData cd = new CachedData(ci.getFlags(), data, Integer.MAX_VALUE);
-                                returnMap.put(ci.getKey(), tc.decode(cd));
-                            } else {
-                                returnMap.put(ci.getKey(), null);
-                            }
-                        }
+    /*
+     * Assembles the chunked values from the chunks read, falling back to another server group for the values that have
+     * missing chunks or fail their checksum until the deadline passes.
+     */
+    private <T> void decodeChunks(Map<ChunkInfo, List<String>> responseMap, Map<String, CachedData> dataMap, Transcoder<T> tc, boolean hasZF, Map<String, T> returnMap, long deadline) {
+        for (Entry<ChunkInfo, List<String>> entry : responseMap.entrySet()) {
+            final ChunkInfo ci = entry.getKey();
+            final byte[] data = getChunkData(ci, entry.getValue(), getChunks(entry.getValue(), dataMap), false, 0, hasZF, deadline);
+            returnMap.put(ci.getKey(), decodeChunkData(ci, data, tc));
+        }
+    }
 
-                        return returnMap;
-                    });
-            });
+    /*
+     * Same as above but the values that need the fallback server group are assembled as its chunks arrive, so the
+     * returned Single emits the returnMap without blocking the calling thread.
+     */
+    private <T> Single<Map<String, T>> decodeChunks(Map<ChunkInfo, List<String>> responseMap, Map<String, CachedData> dataMap, Transcoder<T> tc, boolean hasZF, Map<String, T> returnMap, long deadline, Scheduler scheduler) {
+        if (responseMap.isEmpty()) return Single.just(returnMap);
+        final List<ChunkInfo> infos = new ArrayList<>(responseMap.size());
+        final List<Single<byte[]>> values = new ArrayList<>(responseMap.size());
+        for (Entry<ChunkInfo, List<String>> entry : responseMap.entrySet()) {
+            infos.add(entry.getKey());
+            values.add(getChunkData(entry.getKey(), entry.getValue(), getChunks(entry.getValue(), dataMap), false, 0, hasZF, deadline, scheduler));
+        }
+        return Single.zip(values, data -> {
+            for (int i = 0; i < data.length; i++) {
+                final ChunkInfo ci = infos.get(i);
+                returnMap.put(ci.getKey(), decodeChunkData(ci, (byte[]) data[i], tc));
+            }
+            return returnMap;
+        });
+    }
+
+    private Map<String, CachedData> getChunks(List<String> ciKeys, Map<String, CachedData> dataMap) {
+        final Map<String, CachedData> ciDataMap = new HashMap<>(ciKeys.size() * 2);
+        if (dataMap != null) {
+            for (String _key : ciKeys) {
+                final CachedData cd = dataMap.get(_key);
+                if (cd != null) ciDataMap.put(_key, cd);
+            }
+        }
+        return ciDataMap;
+    }
+
+    private <T> T decodeChunkData(ChunkInfo ci, byte[] data, Transcoder<T> tc) {
+        if (data == null) return null;
+        return tc.decode(new CachedData(ci.getFlags(), data, Integer.MAX_VALUE));
     }
 
     private CachedData[] createChunks(CachedData cd, String key) {
@@ -755,7 +950,8 @@ public class EVCacheClient {
         if ((key.length() + 3) > cSize) throw new IllegalArgumentException("The chunksize " + cSize
                 + " is smaller than the key size. Will not be able to proceed. key size = "
                 + key.length());
-        final int len = cd.getData().length;
+        final byte[] src = cd.getData();
+        final int len = src.length;
 
         /* the format of headers in memcached */
         // Key size + 1 + Header( Flags (Characters Number) + Key (Characters Numbers) + 2 bytes ( \r\n ) + 4 bytes (2 spaces and 1 \r)) + Chunk Size + CAS Size
@@ -775,39 +971,94 @@ public class EVCacheClient {
         final CachedData[] chunkData = new CachedData[numOfChunks];
         if (lastChunkSize == 0) lastChunkSize = actualChunkSize;
 
+        // every chunk is copied once from the source and the checksum is computed on the same pass. The chunks are
+        // padded to the chunk size, a new array is already zero filled
         final long sTime = System.nanoTime();
         final Checksum checksum = new CRC32();
-        checksum.update(cd.getData(), 0, len);
-        final long checkSumValue = checksum.getValue();
-
         int srcPos = 0;
-        if (log.isDebugEnabled()) log.debug("Ths size of data is " + len + " ; we will create " + (numOfChunks - 1)
-                + " of " + actualChunkSize + " bytes. Checksum : "
-                + checkSumValue + "; Checksum Duration : " + (System.nanoTime() - sTime));
-        chunkData[0] = decodingTranscoder.encode(numOfChunks + ":" + actualChunkSize + ":" + lastChunkSize + ":" + cd
-                .getFlags() + ":" + checkSumValue);
         for (int i = 1; i < numOfChunks; i++) {
-            int lengthOfArray = actualChunkSize;
-            if (srcPos + actualChunkSize > len) {
-                lengthOfArray = len - srcPos;
-            }
-            byte[] dest = new byte[actualChunkSize];
-            System.arraycopy(cd.getData(), srcPos, dest, 0, lengthOfArray);
-            if (actualChunkSize > lengthOfArray) {
-                for (int j = lengthOfArray; j < actualChunkSize; j++) {
-                    dest[j] = Character.UNASSIGNED;// Adding filler data
-                }
-            }
+            final int lengthOfArray = Math.min(actualChunkSize, len - srcPos);
+            final byte[] dest = new byte[actualChunkSize];
+            System.arraycopy(src, srcPos, dest, 0, lengthOfArray);
+            checksum.update(src, srcPos, lengthOfArray);
             srcPos += lengthOfArray;
-            //chunkData[i] = decodingTranscoder.encode(dest);
             chunkData[i] = new CachedData(SPECIAL_BYTEARRAY, dest, Integer.MAX_VALUE);
         }
-        EVCacheMetricsFactory.getInstance().getDistributionSummary(EVCacheMetricsFactory.INTERNAL_NUM_CHUNK_SIZE, getTagList()).record(numOfChunks);
-        EVCacheMetricsFactory.getInstance().getDistributionSummary(EVCacheMetricsFactory.INTERNAL_CHUNK_DATA_SIZE, getTagList()).record(len);
+        final long checkSumValue = checksum.getValue();
+        if (log.isDebugEnabled()) log.debug("Ths size of data is " + len + " ; we will create " + (numOfChunks - 1)
+                + " of " + actualChunkSize + " bytes. Checksum : "
+                + checkSumValue + "; Chunking Duration : " + (System.nanoTime() - sTime));
+        chunkData[0] = encodeChunkInfo(numOfChunks, actualChunkSize, lastChunkSize, cd.getFlags(), checkSumValue);
+        recordChunks(numOfChunks, len);
 
         return chunkData;
     }
 
+    void recordChunks(int numOfChunks, long size) {
+        EVCacheMetricsFactory.getInstance().getDistributionSummary(EVCacheMetricsFactory.INTERNAL_NUM_CHUNK_SIZE, getTagList()).record(numOfChunks);
+        EVCacheMetricsFactory.getInstance().getDistributionSummary(EVCacheMetricsFactory.INTERNAL_CHUNK_DATA_SIZE, getTagList()).record(size);
+    }
+
+    private int getDataChunkSize(String key) {
+        final int cSize = chunkSize.get();
+        if ((key.length() + 3) > cSize) throw new IllegalArgumentException("The chunksize " + cSize
+                + " is smaller than the key size. Will not be able to proceed. key size = "
+                + key.length());
+        return cSize - (key.length() + 71 + 3);
+    }
+
+    /**
+     * Returns a stream that writes a byte array value to this server group in chunks as the bytes are written to it.
+     * The value is visible to readers once the stream has been closed. Chunking must be enabled for this server group.
+     *
+     * @param key the derived key of the value
+     * @param timeToLive the expiration of the value in seconds
+     * @return the stream the value is written to
+     * @throws EVCacheException if chunking is not enabled or the write queue of the node of the key is full
+     */
+    public OutputStream setStream(String key, int timeToLive) throws EVCacheException {
+        if (!enableChunking.get()) throw new EVCacheException("This operation needs chunking to be enabled on this EVCacheClient.");
+        final MemcachedNode node = evcacheMemcachedClient.getEVCacheNode(key);
+        if (!ensureWriteQueueSize(node, key, Call.SET_STREAM)) {
+            throw new EVCacheException("Write queue of node : " + node + " is full. Rejecting the write event.");
+        }
+        return new EVCacheChunkOutputStream(this, key, timeToLive, getDataChunkSize(key), chunkStreamWindow.get().intValue(),
+                pool.getOperationTimeout().get().longValue(), SPECIAL_BYTEARRAY);
+    }
+
+    /**
+     * Returns a stream over the bytes of a byte array value of this server group. A chunked value is read a few chunks
+     * at a time as the stream is consumed. Chunking must be enabled for this server group.
+     *
+     * @param key the derived key of the value
+     * @return the stream or null if the key was not found
+     * @throws EVCacheException if chunking is not enabled or the value is not a byte array
+     */
+    public InputStream getStream(String key, boolean _throwException) throws Exception {
+        if (!enableChunking.get()) throw new EVCacheException("This operation needs chunking to be enabled on this EVCacheClient.");
+        if (!validateNode(key, _throwException, Call.GET_STREAM)) return null;
+
+        final ChunkDetails<CachedData> cd = getChunkDetails(key, chunkPrefetchCount.get().intValue());
+        if (cd == null) return null;
+        final int flags;
+        final InputStream in;
+        if (!cd.isChunked()) {
+            if (cd.getData() == null) return null;
+            flags = cd.getData().getFlags();
+            in = new ByteArrayInputStream(cd.getData().getData());
+        } else {
+            flags = cd.getChunkInfo().getFlags();
+            in = new EVCacheChunkInputStream(this, cd.getChunkInfo(), cd.getChunkKeys(), cd.getPrefetchedChunks(), chunkStreamWindow.get().intValue(), readTimeout.get().longValue());
+        }
+
+        final int type = flags & SPECIAL_MASK;
+        if ((flags & SERIALIZED) != 0 || (type != 0 && type != SPECIAL_BYTEARRAY)) {
+            in.close();
+            throw new EVCacheException("The value of key " + key + " is not a byte array. flags : " + flags);
+        }
+        return ((flags & COMPRESSED) != 0) ? new GZIPInputStream(in) : in;
+    }
+
     /**
      * Retrieves all the chunks as is. This is mainly used for debugging.
      *
@@ -850,11 +1101,46 @@ public class EVCacheClient {
         return evcacheMemcachedClient.decr(key, by, defaultVal, timeToLive);
     }
 
+    /**
+     * Sends an incr without waiting for it to complete.
+     *
+     * @return the future of the new value of the counter, which is -1 if the incr failed
+     * @throws EVCacheException if the write queue of the node is full
+     */
+    public EVCacheOperationFuture<Long> asyncIncr(String key, long by, long defaultVal, int timeToLive) throws EVCacheException {
+        return asyncMutate(Mutator.incr, Call.INCR, key, by, defaultVal, timeToLive);
+    }
+
+    /**
+     * Sends a decr without waiting for it to complete.
+     *
+     * @return the future of the new value of the counter, which is -1 if the decr failed
+     * @throws EVCacheException if the write queue of the node is full
+     */
+    public EVCacheOperationFuture<Long> asyncDecr(String key, long by, long defaultVal, int timeToLive) throws EVCacheException {
+        return asyncMutate(Mutator.decr, Call.DECR, key, by, defaultVal, timeToLive);
+    }
+
+    private EVCacheOperationFuture<Long> asyncMutate(Mutator m, Call call, String key, long by, long defaultVal, int timeToLive) throws EVCacheException {
+        final MemcachedNode node = evcacheMemcachedClient.getEVCacheNode(key);
+        if (!ensureWriteQueueSize(node, key, call)) throw new EVCacheException("Write queue of node : " + node + " is full. Rejecting the " + call + " of key : " + key);
+        return evcacheMemcachedClient.asyncMutate(m, key, by, defaultVal, timeToLive);
+    }
+
+    /*
+     * Sends a get for the key. If read coalescing is enabled a get that is already in flight for the same key and
+     * transcoder is shared instead.
+     */
+    private <T> EVCacheOperationFuture<T> getOperationFuture(String key, Transcoder<T> tc) {
+        if (!coalesceReads.get()) return evcacheMemcachedClient.asyncGet(key, tc, null);
+        return readCoalescer.get(key, tc, readTimeout.get().longValue(), () -> evcacheMemcachedClient.asyncGet(key, tc, null));
+    }
+
     public <T> T get(String key, Transcoder<T> tc, boolean _throwException, boolean hasZF, boolean chunked) throws Exception {
         if (chunked) {
             return assembleChunks(key, false, 0, tc, hasZF);
         } else {
-            return evcacheMemcachedClient.asyncGet(key, tc, null).get(readTimeout.get(),
+            return getOperationFuture(key, tc).get(readTimeout.get(),
                     TimeUnit.MILLISECONDS, _throwException, hasZF);
         }
     }
@@ -875,7 +1161,7 @@ public class EVCacheClient {
         if (chunked) {
             return assembleChunks(key, _throwException, 0, tc, hasZF, scheduler);
         } else {
-            return evcacheMemcachedClient.asyncGet(key, tc, null)
+            return getOperationFuture(key, tc)
                 .get(readTimeout.get(), TimeUnit.MILLISECONDS, _throwException, hasZF, scheduler);
         }
     }
@@ -950,15 +1236,28 @@ public class EVCacheClient {
 
     public <T> Map<String, T> getBulk(Collection<String> _canonicalKeys, Transcoder<T> tc, boolean _throwException,
             boolean hasZF) throws Exception {
-        final Collection<String> canonicalKeys = validateReadQueueSize(_canonicalKeys, Call.BULK);
+        return getBulk(_canonicalKeys, tc, _throwException, hasZF, bulkReadTimeout.get().longValue());
+    }
+
+    /**
+     * Reads the keys waiting at most the given number of milliseconds, instead of the bulk read timeout, for all of
+     * them including their chunks. Returns null, or throws if _throwException is set, when none of the nodes could
+     * take the read so that it is not mistaken for a miss of every key.
+     */
+    public <T> Map<String, T> getBulk(Collection<String> _canonicalKeys, Transcoder<T> tc, boolean _throwException,
+            boolean hasZF, long timeout) throws Exception {
         final Map<String, T> returnVal;
         try {
             if (tc == null) tc = (Transcoder<T>) getTranscoder();
             if (enableChunking.get()) {
-                returnVal = assembleChunks(_canonicalKeys, tc, hasZF);
+                returnVal = assembleChunks(_canonicalKeys, tc, hasZF, timeout);
             } else {
-                returnVal = evcacheMemcachedClient.asyncGetBulk(canonicalKeys, tc, null)
-                        .getSome(bulkReadTimeout.get(), TimeUnit.MILLISECONDS, _throwException, hasZF);
+                final EVCacheBulkGetFuture<T> future = sendBulk(_canonicalKeys, tc, true);
+                if (future.getNodeCount() == 0 && !_canonicalKeys.isEmpty()) {
+                    if (_throwException) throw new EVCacheException("None of the nodes of " + serverGroup + " could take the bulk read for app " + appName);
+                    return null;
+                }
+                returnVal = future.getSome(timeout, TimeUnit.MILLISECONDS, _throwException, hasZF);
             }
         } catch (Exception e) {
             if (_throwException) throw e;
@@ -967,15 +1266,30 @@ public class EVCacheClient {
         return returnVal;
     }
 
+    /**
+     * Sends a bulk read without waiting for it so the read of each node can be followed through the returned future.
+     * The keys of the nodes that cannot take more reads are not sent, see
+     * {@link EVCacheBulkGetFuture#getRequestedKeys()}. Chunked values are not supported.
+     */
+    public <T> EVCacheBulkGetFuture<T> asyncGetBulk(Collection<String> canonicalKeys, Transcoder<T> tc) throws EVCacheException {
+        if (enableChunking.get()) throw new EVCacheException(
+                "This operation is not supported as chunking is enabled on this EVCacheClient.");
+        if (tc == null) tc = (Transcoder<T>) getTranscoder();
+        return sendBulk(canonicalKeys, tc, true);
+    }
+
+    public boolean isChunkingEnabled() {
+        return enableChunking.get().booleanValue();
+    }
+
     public <T> Single<Map<String, T>> getBulk(Collection<String> _canonicalKeys, final Transcoder<T> transcoder, boolean _throwException,
             boolean hasZF, Scheduler scheduler) {
         try {
-            final Collection<String> canonicalKeys = validateReadQueueSize(_canonicalKeys, Call.BULK);
             final Transcoder<T> tc = (transcoder == null) ? (Transcoder<T>) getTranscoder() : transcoder;
             if (enableChunking.get()) {
                 return assembleChunks(_canonicalKeys, tc, hasZF, scheduler);
             } else {
-                return evcacheMemcachedClient.asyncGetBulk(canonicalKeys, tc, null)
+                return sendBulk(_canonicalKeys, tc, false)
                     .getSome(bulkReadTimeout.get(), TimeUnit.MILLISECONDS, _throwException, hasZF, scheduler);
             }
         } catch (Throwable e) {
@@ -987,7 +1301,7 @@ public class EVCacheClient {
         if (enableChunking.get()) throw new EVCacheException(
                 "This operation is not supported as chunking is enabled on this EVCacheClient.");
         final MemcachedNode node = evcacheMemcachedClient.getEVCacheNode(key);
-        if (!ensureWriteQueueSize(node, key, Call.APPEND)) return getDefaultFuture();
+        if (!ensureWriteQueueSize(node, key, Call.APPEND)) return getRejectedFuture();
         return evcacheMemcachedClient.append(key, value);
     }
 
@@ -1018,8 +1332,8 @@ public class EVCacheClient {
     private Future<Boolean> _set(String key, CachedData value, int timeToLive, EVCacheLatch evcacheLatch) throws Exception {
         final MemcachedNode node = evcacheMemcachedClient.getEVCacheNode(key);
         if (!ensureWriteQueueSize(node, key, Call.SET)) {
-            if (log.isInfoEnabled()) log.info("Node : " + node + " is not active. Failing fast and dropping the write event.");
-            final ListenableFuture<Boolean, OperationCompletionListener> defaultFuture = (ListenableFuture<Boolean, OperationCompletionListener>) getDefaultFuture();
+            if (log.isInfoEnabled()) log.info("Write queue of node : " + node + " is full. Rejecting the write event.");
+            final ListenableFuture<Boolean, OperationCompletionListener> defaultFuture = getRejectedFuture();
             if (evcacheLatch != null && evcacheLatch instanceof EVCacheLatchImpl && !isInWriteOnly()) ((EVCacheLatchImpl) evcacheLatch).addFuture(defaultFuture);
             return defaultFuture;
         }
@@ -1027,6 +1341,11 @@ public class EVCacheClient {
         try {
             final int dataSize = ((CachedData) value).getData().length;
 
+            if (evcacheLatch != null && writesQuietly(evcacheLatch.getPolicy())) {
+                evcacheMemcachedClient.setQuietly(key, timeToLive, value);
+                return addQuietFuture(evcacheLatch);
+            }
+
             if (enableChunking.get()) {
                 if (dataSize > chunkSize.get()) {
                     final CachedData[] cd = createChunks(value, key);
@@ -1072,8 +1391,8 @@ public class EVCacheClient {
     public <T> Future<Boolean> appendOrAdd(String key, CachedData value, int timeToLive, EVCacheLatch evcacheLatch) throws Exception {
         final MemcachedNode node = evcacheMemcachedClient.getEVCacheNode(key);
         if (!ensureWriteQueueSize(node, key, Call.APPEND_OR_ADD)) {
-            if (log.isInfoEnabled()) log.info("Node : " + node + " is not active. Failing fast and dropping the write event.");
-            final ListenableFuture<Boolean, OperationCompletionListener> defaultFuture = (ListenableFuture<Boolean, OperationCompletionListener>) getDefaultFuture();
+            if (log.isInfoEnabled()) log.info("Write queue of node : " + node + " is full. Rejecting the write event.");
+            final ListenableFuture<Boolean, OperationCompletionListener> defaultFuture = getRejectedFuture();
             if (evcacheLatch != null && evcacheLatch instanceof EVCacheLatchImpl && !isInWriteOnly()) ((EVCacheLatchImpl) evcacheLatch).addFuture(defaultFuture);
             return defaultFuture;
         }
@@ -1104,8 +1423,8 @@ public class EVCacheClient {
     private Future<Boolean> _replace(String key, CachedData value, int timeToLive, EVCacheLatch evcacheLatch) throws Exception {
         final MemcachedNode node = evcacheMemcachedClient.getEVCacheNode(key);
         if (!ensureWriteQueueSize(node, key, Call.REPLACE)) {
-            if (log.isInfoEnabled()) log.info("Node : " + node + " is not active. Failing fast and dropping the replace event.");
-            final ListenableFuture<Boolean, OperationCompletionListener> defaultFuture = (ListenableFuture<Boolean, OperationCompletionListener>) getDefaultFuture();
+            if (log.isInfoEnabled()) log.info("Write queue of node : " + node + " is full. Rejecting the replace event.");
+            final ListenableFuture<Boolean, OperationCompletionListener> defaultFuture = getRejectedFuture();
             if (evcacheLatch != null && evcacheLatch instanceof EVCacheLatchImpl && !isInWriteOnly()) ((EVCacheLatchImpl) evcacheLatch).addFuture(defaultFuture);
             return defaultFuture;
         }
@@ -1134,7 +1453,7 @@ public class EVCacheClient {
         if (enableChunking.get()) throw new EVCacheException("This operation is not supported as chunking is enabled on this EVCacheClient.");
 
         final MemcachedNode node = evcacheMemcachedClient.getEVCacheNode(key);
-        if (!ensureWriteQueueSize(node, key, Call.ADD)) return getDefaultFuture();
+        if (!ensureWriteQueueSize(node, key, Call.ADD)) return getRejectedFuture();
         return evcacheMemcachedClient.add(key, exp, value, null, latch);
     }
 
@@ -1195,7 +1514,7 @@ public class EVCacheClient {
     	}
         final MemcachedNode node = evcacheMemcachedClient.getEVCacheNode(key);
         if (!ensureWriteQueueSize(node, key, Call.TOUCH)) {
-            final ListenableFuture<Boolean, OperationCompletionListener> defaultFuture = (ListenableFuture<Boolean, OperationCompletionListener>) getDefaultFuture();
+            final ListenableFuture<Boolean, OperationCompletionListener> defaultFuture = getRejectedFuture();
             if (latch != null && latch instanceof EVCacheLatchImpl && !isInWriteOnly()) ((EVCacheLatchImpl) latch).addFuture(defaultFuture);
             return defaultFuture;
         }
@@ -1226,7 +1545,7 @@ public class EVCacheClient {
                 "This operation is not supported as chunking is enabled on this EVCacheClient.");
         if (!validateNode(key, _throwException, Call.ASYNC_GET)) return null;
         if (tc == null) tc = (Transcoder<T>) getTranscoder();
-        return evcacheMemcachedClient.asyncGet(key, tc, null);
+        return getOperationFuture(key, tc);
     }
 
     public Future<Boolean> delete(String key) throws Exception {
@@ -1236,11 +1555,16 @@ public class EVCacheClient {
     public Future<Boolean> delete(String key, EVCacheLatch latch) throws Exception {
         final MemcachedNode node = evcacheMemcachedClient.getEVCacheNode(key);
         if (!ensureWriteQueueSize(node, key, Call.DELETE)) {
-            final ListenableFuture<Boolean, OperationCompletionListener> defaultFuture = (ListenableFuture<Boolean, OperationCompletionListener>) getDefaultFuture();
+            final ListenableFuture<Boolean, OperationCompletionListener> defaultFuture = getRejectedFuture();
             if (latch != null && latch instanceof EVCacheLatchImpl && !isInWriteOnly()) ((EVCacheLatchImpl) latch).addFuture(defaultFuture);
             return defaultFuture;
         }
 
+        if (latch != null && writesQuietly(latch.getPolicy())) {
+            evcacheMemcachedClient.deleteQuietly(key);
+            return addQuietFuture(latch);
+        }
+
         if (enableChunking.get()) {
             final ChunkDetails<?> cd = getChunkDetails(key);
             if (cd == null) {
@@ -1263,6 +1587,142 @@ public class EVCacheClient {
         }
     }
 
+    /**
+     * Sets many keys, enqueueing the keys of each node as one batch. The write queue of each node is checked once and
+     * the keys of a node with a full queue are rejected.
+     *
+     * @param values the encoded value of each key
+     * @param policy the policy of the latch the futures are added to
+     * @return the future of each key
+     */
+    public Map<String, ListenableFuture<Boolean, OperationCompletionListener>> setBulk(Map<String, CachedData> values, int timeToLive, EVCacheLatch.Policy policy) throws EVCacheException {
+        if (enableChunking.get()) throw new EVCacheException("This operation is not supported as chunking is enabled on this EVCacheClient.");
+        final Map<String, ListenableFuture<Boolean, OperationCompletionListener>> futures = new HashMap<String, ListenableFuture<Boolean, OperationCompletionListener>>((int) (values.size() / 0.75) + 1);
+        final Set<String> rejectedKeys = getRejectedKeys(values.keySet(), Call.SET_BULK, futures);
+        final Map<String, CachedData> accepted;
+        if (rejectedKeys.isEmpty()) {
+            accepted = values;
+        } else {
+            accepted = new HashMap<String, CachedData>(values);
+            accepted.keySet().removeAll(rejectedKeys);
+        }
+        if (writesQuietly(policy)) {
+            evcacheMemcachedClient.setBulkQuietly(accepted, timeToLive);
+            putQuietFutures(accepted.keySet(), futures);
+        } else {
+            futures.putAll(evcacheMemcachedClient.setBulk(accepted, timeToLive));
+        }
+        return futures;
+    }
+
+    /**
+     * Deletes many keys, enqueueing the keys of each node as one batch. The write queue of each node is checked once
+     * and the keys of a node with a full queue are rejected.
+     *
+     * @param policy the policy of the latch the futures are added to
+     * @return the future of each key
+     */
+    public Map<String, ListenableFuture<Boolean, OperationCompletionListener>> deleteBulk(Collection<String> keys, EVCacheLatch.Policy policy) throws EVCacheException {
+        if (enableChunking.get()) throw new EVCacheException("This operation is not supported as chunking is enabled on this EVCacheClient.");
+        final Map<String, ListenableFuture<Boolean, OperationCompletionListener>> futures = new HashMap<String, ListenableFuture<Boolean, OperationCompletionListener>>((int) (keys.size() / 0.75) + 1);
+        final Set<String> rejectedKeys = getRejectedKeys(keys, Call.DELETE_BULK, futures);
+        final Collection<String> accepted = getAcceptedKeys(keys, rejectedKeys);
+        if (writesQuietly(policy)) {
+            evcacheMemcachedClient.deleteBulkQuietly(accepted);
+            putQuietFutures(accepted, futures);
+        } else {
+            futures.putAll(evcacheMemcachedClient.deleteBulk(accepted));
+        }
+        return futures;
+    }
+
+    /**
+     * Touches many keys, enqueueing the keys of each node as one batch. The write queue of each node is checked once
+     * and the keys of a node with a full queue are rejected.
+     *
+     * @return the future of each key
+     */
+    public Map<String, ListenableFuture<Boolean, OperationCompletionListener>> touchBulk(Collection<String> keys, int timeToLive) throws EVCacheException {
+        if (enableChunking.get()) throw new EVCacheException("This operation is not supported as chunking is enabled on this EVCacheClient.");
+        final Map<String, ListenableFuture<Boolean, OperationCompletionListener>> futures = new HashMap<String, ListenableFuture<Boolean, OperationCompletionListener>>((int) (keys.size() / 0.75) + 1);
+        if (ignoreTouch.get()) {
+            final ListenableFuture<Boolean, OperationCompletionListener> sf = new SuccessFuture();
+            for (String key : keys) {
+                futures.put(key, sf);
+            }
+            return futures;
+        }
+        final Set<String> rejectedKeys = getRejectedKeys(keys, Call.TOUCH_BULK, futures);
+        futures.putAll(evcacheMemcachedClient.touchBulk(getAcceptedKeys(keys, rejectedKeys), timeToLive));
+        return futures;
+    }
+
+    /**
+     * Checks the write queue of the node of each key once, and adds a rejected future for the keys of a node with a
+     * full queue.
+     *
+     * @return the rejected keys
+     */
+    private Set<String> getRejectedKeys(Collection<String> keys, Call call, Map<String, ListenableFuture<Boolean, OperationCompletionListener>> futures) throws EVCacheException {
+        final Map<MemcachedNode, Boolean> nodeAccepts = new HashMap<MemcachedNode, Boolean>();
+        Set<String> rejectedKeys = Collections.emptySet();
+        DefaultFuture rejectedFuture = null;
+        for (String key : keys) {
+            final MemcachedNode node = evcacheMemcachedClient.getEVCacheNode(key);
+            Boolean accepts = nodeAccepts.get(node);
+            if (accepts == null) {
+                accepts = Boolean.valueOf(ensureWriteQueueSize(node, key, call));
+                nodeAccepts.put(node, accepts);
+                if (!accepts.booleanValue() && log.isInfoEnabled()) log.info("Write queue of node : " + node + " is full. Rejecting the write event.");
+            }
+            if (accepts.booleanValue()) continue;
+
+            if (rejectedFuture == null) {
+                rejectedFuture = getRejectedFuture();
+                rejectedKeys = new HashSet<String>();
+            }
+            rejectedKeys.add(key);
+            futures.put(key, rejectedFuture);
+        }
+        return rejectedKeys;
+    }
+
+    /**
+     * Returns true if the sets and deletes for a latch with the given policy are sent as quiet writes. A quiet write is
+     * not acknowledged by the server, so it is only used when the policy does not wait for any copy, quiet writes are
+     * enabled, the protocol is binary and chunking is disabled.
+     *
+     * The in-memory cache is invalidated once the writes complete, which a quiet write never reports. So quiet writes
+     * are not used either while the in-memory cache is in use or an invalidation broadcaster is set.
+     */
+    public boolean writesQuietly(EVCacheLatch.Policy policy) {
+        return policy == EVCacheLatch.Policy.NONE && quietWrites.get() && !enableChunking.get() && evcacheMemcachedClient.supportsQuietWrites()
+                && !useInMemoryCache.get() && pool.getEVCacheClientPoolManager().getInvalidationBroadcaster() == null;
+    }
+
+    /**
+     * Quiet writes have no future of their own, a completed future is added to the latch in their place.
+     */
+    private ListenableFuture<Boolean, OperationCompletionListener> addQuietFuture(EVCacheLatch latch) {
+        if (latch instanceof EVCacheLatchImpl && !isInWriteOnly()) ((EVCacheLatchImpl) latch).addFuture(QUIET_WRITE_FUTURE);
+        return QUIET_WRITE_FUTURE;
+    }
+
+    private void putQuietFutures(Collection<String> keys, Map<String, ListenableFuture<Boolean, OperationCompletionListener>> futures) {
+        for (String key : keys) {
+            futures.put(key, QUIET_WRITE_FUTURE);
+        }
+    }
+
+    private Collection<String> getAcceptedKeys(Collection<String> keys, Set<String> rejectedKeys) {
+        if (rejectedKeys.isEmpty()) return keys;
+        final List<String> accepted = new ArrayList<String>(keys.size() - rejectedKeys.size());
+        for (String key : keys) {
+            if (!rejectedKeys.contains(key)) accepted.add(key);
+        }
+        return accepted;
+    }
+
     public boolean removeConnectionObserver() {
         try {
             boolean removed = evcacheMemcachedClient.removeObserver(connectionObserver);
@@ -1285,6 +1745,54 @@ public class EVCacheClient {
         return true;
     }
 
+    /**
+     * Connects to the nodes that were added to the server group and disconnects from the ones that were removed,
+     * keeping this client and its connections to the other nodes. The added nodes are not read from or written to
+     * until they are passed to {@link #addNodes(Collection)}.
+     *
+     * @param newConfig the discovered config of the server group
+     * @param nodes all the nodes of the server group
+     * @return the nodes that are connecting to the added addresses, null if nothing changed or the client has to be
+     *         recreated instead
+     */
+    public synchronized List<MemcachedNode> updateNodes(EVCacheServerGroupConfig newConfig, List<InetSocketAddress> nodes) {
+        if (shutdown || newConfig.getRendPort() != config.getRendPort()
+                || newConfig.getUdsproxyMemcachedPort() != config.getUdsproxyMemcachedPort()
+                || newConfig.getUpdsproxyMememtoPort() != config.getUpdsproxyMememtoPort()) return null;
+
+        final List<InetSocketAddress> added = new ArrayList<InetSocketAddress>(nodes);
+        added.removeAll(memcachedNodesInZone);
+        final List<InetSocketAddress> removed = new ArrayList<InetSocketAddress>(memcachedNodesInZone);
+        removed.removeAll(nodes);
+        // the same nodes with a broken hash ring or stale connections, start over with a new client
+        if (added.isEmpty() && removed.isEmpty()) return null;
+        final List<MemcachedNode> addedNodes;
+        try {
+            addedNodes = evcacheMemcachedClient.updateNodes(added, removed);
+            if (addedNodes == null) return null;
+        } catch (Exception e) {
+            log.error("Unable to update the nodes of " + toString() + "; added : " + added + "; removed : " + removed, e);
+            return null;
+        }
+        if (connectionObserver != null) {
+            for (InetSocketAddress address : removed) {
+                connectionObserver.removeServer(address);
+            }
+        }
+        this.config = newConfig;
+        this.memcachedNodesInZone = nodes;
+        if (log.isDebugEnabled()) log.debug("Updated the nodes of " + toString() + "; added : " + added + "; removed : " + removed);
+        return addedNodes;
+    }
+
+    /**
+     * Routes reads and writes to nodes returned by {@link #updateNodes(EVCacheServerGroupConfig, List)}.
+     */
+    public void addNodes(Collection<MemcachedNode> added) {
+        evcacheMemcachedClient.addNodes(added);
+        if (log.isDebugEnabled()) log.debug("Routing to the added nodes of " + toString() + " : " + added);
+    }
+
     public EVCacheConnectionObserver getConnectionObserver() {
         return this.connectionObserver;
     }
@@ -1367,6 +1875,8 @@ public class EVCacheClient {
         return this.evcacheMemcachedClient.getNodeLocator();
     }
 
+    private static final SuccessFuture QUIET_WRITE_FUTURE = new SuccessFuture();
+
     static class SuccessFuture implements ListenableFuture<Boolean, OperationCompletionListener> {
 
 		@Override
@@ -1406,7 +1916,27 @@ public class EVCacheClient {
         }
     }
 
-    static class DefaultFuture implements ListenableFuture<Boolean, OperationCompletionListener> {
+    /**
+     * A completed future of a write that was not sent, {@link #get()} returns false.
+     */
+    public static class DefaultFuture implements ListenableFuture<Boolean, OperationCompletionListener> {
+        private final OperationStatus status;
+
+        public DefaultFuture() {
+            this(null);
+        }
+
+        public DefaultFuture(OperationStatus status) {
+            this.status = status;
+        }
+
+        /**
+         * @return the reason the write was not sent, or null if none was given
+         */
+        public OperationStatus getStatus() {
+            return status;
+        }
+
         public boolean cancel(boolean mayInterruptIfRunning) {
             return false;
         }
@@ -1443,9 +1973,10 @@ public class EVCacheClient {
         }
     }
 
-    private Future<Boolean> getDefaultFuture() {
-        final Future<Boolean> defaultFuture = new DefaultFuture();
-        return defaultFuture;
+    private static final OperationStatus WRITE_QUEUE_FULL_STATUS = new OperationStatus(false, "Write queue full", StatusCode.ERR_BUSY);
+
+    private DefaultFuture getRejectedFuture() {
+        return new DefaultFuture(WRITE_QUEUE_FULL_STATUS);
     }
 
     public String toString() {
@@ -1453,6 +1984,13 @@ public class EVCacheClient {
                 + memcachedNodesInZone.toString();
     }
 
+    /**
+     * @return the latencies of the recent reads of keys of this server group
+     */
+    public EVCacheLatencyTracker getReadLatencyTracker() {
+        return readLatencyTracker;
+    }
+
     public EVCacheMemcachedClient getEVCacheMemcachedClient() {
         return evcacheMemcachedClient;
     }
@@ -1507,13 +2045,19 @@ public class EVCacheClient {
         final ChunkInfo chunkInfo;
         final boolean chunked;
         final T data;
+        final Map<String, CachedData> prefetchedChunks;
 
         public ChunkDetails(List<String> chunkKeys, ChunkInfo chunkInfo, boolean chunked, T data) {
+            this(chunkKeys, chunkInfo, chunked, data, null);
+        }
+
+        public ChunkDetails(List<String> chunkKeys, ChunkInfo chunkInfo, boolean chunked, T data, Map<String, CachedData> prefetchedChunks) {
             super();
             this.chunkKeys = chunkKeys;
             this.chunkInfo = chunkInfo;
             this.chunked = chunked;
             this.data = data;
+            this.prefetchedChunks = prefetchedChunks;
         }
 
         public List<String> getChunkKeys() {
@@ -1532,6 +2076,13 @@ public class EVCacheClient {
             return data;
         }
 
+        /**
+         * @return the chunks read along with the metadata, may also hold entries that are not chunks of this value
+         */
+        public Map<String, CachedData> getPrefetchedChunks() {
+            return prefetchedChunks;
+        }
+
 		@Override
 		public String toString() {
 			return "ChunkDetails [chunkKeys=" + chunkKeys + ", chunkInfo=" + chunkInfo + ", chunked=" + chunked
@@ -1583,6 +2134,14 @@ public class EVCacheClient {
             return checksum;
         }
 
+        /**
+         * @return true if the given chunk info describes the same chunked value, possibly read from another server group
+         */
+        public boolean isSameValue(ChunkInfo other) {
+            return other != null && chunks == other.chunks && chunkSize == other.chunkSize && lastChunk == other.lastChunk
+                    && flags == other.flags && checksum == other.checksum;
+        }
+
         @Override
         public String toString() {
             StringBuilder builder = new StringBuilder();
@@ -1753,6 +2312,14 @@ public class EVCacheClient {
         return obj;
     }
 
+    public <T> Single<EVCacheItem<T>> metaGet(String key, Transcoder<T> tc, boolean _throwException, boolean hasZF, Scheduler scheduler) {
+        try {
+            return evcacheMemcachedClient.asyncMetaGet(key, tc, null).get(readTimeout.get(), TimeUnit.MILLISECONDS, _throwException, hasZF, scheduler);
+        } catch (Throwable e) {
+            return Single.error(e);
+        }
+    }
+
 
     public void addTag(String tagName, String tagValue) {
         final Tag tag = new BasicTag(tagName, tagValue);
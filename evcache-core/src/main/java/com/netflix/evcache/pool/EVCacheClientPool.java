@@ -18,6 +18,7 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
@@ -44,6 +45,7 @@ import com.netflix.spectator.api.Gauge;
 import com.netflix.spectator.api.Id;
 import com.netflix.spectator.api.Tag;
 
+import net.spy.memcached.ConnectionObserver;
 import net.spy.memcached.EVCacheNode;
 import net.spy.memcached.MemcachedNode;
 
@@ -87,6 +89,10 @@ public class EVCacheClientPool implements Runnable, EVCacheClientPoolMBean {
     private final Property<Integer> _maxRetries;
 
     private final Property<Boolean> _pingServers;
+    private final Property<Boolean> incrementalTopologyUpdate;
+    private final Property<Integer> warmupTimeout;
+    private final Property<Double> warmupConnectedRatio;
+    private final Property<Boolean> warmupPing;
 
     private final Property<Boolean> refreshConnectionOnReadQueueFull;
     private final Property<Integer> refreshConnectionOnReadQueueFullSize;
@@ -117,11 +123,19 @@ public class EVCacheClientPool implements Runnable, EVCacheClientPoolMBean {
 
     private final AtomicLong numberOfModOps = new AtomicLong(0);
 
+    private final Property<String> readRoutingPolicyName;
+    private final Property<Double> readRoutingSpilloverRatio;
+    private volatile EVCacheReadRoutingPolicy readRoutingPolicy = null;
+    private volatile EVCacheReadRoutingPolicy configuredReadRoutingPolicy = null;
+
     private boolean _shutdown = false;
     private Map<ServerGroup, List<EVCacheClient>> memcachedInstancesByServerGroup = new ConcurrentHashMap<ServerGroup, List<EVCacheClient>>();
     private Map<ServerGroup, List<EVCacheClient>> memcachedReadInstancesByServerGroup = new ConcurrentHashMap<ServerGroup, List<EVCacheClient>>();
     private Map<ServerGroup, List<EVCacheClient>> memcachedWriteInstancesByServerGroup = new ConcurrentSkipListMap<ServerGroup, List<EVCacheClient>>();
     private final Map<InetSocketAddress, Long> evCacheDiscoveryConnectionLostSet = new ConcurrentHashMap<InetSocketAddress, Long>();
+    // new clients and nodes added to existing clients that are connecting, put in rotation by warmUp()
+    private final Map<ServerGroup, List<EVCacheClient>> warmingClientsByServerGroup = new ConcurrentHashMap<ServerGroup, List<EVCacheClient>>();
+    private final Map<EVCacheClient, List<MemcachedNode>> warmingNodesByClient = new ConcurrentHashMap<EVCacheClient, List<MemcachedNode>>();
     private Map<String, ServerGroupCircularIterator> readServerGroupByZone = new ConcurrentHashMap<String, ServerGroupCircularIterator>();
     private ServerGroupCircularIterator memcachedFallbackReadInstances = new ServerGroupCircularIterator(Collections.<ServerGroup> emptySet());
     private CircularIterator<EVCacheClient[]> allEVCacheWriteClients = new CircularIterator<EVCacheClient[]>(Collections.<EVCacheClient[]> emptyList());
@@ -161,6 +175,10 @@ public class EVCacheClientPool implements Runnable, EVCacheClientPoolMBean {
         this._retryAcrossAllReplicas = config.getPropertyRepository().get(_appName + ".retry.all.copies", Boolean.class).orElse(false);
         this._disableAsyncRefresh = config.getPropertyRepository().get(_appName + ".disable.async.refresh", Boolean.class).orElse(false);
         this._maxRetries = config.getPropertyRepository().get(_appName + ".max.retry.count", Integer.class).orElse(1);
+        this.readRoutingPolicyName = config.getPropertyRepository().get(_appName + ".read.routing.policy", String.class).orElse("");
+        this.readRoutingSpilloverRatio = config.getPropertyRepository().get(_appName + ".read.routing.spillover.ratio", Double.class).orElse(2.0);
+        this.readRoutingPolicyName.subscribe(i -> configuredReadRoutingPolicy = createReadRoutingPolicy(i));
+        this.configuredReadRoutingPolicy = createReadRoutingPolicy(readRoutingPolicyName.get());
 
         Function<String, Set<String>> splitSet = t -> Arrays.stream(t.split(",")).collect(Collectors.toSet());
         this.logOperations = config.getPropertyRepository().get(appName + ".log.operation", Integer.class).orElse(0);
@@ -182,6 +200,10 @@ public class EVCacheClientPool implements Runnable, EVCacheClientPoolMBean {
         EVCacheMetricsFactory.getInstance().addAppNameTags(tagList, _appName);
 
         this._pingServers = config.getPropertyRepository().get(appName + ".ping.servers", Boolean.class).orElseGet("evcache.ping.servers").orElse(false);
+        this.incrementalTopologyUpdate = config.getPropertyRepository().get(appName + ".incremental.topology.update", Boolean.class).orElseGet("evcache.incremental.topology.update").orElse(true);
+        this.warmupTimeout = config.getPropertyRepository().get(appName + ".warmup.timeout", Integer.class).orElseGet("evcache.warmup.timeout").orElse(1000);
+        this.warmupConnectedRatio = config.getPropertyRepository().get(appName + ".warmup.connected.ratio", Double.class).orElseGet("evcache.warmup.connected.ratio").orElse(0.9);
+        this.warmupPing = config.getPropertyRepository().get(appName + ".warmup.ping", Boolean.class).orElseGet("evcache.warmup.ping").orElse(false);
         setupMonitoring();
         
         //init all callbacks
@@ -228,6 +250,12 @@ public class EVCacheClientPool implements Runnable, EVCacheClientPoolMBean {
         }
 
         try {
+            final EVCacheReadRoutingPolicy policy = getReadRoutingPolicy();
+            if (policy != null) {
+                final EVCacheClient client = selectClient(policy, null);
+                if (client != null) return client;
+            }
+
             List<EVCacheClient> clients = null;
             if (localServerGroupIterator != null) {
                 clients = memcachedReadInstancesByServerGroup.get(localServerGroupIterator.next());
@@ -340,6 +368,53 @@ public class EVCacheClientPool implements Runnable, EVCacheClientPoolMBean {
         return clients.get(index);
     }
 
+    /*
+     * Picks a client of each readable server group other than the excluded one and lets the policy choose among them.
+     */
+    private EVCacheClient selectClient(EVCacheReadRoutingPolicy policy, ServerGroup serverGroupToExclude) {
+        final List<EVCacheClient> candidates = new ArrayList<EVCacheClient>(memcachedReadInstancesByServerGroup.size());
+        for (Entry<ServerGroup, List<EVCacheClient>> entry : memcachedReadInstancesByServerGroup.entrySet()) {
+            if (entry.getKey().equals(serverGroupToExclude)) continue;
+            final EVCacheClient client = selectClient(entry.getValue());
+            if (client != null) candidates.add(client);
+        }
+        if (candidates.isEmpty()) return null;
+        if (candidates.size() == 1) return candidates.get(0);
+        return policy.select(candidates, _zone);
+    }
+
+    /**
+     * Sets the policy that chooses the server group of each read, overriding {@code <app>.read.routing.policy}. Null
+     * restores the policy of the property.
+     */
+    public void setReadRoutingPolicy(EVCacheReadRoutingPolicy policy) {
+        this.readRoutingPolicy = policy;
+    }
+
+    /**
+     * @return the policy that chooses the server group of each read, or null if the reads go to the server groups of
+     *         the local zone in turn
+     */
+    public EVCacheReadRoutingPolicy getReadRoutingPolicy() {
+        final EVCacheReadRoutingPolicy policy = readRoutingPolicy;
+        return (policy == null) ? configuredReadRoutingPolicy : policy;
+    }
+
+    private EVCacheReadRoutingPolicy createReadRoutingPolicy(String name) {
+        if (name == null || name.isEmpty()) return null;
+        switch (name.toLowerCase()) {
+        case "ewma":
+            return new EwmaReadRoutingPolicy();
+        case "p2c":
+            return new PowerOfTwoChoicesReadRoutingPolicy();
+        case "zone":
+            return new ZoneAffinityReadRoutingPolicy(readRoutingSpilloverRatio);
+        default:
+            log.warn("Unknown read routing policy " + name + " for app " + _appName + ", reading from the server groups in turn");
+            return null;
+        }
+    }
+
     private EVCacheClient getEVCacheClientForReadExcludeInternal(ServerGroup rsetUsed) {
         if (memcachedReadInstancesByServerGroup == null || memcachedReadInstancesByServerGroup.isEmpty()) {
             if (log.isDebugEnabled()) log.debug("memcachedReadInstancesByServerGroup : " + memcachedReadInstancesByServerGroup);
@@ -347,6 +422,9 @@ public class EVCacheClientPool implements Runnable, EVCacheClientPoolMBean {
             return null;
         }
         try {
+            final EVCacheReadRoutingPolicy policy = getReadRoutingPolicy();
+            if (policy != null) return selectClient(policy, rsetUsed);
+
             ServerGroup fallbackServerGroup = memcachedFallbackReadInstances.next(rsetUsed);
             if (fallbackServerGroup == null || fallbackServerGroup.equals(rsetUsed)) {
                 return null;
@@ -686,6 +764,15 @@ public class EVCacheClientPool implements Runnable, EVCacheClientPoolMBean {
         refresh(false);
     }
 
+    /**
+     * Updates the clients of the server groups under the refresh lock, then waits for the new clients and nodes to
+     * connect without holding it.
+     */
+    private void refresh(boolean force) throws IOException {
+        refreshServerGroups(force);
+        warmUp();
+    }
+
     protected boolean haveInstancesInServerGroupChanged(ServerGroup serverGroup, Set<InetSocketAddress> discoveredHostsInServerGroup) {
         final List<EVCacheClient> clients = memcachedInstancesByServerGroup.get(serverGroup);
 
@@ -857,6 +944,186 @@ public class EVCacheClientPool implements Runnable, EVCacheClientPoolMBean {
         }
     }
 
+    /**
+     * Adds and removes nodes on the existing clients of the server group instead of replacing the clients, so the
+     * connections to the nodes that did not change are kept. Added nodes are routed to once they are warmed up, see
+     * {@link #warmUp()}.
+     *
+     * @return true if all the clients were updated, false if new clients have to be created
+     */
+    private boolean updateClientsInServerGroup(ServerGroup serverGroup, EVCacheServerGroupConfig config, List<InetSocketAddress> memcachedSAInServerGroup) {
+        if (!incrementalTopologyUpdate.get().booleanValue()) return false;
+        final List<EVCacheClient> clients = memcachedInstancesByServerGroup.get(serverGroup);
+        if (clients == null || clients.size() != _poolSize.get().intValue()) return false;
+
+        for (EVCacheClient client : clients) {
+            final List<MemcachedNode> addedNodes = client.updateNodes(config, memcachedSAInServerGroup);
+            if (addedNodes == null) {
+                if (log.isDebugEnabled()) log.debug("AppName :" + _appName + "; ServerGroup : " + serverGroup
+                        + "; Unable to update the nodes of client {" + client + "}. Will create new clients.");
+                return false;
+            }
+            if (addedNodes.isEmpty()) continue;
+            if (warmupTimeout.get().intValue() > 0) {
+                warmingNodesByClient.merge(client, addedNodes, (warming, added) -> {
+                    final List<MemcachedNode> nodes = new ArrayList<MemcachedNode>(warming);
+                    nodes.addAll(added);
+                    return nodes;
+                });
+            } else {
+                client.addNodes(addedNodes);
+            }
+        }
+        if (log.isDebugEnabled()) log.debug("AppName :" + _appName + "; ServerGroup : " + serverGroup
+                + "; Updated the nodes of the existing clients to " + memcachedSAInServerGroup);
+        lastReconcileTime = System.currentTimeMillis();
+        return true;
+    }
+
+    /**
+     * Waits for the new clients of the server groups, and the nodes added to existing clients, to connect before they
+     * are put in rotation, so reads are not sent to nodes that are still connecting. Runs outside of the refresh lock
+     * and waits for all of them at once; each is put in rotation as soon as it is ready.
+     *
+     * A client, or the nodes added to one, are ready once {@code <app>.warmup.connected.ratio} of their nodes are
+     * connected. The wait is bounded by {@code <app>.warmup.timeout} milliseconds, after which they are put in rotation
+     * even if they are not ready. When {@code <app>.warmup.ping} is set the nodes of ready clients are also sent a
+     * version request. The time spent on new clients is recorded as {@link EVCacheMetricsFactory#INTERNAL_POOL_WARMUP}.
+     *
+     * The nodes are checked again each time one of the clients connects a node.
+     */
+    private void warmUp() {
+        if (warmingClientsByServerGroup.isEmpty() && warmingNodesByClient.isEmpty()) return;
+        final int timeout = warmupTimeout.get().intValue();
+        final long start = System.nanoTime();
+        final long deadline = start + TimeUnit.MILLISECONDS.toNanos(Math.max(0, timeout));
+        final Map<ServerGroup, List<EVCacheClient>> clients = new HashMap<ServerGroup, List<EVCacheClient>>(warmingClientsByServerGroup);
+        final Map<EVCacheClient, List<MemcachedNode>> nodes = new HashMap<EVCacheClient, List<MemcachedNode>>(warmingNodesByClient);
+        final Semaphore connections = new Semaphore(0);
+        final ConnectionObserver observer = new ConnectionObserver() {
+            @Override
+            public void connectionEstablished(SocketAddress sa, int reconnectCount) {
+                connections.release();
+            }
+
+            @Override
+            public void connectionLost(SocketAddress sa) {
+            }
+        };
+        final Set<EVCacheClient> observedClients = new HashSet<EVCacheClient>(nodes.keySet());
+        for (List<EVCacheClient> newClients : clients.values()) {
+            observedClients.addAll(newClients);
+        }
+        for (EVCacheClient client : observedClients) {
+            client.getEVCacheMemcachedClient().addObserver(observer);
+        }
+        try {
+            warmUp(clients, nodes, connections, timeout, start, deadline);
+        } finally {
+            for (EVCacheClient client : observedClients) {
+                client.getEVCacheMemcachedClient().removeObserver(observer);
+            }
+        }
+    }
+
+    private void warmUp(Map<ServerGroup, List<EVCacheClient>> clients, Map<EVCacheClient, List<MemcachedNode>> nodes, Semaphore connections,
+            int timeout, long start, long deadline) {
+        boolean timedOut = false;
+        while (true) {
+            timedOut |= System.nanoTime() >= deadline;
+            // a node that connects while the nodes are checked releases the next wait right away
+            connections.drainPermits();
+            for (Iterator<Entry<ServerGroup, List<EVCacheClient>>> it = clients.entrySet().iterator(); it.hasNext();) {
+                final Entry<ServerGroup, List<EVCacheClient>> entry = it.next();
+                final boolean ready = isConnected(entry.getValue());
+                if (ready || timedOut) {
+                    it.remove();
+                    putInRotation(entry.getKey(), entry.getValue(), ready, timeout, System.nanoTime() - start);
+                }
+            }
+            for (Iterator<Entry<EVCacheClient, List<MemcachedNode>>> it = nodes.entrySet().iterator(); it.hasNext();) {
+                final Entry<EVCacheClient, List<MemcachedNode>> entry = it.next();
+                final boolean ready = isConnected(entry.getValue());
+                if (ready || timedOut) {
+                    it.remove();
+                    addNodes(entry.getKey(), entry.getValue(), ready, timeout);
+                }
+            }
+            if (clients.isEmpty() && nodes.isEmpty()) return;
+            try {
+                connections.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                timedOut = true;
+            }
+        }
+    }
+
+    private boolean isWarmingUp(ServerGroup serverGroup) {
+        if (warmingClientsByServerGroup.containsKey(serverGroup)) return true;
+        final List<EVCacheClient> clients = memcachedInstancesByServerGroup.get(serverGroup);
+        if (clients == null) return false;
+        for (EVCacheClient client : clients) {
+            if (warmingNodesByClient.containsKey(client)) return true;
+        }
+        return false;
+    }
+
+    private void putInRotation(ServerGroup serverGroup, List<EVCacheClient> newClients, boolean ready, int timeout, long durationNanos) {
+        // replaced by a later refresh, which shut them down
+        if (warmingClientsByServerGroup.get(serverGroup) != newClients) return;
+        if (ready && warmupPing.get().booleanValue()) {
+            for (EVCacheClient client : newClients) {
+                client.ping();
+            }
+        }
+
+        final List<Tag> tags = new ArrayList<Tag>(tagList.size() + 2);
+        tags.addAll(tagList);
+        tags.add(new BasicTag(EVCacheMetricsFactory.SERVERGROUP, serverGroup.getName()));
+        tags.add(new BasicTag(EVCacheMetricsFactory.IPC_RESULT, ready ? EVCacheMetricsFactory.SUCCESS : EVCacheMetricsFactory.TIMEOUT));
+        EVCacheMetricsFactory.getInstance().getPercentileTimer(EVCacheMetricsFactory.INTERNAL_POOL_WARMUP, tags, Duration.ofMillis(Math.max(1, timeout))).record(durationNanos, TimeUnit.NANOSECONDS);
+        if (!ready && log.isWarnEnabled()) log.warn("AppName :" + _appName + "; ServerGroup : " + serverGroup
+                + "; New clients are not connected after " + timeout + " ms, putting them in rotation anyway : " + newClients);
+
+        synchronized (this) {
+            // replaced or removed while they were warming up, which shut them down
+            if (!warmingClientsByServerGroup.remove(serverGroup, newClients)) return;
+            setupNewClientsByServerGroup(serverGroup, newClients);
+            updateMemcachedReadInstancesByZone();
+        }
+    }
+
+    private void addNodes(EVCacheClient client, List<MemcachedNode> addedNodes, boolean ready, int timeout) {
+        // more nodes were added by a later refresh, which warms them up together
+        if (!warmingNodesByClient.remove(client, addedNodes) || client.isShutdown()) return;
+        if (!ready && log.isWarnEnabled()) log.warn("AppName :" + _appName + "; ServerGroup : " + client.getServerGroup()
+                + "; Added nodes are not connected after " + timeout + " ms, routing to them anyway : " + addedNodes);
+        try {
+            client.addNodes(addedNodes);
+        } catch (Exception e) {
+            log.error("Unable to add the nodes " + addedNodes + " to " + client, e);
+        }
+    }
+
+    /**
+     * The nodes are checked directly as the connection observer is registered after the client has started connecting.
+     */
+    private boolean isConnected(List<EVCacheClient> clients) {
+        for (EVCacheClient client : clients) {
+            if (!isConnected(client.getNodeLocator().getAll())) return false;
+        }
+        return true;
+    }
+
+    private boolean isConnected(Collection<MemcachedNode> nodes) {
+        int active = 0;
+        for (MemcachedNode node : nodes) {
+            if (node.isActive()) active++;
+        }
+        return active >= Math.ceil(warmupConnectedRatio.get().doubleValue() * nodes.size());
+    }
+
     private void setupNewClientsByServerGroup(ServerGroup serverGroup, List<EVCacheClient> newClients) {
         final List<EVCacheClient> currentClients = memcachedInstancesByServerGroup.put(serverGroup, newClients);
 
@@ -990,7 +1257,7 @@ public class EVCacheClientPool implements Runnable, EVCacheClientPoolMBean {
         }
     }
 
-    private synchronized void refresh(boolean force) throws IOException {
+    private synchronized void refreshServerGroups(boolean force) throws IOException {
         final long start = System.currentTimeMillis();
         if (log.isDebugEnabled()) log.debug("refresh APP : " + _appName + "; force : " + force);
         try {
@@ -1015,10 +1282,12 @@ public class EVCacheClientPool implements Runnable, EVCacheClientPoolMBean {
                         + "\n\tSize : " + discoveredHostsInServerGroup.size()
                         + "\n\tInstances in ServerGroup : " + discoveredHostsInServerGroup);
 
-                if (discoveredHostsInServerGroup.size() == 0 && memcachedInstancesByServerGroup.containsKey(serverGroup)) {
+                if (discoveredHostsInServerGroup.size() == 0 && (memcachedInstancesByServerGroup.containsKey(serverGroup) || warmingClientsByServerGroup.containsKey(serverGroup))) {
                     if (log.isDebugEnabled()) log.debug("\n\tApp : " + _appName + "\n\tServerGroup : " + serverGroup
                             + " has no active servers. Cleaning up this ServerGroup.");
+                    shutdownClientsInZone(warmingClientsByServerGroup.remove(serverGroup));
                     final List<EVCacheClient> clients = memcachedInstancesByServerGroup.remove(serverGroup);
+                    if (clients == null) continue;
                     memcachedReadInstancesByServerGroup.remove(serverGroup);
                     memcachedWriteInstancesByServerGroup.remove(serverGroup);
                     setupAllEVCacheWriteClientsArray();
@@ -1035,6 +1304,10 @@ public class EVCacheClientPool implements Runnable, EVCacheClientPoolMBean {
                 if (instanceChangeInServerGroup) {
                     if (log.isWarnEnabled()) log.warn("FORCE REFRESH :: AppName :" + _appName + "; ServerGroup : "
                             + serverGroup + "; Changed : " + instanceChangeInServerGroup);
+                } else if (isWarmingUp(serverGroup)) {
+                    // the connecting nodes would be seen as a change, look again once they are in rotation
+                    if (log.isDebugEnabled()) log.debug("AppName :" + _appName + "; ServerGroup : " + serverGroup + "; warming up");
+                    continue;
                 } else {
                     instanceChangeInServerGroup = haveInstancesInServerGroupChanged(serverGroup, discoveredHostsInServerGroup);
                     if (log.isDebugEnabled()) log.debug("\n\tApp : " + _appName + "\n\tServerGroup : " + serverGroup
@@ -1052,6 +1325,10 @@ public class EVCacheClientPool implements Runnable, EVCacheClientPoolMBean {
                 // instances in zone
                 final List<InetSocketAddress> memcachedSAInServerGroup = getMemcachedSocketAddressList(discoveredHostsInServerGroup);
 
+                if (memcachedSAInServerGroup.size() > 0 && !force && updateClientsInServerGroup(serverGroup, config, memcachedSAInServerGroup)) {
+                    continue;
+                }
+
                 if (memcachedSAInServerGroup.size() > 0) {
                     // now since there is a change with the instances in the
                     // zone. let us go ahead and create a new EVCacheClient with
@@ -1074,8 +1351,14 @@ public class EVCacheClientPool implements Runnable, EVCacheClientPoolMBean {
                         }
                     }
                     if (newClients.size() > 0) {
-                        setupNewClientsByServerGroup(serverGroup, newClients);
-                        updateAllEVCacheWriteClients = true;
+                        if (warmupTimeout.get().intValue() > 0) {
+                            // the current clients, if any, keep serving until the new ones are warmed up
+                            shutdownClientsInZone(warmingClientsByServerGroup.put(serverGroup, newClients));
+                        } else {
+                            shutdownClientsInZone(warmingClientsByServerGroup.remove(serverGroup));
+                            setupNewClientsByServerGroup(serverGroup, newClients);
+                            updateAllEVCacheWriteClients = true;
+                        }
                     }
                 }
             }
@@ -1222,6 +1505,9 @@ public class EVCacheClientPool implements Runnable, EVCacheClientPoolMBean {
                 client.getConnectionObserver().shutdown();
             }
         }
+        for (ServerGroup serverGroup : warmingClientsByServerGroup.keySet()) {
+            shutdownClientsInZone(warmingClientsByServerGroup.remove(serverGroup));
+        }
         setupMonitoring();
     }
 
@@ -7,7 +7,9 @@ import java.util.Map;
 import java.util.StringTokenizer;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -26,6 +28,8 @@ import com.netflix.evcache.EVCacheInMemoryCache;
 import com.netflix.evcache.connection.ConnectionFactoryBuilder;
 import com.netflix.evcache.connection.IConnectionBuilder;
 import com.netflix.evcache.event.EVCacheEventListener;
+import com.netflix.evcache.event.invalidation.EVCacheInvalidationBroadcaster;
+import com.netflix.evcache.event.invalidation.EVCacheInvalidationListener;
 import com.netflix.evcache.util.EVCacheConfig;
 
 import net.spy.memcached.transcoders.Transcoder;
@@ -74,6 +78,8 @@ public class EVCacheClientPoolManager {
     private final Map<EVCacheClientPool, ScheduledFuture<?>> scheduledTaskMap = new HashMap<EVCacheClientPool, ScheduledFuture<?>>();
     private final EVCacheScheduledExecutor asyncExecutor;
     private final EVCacheExecutor syncExecutor;
+    private volatile EVCacheExecutor hedgeExecutor;
+    private volatile EVCacheExecutor bulkFallbackExecutor;
     private final List<EVCacheEventListener> evcacheEventListenerList;
     private final IConnectionBuilder connectionFactoryProvider;
     private final EVCacheNodeList evcacheNodeList;
@@ -222,6 +228,8 @@ public class EVCacheClientPoolManager {
     public void shutdown() {
         asyncExecutor.shutdown();
         syncExecutor.shutdown();
+        if (hedgeExecutor != null) hedgeExecutor.shutdown();
+        if (bulkFallbackExecutor != null) bulkFallbackExecutor.shutdown();
         for (EVCacheClientPool pool : poolMap.values()) {
             pool.shutdown();
         }
@@ -249,6 +257,39 @@ public class EVCacheClientPoolManager {
         return syncExecutor;
     }
 
+    /**
+     * Returns the executor hedged reads block on. It is created on first use as only apps that hedge their reads need
+     * it. Tasks are handed to a thread directly, when all of them are busy the caller runs the task itself.
+     */
+    public EVCacheExecutor getEVCacheHedgeExecutor() {
+        if (hedgeExecutor == null) {
+            synchronized (this) {
+                if (hedgeExecutor == null) {
+                    final int size = Runtime.getRuntime().availableProcessors() * 4;
+                    hedgeExecutor = new EVCacheExecutor(size, size, 30, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(), new ThreadPoolExecutor.CallerRunsPolicy(), "hedge");
+                }
+            }
+        }
+        return hedgeExecutor;
+    }
+
+    /**
+     * Returns the executor the reads of the bulk fallback server groups block on. It is created on first use as only
+     * apps that fall back on partial bulk misses need it. Both its threads and its queue are bounded, a read it cannot
+     * take is rejected so that the caller never runs it itself.
+     */
+    public EVCacheExecutor getEVCacheBulkFallbackExecutor() {
+        if (bulkFallbackExecutor == null) {
+            synchronized (this) {
+                if (bulkFallbackExecutor == null) {
+                    final int size = Runtime.getRuntime().availableProcessors() * 4;
+                    bulkFallbackExecutor = new EVCacheExecutor(size, size, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(size * 4), new ThreadPoolExecutor.AbortPolicy(), "fallback");
+                }
+            }
+        }
+        return bulkFallbackExecutor;
+    }
+
     private String getAppName(String _app) {
         _app = _app.toUpperCase();
         final String app = EVCacheConfig.getInstance().getPropertyRepository().get("EVCacheClientPoolManager." + _app + ".alias", String.class).orElse(_app).get().toUpperCase();
@@ -266,7 +307,7 @@ public class EVCacheClientPoolManager {
         if(cache == null) {
             writeLock.lock();
             if((cache = getInMemoryCache(name)) == null) {
-                cache = new EVCacheInMemoryCache<T>(impl.getAppName(), tc, impl);
+                cache = new EVCacheInMemoryCache<T>(impl.getAppName(), tc, impl, syncExecutor);
                 inMemoryMap.put(name, cache);
             }
             writeLock.unlock();
@@ -279,4 +320,26 @@ public class EVCacheClientPoolManager {
         return (EVCacheInMemoryCache<T>) inMemoryMap.get(appName);
     }
 
+    private volatile EVCacheInvalidationBroadcaster invalidationBroadcaster = null;
+    private final EVCacheInvalidationListener inMemoryInvalidationListener = (appName, canonicalKey) -> {
+        for (EVCacheInMemoryCache<?> cache : inMemoryMap.values()) {
+            cache.invalidate(appName, canonicalKey);
+        }
+    };
+
+    /**
+     * Sets the broadcaster used to keep the in-memory caches of the fleet coherent. The keys changed by this
+     * instance are published to it and the keys received from it are dropped from the in-memory caches.
+     */
+    public void setInvalidationBroadcaster(EVCacheInvalidationBroadcaster broadcaster) {
+        final EVCacheInvalidationBroadcaster current = this.invalidationBroadcaster;
+        if (current != null) current.removeListener(inMemoryInvalidationListener);
+        if (broadcaster != null) broadcaster.addListener(inMemoryInvalidationListener);
+        this.invalidationBroadcaster = broadcaster;
+    }
+
+    public EVCacheInvalidationBroadcaster getInvalidationBroadcaster() {
+        return invalidationBroadcaster;
+    }
+
 }
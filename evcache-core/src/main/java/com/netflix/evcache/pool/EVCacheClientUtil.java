@@ -35,14 +35,9 @@ public class EVCacheClientUtil {
         final EVCacheLatchImpl latch = new EVCacheLatchImpl(policy, latchCount, _appName);
 
         Boolean firstStatus = null;
+        final EVCacheEncodedValue encodedValue = new EVCacheEncodedValue(evcKey, cd, evcacheValueTranscoder, timeToLive);
         for (EVCacheClient client : clients) {
-            CachedData cd1 = null;
-            if (evcKey.getHashKey(client.isDuetClient(), client.getHashingAlgorithm(), client.shouldEncodeHashKey(), client.getMaxHashingBytes()) != null) {
-                final EVCacheValue val = new EVCacheValue(evcKey.getCanonicalKey(client.isDuetClient()), cd.getData(), cd.getFlags(), timeToLive, System.currentTimeMillis());
-                cd1 = evcacheValueTranscoder.encode(val);
-            } else {
-            	cd1 = cd;
-            }
+            final CachedData cd1 = encodedValue.get(client);
             String key = evcKey.getDerivedKey(client.isDuetClient(), client.getHashingAlgorithm(), client.shouldEncodeHashKey(), client.getMaxHashingBytes());
             final Future<Boolean> f = client.add(key, timeToLive, cd1, latch);
             if (log.isDebugEnabled()) log.debug("ADD : Op Submitted : APP " + _appName + ", key " + key + "; future : " + f + "; client : " + client);
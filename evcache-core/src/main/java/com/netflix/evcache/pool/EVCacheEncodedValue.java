@@ -0,0 +1,108 @@
+package com.netflix.evcache.pool;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.netflix.evcache.EVCacheKey;
+
+import net.spy.memcached.CachedData;
+import net.spy.memcached.transcoders.Transcoder;
+
+/**
+ * The value of a single write, encoded for the clients (one per server group) it is sent to.
+ *
+ * The value is encoded once per distinct transcoder and the resulting {@link CachedData} is shared by all the
+ * clients using that transcoder. When a client hashes keys the data is wrapped in an {@link EVCacheValue} carrying
+ * the canonical key; that envelope is built once for the duet and once for the non duet canonical key, so the
+ * replicas of a write serialize and compress the value only once.
+ *
+ * An instance is meant to be used by the thread doing the write and is not thread safe.
+ */
+public class EVCacheEncodedValue {
+
+    private final EVCacheKey evcKey;
+    private final Object value;
+    private final Transcoder<Object> transcoder;
+    private final Transcoder<Object> evcacheValueTranscoder;
+    private final int timeToLive;
+    private final List<Payload> payloads = new ArrayList<Payload>(1);
+
+    /**
+     * @param transcoder the transcoder used for every client, or null to use the transcoder of each client
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public EVCacheEncodedValue(EVCacheKey evcKey, Object value, Transcoder transcoder, Transcoder evcacheValueTranscoder, int timeToLive) {
+        this.evcKey = evcKey;
+        this.value = value;
+        this.transcoder = transcoder;
+        this.evcacheValueTranscoder = evcacheValueTranscoder;
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Wraps data that has already been encoded.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public EVCacheEncodedValue(EVCacheKey evcKey, CachedData cd, Transcoder evcacheValueTranscoder, int timeToLive) {
+        this(evcKey, null, null, evcacheValueTranscoder, timeToLive);
+        payloads.add(new Payload(null, cd));
+    }
+
+    /**
+     * @return the data to send to the given client, wrapped in an {@link EVCacheValue} if the client hashes keys
+     */
+    public CachedData get(EVCacheClient client) {
+        final Payload payload = payload(client);
+        if (evcKey.getHashKey(client.isDuetClient(), client.getHashingAlgorithm(), client.shouldEncodeHashKey(), client.getMaxHashingBytes()) == null) {
+            return payload.data;
+        }
+        return client.isDuetClient() ? payload.getDuetEnvelope() : payload.getEnvelope();
+    }
+
+    private Payload payload(EVCacheClient client) {
+        final Transcoder<Object> tc;
+        if (transcoder != null) {
+            tc = transcoder;
+        } else if (value == null) {
+            // already encoded
+            return payloads.get(0);
+        } else {
+            tc = client.getTranscoder();
+        }
+
+        for (int i = 0; i < payloads.size(); i++) {
+            final Payload payload = payloads.get(i);
+            if (payload.transcoder == tc) return payload;
+        }
+        final Payload payload = new Payload(tc, tc.encode(value));
+        payloads.add(payload);
+        return payload;
+    }
+
+    private final class Payload {
+        private final Transcoder<Object> transcoder;
+        private final CachedData data;
+        private CachedData envelope;
+        private CachedData duetEnvelope;
+
+        Payload(Transcoder<Object> transcoder, CachedData data) {
+            this.transcoder = transcoder;
+            this.data = data;
+        }
+
+        CachedData getEnvelope() {
+            if (envelope == null) envelope = wrap(evcKey.getCanonicalKey(false));
+            return envelope;
+        }
+
+        CachedData getDuetEnvelope() {
+            if (duetEnvelope == null) duetEnvelope = wrap(evcKey.getCanonicalKey(true));
+            return duetEnvelope;
+        }
+
+        private CachedData wrap(String canonicalKey) {
+            final EVCacheValue val = new EVCacheValue(canonicalKey, data.getData(), data.getFlags(), timeToLive, System.currentTimeMillis());
+            return evcacheValueTranscoder.encode(val);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.netflix.evcache.pool;
 
 import java.lang.management.ManagementFactory;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -25,9 +26,17 @@ public class EVCacheExecutor extends ThreadPoolExecutor implements EVCacheExecut
     private final Property<Integer> coreAsyncPoolSize;
     private final String name;
     public EVCacheExecutor(int corePoolSize, int maximumPoolSize, long keepAliveTime, TimeUnit unit, RejectedExecutionHandler handler, String name) {
+        this(corePoolSize, maximumPoolSize, keepAliveTime, unit, new LinkedBlockingQueue<Runnable>(), handler, name);
+    }
+
+    /**
+     * @param workQueue the queue of the tasks waiting for a thread, a bounded one lets the handler take the tasks it
+     *            can not hold
+     */
+    public EVCacheExecutor(int corePoolSize, int maximumPoolSize, long keepAliveTime, TimeUnit unit, BlockingQueue<Runnable> workQueue, RejectedExecutionHandler handler, String name) {
         super(corePoolSize, maximumPoolSize, keepAliveTime, unit,
-                new LinkedBlockingQueue<Runnable>(), 
-                new ThreadFactoryBuilder().setDaemon(true).setNameFormat( "EVCacheExecutor-" + name + "-%d").build());
+                workQueue,
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat( "EVCacheExecutor-" + name + "-%d").build(), handler);
         this.name = name;
 
         maxAsyncPoolSize = EVCacheConfig.getInstance().getPropertyRepository().get("EVCacheExecutor." + name + ".max.size", Integer.class).orElse(maximumPoolSize);
@@ -0,0 +1,157 @@
+package com.netflix.evcache.pool;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.netflix.archaius.api.Property;
+
+/**
+ * Keeps the most recent latencies of the reads of a server group so their percentiles can be looked up.
+ *
+ * Samples are written to a ring buffer without locking; a percentile is computed from a copy of the buffer and reused
+ * for a second, so looking it up on every read is cheap. Until enough samples have been recorded no percentile is
+ * reported.
+ *
+ * It also keeps a peak sensitive moving average of the latency, used to route reads away from a slow server group. A
+ * sample slower than the average replaces it. Faster samples are blended in with a weight of at least 10%, which grows
+ * with the time since the previous sample, so a single outlier is soon forgotten. While no reads complete the average
+ * decays towards the long run average of the samples, so an idle server group is tried again after a while. The decay
+ * time constant is the given window in milliseconds.
+ *
+ * A server group that stops answering produces no samples. While reads are in flight the average is at least the time
+ * since the last one completed, and reads rejected before they are sent count as samples of the read timeout.
+ */
+public class EVCacheLatencyTracker {
+
+    private static final int MIN_SAMPLES = 100;
+    private static final long REFRESH_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final double MAX_EWMA_WEIGHT = 0.9;
+    private static final double BASELINE_WEIGHT = 0.99;
+
+    private final long[] samples;
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Property<Integer> ewmaWindow;
+
+    private volatile Percentile cached;
+    private volatile double ewma = 0;
+    private volatile double baseline = 0;
+    private volatile long ewmaUpdatedAt = System.nanoTime();
+    // the time the oldest read in flight was sent, or the last read completed if that is later
+    private volatile long waitingSince = System.nanoTime();
+
+    public EVCacheLatencyTracker(int size, Property<Integer> ewmaWindow) {
+        this.samples = new long[size];
+        this.ewmaWindow = ewmaWindow;
+    }
+
+    /**
+     * Called before a read is enqueued, its completion is reported through {@link #record(long)}.
+     */
+    public void onSend() {
+        if (inFlight.getAndIncrement() == 0) waitingSince = System.nanoTime();
+    }
+
+    /**
+     * Called instead of {@link #record(long)} when a read counted by {@link #onSend()} could not be enqueued.
+     */
+    public void onSendFailed() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * @param durationNanos the latency of a read
+     */
+    public void record(long durationNanos) {
+        samples[(int) (count.getAndIncrement() % samples.length)] = durationNanos;
+        inFlight.decrementAndGet();
+        updateEwma(durationNanos);
+    }
+
+    /**
+     * Called when a read is rejected before it is sent, because its node is not available or has too many reads
+     * queued. It counts towards the moving average only.
+     *
+     * @param penaltyNanos the latency the rejection counts as, usually the read timeout
+     */
+    public void onRejected(long penaltyNanos) {
+        updateEwma(penaltyNanos);
+    }
+
+    private synchronized void updateEwma(long durationNanos) {
+        final long now = System.nanoTime();
+        final double current = getEwma(now);
+        if (durationNanos > current) {
+            ewma = durationNanos;
+        } else {
+            final double weight = Math.min(MAX_EWMA_WEIGHT, Math.exp(-(double) (now - ewmaUpdatedAt) / getWindowNanos()));
+            ewma = current * weight + durationNanos * (1 - weight);
+        }
+        baseline = (baseline == 0) ? durationNanos : baseline * BASELINE_WEIGHT + durationNanos * (1 - BASELINE_WEIGHT);
+        ewmaUpdatedAt = now;
+        waitingSince = now;
+    }
+
+    /**
+     * @return the number of reads sent that have not completed yet
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return the moving average of the latency in nanos, decayed by the time since the last read completed and at
+     *         least the time the reads in flight have waited for one to complete
+     */
+    public double getEwma() {
+        final long now = System.nanoTime();
+        final double value = getEwma(now);
+        return (inFlight.get() > 0) ? Math.max(value, now - waitingSince) : value;
+    }
+
+    private double getEwma(long now) {
+        final double base = baseline;
+        return base + (ewma - base) * Math.exp(-(double) (now - ewmaUpdatedAt) / getWindowNanos());
+    }
+
+    private double getWindowNanos() {
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(1, ewmaWindow.get().intValue()));
+    }
+
+    /**
+     * @param percentile the percentile to return, between 0 and 100
+     * @return the latency at the given percentile in nanos, or -1 if too few reads have been recorded
+     */
+    public long getPercentile(double percentile) {
+        final long now = System.nanoTime();
+        final Percentile p = cached;
+        if (p != null && p.percentile == percentile && now - p.computedAt < REFRESH_INTERVAL_NANOS) return p.value;
+
+        final int n = (int) Math.min(count.get(), samples.length);
+        final long value;
+        if (n < MIN_SAMPLES) {
+            value = -1;
+        } else {
+            final long[] copy = Arrays.copyOf(samples, n);
+            Arrays.sort(copy);
+            final int index = (int) Math.ceil(percentile / 100 * n) - 1;
+            value = copy[Math.max(0, Math.min(n - 1, index))];
+        }
+        cached = new Percentile(percentile, value, now);
+        return value;
+    }
+
+    private static final class Percentile {
+        private final double percentile;
+        private final long value;
+        private final long computedAt;
+
+        private Percentile(double percentile, long value, long computedAt) {
+            this.percentile = percentile;
+            this.value = value;
+            this.computedAt = computedAt;
+        }
+    }
+}
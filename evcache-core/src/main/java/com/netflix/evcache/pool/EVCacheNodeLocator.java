@@ -1,12 +1,18 @@
 package com.netflix.evcache.pool;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.function.Predicate;
 
 import com.netflix.archaius.api.Property;
 import org.slf4j.Logger;
@@ -24,14 +30,16 @@ import net.spy.memcached.util.KetamaNodeLocatorConfiguration;
 public class EVCacheNodeLocator implements NodeLocator {
 
     private static final Logger log = LoggerFactory.getLogger(EVCacheNodeLocator.class);
-    private TreeMap<Long, MemcachedNode> ketamaNodes;
+    /*
+     * The continuum and the node list are swapped as a whole when the node list changes, readers always see a
+     * complete ring along with the nodes it was built from.
+     */
+    private volatile KetamaRing ketamaRing;
     protected final EVCacheClient client;
 
     private Property<Boolean> partialStringHash;
     private Property<String> hashDelimiter;
 
-    private final Collection<MemcachedNode> allNodes;
-
     private final HashAlgorithm hashingAlgorithm;
     private final KetamaNodeLocatorConfiguration config;
 
@@ -49,7 +57,6 @@ public class EVCacheNodeLocator implements NodeLocator {
      */
     public EVCacheNodeLocator(EVCacheClient client, List<MemcachedNode> nodes, HashAlgorithm alg, KetamaNodeLocatorConfiguration conf) {
         super();
-        this.allNodes = nodes;
         this.hashingAlgorithm = alg;
         this.config = conf;
         this.client = client;
@@ -63,10 +70,9 @@ public class EVCacheNodeLocator implements NodeLocator {
         setKetamaNodes(nodes);
     }
 
-    private EVCacheNodeLocator(EVCacheClient client, TreeMap<Long, MemcachedNode> smn, Collection<MemcachedNode> an, HashAlgorithm alg, KetamaNodeLocatorConfiguration conf) {
+    private EVCacheNodeLocator(EVCacheClient client, KetamaRing ring, HashAlgorithm alg, KetamaNodeLocatorConfiguration conf) {
         super();
-        this.ketamaNodes = smn;
-        this.allNodes = an;
+        this.ketamaRing = ring;
         this.hashingAlgorithm = alg;
         this.config = conf;
         this.client = client;
@@ -81,45 +87,70 @@ public class EVCacheNodeLocator implements NodeLocator {
      * @see net.spy.memcached.NodeLocator#getAll
      */
     public Collection<MemcachedNode> getAll() {
-        return allNodes;
+        return ketamaRing.allNodes;
     }
 
     /*
      * @see net.spy.memcached.NodeLocator#getPrimary
      */
     public MemcachedNode getPrimary(String k) {
+        return ketamaRing.getNode(hash(k));
+    }
+
+    /**
+     * Groups the given keys by their primary node, hashing every key exactly once against a single snapshot of
+     * the continuum.
+     *
+     * @param keys
+     *            the keys to locate
+     * @param admission
+     *            evaluated once per distinct node while grouping; keys whose node is not admitted are dropped.
+     *            Pass null to admit every node.
+     * @return the admitted keys grouped by their primary node
+     */
+    public Map<MemcachedNode, Collection<String>> getPrimaries(Collection<String> keys, Predicate<MemcachedNode> admission) {
+        final KetamaRing ring = ketamaRing;
+        final Map<MemcachedNode, Collection<String>> keysByNode = new HashMap<MemcachedNode, Collection<String>>();
+        Set<MemcachedNode> rejected = null;
+        for (String key : keys) {
+            final MemcachedNode node = ring.getNode(hash(key));
+            Collection<String> nodeKeys = keysByNode.get(node);
+            if (nodeKeys == null) {
+                if (rejected != null && rejected.contains(node)) continue;
+                if (admission != null && !admission.test(node)) {
+                    if (rejected == null) rejected = Collections.newSetFromMap(new IdentityHashMap<MemcachedNode, Boolean>());
+                    rejected.add(node);
+                    continue;
+                }
+                nodeKeys = new ArrayList<String>();
+                keysByNode.put(node, nodeKeys);
+            }
+            nodeKeys.add(key);
+        }
+        return keysByNode;
+    }
+
+    private long hash(String k) {
         if (partialStringHash.get()) {
             final int index = k.indexOf(hashDelimiter.get());
             if (index > 0) {
                 k = k.substring(0, index);
             }
         }
-
-        final long _hash = hashingAlgorithm.hash(k);
-        Long hash = Long.valueOf(_hash);
-        hash = ketamaNodes.ceilingKey(hash);
-        if (hash == null) {
-            hash = ketamaNodes.firstKey();
-        }
-        return ketamaNodes.get(hash);
+        return hashingAlgorithm.hash(k);
     }
 
     /*
      * @return Returns the max key in the hashing distribution
      */
     public long getMaxKey() {
-        return getKetamaNodes().lastKey().longValue();
+        return ketamaRing.getMaxHash();
     }
 
     public MemcachedNode getNodeForKey(long _hash) {
         long start = (log.isDebugEnabled()) ? System.nanoTime() : 0;
         try {
-            Long hash = Long.valueOf(_hash);
-            hash = ketamaNodes.ceilingKey(hash);
-            if (hash == null) {
-                hash = ketamaNodes.firstKey();
-            }
-            return ketamaNodes.get(hash);
+            return ketamaRing.getNode(_hash);
         } finally {
             if (log.isDebugEnabled()) {
                 final long end = System.nanoTime();
@@ -129,32 +160,36 @@ public class EVCacheNodeLocator implements NodeLocator {
     }
 
     public Iterator<MemcachedNode> getSequence(String k) {
-        final List<MemcachedNode> allKetamaNodes = new ArrayList<MemcachedNode>(getKetamaNodes().values());
+        final List<MemcachedNode> allKetamaNodes = new ArrayList<MemcachedNode>(Arrays.asList(ketamaRing.nodes));
         Collections.shuffle(allKetamaNodes);
         return allKetamaNodes.iterator();
     }
 
     public NodeLocator getReadonlyCopy() {
-        final TreeMap<Long, MemcachedNode> ketamaNaodes = new TreeMap<Long, MemcachedNode>(getKetamaNodes());
-        final Collection<MemcachedNode> aNodes = new ArrayList<MemcachedNode>(allNodes.size());
+        final KetamaRing ring = ketamaRing;
+        final Map<MemcachedNode, MemcachedNode> readOnlyNodes = new IdentityHashMap<MemcachedNode, MemcachedNode>();
+        final MemcachedNode[] roNodes = new MemcachedNode[ring.nodes.length];
 
-        // Rewrite the values a copy of the map.
-        for (Map.Entry<Long, MemcachedNode> me : ketamaNaodes.entrySet()) {
-            me.setValue(new EVCacheMemcachedNodeROImpl(me.getValue()));
+        // Wrap each node once, the continuum references the same node many times.
+        for (int i = 0; i < ring.nodes.length; i++) {
+            roNodes[i] = readOnlyNodes.computeIfAbsent(ring.nodes[i], EVCacheMemcachedNodeROImpl::new);
         }
-        // Copy the allNodes collection.
-        for (MemcachedNode n : allNodes) {
-            aNodes.add(new EVCacheMemcachedNodeROImpl(n));
+        // Copy the allNodes collection of the same snapshot.
+        final List<MemcachedNode> aNodes = new ArrayList<MemcachedNode>(ring.allNodes.size());
+        for (MemcachedNode n : ring.allNodes) {
+            aNodes.add(readOnlyNodes.computeIfAbsent(n, EVCacheMemcachedNodeROImpl::new));
         }
 
-        return new EVCacheNodeLocator(client, ketamaNaodes, aNodes, hashingAlgorithm, config);
+        return new EVCacheNodeLocator(client, new KetamaRing(ring.hashes, roNodes, Collections.unmodifiableList(aNodes)), hashingAlgorithm, config);
     }
 
     /**
-     * @return the ketamaNodes
+     * @return a copy of the continuum built from the current ring
+     * @deprecated the continuum is no longer kept as a map, use {@link #getKetamaNodeMap()}
      */
+    @Deprecated
     protected TreeMap<Long, MemcachedNode> getKetamaNodes() {
-        return ketamaNodes;
+        return ketamaRing.toNodeMap();
     }
 
     /**
@@ -162,7 +197,7 @@ public class EVCacheNodeLocator implements NodeLocator {
      *         purposes
      */
     public Map<Long, MemcachedNode> getKetamaNodeMap() {
-        return Collections.<Long, MemcachedNode> unmodifiableMap(ketamaNodes);
+        return Collections.<Long, MemcachedNode> unmodifiableMap(ketamaRing.toNodeMap());
     }
 
     /**
@@ -204,7 +239,7 @@ public class EVCacheNodeLocator implements NodeLocator {
                 log.trace("Hash : " + key + "; Node : " + newNodeMap.get(key));
             }
         }
-        ketamaNodes = newNodeMap;
+        ketamaRing = new KetamaRing(newNodeMap, Collections.unmodifiableList(new ArrayList<MemcachedNode>(nodes)));
     }
 
     @Override
@@ -214,8 +249,76 @@ public class EVCacheNodeLocator implements NodeLocator {
 
     @Override
     public String toString() {
-        return "EVCacheNodeLocator [ketamaNodes=" + ketamaNodes + ", EVCacheClient=" + client + ", partialStringHash=" + partialStringHash
-                + ", hashDelimiter=" + hashDelimiter + ", allNodes=" + allNodes + ", hashingAlgorithm=" + hashingAlgorithm + ", config=" + config + "]";
+        final KetamaRing ring = ketamaRing;
+        return "EVCacheNodeLocator [ketamaNodes=" + ring + ", EVCacheClient=" + client + ", partialStringHash=" + partialStringHash
+                + ", hashDelimiter=" + hashDelimiter + ", allNodes=" + ring.allNodes + ", hashingAlgorithm=" + hashingAlgorithm + ", config=" + config + "]";
     }
 
+    /**
+     * Immutable ketama continuum along with the nodes it was built from. The hashes are sorted in ascending order
+     * and {@code nodes[i]} owns the segment ending at {@code hashes[i]}. A lookup is a binary search over a
+     * primitive array, so it neither boxes the hash nor allocates.
+     */
+    static final class KetamaRing {
+        private final long[] hashes;
+        private final MemcachedNode[] nodes;
+        private final Collection<MemcachedNode> allNodes;
+
+        KetamaRing(TreeMap<Long, MemcachedNode> nodeMap, Collection<MemcachedNode> allNodes) {
+            this.hashes = new long[nodeMap.size()];
+            this.nodes = new MemcachedNode[nodeMap.size()];
+            this.allNodes = allNodes;
+            int i = 0;
+            for (Map.Entry<Long, MemcachedNode> entry : nodeMap.entrySet()) {
+                hashes[i] = entry.getKey().longValue();
+                nodes[i] = entry.getValue();
+                i++;
+            }
+        }
+
+        private KetamaRing(long[] hashes, MemcachedNode[] nodes, Collection<MemcachedNode> allNodes) {
+            this.hashes = hashes;
+            this.nodes = nodes;
+            this.allNodes = allNodes;
+        }
+
+        TreeMap<Long, MemcachedNode> toNodeMap() {
+            final TreeMap<Long, MemcachedNode> nodeMap = new TreeMap<Long, MemcachedNode>();
+            for (int i = 0; i < hashes.length; i++) {
+                nodeMap.put(Long.valueOf(hashes[i]), nodes[i]);
+            }
+            return nodeMap;
+        }
+
+        /**
+         * Returns the node owning the first point on the ring that is greater than or equal to the given hash,
+         * wrapping around to the first point.
+         */
+        MemcachedNode getNode(long hash) {
+            final long[] h = hashes;
+            int low = 0;
+            int high = h.length - 1;
+            if (high < 0) throw new NoSuchElementException("No nodes in the continuum");
+            if (hash > h[high]) return nodes[0];
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (h[mid] < hash) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return nodes[low];
+        }
+
+        long getMaxHash() {
+            if (hashes.length == 0) throw new NoSuchElementException("No nodes in the continuum");
+            return hashes[hashes.length - 1];
+        }
+
+        @Override
+        public String toString() {
+            return "KetamaRing [size=" + hashes.length + "]";
+        }
+    }
 }
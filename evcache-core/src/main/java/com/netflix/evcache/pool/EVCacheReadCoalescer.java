@@ -0,0 +1,133 @@
+package com.netflix.evcache.pool;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.netflix.evcache.EVCacheGetOperationListener;
+import com.netflix.evcache.metrics.EVCacheMetricsFactory;
+import com.netflix.evcache.operation.EVCacheOperationFuture;
+import com.netflix.spectator.api.BasicTag;
+import com.netflix.spectator.api.Counter;
+import com.netflix.spectator.api.Tag;
+
+import net.spy.memcached.transcoders.Transcoder;
+
+/**
+ * Lets the threads that concurrently read the same key with the same transcoder from an {@link EVCacheClient}
+ * share a single in-flight get. The first caller (the leader) sends the operation and the callers that arrive
+ * while it is in flight wait on the same operation. The entry is dropped once the operation completes, so a later
+ * caller always sends a new get.
+ *
+ * Every caller, the leader included, is handed its own {@link EVCacheOperationFuture#share() view} of the get, so
+ * a caller cancelling its future does not cancel the read of the others and the timeout of the get is only counted
+ * once against the node.
+ */
+public class EVCacheReadCoalescer {
+
+    private final ConcurrentHashMap<InFlightKey, InFlight> inFlight = new ConcurrentHashMap<InFlightKey, InFlight>();
+    private final Counter leaderCounter;
+    private final Counter coalescedCounter;
+
+    public EVCacheReadCoalescer(List<Tag> tags) {
+        this.leaderCounter = getCounter(tags, EVCacheMetricsFactory.COALESCE_LEADER);
+        this.coalescedCounter = getCounter(tags, EVCacheMetricsFactory.COALESCED);
+    }
+
+    private static Counter getCounter(List<Tag> tags, String metric) {
+        final List<Tag> tagList = new ArrayList<Tag>(tags.size() + 1);
+        tagList.addAll(tags);
+        tagList.add(new BasicTag(EVCacheMetricsFactory.METRIC, metric));
+        return EVCacheMetricsFactory.getInstance().getCounter(EVCacheMetricsFactory.INTERNAL_COALESCE, tagList);
+    }
+
+    /**
+     * Returns a view of the in-flight get for the key and transcoder, or sends a new one using the given loader.
+     * The loader is called outside of the map, a caller that arrives while the leader is still sending the get
+     * waits for it to be sent.
+     *
+     * @param maxAgeMillis an in-flight get older than this is not shared, usually the read timeout
+     */
+    @SuppressWarnings("unchecked")
+    public <T> EVCacheOperationFuture<T> get(String key, Transcoder<T> tc, long maxAgeMillis, Supplier<EVCacheOperationFuture<T>> loader) {
+        final InFlightKey inFlightKey = new InFlightKey(key, tc);
+        final InFlight slot = new InFlight();
+        InFlight current = inFlight.putIfAbsent(inFlightKey, slot);
+        while (current != null) {
+            final EVCacheOperationFuture<?> future = current.awaitSent(maxAgeMillis);
+            if (future != null && canShare(future, maxAgeMillis)) {
+                coalescedCounter.increment();
+                return ((EVCacheOperationFuture<T>) future).share();
+            }
+            // the get in flight is done, too old or could not be sent, so this caller sends a new one
+            if (inFlight.replace(inFlightKey, current, slot)) break;
+            current = inFlight.putIfAbsent(inFlightKey, slot);
+        }
+
+        leaderCounter.increment();
+        final EVCacheOperationFuture<T> future;
+        try {
+            future = loader.get();
+        } catch (RuntimeException e) {
+            inFlight.remove(inFlightKey, slot);
+            slot.sent(null);
+            throw e;
+        }
+        slot.sent(future);
+        future.addListener((EVCacheGetOperationListener<T>) f -> inFlight.remove(inFlightKey, slot));
+        return future.share();
+    }
+
+    private static boolean canShare(EVCacheOperationFuture<?> future, long maxAgeMillis) {
+        return !future.isDone() && System.currentTimeMillis() - future.getStartTime() < maxAgeMillis;
+    }
+
+    /*
+     * The get of a key, set by the leader once it is sent.
+     */
+    private static final class InFlight {
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private volatile EVCacheOperationFuture<?> future;
+
+        void sent(EVCacheOperationFuture<?> future) {
+            this.future = future;
+            latch.countDown();
+        }
+
+        EVCacheOperationFuture<?> awaitSent(long maxWaitMillis) {
+            try {
+                if (!latch.await(maxWaitMillis, TimeUnit.MILLISECONDS)) return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            return future;
+        }
+    }
+
+    private static final class InFlightKey {
+        private final String key;
+        private final Transcoder<?> tc;
+
+        InFlightKey(String key, Transcoder<?> tc) {
+            this.key = key;
+            this.tc = tc;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * key.hashCode() + System.identityHashCode(tc);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof InFlightKey)) return false;
+            final InFlightKey other = (InFlightKey) obj;
+            return tc == other.tc && key.equals(other.key);
+        }
+    }
+}
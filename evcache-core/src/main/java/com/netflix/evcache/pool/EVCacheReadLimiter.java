@@ -0,0 +1,130 @@
+package com.netflix.evcache.pool;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.netflix.archaius.api.Property;
+import com.netflix.evcache.metrics.EVCacheMetricsFactory;
+import com.netflix.evcache.util.EVCacheConfig;
+import com.netflix.spectator.api.BasicTag;
+import com.netflix.spectator.api.Tag;
+
+/**
+ * Limits the number of reads outstanding on a node based on the latency the node is observed to have.
+ *
+ * The limit follows a gradient: a long term average of the read latency is compared with each new sample. While the
+ * samples stay within {@code <app>.read.limiter.tolerance} times the long term average the limit grows by roughly its
+ * square root, and as the samples get slower than that (the node or its connection is queueing) it shrinks in
+ * proportion, down to half per sample. A read that times out cuts the limit by 10%. The limit only grows while at least
+ * half of it is in use, so an idle node does not accumulate an unbounded limit.
+ *
+ * A slow node thus sheds reads, which then fall back to another zone, well before a fixed queue length would be
+ * reached, while a fast node is allowed more reads than a fixed length. Setting {@code <app>.read.limiter.adaptive}
+ * to false restores the fixed {@code <app>.max.read.queue.length}.
+ */
+public class EVCacheReadLimiter {
+
+    private static final int WARMUP_SAMPLES = 10;
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final Property<Integer> maxReadQueueSize;
+    private final Property<Boolean> adaptive;
+    private final Property<Integer> minLimit;
+    private final Property<Integer> maxLimit;
+    private final Property<Double> tolerance;
+    private final Property<Integer> window;
+    private final List<Tag> limitGaugeTags;
+    private final AtomicLong limitGauge;
+    private final AtomicBoolean shutdown = new AtomicBoolean(false);
+
+    private volatile int limit;
+    private double estimatedLimit;
+    private double longRtt = 0;
+    private long samples = 0;
+
+    public EVCacheReadLimiter(String appName, Property<Integer> maxReadQueueSize, List<Tag> tags) {
+        this.maxReadQueueSize = maxReadQueueSize;
+        this.adaptive = EVCacheConfig.getInstance().getPropertyRepository().get(appName + ".read.limiter.adaptive", Boolean.class).orElse(true);
+        this.minLimit = EVCacheConfig.getInstance().getPropertyRepository().get(appName + ".read.limiter.min", Integer.class).orElse(10);
+        this.maxLimit = EVCacheConfig.getInstance().getPropertyRepository().get(appName + ".read.limiter.max", Integer.class).orElse(500);
+        this.tolerance = EVCacheConfig.getInstance().getPropertyRepository().get(appName + ".read.limiter.tolerance", Double.class).orElse(1.5);
+        this.window = EVCacheConfig.getInstance().getPropertyRepository().get(appName + ".read.limiter.window", Integer.class).orElse(600);
+        this.estimatedLimit = clamp(maxReadQueueSize.get().intValue());
+        this.limit = (int) estimatedLimit;
+
+        if (tags == null) {
+            this.limitGaugeTags = null;
+            this.limitGauge = null;
+        } else {
+            final List<Tag> tagList = new ArrayList<Tag>(tags.size() + 1);
+            tagList.addAll(tags);
+            tagList.add(new BasicTag(EVCacheMetricsFactory.STAT_NAME, EVCacheMetricsFactory.READ_LIMIT));
+            this.limitGaugeTags = tagList;
+            this.limitGauge = EVCacheMetricsFactory.getInstance().acquireLongGauge(EVCacheMetricsFactory.INTERNAL_STATS, tagList);
+            limitGauge.set(limit);
+        }
+    }
+
+    /**
+     * Removes the gauge of the limit, once the node is shut down. The gauge of a node that replaced it on the same host
+     * is kept.
+     */
+    public void shutdown() {
+        if (limitGaugeTags != null && shutdown.compareAndSet(false, true)) EVCacheMetricsFactory.getInstance().releaseLongGauge(EVCacheMetricsFactory.INTERNAL_STATS, limitGaugeTags);
+    }
+
+    /**
+     * @return the number of reads that can be outstanding on the node
+     */
+    public int getLimit() {
+        return adaptive.get().booleanValue() ? limit : maxReadQueueSize.get().intValue();
+    }
+
+    /**
+     * Records the latency of a read of the node.
+     *
+     * @param rttNanos the time from sending the read to its completion
+     * @param inFlight the number of reads outstanding on the node
+     * @param timedOut true if the read timed out
+     */
+    public synchronized void onSample(long rttNanos, int inFlight, boolean timedOut) {
+        if (timedOut) {
+            update(estimatedLimit * BACKOFF_RATIO);
+            return;
+        }
+        if (rttNanos <= 0) return;
+
+        if (samples < WARMUP_SAMPLES) {
+            longRtt = (longRtt * samples + rttNanos) / (samples + 1);
+            samples++;
+            return;
+        }
+        longRtt += (rttNanos - longRtt) / window.get().intValue();
+        // let the long term average follow a lasting drop in latency quickly, e.g. once a burst has drained
+        if (longRtt > rttNanos * 2) longRtt *= 0.95;
+
+        if (inFlight < estimatedLimit / 2) return;
+
+        final double gradient = Math.max(0.5, Math.min(1.0, tolerance.get().doubleValue() * longRtt / rttNanos));
+        final double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        update(estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING);
+    }
+
+    private void update(double newLimit) {
+        estimatedLimit = clamp(newLimit);
+        limit = (int) estimatedLimit;
+        if (limitGauge != null) limitGauge.set(limit);
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit.get().intValue(), Math.min(maxLimit.get().intValue(), value));
+    }
+
+    @Override
+    public String toString() {
+        return "EVCacheReadLimiter [limit=" + getLimit() + ", adaptive=" + adaptive.get() + ", longRttNanos=" + (long) longRtt + "]";
+    }
+}
@@ -0,0 +1,23 @@
+package com.netflix.evcache.pool;
+
+import java.util.List;
+
+/**
+ * Chooses the server group a read goes to.
+ *
+ * The pool picks a client of each server group that can be read from and lets the policy choose among them. Each
+ * client carries what has been observed of its server group in {@link EVCacheClient#getReadLatencyTracker()}: the
+ * moving average of the read latency and the number of reads in flight. A policy is set with
+ * {@link EVCacheClientPool#setReadRoutingPolicy(EVCacheReadRoutingPolicy)} or chosen with
+ * {@code <app>.read.routing.policy} among {@code ewma}, {@code p2c} and {@code zone}; without one the reads go to the
+ * server groups of the local zone in turn.
+ */
+public interface EVCacheReadRoutingPolicy {
+
+    /**
+     * @param clients a client of each server group that can be read from, at least two
+     * @param zone the zone of this instance
+     * @return the client to read from
+     */
+    EVCacheClient select(List<EVCacheClient> clients, String zone);
+}
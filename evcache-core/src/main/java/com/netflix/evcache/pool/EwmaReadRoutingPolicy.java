@@ -0,0 +1,35 @@
+package com.netflix.evcache.pool;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spreads the reads across the server groups in inverse proportion to their recent read latency, so a server group
+ * that turns slow gets fewer reads as soon as its slow reads complete while still getting some to notice its recovery.
+ */
+public class EwmaReadRoutingPolicy implements EVCacheReadRoutingPolicy {
+
+    private static final double MIN_LATENCY_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    @Override
+    public EVCacheClient select(List<EVCacheClient> clients, String zone) {
+        final double[] weights = new double[clients.size()];
+        double total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = 1 / Math.max(MIN_LATENCY_NANOS, clients.get(i).getReadLatencyTracker().getEwma());
+            total += weights[i];
+        }
+        double r = ThreadLocalRandom.current().nextDouble(total);
+        for (int i = 0; i < weights.length - 1; i++) {
+            r -= weights[i];
+            if (r < 0) return clients.get(i);
+        }
+        return clients.get(weights.length - 1);
+    }
+
+    @Override
+    public String toString() {
+        return "ewma";
+    }
+}
@@ -0,0 +1,32 @@
+package com.netflix.evcache.pool;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks two server groups at random and reads from the one with fewer reads in flight, or the lower recent read
+ * latency if they have as many. A server group that stalls builds up reads in flight and so stops being picked
+ * without any latency having to be observed first.
+ */
+public class PowerOfTwoChoicesReadRoutingPolicy implements EVCacheReadRoutingPolicy {
+
+    @Override
+    public EVCacheClient select(List<EVCacheClient> clients, String zone) {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int first = random.nextInt(clients.size());
+        int second = random.nextInt(clients.size() - 1);
+        if (second >= first) second++;
+
+        final EVCacheLatencyTracker a = clients.get(first).getReadLatencyTracker();
+        final EVCacheLatencyTracker b = clients.get(second).getReadLatencyTracker();
+        final int inFlightA = a.getInFlight();
+        final int inFlightB = b.getInFlight();
+        if (inFlightA != inFlightB) return clients.get(inFlightA < inFlightB ? first : second);
+        return clients.get(a.getEwma() <= b.getEwma() ? first : second);
+    }
+
+    @Override
+    public String toString() {
+        return "p2c";
+    }
+}
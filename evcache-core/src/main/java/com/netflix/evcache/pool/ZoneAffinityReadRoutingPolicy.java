@@ -0,0 +1,52 @@
+package com.netflix.evcache.pool;
+
+import java.util.List;
+
+import com.netflix.archaius.api.Property;
+
+/**
+ * Reads from the server groups of the local zone and spills over to another zone only while the best local server
+ * group costs more than {@code <app>.read.routing.spillover.ratio} times the best remote one. The cost of a server
+ * group is its recent read latency times the number of its reads in flight plus one. As that latency decays while a
+ * server group is not read from, a remote server group is probed by a few reads every so often, which is also how the
+ * local ones win the reads back after spilling over.
+ */
+public class ZoneAffinityReadRoutingPolicy implements EVCacheReadRoutingPolicy {
+
+    private final Property<Double> spilloverRatio;
+
+    public ZoneAffinityReadRoutingPolicy(Property<Double> spilloverRatio) {
+        this.spilloverRatio = spilloverRatio;
+    }
+
+    @Override
+    public EVCacheClient select(List<EVCacheClient> clients, String zone) {
+        EVCacheClient local = null, remote = null;
+        double localCost = Double.MAX_VALUE, remoteCost = Double.MAX_VALUE;
+        for (EVCacheClient client : clients) {
+            final double cost = getCost(client);
+            if (zone.equals(client.getServerGroup().getZone())) {
+                if (local == null || cost < localCost) {
+                    local = client;
+                    localCost = cost;
+                }
+            } else if (remote == null || cost < remoteCost) {
+                remote = client;
+                remoteCost = cost;
+            }
+        }
+        if (local == null) return remote;
+        if (remote == null) return local;
+        return (localCost > remoteCost * spilloverRatio.get().doubleValue()) ? remote : local;
+    }
+
+    private double getCost(EVCacheClient client) {
+        final EVCacheLatencyTracker tracker = client.getReadLatencyTracker();
+        return tracker.getEwma() * (tracker.getInFlight() + 1);
+    }
+
+    @Override
+    public String toString() {
+        return "zone";
+    }
+}
@@ -76,6 +76,19 @@ public class EVCacheConnectionObserver implements ConnectionObserver, EVCacheCon
 //        connLostCounter.increment();
     }
 
+    /**
+     * Forgets a server that has been removed from the server group, so it is not reported as active or inactive.
+     */
+    public void removeServer(SocketAddress sa) {
+        evCacheActiveSet.remove(sa);
+        evCacheInActiveSet.remove(sa);
+        if (sa instanceof InetSocketAddress) {
+            evCacheActiveStringSet.remove(sa);
+            evCacheInActiveStringSet.remove(sa);
+        }
+        if (log.isDebugEnabled()) log.debug(client.getAppName() + ":SERVER REMOVED : " + sa);
+    }
+
     public int getActiveServerCount() {
         return evCacheActiveSet.size();
     }
@@ -1,14 +1,19 @@
 package com.netflix.evcache.util;
 
-import java.util.ArrayList;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.Base64.Encoder;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.base.Charsets;
 import com.google.common.hash.HashCode;
 import com.google.common.hash.HashFunction;
 import com.google.common.hash.Hashing;
@@ -51,6 +56,8 @@ And if CAS and client flags are present:
 
     private static final Logger log = LoggerFactory.getLogger(KeyHasher.class);
     private static final Encoder encoder= Base64.getEncoder().withoutPadding();
+    private static final HashFunction[] hashFunctions = createHashFunctions();
+    private static final ThreadLocal<HashingState> hashingState = ThreadLocal.withInitial(HashingState::new);
 
 //    public static String getHashedKey1(String key, String hashingAlgorithm) {
 //        try {
@@ -68,65 +75,150 @@ And if CAS and client flags are present:
 //    }
 
     public static String getHashedKeyEncoded(String key, HashingAlgorithm hashingAlgorithm, Integer maxHashingBytes) {
-        final long start = System.nanoTime();
-        byte[] digest = getHashedKey(key, hashingAlgorithm, maxHashingBytes);
-        if(log.isDebugEnabled()) log.debug("Key : " + key +"; digest length : " + digest.length + "; byte Array contents : " + Arrays.toString(digest) );
-        final String hKey = encoder.encodeToString(digest);
+        final long start = log.isDebugEnabled() ? System.nanoTime() : 0;
+        final HashingState state = hashingState.get();
+        final int length = getHashedKey(key, hashingAlgorithm, maxHashingBytes, state);
+        final String hKey = encoder.encodeToString(Arrays.copyOf(state.digest, length));
         if(log.isDebugEnabled()) log.debug("Key : " + key +"; Hashed & encoded key : " + hKey + "; Took " + (System.nanoTime() - start) + " nanos");
         return hKey;
     }
 
     public static byte[] getHashedKeyInBytes(String key, HashingAlgorithm hashingAlgorithm, Integer maxHashingBytes) {
-        final long start = System.nanoTime();
-        byte[] digest = getHashedKey(key, hashingAlgorithm, maxHashingBytes);
+        final long start = log.isDebugEnabled() ? System.nanoTime() : 0;
+        final HashingState state = hashingState.get();
+        final int length = getHashedKey(key, hashingAlgorithm, maxHashingBytes, state);
+        final byte[] digest = Arrays.copyOf(state.digest, length);
         if(log.isDebugEnabled()) log.debug("Key : " + key +"; digest length : " + digest.length + "; byte Array contents : " + Arrays.toString(digest) + "; Took " + (System.nanoTime() - start) + " nanos");
         return digest;
     }
 
-    private static byte[] getHashedKey(String key, HashingAlgorithm hashingAlgorithm, Integer maxHashingBytes) {
-        HashFunction hf = null;
+    /**
+     * Writes the hashed key to the given buffer without the Base64 encoding. Nothing is allocated for the JDK backed
+     * algorithms (md5, sha1, sha256, crc32 and adler32).
+     *
+     * @return the number of bytes written to the buffer
+     */
+    public static int getHashedKey(String key, HashingAlgorithm hashingAlgorithm, Integer maxHashingBytes, ByteBuffer dest) {
+        final HashingState state = hashingState.get();
+        final int length = getHashedKey(key, hashingAlgorithm, maxHashingBytes, state);
+        dest.put(state.digest, 0, length);
+        return length;
+    }
+
+    /*
+     * Hashes the key into the digest buffer of the calling thread and returns the length of the (truncated) digest.
+     */
+    private static int getHashedKey(String key, HashingAlgorithm hashingAlgorithm, Integer maxHashingBytes, HashingState state) {
+        final byte[] bytes = state.encode(key);
+        final int keyLength = state.keyLength;
+        final byte[] digest = state.digest;
+        final int length;
         switch (hashingAlgorithm) {
             case murmur3:
-                hf = Hashing.murmur3_128();
+            case siphash24:
+            case goodfasthash:
+                final HashCode hc = hashFunctions[hashingAlgorithm.ordinal()].newHasher().putBytes(bytes, 0, keyLength).hash();
+                length = hc.writeBytesTo(digest, 0, digest.length);
                 break;
 
             case adler32:
-                hf = Hashing.adler32();
+                state.adler32.reset();
+                state.adler32.update(bytes, 0, keyLength);
+                length = writeIntLittleEndian((int) state.adler32.getValue(), digest);
                 break;
 
             case crc32:
-                hf = Hashing.crc32();
+                state.crc32.reset();
+                state.crc32.update(bytes, 0, keyLength);
+                length = writeIntLittleEndian((int) state.crc32.getValue(), digest);
                 break;
 
             case sha1:
-                hf = Hashing.sha1();
-                break;
-
             case sha256:
-                hf = Hashing.sha256();
-                break;
-
-            case siphash24:
-                hf = Hashing.sipHash24();
-                break;
-
-            case goodfasthash:
-                hf = Hashing.goodFastHash(128);
-                break;
-
             case md5:
             default:
-                hf = Hashing.md5();
+                final MessageDigest md = state.getMessageDigest(hashingAlgorithm);
+                md.update(bytes, 0, keyLength);
+                try {
+                    length = md.digest(digest, 0, digest.length);
+                } catch (DigestException e) {
+                    md.reset();
+                    throw new IllegalStateException("Unable to compute the " + hashingAlgorithm + " digest of the key", e);
+                }
                 break;
         }
 
-        final HashCode hc = hf.newHasher().putString(key, Charsets.UTF_8).hash();
-        final byte[] digest = hc.asBytes();
+        if (maxHashingBytes != null && maxHashingBytes > 0 && maxHashingBytes < length) {
+            return maxHashingBytes;
+        }
+
+        return length;
+    }
+
+    /*
+     * Same byte order as the HashCode Guava returns for its 32 bit checksum functions, hashed keys must not change.
+     */
+    private static int writeIntLittleEndian(int value, byte[] dest) {
+        dest[0] = (byte) value;
+        dest[1] = (byte) (value >> 8);
+        dest[2] = (byte) (value >> 16);
+        dest[3] = (byte) (value >> 24);
+        return 4;
+    }
 
-        if (maxHashingBytes != null && maxHashingBytes > 0 && maxHashingBytes < digest.length) {
-            return Arrays.copyOfRange(digest, 0, maxHashingBytes);
+    private static HashFunction[] createHashFunctions() {
+        final HashFunction[] functions = new HashFunction[HashingAlgorithm.values().length];
+        functions[HashingAlgorithm.murmur3.ordinal()] = Hashing.murmur3_128();
+        functions[HashingAlgorithm.siphash24.ordinal()] = Hashing.sipHash24();
+        functions[HashingAlgorithm.goodfasthash.ordinal()] = Hashing.goodFastHash(128);
+        return functions;
+    }
+
+    /**
+     * The digest state and scratch buffers reused by every key hashed on a thread.
+     */
+    private static final class HashingState {
+        private static final int MAX_DIGEST_LENGTH = 32;
+
+        private final MessageDigest[] messageDigests = new MessageDigest[HashingAlgorithm.values().length];
+        private final CRC32 crc32 = new CRC32();
+        private final Adler32 adler32 = new Adler32();
+        private final byte[] digest = new byte[MAX_DIGEST_LENGTH];
+        private byte[] keyBuffer = new byte[256];
+        private int keyLength;
+
+        /*
+         * Encodes the key as UTF-8. Keys are almost always ASCII, they are copied to the reusable buffer of the thread
+         * and only the other keys go through String.getBytes.
+         */
+        byte[] encode(String key) {
+            final int length = key.length();
+            if (keyBuffer.length < length) keyBuffer = new byte[Math.max(length, keyBuffer.length * 2)];
+            for (int i = 0; i < length; i++) {
+                final char c = key.charAt(i);
+                if (c >= 0x80) {
+                    final byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+                    keyLength = bytes.length;
+                    return bytes;
+                }
+                keyBuffer[i] = (byte) c;
+            }
+            keyLength = length;
+            return keyBuffer;
         }
 
-        return digest;
+        MessageDigest getMessageDigest(HashingAlgorithm hashingAlgorithm) {
+            final HashingAlgorithm algorithm = (hashingAlgorithm == HashingAlgorithm.sha1 || hashingAlgorithm == HashingAlgorithm.sha256) ? hashingAlgorithm : HashingAlgorithm.md5;
+            MessageDigest md = messageDigests[algorithm.ordinal()];
+            if (md == null) {
+                try {
+                    md = MessageDigest.getInstance(algorithm == HashingAlgorithm.sha1 ? "SHA-1" : algorithm == HashingAlgorithm.sha256 ? "SHA-256" : "MD5");
+                } catch (NoSuchAlgorithmException e) {
+                    throw new IllegalStateException("Unsupported hashing algorithm " + algorithm, e);
+                }
+                messageDigests[algorithm.ordinal()] = md;
+            }
+            return md;
+        }
     }
 }
@@ -4,24 +4,43 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.channels.CancelledKeyException;
 import java.nio.channels.ClosedSelectorException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.netflix.evcache.metrics.EVCacheMetricsFactory;
+
 import net.spy.memcached.ops.Operation;
 
 public class EVCacheConnection extends MemcachedConnection {
     private static final Logger log = LoggerFactory.getLogger(EVCacheConnection.class);
+    private static final long STALL_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final long opQueueMaxBlockTime;
+    // nodes added by updateNodes that are not routed to yet, read by the IO thread
+    private final Set<MemcachedNode> connectingNodes = ConcurrentHashMap.newKeySet();
+    // nodes removed by updateNodes whose read limiter is shut down once the IO thread has closed them
+    private final Set<MemcachedNode> closingNodes = ConcurrentHashMap.newKeySet();
 
     public EVCacheConnection(String name, int bufSize, ConnectionFactory f,
             List<InetSocketAddress> a, Collection<ConnectionObserver> obs,
             FailureMode fm, OperationFactory opfactory) throws IOException {
         super(bufSize, f, a, obs, fm, opfactory);
+        this.opQueueMaxBlockTime = f.getOpQueueMaxBlockTime();
         setName(name);
     }
 
@@ -34,6 +53,10 @@ public class EVCacheConnection extends MemcachedConnection {
                     ((EVCacheNode) qa).shutdown();
                 }
             }
+            for (MemcachedNode qa : closingNodes) {
+                ((EVCacheNode) qa).getReadLimiter().shutdown();
+            }
+            closingNodes.clear();
         } finally {
             if(running) {
                 running = false;
@@ -43,10 +66,96 @@ public class EVCacheConnection extends MemcachedConnection {
         }
     }
 
+    /**
+     * Adds and removes memcached nodes without recreating the connection, so the connections to the other nodes and the
+     * operations queued on them are not affected.
+     *
+     * New nodes are connected but not routed to until they are passed to {@link #addNodes(Collection)}, so the caller
+     * can wait for them to connect without holding this connection. The removed nodes, whether routed to or still
+     * connecting, are handed to the IO thread, which closes their channels and redistributes the operations still in
+     * their input queues; operations already sent to a removed node will time out. Their read limiters are shut down
+     * once the IO thread has closed them.
+     *
+     * @param added the addresses of the nodes to connect to
+     * @param removed the addresses of the nodes to disconnect from
+     * @return the nodes that are connecting to the added addresses
+     */
+    public synchronized List<MemcachedNode> updateNodes(Collection<InetSocketAddress> added, Collection<InetSocketAddress> removed) throws IOException {
+        checkState();
+        final Collection<InetSocketAddress> removedSet = new HashSet<InetSocketAddress>(removed);
+        final List<MemcachedNode> nodes = new ArrayList<MemcachedNode>();
+        final List<MemcachedNode> removedNodes = new ArrayList<MemcachedNode>();
+        for (MemcachedNode node : getLocator().getAll()) {
+            if (removedSet.contains(node.getSocketAddress())) {
+                removedNodes.add(node);
+            } else {
+                nodes.add(node);
+            }
+        }
+        for (Iterator<MemcachedNode> it = connectingNodes.iterator(); it.hasNext();) {
+            final MemcachedNode node = it.next();
+            if (removedSet.contains(node.getSocketAddress())) {
+                it.remove();
+                removedNodes.add(node);
+            }
+        }
+        final List<MemcachedNode> addedNodes;
+        if (added.isEmpty()) {
+            addedNodes = Collections.emptyList();
+        } else {
+            addedNodes = createConnections(added);
+            connectingNodes.addAll(addedNodes);
+            // an idle IO thread only selects the new channels once woken up
+            selector.wakeup();
+        }
+        if (!removedNodes.isEmpty()) {
+            getLocator().updateLocator(nodes);
+            nodesToShutdown.addAll(removedNodes);
+            for (MemcachedNode node : removedNodes) {
+                if (node instanceof EVCacheNode) {
+                    ((EVCacheNode) node).removeMonitoring();
+                    closingNodes.add(node);
+                }
+            }
+            selector.wakeup();
+        }
+        if (log.isInfoEnabled()) log.info(getName() + " : added nodes " + added + ", removed nodes " + removedNodes);
+        return addedNodes;
+    }
+
+    /**
+     * Routes to nodes returned by {@link #updateNodes(Collection, Collection)}. Nodes that were removed since are
+     * ignored.
+     *
+     * @param added the nodes to add to the locator
+     */
+    public synchronized void addNodes(Collection<MemcachedNode> added) {
+        checkState();
+        final List<MemcachedNode> nodes = new ArrayList<MemcachedNode>(getLocator().getAll());
+        boolean changed = false;
+        for (MemcachedNode node : added) {
+            if (connectingNodes.remove(node)) {
+                nodes.add(node);
+                changed = true;
+            }
+        }
+        if (changed) getLocator().updateLocator(nodes);
+    }
+
+    /**
+     * The IO thread only completes the connections, and reconnects, to the nodes of the cluster; that includes the
+     * nodes that are connecting before they are routed to.
+     */
+    @Override
+    boolean belongsToCluster(MemcachedNode node) {
+        return connectingNodes.contains(node) || super.belongsToCluster(node);
+    }
+
     public void run() {
         while (running) {
             try {
                 handleIO();
+                shutdownRemovedNodes();
             } catch (IOException e) {
                 if (log.isDebugEnabled()) log.debug(e.getMessage(), e);
             } catch (CancelledKeyException e) {
@@ -65,15 +174,45 @@ public class EVCacheConnection extends MemcachedConnection {
         if (log.isDebugEnabled()) log.debug(toString() + " : Shutdown");
     }
 
+    /*
+     * Shuts down the read limiter of the removed nodes the IO thread has closed, which releases their gauges.
+     */
+    private void shutdownRemovedNodes() {
+        if (closingNodes.isEmpty()) return;
+        for (Iterator<MemcachedNode> it = closingNodes.iterator(); it.hasNext();) {
+            final MemcachedNode node = it.next();
+            if (!nodesToShutdown.contains(node)) {
+                it.remove();
+                ((EVCacheNode) node).getReadLimiter().shutdown();
+            }
+        }
+    }
+
     public String toString() {
         return super.toString();
     }
 
     protected void addOperation(final MemcachedNode node, final Operation o) {
-        super.addOperation(node, o);
+        final long start = System.nanoTime();
+        try {
+            super.addOperation(node, o);
+        } finally {
+            // a timed out add is the longest stall
+            recordStall(node, System.nanoTime() - start);
+        }
         ((EVCacheNode) node).incrOps();
     }
 
+    /**
+     * Records the time the calling thread was blocked adding an operation to the full input queue of a node. Adding to
+     * a queue with room takes microseconds, so only stalls of a millisecond or more are recorded.
+     */
+    private void recordStall(MemcachedNode node, long durationNanos) {
+        if (durationNanos < STALL_THRESHOLD_NANOS) return;
+        EVCacheMetricsFactory.getInstance().getPercentileTimer(EVCacheMetricsFactory.INTERNAL_ENQUEUE_STALL,
+                ((EVCacheNode) node).getTags(), Duration.ofMillis(Math.max(1, opQueueMaxBlockTime))).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
     @Override
     public void addOperations(Map<MemcachedNode, Operation> ops) {
         super.addOperations(ops);
@@ -87,7 +226,59 @@ public class EVCacheConnection extends MemcachedConnection {
         checkState();
         addOperation(key, o);
       }
-    
+
+    /**
+     * Enqueues the operations of many keys. The operations of the keys on the same node are added to its input queue
+     * as one batch, so the node is handed to the IO thread once and the selector is woken up once for all the nodes,
+     * instead of once per key.
+     *
+     * The operations of a node that is not active or not authenticated are enqueued one at a time, which applies the
+     * failure mode. An operation that does not fit in the input queue of its node is cancelled.
+     *
+     * @param ops the operation of each key
+     */
+    public void enqueueOperations(Map<String, ? extends Operation> ops) {
+        checkState();
+        final Map<MemcachedNode, List<Operation>> opsByNode = new HashMap<MemcachedNode, List<Operation>>();
+        for (Map.Entry<String, ? extends Operation> entry : ops.entrySet()) {
+            final MemcachedNode node = locator.getPrimary(entry.getKey());
+            if (node.isActive() && node.isAuthenticated()) {
+                List<Operation> nodeOps = opsByNode.get(node);
+                if (nodeOps == null) {
+                    nodeOps = new ArrayList<Operation>();
+                    opsByNode.put(node, nodeOps);
+                }
+                nodeOps.add(entry.getValue());
+            } else {
+                addOperation(entry.getKey(), entry.getValue());
+            }
+        }
+        if (opsByNode.isEmpty()) return;
+
+        for (Map.Entry<MemcachedNode, List<Operation>> entry : opsByNode.entrySet()) {
+            final MemcachedNode node = entry.getKey();
+            final long start = System.nanoTime();
+            try {
+                for (Operation o : entry.getValue()) {
+                    o.setHandlingNode(node);
+                    o.initialize();
+                    try {
+                        node.addOp(o);
+                    } catch (IllegalStateException e) {
+                        if (log.isDebugEnabled()) log.debug("Input queue of node : " + node + " is full, cancelling " + o);
+                        o.cancel();
+                        continue;
+                    }
+                    ((EVCacheNode) node).incrOps();
+                }
+            } finally {
+                recordStall(node, System.nanoTime() - start);
+                addedQueue.offer(node);
+            }
+        }
+        selector.wakeup();
+    }
+
 
     @Override
     public CountDownLatch broadcastOperation(BroadcastOpFactory of, Collection<MemcachedNode> nodes) {
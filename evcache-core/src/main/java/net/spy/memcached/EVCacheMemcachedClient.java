@@ -8,7 +8,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -25,6 +24,7 @@ import org.slf4j.LoggerFactory;
 import com.netflix.archaius.api.Property;
 import com.netflix.evcache.EVCacheGetOperationListener;
 import com.netflix.evcache.EVCacheLatch;
+import com.netflix.evcache.metrics.EVCacheMeterTable;
 import com.netflix.evcache.metrics.EVCacheMetricsFactory;
 import com.netflix.evcache.operation.EVCacheAsciiOperationFactory;
 import com.netflix.evcache.operation.EVCacheBulkGetFuture;
@@ -33,6 +33,8 @@ import com.netflix.evcache.operation.EVCacheItemMetaData;
 import com.netflix.evcache.operation.EVCacheLatchImpl;
 import com.netflix.evcache.operation.EVCacheOperationFuture;
 import com.netflix.evcache.pool.EVCacheClient;
+import com.netflix.evcache.pool.EVCacheLatencyTracker;
+import com.netflix.evcache.pool.EVCacheNodeLocator;
 import com.netflix.evcache.util.EVCacheConfig;
 import com.netflix.spectator.api.BasicTag;
 import com.netflix.spectator.api.DistributionSummary;
@@ -55,6 +57,7 @@ import net.spy.memcached.ops.StatusCode;
 import net.spy.memcached.ops.StoreOperation;
 import net.spy.memcached.ops.StoreType;
 import net.spy.memcached.protocol.binary.BinaryOperationFactory;
+import net.spy.memcached.protocol.binary.QuietWriteOperationImpl;
 import net.spy.memcached.transcoders.Transcoder;
 import net.spy.memcached.util.StringUtils;
 import net.spy.memcached.protocol.ascii.ExecCmdOperation;
@@ -76,6 +79,19 @@ public class EVCacheMemcachedClient extends MemcachedClient {
     private Property<Long> mutateOperationTimeout;
     private final ConnectionFactory connectionFactory;
     private final Property<Integer> maxReadDuration, maxWriteDuration;
+    private final OperationCallback quietWriteCallback = new OperationCallback() {
+        @Override
+        public void receivedStatus(OperationStatus status) {
+            if (status.isSuccess() || status.getStatusCode() == StatusCode.ERR_NOT_FOUND) return;
+            final List<Tag> tagList = new ArrayList<Tag>(client.getTagList());
+            tagList.add(new BasicTag(EVCacheMetricsFactory.IPC_STATUS, getStatusCode(status.getStatusCode())));
+            EVCacheMetricsFactory.getInstance().increment(EVCacheMetricsFactory.INTERNAL_QUIET_WRITE_ERROR, tagList);
+        }
+
+        @Override
+        public void complete() {
+        }
+    };
 
     public EVCacheMemcachedClient(ConnectionFactory cf, List<InetSocketAddress> addrs,
                                   Property<Integer> readTimeout, EVCacheClient client) throws IOException {
@@ -92,6 +108,25 @@ public class EVCacheMemcachedClient extends MemcachedClient {
         return this.mconn.getLocator();
     }
 
+    /**
+     * Adds and removes memcached nodes on the existing connection.
+     *
+     * @return the nodes that are connecting to the added addresses, null if the connection does not support updating
+     *         its nodes
+     * @see EVCacheConnection#updateNodes(Collection, Collection)
+     */
+    public List<MemcachedNode> updateNodes(Collection<InetSocketAddress> added, Collection<InetSocketAddress> removed) throws IOException {
+        if (!(mconn instanceof EVCacheConnection)) return null;
+        return ((EVCacheConnection) mconn).updateNodes(added, removed);
+    }
+
+    /**
+     * @see EVCacheConnection#addNodes(Collection)
+     */
+    public void addNodes(Collection<MemcachedNode> added) {
+        ((EVCacheConnection) mconn).addNodes(added);
+    }
+
     public MemcachedNode getEVCacheNode(String key) {
         return this.mconn.getLocator().getPrimary(key);
     }
@@ -103,6 +138,7 @@ public class EVCacheMemcachedClient extends MemcachedClient {
     public <T> EVCacheOperationFuture<T> asyncGet(final String key, final Transcoder<T> tc, EVCacheGetOperationListener<T> listener) {
         final CountDownLatch latch = new CountDownLatch(1);
         final EVCacheOperationFuture<T> rv = new EVCacheOperationFuture<T>(key, latch, new AtomicReference<T>(null), readTimeout.get().intValue(), executorService, client);
+        final long startNanos = System.nanoTime();
         final Operation op = opFact.get(key, new GetOperation.Callback() {
             private Future<T> val = null;
 
@@ -156,6 +192,7 @@ public class EVCacheMemcachedClient extends MemcachedClient {
             }
 
             public void complete() {
+                recordReadLatency(rv.getOperation(), startNanos, rv.getStatus());
                 latch.countDown();
                 final String host = ((rv.getStatus().getStatusCode().equals(StatusCode.TIMEDOUT) && rv.getOperation() != null) ? getHostName(rv.getOperation().getHandlingNode().getSocketAddress()) : null);
                 getTimer(EVCacheMetricsFactory.GET_OPERATION, EVCacheMetricsFactory.READ, rv.getStatus(), (val != null ? EVCacheMetricsFactory.YES : EVCacheMetricsFactory.NO), host, getReadMetricMaxValue()).record((System.currentTimeMillis() - rv.getStartTime()), TimeUnit.MILLISECONDS);
@@ -164,41 +201,68 @@ public class EVCacheMemcachedClient extends MemcachedClient {
         });
         rv.setOperation(op);
         if (listener != null) rv.addListener(listener);
-        mconn.enqueueOperation(key, op);
+        enqueueRead(key, op);
         return rv;
     }
 
     public <T> EVCacheBulkGetFuture<T> asyncGetBulk(Collection<String> keys, final Transcoder<T> tc, EVCacheGetOperationListener<T> listener) {
-        final Map<String, Future<T>> m = new ConcurrentHashMap<String, Future<T>>();
+        return asyncGetBulk(keys, tc, listener, false);
+    }
 
+    /**
+     * @param trackNodes whether the completion of the read of each node is reported through
+     *            {@link EVCacheBulkGetFuture#pollCompletedNode(long, TimeUnit)}
+     */
+    public <T> EVCacheBulkGetFuture<T> asyncGetBulk(Collection<String> keys, final Transcoder<T> tc, EVCacheGetOperationListener<T> listener, boolean trackNodes) {
         // Break the gets down into groups by key
-        final Map<MemcachedNode, Collection<String>> chunks = new HashMap<MemcachedNode, Collection<String>>();
         final NodeLocator locator = mconn.getLocator();
+        final Map<MemcachedNode, Collection<String>> keysByNode;
+        if (locator instanceof EVCacheNodeLocator) {
+            keysByNode = ((EVCacheNodeLocator) locator).getPrimaries(keys, null);
+        } else {
+            keysByNode = new HashMap<MemcachedNode, Collection<String>>();
+            for (String key : keys) {
+                keysByNode.computeIfAbsent(locator.getPrimary(key), k -> new ArrayList<String>()).add(key);
+            }
+        }
+        return asyncGetBulk(keysByNode, tc, listener, trackNodes);
+    }
 
-        final Iterator<String> keyIter = keys.iterator();
-        while (keyIter.hasNext()) {
-            final String key = keyIter.next();
-            StringUtils.validateKey(key, opFact instanceof BinaryOperationFactory);
-            final MemcachedNode primaryNode = locator.getPrimary(key);
-            if (primaryNode.isActive()) {
-                Collection<String> ks = chunks.get(primaryNode);
-                if (ks == null) {
-                    ks = new ArrayList<String>();
-                    chunks.put(primaryNode, ks);
-                }
-                ks.add(key);
+    public <T> EVCacheBulkGetFuture<T> asyncGetBulk(Map<MemcachedNode, Collection<String>> keysByNode, final Transcoder<T> tc, EVCacheGetOperationListener<T> listener) {
+        return asyncGetBulk(keysByNode, tc, listener, false);
+    }
+
+    /**
+     * Bulk get for keys that are already grouped by their primary node, see
+     * {@link EVCacheNodeLocator#getPrimaries(Collection, java.util.function.Predicate)}. Groups whose node is not
+     * active are skipped.
+     *
+     * @param trackNodes whether the completion of the read of each node is reported through
+     *            {@link EVCacheBulkGetFuture#pollCompletedNode(long, TimeUnit)}
+     */
+    public <T> EVCacheBulkGetFuture<T> asyncGetBulk(Map<MemcachedNode, Collection<String>> keysByNode, final Transcoder<T> tc, EVCacheGetOperationListener<T> listener, boolean trackNodes) {
+        final Map<String, Future<T>> m = new ConcurrentHashMap<String, Future<T>>();
+        final Map<MemcachedNode, Collection<String>> chunks = new HashMap<MemcachedNode, Collection<String>>();
+        final boolean isBinary = opFact instanceof BinaryOperationFactory;
+        int keyCount = 0;
+        for (Map.Entry<MemcachedNode, Collection<String>> me : keysByNode.entrySet()) {
+            keyCount += me.getValue().size();
+            for (String key : me.getValue()) {
+                StringUtils.validateKey(key, isBinary);
             }
+            if (me.getKey().isActive()) chunks.put(me.getKey(), me.getValue());
         }
+        final int totalKeys = keyCount;
 
         final AtomicInteger pendingChunks = new AtomicInteger(chunks.size());
         int initialLatchCount = chunks.isEmpty() ? 0 : 1;
         final CountDownLatch latch = new CountDownLatch(initialLatchCount);
         final Collection<Operation> ops = new ArrayList<Operation>(chunks.size());
-        final EVCacheBulkGetFuture<T> rv = new EVCacheBulkGetFuture<T>(m, ops, latch, executorService, client);
+        final EVCacheBulkGetFuture<T> rv = new EVCacheBulkGetFuture<T>(m, ops, latch, executorService, client, trackNodes ? chunks.values() : null);
         GetOperation.Callback cb = new GetOperation.Callback() {
             @Override
             public void receivedStatus(OperationStatus status) {
-                if (log.isDebugEnabled()) log.debug("GetBulk Keys : " + keys + "; Status : " + status.getStatusCode().name() + "; Message : " + status.getMessage() + "; Elapsed Time - " + (System.currentTimeMillis() - rv.getStartTime()));
+                if (log.isDebugEnabled()) log.debug("GetBulk Keys : " + keysByNode.values() + "; Status : " + status.getStatusCode().name() + "; Message : " + status.getMessage() + "; Elapsed Time - " + (System.currentTimeMillis() - rv.getStartTime()));
                 rv.setStatus(status);
             }
 
@@ -214,7 +278,7 @@ public class EVCacheMemcachedClient extends MemcachedClient {
             public void complete() {
                 if (pendingChunks.decrementAndGet() <= 0) {
                     latch.countDown();
-                    getTimer(EVCacheMetricsFactory.BULK_OPERATION, EVCacheMetricsFactory.READ, rv.getStatus(), (m.size() == keys.size() ? EVCacheMetricsFactory.YES : EVCacheMetricsFactory.NO), null, getReadMetricMaxValue()).record((System.currentTimeMillis() - rv.getStartTime()), TimeUnit.MILLISECONDS);
+                    getTimer(EVCacheMetricsFactory.BULK_OPERATION, EVCacheMetricsFactory.READ, rv.getStatus(), (m.size() == totalKeys ? EVCacheMetricsFactory.YES : EVCacheMetricsFactory.NO), null, getReadMetricMaxValue()).record((System.currentTimeMillis() - rv.getStartTime()), TimeUnit.MILLISECONDS);
                     rv.signalComplete();
                 }
             }
@@ -224,7 +288,24 @@ public class EVCacheMemcachedClient extends MemcachedClient {
         // is all set up, convert all of these strings collections to operations
         final Map<MemcachedNode, Operation> mops = new HashMap<MemcachedNode, Operation>();
         for (Map.Entry<MemcachedNode, Collection<String>> me : chunks.entrySet()) {
-            Operation op = opFact.get(me.getValue(), cb);
+            final Collection<String> nodeKeys = me.getValue();
+            Operation op = opFact.get(nodeKeys, !trackNodes ? cb : new GetOperation.Callback() {
+                @Override
+                public void receivedStatus(OperationStatus status) {
+                    cb.receivedStatus(status);
+                }
+
+                @Override
+                public void gotData(String k, int flags, byte[] data) {
+                    cb.gotData(k, flags, data);
+                }
+
+                @Override
+                public void complete() {
+                    rv.signalNodeComplete(nodeKeys);
+                    cb.complete();
+                }
+            });
             mops.put(me.getKey(), op);
             ops.add(op);
         }
@@ -237,6 +318,7 @@ public class EVCacheMemcachedClient extends MemcachedClient {
     public <T> EVCacheOperationFuture<CASValue<T>> asyncGetAndTouch(final String key, final int exp, final Transcoder<T> tc) {
         final CountDownLatch latch = new CountDownLatch(1);
         final EVCacheOperationFuture<CASValue<T>> rv = new EVCacheOperationFuture<CASValue<T>>(key, latch, new AtomicReference<CASValue<T>>(null), operationTimeout, executorService, client);
+        final long startNanos = System.nanoTime();
         Operation op = opFact.getAndTouch(key, exp, new GetAndTouchOperation.Callback() {
             private CASValue<T> val = null;
 
@@ -248,6 +330,7 @@ public class EVCacheMemcachedClient extends MemcachedClient {
             }
 
             public void complete() {
+                recordReadLatency(rv.getOperation(), startNanos, rv.getStatus());
                 latch.countDown();
                 final String host = ((rv.getStatus().getStatusCode().equals(StatusCode.TIMEDOUT) && rv.getOperation() != null) ? getHostName(rv.getOperation().getHandlingNode().getSocketAddress()) : null);
                 getTimer(EVCacheMetricsFactory.GET_AND_TOUCH_OPERATION, EVCacheMetricsFactory.READ, rv.getStatus(), (val != null ? EVCacheMetricsFactory.YES : EVCacheMetricsFactory.NO), host, getReadMetricMaxValue()).record((System.currentTimeMillis() - rv.getStartTime()), TimeUnit.MILLISECONDS);
@@ -261,7 +344,7 @@ public class EVCacheMemcachedClient extends MemcachedClient {
             }
         });
         rv.setOperation(op);
-        mconn.enqueueOperation(key, op);
+        enqueueRead(key, op);
         return rv;
     }
 
@@ -290,6 +373,12 @@ public class EVCacheMemcachedClient extends MemcachedClient {
     }
 
     public OperationFuture<Boolean> delete(String key, EVCacheLatch evcacheLatch) {
+        final EVCacheOperationFuture<Boolean> rv = createDelete(key, evcacheLatch);
+        mconn.enqueueOperation(key, rv.getOperation());
+        return rv;
+    }
+
+    private EVCacheOperationFuture<Boolean> createDelete(String key, EVCacheLatch evcacheLatch) {
         final CountDownLatch latch = new CountDownLatch(1);
         final EVCacheOperationFuture<Boolean> rv = new EVCacheOperationFuture<Boolean>(key, latch, new AtomicReference<Boolean>(null), operationTimeout, executorService, client);
         final DeleteOperation op = opFact.delete(key, new DeleteOperation.Callback() {
@@ -314,11 +403,16 @@ public class EVCacheMemcachedClient extends MemcachedClient {
 
         rv.setOperation(op);
         if (evcacheLatch != null && evcacheLatch instanceof EVCacheLatchImpl && !client.isInWriteOnly()) ((EVCacheLatchImpl) evcacheLatch).addFuture(rv);
-        mconn.enqueueOperation(key, op);
         return rv;
     }
 
     public <T> OperationFuture<Boolean> touch(final String key, final int exp, EVCacheLatch evcacheLatch) {
+        final EVCacheOperationFuture<Boolean> rv = createTouch(key, exp, evcacheLatch);
+        mconn.enqueueOperation(key, rv.getOperation());
+        return rv;
+    }
+
+    private EVCacheOperationFuture<Boolean> createTouch(final String key, final int exp, EVCacheLatch evcacheLatch) {
         final CountDownLatch latch = new CountDownLatch(1);
         final EVCacheOperationFuture<Boolean> rv = new EVCacheOperationFuture<Boolean>(key, latch, new AtomicReference<Boolean>(null), operationTimeout, executorService, client);
         final Operation op = opFact.touch(key, exp, new OperationCallback() {
@@ -337,10 +431,135 @@ public class EVCacheMemcachedClient extends MemcachedClient {
         });
         rv.setOperation(op);
         if (evcacheLatch != null && evcacheLatch instanceof EVCacheLatchImpl && !client.isInWriteOnly()) ((EVCacheLatchImpl) evcacheLatch).addFuture(rv);
-        mconn.enqueueOperation(key, op);
         return rv;
     }
 
+    /**
+     * Sets many keys, enqueueing the keys of each node as one batch.
+     *
+     * @param values the encoded value of each key
+     * @return the future of each key
+     */
+    public Map<String, EVCacheOperationFuture<Boolean>> setBulk(Map<String, CachedData> values, int exp) {
+        final Map<String, EVCacheOperationFuture<Boolean>> futures = new HashMap<String, EVCacheOperationFuture<Boolean>>((int) (values.size() / 0.75) + 1);
+        for (Map.Entry<String, CachedData> entry : values.entrySet()) {
+            futures.put(entry.getKey(), createStore(StoreType.set, entry.getKey(), exp, entry.getValue(), null, null));
+        }
+        enqueueBulk(futures);
+        return futures;
+    }
+
+    /**
+     * Deletes many keys, enqueueing the keys of each node as one batch.
+     *
+     * @return the future of each key
+     */
+    public Map<String, EVCacheOperationFuture<Boolean>> deleteBulk(Collection<String> keys) {
+        final Map<String, EVCacheOperationFuture<Boolean>> futures = new HashMap<String, EVCacheOperationFuture<Boolean>>((int) (keys.size() / 0.75) + 1);
+        for (String key : keys) {
+            futures.put(key, createDelete(key, null));
+        }
+        enqueueBulk(futures);
+        return futures;
+    }
+
+    /**
+     * Touches many keys, enqueueing the keys of each node as one batch.
+     *
+     * @return the future of each key
+     */
+    public Map<String, EVCacheOperationFuture<Boolean>> touchBulk(Collection<String> keys, int exp) {
+        final Map<String, EVCacheOperationFuture<Boolean>> futures = new HashMap<String, EVCacheOperationFuture<Boolean>>((int) (keys.size() / 0.75) + 1);
+        for (String key : keys) {
+            futures.put(key, createTouch(key, exp, null));
+        }
+        enqueueBulk(futures);
+        return futures;
+    }
+
+    private void enqueueBulk(Map<String, EVCacheOperationFuture<Boolean>> futures) {
+        if (futures.isEmpty()) return;
+        final Map<String, Operation> ops = new HashMap<String, Operation>((int) (futures.size() / 0.75) + 1);
+        for (Map.Entry<String, EVCacheOperationFuture<Boolean>> entry : futures.entrySet()) {
+            ops.put(entry.getKey(), entry.getValue().getOperation());
+        }
+        enqueueOperations(ops);
+    }
+
+    private void enqueueOperations(Map<String, ? extends Operation> ops) {
+        if (ops.isEmpty()) return;
+        if (mconn instanceof EVCacheConnection) {
+            ((EVCacheConnection) mconn).enqueueOperations(ops);
+        } else {
+            for (Map.Entry<String, ? extends Operation> entry : ops.entrySet()) {
+                mconn.enqueueOperation(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Returns true if values can be read along with their metadata, which is only supported by the ASCII protocol.
+     */
+    public boolean supportsMetaGets() {
+        return opFact instanceof EVCacheAsciiOperationFactory;
+    }
+
+    /**
+     * Returns true if writes can be sent as quiet commands, which is only supported by the binary protocol.
+     */
+    public boolean supportsQuietWrites() {
+        return opFact instanceof BinaryOperationFactory;
+    }
+
+    /**
+     * Sets the key as a quiet write. The server does not acknowledge the write, so there is no future to wait on; a
+     * failure is only counted in the quiet write error metric.
+     *
+     * @see #supportsQuietWrites()
+     */
+    public void setQuietly(String key, int exp, CachedData co) {
+        mconn.enqueueOperation(key, createQuietSet(key, exp, co));
+    }
+
+    /**
+     * Deletes the key as a quiet write. A key that does not exist is not counted as a failure.
+     *
+     * @see #setQuietly(String, int, CachedData)
+     */
+    public void deleteQuietly(String key) {
+        mconn.enqueueOperation(key, QuietWriteOperationImpl.delete(key, quietWriteCallback));
+    }
+
+    /**
+     * Sets many keys as quiet writes, enqueueing the keys of each node as one batch.
+     *
+     * @see #setQuietly(String, int, CachedData)
+     */
+    public void setBulkQuietly(Map<String, CachedData> values, int exp) {
+        final Map<String, Operation> ops = new HashMap<String, Operation>((int) (values.size() / 0.75) + 1);
+        for (Map.Entry<String, CachedData> entry : values.entrySet()) {
+            ops.put(entry.getKey(), createQuietSet(entry.getKey(), exp, entry.getValue()));
+        }
+        enqueueOperations(ops);
+    }
+
+    /**
+     * Deletes many keys as quiet writes, enqueueing the keys of each node as one batch.
+     *
+     * @see #deleteQuietly(String)
+     */
+    public void deleteBulkQuietly(Collection<String> keys) {
+        final Map<String, Operation> ops = new HashMap<String, Operation>((int) (keys.size() / 0.75) + 1);
+        for (String key : keys) {
+            ops.put(key, QuietWriteOperationImpl.delete(key, quietWriteCallback));
+        }
+        enqueueOperations(ops);
+    }
+
+    private Operation createQuietSet(String key, int exp, CachedData co) {
+        getDataSizeDistributionSummary(EVCacheMetricsFactory.SET_OPERATION, EVCacheMetricsFactory.WRITE, EVCacheMetricsFactory.IPC_SIZE_OUTBOUND).record(co.getData().length);
+        return QuietWriteOperationImpl.set(key, co.getFlags(), exp, co.getData(), quietWriteCallback);
+    }
 
     public <T> OperationFuture<Boolean> asyncAppendOrAdd(final String key, int exp, CachedData co, EVCacheLatch evcacheLatch) {
         final CountDownLatch latch = new CountDownLatch(1);
@@ -424,13 +643,42 @@ public class EVCacheMemcachedClient extends MemcachedClient {
         return rv;
     }
 
+    private static final String[] TIMER_OPERATIONS = { EVCacheMetricsFactory.GET_OPERATION, EVCacheMetricsFactory.BULK_OPERATION, EVCacheMetricsFactory.GET_AND_TOUCH_OPERATION,
+            EVCacheMetricsFactory.DELETE_OPERATION, EVCacheMetricsFactory.TOUCH_OPERATION, EVCacheMetricsFactory.SET_OPERATION, EVCacheMetricsFactory.ADD_OPERATION,
+            EVCacheMetricsFactory.REPLACE_OPERATION, EVCacheMetricsFactory.AOA_OPERATION_APPEND, EVCacheMetricsFactory.AOA_OPERATION_REAPPEND, EVCacheMetricsFactory.AOA_OPERATION_ADD,
+            EVCacheMetricsFactory.META_GET_OPERATION, EVCacheMetricsFactory.META_SET_OPERATION, EVCacheMetricsFactory.META_DEBUG_OPERATION, Mutator.incr.name(), Mutator.decr.name() };
+    private static final String[] TIMER_HITS = { null, EVCacheMetricsFactory.YES, EVCacheMetricsFactory.NO };
+    private static final int TIMER_STATUSES = StatusCode.values().length + 1;
+    private final EVCacheMeterTable<Timer> timerTable = new EVCacheMeterTable<Timer>(TIMER_OPERATIONS.length * TIMER_STATUSES * TIMER_HITS.length);
+
+    /*
+     * Called on the completion of every operation. The timers of the known operations are held in a table indexed by
+     * operation, status code and hit. The timers tagged with the host of a failed operation are looked up by name.
+     */
     private Timer getTimer(String operation, String operationType, OperationStatus status, String hit, String host, long maxDuration) {
+        final int operationIndex = EVCacheMeterTable.indexOf(TIMER_OPERATIONS, operation);
+        final int hitIndex = EVCacheMeterTable.indexOf(TIMER_HITS, hit);
+        if (host == null && operationIndex >= 0 && hitIndex >= 0) {
+            final int statusIndex = (status == null || status.getStatusCode() == null) ? 0 : status.getStatusCode().ordinal() + 1;
+            final int index = (operationIndex * TIMER_STATUSES + statusIndex) * TIMER_HITS.length + hitIndex;
+            final Timer timer = timerTable.get(index);
+            if (timer != null) return timer;
+            return timerTable.putIfAbsent(index, createTimer(operation, operationType, status, hit, host, maxDuration));
+        }
+
         String name = ((status != null) ? operation + status.getMessage() : operation );
         if(hit != null) name = name + hit;
+        if(host != null) name = name + host;
 
         Timer timer = timerMap.get(name);
         if(timer != null) return timer;
 
+        timer = createTimer(operation, operationType, status, hit, host, maxDuration);
+        timerMap.put(name, timer);
+        return timer;
+    }
+
+    private Timer createTimer(String operation, String operationType, OperationStatus status, String hit, String host, long maxDuration) {
         final List<Tag> tagList = new ArrayList<Tag>(client.getTagList().size() + 4 + (host == null ? 0 : 1));
         tagList.addAll(client.getTagList());
         if(operation != null) tagList.add(new BasicTag(EVCacheMetricsFactory.CALL_TAG, operation));
@@ -446,9 +694,7 @@ public class EVCacheMemcachedClient extends MemcachedClient {
         if(hit != null) tagList.add(new BasicTag(EVCacheMetricsFactory.CACHE_HIT, hit));
         if(host != null) tagList.add(new BasicTag(EVCacheMetricsFactory.FAILED_HOST, host));
 
-        timer = EVCacheMetricsFactory.getInstance().getPercentileTimer(EVCacheMetricsFactory.IPC_CALL, tagList, Duration.ofMillis(maxDuration));
-        timerMap.put(name, timer);
-        return timer;
+        return EVCacheMetricsFactory.getInstance().getPercentileTimer(EVCacheMetricsFactory.IPC_CALL, tagList, Duration.ofMillis(maxDuration));
     }
     
     private String getStatusCode(StatusCode sc) {
@@ -469,6 +715,12 @@ public class EVCacheMemcachedClient extends MemcachedClient {
     }
 
     private <T> OperationFuture<Boolean> asyncStore(final StoreType storeType, final String key, int exp, T value, Transcoder<T> tc, EVCacheLatch evcacheLatch) {
+        final EVCacheOperationFuture<Boolean> rv = createStore(storeType, key, exp, value, tc, evcacheLatch);
+        mconn.enqueueOperation(key, rv.getOperation());
+        return rv;
+    }
+
+    private <T> EVCacheOperationFuture<Boolean> createStore(final StoreType storeType, final String key, int exp, T value, Transcoder<T> tc, EVCacheLatch evcacheLatch) {
         final CachedData co;
         if (value instanceof CachedData) {
             co = (CachedData) value;
@@ -511,7 +763,6 @@ public class EVCacheMemcachedClient extends MemcachedClient {
         });
         rv.setOperation(op);
         if (evcacheLatch != null && evcacheLatch instanceof EVCacheLatchImpl && !client.isInWriteOnly()) ((EVCacheLatchImpl) evcacheLatch).addFuture(rv);
-        mconn.enqueueOperation(key, op);
         return rv;
     }
 
@@ -555,12 +806,7 @@ public class EVCacheMemcachedClient extends MemcachedClient {
         mconn.enqueueOperation(key, op);
         long retVal = def;
         try {
-            if(mutateOperationTimeout == null) {
-                mutateOperationTimeout = EVCacheConfig.getInstance().getPropertyRepository().get(appName + ".mutate.timeout", Long.class).orElse(connectionFactory.getOperationTimeout());
-            }
-
-
-            if (!latch.await(mutateOperationTimeout.get(), TimeUnit.MILLISECONDS)) {
+            if (!latch.await(getMutateOperationTimeout(), TimeUnit.MILLISECONDS)) {
                 if (log.isDebugEnabled()) log.debug("Mutation operation timeout. Will return -1");
                 retVal = -1;
             } else {
@@ -580,6 +826,43 @@ public class EVCacheMemcachedClient extends MemcachedClient {
         return retVal;
     }
 
+    /**
+     * Sends an incr or decr without waiting for it to complete.
+     *
+     * @return the future of the new value of the counter, which is -1 if the mutation failed
+     */
+    public EVCacheOperationFuture<Long> asyncMutate(final Mutator m, String key, long by, long def, int exp) {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final EVCacheOperationFuture<Long> rv = new EVCacheOperationFuture<Long>(key, latch, new AtomicReference<Long>(null), getMutateOperationTimeout(), executorService, client);
+        final Operation op = opFact.mutate(m, key, by, def, exp, new OperationCallback() {
+            @Override
+            public void receivedStatus(OperationStatus status) {
+                rv.set(Long.valueOf(status.isSuccess() ? status.getMessage() : "-1"), status);
+            }
+
+            @Override
+            public void complete() {
+                latch.countDown();
+                final String host = ((rv.getStatus().getStatusCode().equals(StatusCode.TIMEDOUT) && rv.getOperation() != null) ? getHostName(rv.getOperation().getHandlingNode().getSocketAddress()) : null);
+                getTimer(m.name(), EVCacheMetricsFactory.WRITE, rv.getStatus(), null, host, getWriteMetricMaxValue()).record((System.currentTimeMillis() - rv.getStartTime()), TimeUnit.MILLISECONDS);
+                rv.signalComplete();
+            }
+        });
+        rv.setOperation(op);
+        mconn.enqueueOperation(key, op);
+        return rv;
+    }
+
+    /**
+     * @return the time in milliseconds to wait for an incr or decr
+     */
+    public long getMutateOperationTimeout() {
+        if (mutateOperationTimeout == null) {
+            mutateOperationTimeout = EVCacheConfig.getInstance().getPropertyRepository().get(appName + ".mutate.timeout", Long.class).orElse(connectionFactory.getOperationTimeout());
+        }
+        return mutateOperationTimeout.get().longValue();
+    }
+
     public void reconnectNode(EVCacheNode evcNode ) {
         final long upTime = System.currentTimeMillis() - evcNode.getCreateTime();
         if (log.isDebugEnabled()) log.debug("Reconnecting node : " + evcNode + "; UpTime : " + upTime);
@@ -602,6 +885,36 @@ public class EVCacheMemcachedClient extends MemcachedClient {
         return maxReadDuration.get().intValue();
     }
 
+    /*
+     * Enqueues a single key read, which counts as in flight for the server group until its latency is recorded.
+     */
+    private void enqueueRead(String key, Operation op) {
+        final EVCacheLatencyTracker tracker = client.getReadLatencyTracker();
+        tracker.onSend();
+        try {
+            mconn.enqueueOperation(key, op);
+        } catch (RuntimeException e) {
+            // the read was not enqueued so it never completes
+            tracker.onSendFailed();
+            throw e;
+        }
+    }
+
+    /*
+     * Feeds the read latency of the server group and the read limiter of the node that served a single key read. Bulk
+     * reads are left out as their latency depends on the number of keys.
+     */
+    private void recordReadLatency(Operation op, long startNanos, OperationStatus status) {
+        final long rttNanos = System.nanoTime() - startNanos;
+        final boolean timedOut = status != null && status.getStatusCode() == StatusCode.TIMEDOUT;
+        client.getReadLatencyTracker().record(rttNanos);
+        final MemcachedNode node = (op == null) ? null : op.getHandlingNode();
+        if (node instanceof EVCacheNode) {
+            final EVCacheNode evcNode = (EVCacheNode) node;
+            evcNode.getReadLimiter().onSample(rttNanos, evcNode.getReadQueueSize(), timedOut);
+        }
+    }
+
     private String getHostName(SocketAddress sa) {
         if (sa == null) return null;
         if(sa instanceof InetSocketAddress) {
@@ -697,6 +1010,7 @@ public class EVCacheMemcachedClient extends MemcachedClient {
         final CountDownLatch latch = new CountDownLatch(1);
 
         final EVCacheOperationFuture<EVCacheItem<T>> rv = new EVCacheOperationFuture<EVCacheItem<T>>(key, latch, new AtomicReference<EVCacheItem<T>>(null), readTimeout.get().intValue(), executorService, client);
+        final long startNanos = System.nanoTime();
         if(opFact instanceof EVCacheAsciiOperationFactory) {
         final Operation op = ((EVCacheAsciiOperationFactory)opFact).metaGet(key, new MetaGetOperation.Callback() {
 
@@ -796,6 +1110,7 @@ public class EVCacheMemcachedClient extends MemcachedClient {
             }
 
             public void complete() {
+                recordReadLatency(rv.getOperation(), startNanos, rv.getStatus());
                 latch.countDown();
                 final String host = ((rv.getStatus().getStatusCode().equals(StatusCode.TIMEDOUT) && rv.getOperation() != null) ? getHostName(rv.getOperation().getHandlingNode().getSocketAddress()) : null);
                 getTimer(EVCacheMetricsFactory.META_GET_OPERATION, EVCacheMetricsFactory.READ, rv.getStatus(), (evItem.getData() != null ? EVCacheMetricsFactory.YES : EVCacheMetricsFactory.NO), host, getReadMetricMaxValue()).record((System.currentTimeMillis() - rv.getStartTime()), TimeUnit.MILLISECONDS);
@@ -804,7 +1119,7 @@ public class EVCacheMemcachedClient extends MemcachedClient {
 
             });
             rv.setOperation(op);
-            mconn.enqueueOperation(key, op);
+            enqueueRead(key, op);
             if (log.isDebugEnabled()) log.debug("Meta_Get Data : " + rv);
         }
         return rv;
@@ -4,6 +4,7 @@ import java.util.List;
 
 import com.netflix.evcache.EVCache;
 import com.netflix.evcache.pool.EVCacheClient;
+import com.netflix.evcache.pool.EVCacheReadLimiter;
 import com.netflix.evcache.pool.ServerGroup;
 import com.netflix.spectator.api.Tag;
 
@@ -62,4 +63,6 @@ public interface EVCacheNode extends MemcachedNode {
     
     EVCacheClient getEVCacheClient();
 
+    EVCacheReadLimiter getReadLimiter();
+
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import java.lang.management.ManagementFactory;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -18,8 +19,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.netflix.evcache.EVCache;
+import com.netflix.evcache.metrics.EVCacheMetricsFactory;
 import com.netflix.evcache.pool.EVCacheClient;
+import com.netflix.evcache.pool.EVCacheReadLimiter;
 import com.netflix.evcache.pool.ServerGroup;
+import com.netflix.spectator.api.BasicTag;
 import com.netflix.spectator.api.Counter;
 import com.netflix.spectator.api.Tag;
 
@@ -43,6 +47,7 @@ public class EVCacheAsciiNodeImpl extends TCPMemcachedNodeImpl implements EVCach
     private final AtomicInteger numOps = new AtomicInteger(0);
     private long timeoutStartTime;
     protected final Counter operationsCounter;
+    protected final EVCacheReadLimiter readLimiter;
     
   public EVCacheAsciiNodeImpl(SocketAddress sa, SocketChannel c, int bufSize, BlockingQueue<Operation> rq, BlockingQueue<Operation> wq, BlockingQueue<Operation> iq,
           long opQueueMaxBlockTimeMillis, boolean waitForAuth, long dt, long at, ConnectionFactory fa, EVCacheClient client, long stTime) {
@@ -54,6 +59,9 @@ public class EVCacheAsciiNodeImpl extends TCPMemcachedNodeImpl implements EVCach
     this.inputQueue = iq;
     this.hostName = ((InetSocketAddress) getSocketAddress()).getHostName();
     this.operationsCounter = client.getOperationCounter();
+    final List<Tag> limiterTags = new ArrayList<Tag>(client.getTagList());
+    limiterTags.add(new BasicTag(EVCacheMetricsFactory.HOST, hostName));
+    this.readLimiter = new EVCacheReadLimiter(appName, client.getPool().getMaxReadQueueSize(), limiterTags);
     setConnectTime(stTime);
     setupMonitoring(appName);
   }
@@ -163,6 +171,7 @@ public class EVCacheAsciiNodeImpl extends TCPMemcachedNodeImpl implements EVCach
 
   public void shutdown() {
       removeMonitoring();
+      readLimiter.shutdown();
       writeQ.clear();
       readQ.clear();
       inputQueue.clear();
@@ -234,4 +243,9 @@ public class EVCacheAsciiNodeImpl extends TCPMemcachedNodeImpl implements EVCach
 	public EVCacheClient getEVCacheClient() {
 		return client;
 	}
+
+	@Override
+	public EVCacheReadLimiter getReadLimiter() {
+		return readLimiter;
+	}
 }
@@ -5,6 +5,7 @@ import java.lang.management.ManagementFactory;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -17,8 +18,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.netflix.evcache.EVCache;
+import com.netflix.evcache.metrics.EVCacheMetricsFactory;
 import com.netflix.evcache.pool.EVCacheClient;
+import com.netflix.evcache.pool.EVCacheReadLimiter;
 import com.netflix.evcache.pool.ServerGroup;
+import com.netflix.spectator.api.BasicTag;
 import com.netflix.spectator.api.Counter;
 import com.netflix.spectator.api.Tag;
 
@@ -26,6 +30,7 @@ import net.spy.memcached.ConnectionFactory;
 import net.spy.memcached.EVCacheNode;
 import net.spy.memcached.EVCacheNodeMBean;
 import net.spy.memcached.ops.Operation;
+import net.spy.memcached.ops.OperationState;
 //import sun.misc.Cleaner;
 //import sun.nio.ch.DirectBuffer;
 
@@ -34,6 +39,8 @@ import net.spy.memcached.ops.Operation;
         "REC_CATCH_EXCEPTION", "SCII_SPOILED_CHILD_INTERFACE_IMPLEMENTATOR" })
 public class EVCacheNodeImpl extends BinaryMemcachedNodeImpl implements EVCacheNodeMBean, EVCacheNode {
     private static final Logger log = LoggerFactory.getLogger(EVCacheNodeImpl.class);
+    private static final int MAX_QUIET_WRITE_OPTIMIZATION_COUNT = 65535;
+    private static final int MAX_QUIET_WRITE_OPTIMIZATION_BYTES = 2 * 1024 * 1024;
 
     protected long stTime;
     protected final String hostName;
@@ -44,6 +51,7 @@ public class EVCacheNodeImpl extends BinaryMemcachedNodeImpl implements EVCacheN
     private final AtomicInteger numOps = new AtomicInteger(0);
     private long timeoutStartTime;
     protected final Counter operationsCounter;
+    protected final EVCacheReadLimiter readLimiter;
 
     public EVCacheNodeImpl(SocketAddress sa, SocketChannel c, int bufSize, BlockingQueue<Operation> rq, BlockingQueue<Operation> wq, BlockingQueue<Operation> iq,
             long opQueueMaxBlockTimeMillis, boolean waitForAuth, long dt, long at, ConnectionFactory fa, EVCacheClient client, long stTime) {
@@ -60,6 +68,9 @@ public class EVCacheNodeImpl extends BinaryMemcachedNodeImpl implements EVCacheN
 //        tagsCounter.add(new BasicTag(EVCacheMetricsFactory.ZONE, client.getZone()));
         //tagsCounter.add(new BasicTag(EVCacheMetricsFactory.HOST, hostName)); //TODO : enable this and see what is the impact
         this.operationsCounter = client.getOperationCounter();
+        final List<Tag> limiterTags = new ArrayList<Tag>(client.getTagList());
+        limiterTags.add(new BasicTag(EVCacheMetricsFactory.HOST, hostName));
+        this.readLimiter = new EVCacheReadLimiter(appName, client.getPool().getMaxReadQueueSize(), limiterTags);
 
         setConnectTime(stTime);
         setupMonitoring(appName);
@@ -85,6 +96,37 @@ public class EVCacheNodeImpl extends BinaryMemcachedNodeImpl implements EVCacheN
         }
     }
 
+    /**
+     * Merges the quiet writes at the head of the write queue into one operation, so they are sent behind a single
+     * barrier. Other operations are optimized as before.
+     */
+    @Override
+    protected void optimize() {
+        if (!(writeQ.peek() instanceof QuietWriteOperationImpl)) {
+            super.optimize();
+            return;
+        }
+
+        final QuietWriteOperationImpl qw = (QuietWriteOperationImpl) writeQ.remove();
+        optimizedOp = qw;
+        if (qw.isCancelled()) return;
+
+        boolean merged = false;
+        while (writeQ.peek() instanceof QuietWriteOperationImpl && qw.size() < MAX_QUIET_WRITE_OPTIMIZATION_COUNT
+                && qw.bytes() < MAX_QUIET_WRITE_OPTIMIZATION_BYTES) {
+            final QuietWriteOperationImpl o = (QuietWriteOperationImpl) writeQ.remove();
+            if (!o.isCancelled()) {
+                qw.addOperation(o);
+                merged = true;
+            }
+        }
+        if (merged) {
+            qw.initialize();
+            assert qw.getState() == OperationState.WRITE_QUEUED;
+            if (log.isDebugEnabled()) log.debug("Merged " + qw.size() + " quiet writes of " + qw.bytes() + " bytes on " + hostName);
+        }
+    }
+
     /* (non-Javadoc)
      * @see net.spy.memcached.protocol.binary.EVCacheNode1#registerMonitors()
      */
@@ -194,6 +236,7 @@ public class EVCacheNodeImpl extends BinaryMemcachedNodeImpl implements EVCacheN
     @Override
     public void shutdown() {
         removeMonitoring();
+        readLimiter.shutdown();
         writeQ.clear();
         readQ.clear();
         inputQueue.clear();
@@ -330,4 +373,9 @@ public class EVCacheNodeImpl extends BinaryMemcachedNodeImpl implements EVCacheN
 	public EVCacheClient getEVCacheClient() {
 		return client;
 	}
+
+	@Override
+	public EVCacheReadLimiter getReadLimiter() {
+		return readLimiter;
+	}
 }
@@ -0,0 +1,174 @@
+package net.spy.memcached.protocol.binary;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.spy.memcached.KeyUtil;
+import net.spy.memcached.ops.OperationCallback;
+import net.spy.memcached.ops.OperationState;
+import net.spy.memcached.ops.OperationStatus;
+import net.spy.memcached.ops.StatusCode;
+
+/**
+ * A fire-and-forget write sent as a quiet binary command (SETQ or DELETEQ) followed by a NOOP. The server only
+ * responds to a quiet command when it fails, so the NOOP acts as the barrier that completes the operation.
+ *
+ * Consecutive quiet writes in the write queue of a node are merged by {@link EVCacheNodeImpl} into the first one, so
+ * many writes share one NOOP. Failures are reported to the callback of the write that failed, while only the callback
+ * of the first write is completed, when the barrier is received or the operation is cancelled or timed out.
+ */
+public class QuietWriteOperationImpl extends OperationImpl {
+    private static final Logger log = LoggerFactory.getLogger(QuietWriteOperationImpl.class);
+
+    private static final byte SETQ = 0x11;
+    private static final byte DELETEQ = 0x14;
+    private static final byte NOOP = 0x0a;
+    private static final int HEADER_LENGTH = MIN_RECV_PACKET;
+    private static final int SET_EXTRAS_LENGTH = 8;
+
+    private final byte cmd;
+    private final String key;
+    private final byte[] keyBytes;
+    private final int flags;
+    private final int exp;
+    private final byte[] data;
+    private final int barrierOpaque;
+    private List<QuietWriteOperationImpl> ops = null;
+    private int byteCount;
+
+    private QuietWriteOperationImpl(byte cmd, String key, int flags, int exp, byte[] data, OperationCallback cb) {
+        super(DUMMY_OPCODE, generateOpaque(), cb);
+        this.cmd = cmd;
+        this.key = key;
+        this.keyBytes = KeyUtil.getKeyBytes(key);
+        this.flags = flags;
+        this.exp = exp;
+        this.data = data;
+        this.barrierOpaque = generateOpaque();
+        this.byteCount = frameLength();
+    }
+
+    public static QuietWriteOperationImpl set(String key, int flags, int exp, byte[] data, OperationCallback cb) {
+        return new QuietWriteOperationImpl(SETQ, key, flags, exp, data, cb);
+    }
+
+    public static QuietWriteOperationImpl delete(String key, OperationCallback cb) {
+        return new QuietWriteOperationImpl(DELETEQ, key, 0, 0, EMPTY_BYTES, cb);
+    }
+
+    /**
+     * Merges the given write into this one, so it is sent before the barrier of this operation.
+     */
+    public void addOperation(QuietWriteOperationImpl op) {
+        if (ops == null) ops = new ArrayList<QuietWriteOperationImpl>();
+        ops.add(op);
+        byteCount += op.frameLength();
+    }
+
+    /**
+     * @return the number of writes in this operation
+     */
+    public int size() {
+        return (ops == null) ? 1 : ops.size() + 1;
+    }
+
+    /**
+     * @return the number of bytes of the writes in this operation, without the barrier
+     */
+    public int bytes() {
+        return byteCount;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    private int extrasLength() {
+        return (cmd == SETQ) ? SET_EXTRAS_LENGTH : 0;
+    }
+
+    private int frameLength() {
+        return HEADER_LENGTH + extrasLength() + keyBytes.length + data.length;
+    }
+
+    private void writeFrame(ByteBuffer bb) {
+        final int extrasLength = extrasLength();
+        bb.put(REQ_MAGIC);
+        bb.put(cmd);
+        bb.putShort((short) keyBytes.length);
+        bb.put((byte) extrasLength);
+        bb.put((byte) 0); // data type
+        bb.putShort(vbucket);
+        bb.putInt(extrasLength + keyBytes.length + data.length);
+        bb.putInt(opaque);
+        bb.putLong(0); // cas
+        if (cmd == SETQ) {
+            bb.putInt(flags);
+            bb.putInt(exp);
+        }
+        bb.put(keyBytes);
+        bb.put(data);
+    }
+
+    @Override
+    public void initialize() {
+        final ByteBuffer bb = ByteBuffer.allocate(byteCount + HEADER_LENGTH);
+        writeFrame(bb);
+        if (ops != null) {
+            for (QuietWriteOperationImpl op : ops) {
+                op.writeFrame(bb);
+            }
+        }
+        bb.put(REQ_MAGIC);
+        bb.put(NOOP);
+        bb.putShort((short) 0);
+        bb.put((byte) 0);
+        bb.put((byte) 0);
+        bb.putShort((short) 0);
+        bb.putInt(0);
+        bb.putInt(barrierOpaque);
+        bb.putLong(0);
+        bb.flip();
+        setBuffer(bb);
+    }
+
+    @Override
+    protected boolean opaqueIsValid() {
+        return responseOpaque == barrierOpaque || getOperation(responseOpaque) != null;
+    }
+
+    private QuietWriteOperationImpl getOperation(int responseOpaque) {
+        if (responseOpaque == opaque) return this;
+        if (ops == null) return null;
+        for (QuietWriteOperationImpl op : ops) {
+            if (op.opaque == responseOpaque) return op;
+        }
+        return null;
+    }
+
+    @Override
+    protected void finishedPayload(byte[] pl) throws IOException {
+        if (responseOpaque == barrierOpaque) {
+            transitionState(OperationState.COMPLETE);
+        } else {
+            final QuietWriteOperationImpl op = getOperation(responseOpaque);
+            OperationStatus status = getStatusForErrorCode(errorCode, pl);
+            if (status == null) {
+                status = new OperationStatus(false, new String(pl), StatusCode.fromBinaryCode(errorCode));
+            }
+            if (log.isDebugEnabled()) log.debug("Quiet write of Key : " + op.key + " failed; Status : " + status.getStatusCode().name() + "; Message : " + status.getMessage());
+            op.getCallback().receivedStatus(status);
+        }
+        resetInput();
+    }
+
+    @Override
+    public String toString() {
+        return "Cmd: " + cmd + " Key: " + key + " Opaque: " + opaque + " Barrier Opaque: " + barrierOpaque + " Writes: " + size();
+    }
+}
@@ -0,0 +1,172 @@
+package com.netflix.evcache.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.netflix.evcache.EVCache;
+import com.netflix.evcache.EVCacheLatch;
+import com.netflix.evcache.EVCacheLatch.Policy;
+import com.netflix.evcache.operation.EVCacheBulkGetFuture;
+import com.netflix.evcache.pool.EVCacheClient;
+import com.netflix.evcache.pool.EVCacheClientPoolManager;
+
+/**
+ * Bulk reads that miss some of their keys in the server group read and find them in the other ones.
+ */
+public class EVCacheBulkFallbackTest extends EmbeddedServerBase {
+
+    private static final String APP_NAME = "EVCACHE_BULK";
+    private static final String PREFIX = "blk";
+    private static final int SERVER_GROUPS = 3;
+    private static final int BULK_READ_TIMEOUT = 400;
+    private static final int KEYS = 6;
+    private static final int READS = 12;
+
+    private EVCache evCache;
+
+    @BeforeClass
+    public void setup() throws Exception {
+        final Properties props = new Properties();
+        props.setProperty(APP_NAME + ".EVCacheClientPool.bulkReadTimeout", String.valueOf(BULK_READ_TIMEOUT));
+        props.setProperty(APP_NAME + ".retry.all.copies", "true");
+        evCache = start(APP_NAME, PREFIX, SERVER_GROUPS, props);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void reset() throws Exception {
+        clearProperty(APP_NAME + ".bulk.split.fallback");
+        for (EmbeddedMemcachedServer server : servers) {
+            server.setResponseDelay(0);
+        }
+    }
+
+    @DataProvider(name = "split")
+    public Object[][] split() {
+        return new Object[][] { { Boolean.FALSE }, { Boolean.TRUE } };
+    }
+
+    private List<String> setKeys(String name) throws Exception {
+        final List<String> keys = new ArrayList<String>(KEYS);
+        for (int i = 0; i < KEYS; i++) {
+            final String key = name + "_" + i;
+            final EVCacheLatch latch = evCache.set(key, "value_" + i, TTL, Policy.ALL);
+            assertTrue(latch.await(2, TimeUnit.SECONDS));
+            assertEquals(latch.getSuccessCount(), SERVER_GROUPS);
+            keys.add(key);
+        }
+        return keys;
+    }
+
+    private long getReadCount() {
+        long reads = 0;
+        for (EmbeddedMemcachedServer server : servers) {
+            reads += server.getReadCount();
+        }
+        return reads;
+    }
+
+    @Test(dataProvider = "split")
+    public void testMissingKeysAreReadFromTheFallbackServerGroups(Boolean split) throws Exception {
+        setProperty(APP_NAME + ".bulk.split.fallback", split);
+        final List<String> keys = setKeys("missing_" + split);
+        // one key is only in the first server group and another one only in the last
+        assertTrue(servers.get(1).remove(PREFIX + ":" + keys.get(1)));
+        assertTrue(servers.get(2).remove(PREFIX + ":" + keys.get(1)));
+        assertTrue(servers.get(0).remove(PREFIX + ":" + keys.get(4)));
+        assertTrue(servers.get(1).remove(PREFIX + ":" + keys.get(4)));
+
+        for (int i = 0; i < READS; i++) {
+            final Map<String, String> values = evCache.<String>getBulk(keys);
+            for (int j = 0; j < KEYS; j++) {
+                assertEquals(values.get(keys.get(j)), "value_" + j, keys.get(j));
+            }
+        }
+    }
+
+    @Test(dataProvider = "split")
+    public void testFallbackServerGroupsAreReadInParallel(Boolean split) throws Exception {
+        setProperty(APP_NAME + ".bulk.split.fallback", split);
+        final List<String> keys = setKeys("parallel_" + split).subList(0, 2);
+        // the key is missing from all the server groups so every fallback server group is read and waited for
+        for (EmbeddedMemcachedServer server : servers) {
+            assertTrue(server.remove(PREFIX + ":" + keys.get(1)));
+        }
+        // each key read, and the NOOP ending a bulk read, is delayed: the bulk read takes 3 delays and each fallback
+        // read 2, so reading the 2 fallback server groups one after another would take 7 delays and in parallel 5
+        final long delay = BULK_READ_TIMEOUT / 8;
+        for (EmbeddedMemcachedServer server : servers) {
+            server.setResponseDelay(delay);
+        }
+
+        for (int i = 0; i < SERVER_GROUPS; i++) {
+            final long reads = getReadCount();
+            final long start = System.currentTimeMillis();
+            final Map<String, String> values = evCache.<String>getBulk(keys);
+            final long duration = System.currentTimeMillis() - start;
+            assertEquals(values.get(keys.get(0)), "value_0");
+            assertNull(values.get(keys.get(1)));
+            assertEquals(getReadCount() - reads, SERVER_GROUPS);
+            assertTrue(duration < 6 * delay, "bulk read took " + duration + " msec");
+        }
+    }
+
+    @Test(dataProvider = "split")
+    public void testFallbackIsBoundedByTheBulkReadTimeout(Boolean split) throws Exception {
+        setProperty(APP_NAME + ".bulk.split.fallback", split);
+        final List<String> keys = setKeys("bounded_" + split);
+        for (int i = 1; i < KEYS; i++) {
+            assertTrue(servers.get(0).remove(PREFIX + ":" + keys.get(i)));
+        }
+        // each key read, and the NOOP ending a bulk read, is delayed so that a bulk read takes most of the bulk read
+        // timeout and the fallback read of the keys missing from the first server group would take it over
+        final long delay = BULK_READ_TIMEOUT * 3 / 4 / (KEYS + 1);
+        for (EmbeddedMemcachedServer server : servers) {
+            server.setResponseDelay(delay);
+        }
+
+        for (int i = 0; i < SERVER_GROUPS; i++) {
+            final long start = System.currentTimeMillis();
+            final Map<String, String> values = evCache.<String>getBulk(keys);
+            final long duration = System.currentTimeMillis() - start;
+            assertTrue(duration < BULK_READ_TIMEOUT + 2 * delay, "bulk read took " + duration + " msec");
+            assertEquals(values.get(keys.get(0)), "value_0");
+        }
+        for (EmbeddedMemcachedServer server : servers) {
+            server.setResponseDelay(0);
+        }
+        // the reads that timed out are still answered, wait for them so the next test is not held up
+        Thread.sleep(BULK_READ_TIMEOUT);
+    }
+
+    @Test
+    public void testNodesAreTrackedOnlyForTheSplitRead() throws Exception {
+        final List<String> keys = setKeys("tracked");
+        final List<String> canonicalKeys = new ArrayList<String>(KEYS);
+        for (String key : keys) canonicalKeys.add(PREFIX + ":" + key);
+        final EVCacheClient client = EVCacheClientPoolManager.getInstance().getEVCacheClientPool(APP_NAME).getEVCacheClientForRead();
+
+        final EVCacheBulkGetFuture<Object> untracked = client.getEVCacheMemcachedClient().asyncGetBulk(canonicalKeys, client.getTranscoder(), null);
+        assertEquals(untracked.getNodeCount(), 0);
+        assertNull(untracked.getRequestedKeys());
+        assertEquals(untracked.getSome(1, TimeUnit.SECONDS, false, false).size(), KEYS);
+
+        final EVCacheBulkGetFuture<Object> tracked = client.asyncGetBulk(canonicalKeys, null);
+        assertEquals(tracked.getNodeCount(), 1);
+        assertEquals(tracked.getRequestedKeys(), new HashSet<String>(canonicalKeys));
+        assertEquals(new HashSet<String>(tracked.pollCompletedNode(1, TimeUnit.SECONDS)), new HashSet<String>(canonicalKeys));
+        assertEquals(tracked.getCompleted().keySet(), new HashSet<String>(canonicalKeys));
+    }
+}
@@ -0,0 +1,152 @@
+package com.netflix.evcache.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.netflix.evcache.EVCache;
+import com.netflix.evcache.EVCacheBulkLatch;
+import com.netflix.evcache.EVCacheLatch.Policy;
+import com.netflix.evcache.event.EVCacheEvent;
+import com.netflix.evcache.event.EVCacheEventListener;
+import com.netflix.evcache.pool.EVCacheClientPoolManager;
+
+import net.spy.memcached.CachedData;
+import net.spy.memcached.transcoders.SerializingTranscoder;
+
+/**
+ * The keys of a bulk write are written to all the copies with one latch, which reports the result of each key. The
+ * keys of a write that could not be sent are all reported as failed.
+ */
+public class EVCacheBulkWriteTest extends EmbeddedServerBase {
+
+    private static final String APP_NAME = "EVCACHE_BULK_WRITE";
+    private static final String PREFIX = "bw";
+    private static final int SERVER_GROUPS = 2;
+    private static final int KEYS = 50;
+
+    private EVCache evCache;
+
+    @BeforeClass
+    public void setup() throws Exception {
+        evCache = start(APP_NAME, PREFIX, SERVER_GROUPS, new Properties());
+    }
+
+    private static Map<String, String> values(String name) {
+        final Map<String, String> values = new HashMap<String, String>();
+        for (int i = 0; i < KEYS; i++) {
+            values.put(name + "_" + i, "value_" + i);
+        }
+        return values;
+    }
+
+    @Test
+    public void testSetBulk() throws Exception {
+        final Map<String, String> values = values("set");
+        final EVCacheBulkLatch latch = evCache.setBulk(values, TTL, Policy.ALL);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(latch.getFailedKeys().isEmpty());
+        assertEquals(latch.getSuccessCount(), KEYS * SERVER_GROUPS);
+        for (String key : values.keySet()) {
+            assertEquals(latch.getFutures(key).size(), SERVER_GROUPS, key);
+            assertEquals(latch.getSuccessCount(key), SERVER_GROUPS, key);
+            assertEquals(copies(PREFIX + ":" + key), SERVER_GROUPS, key);
+        }
+        assertEquals(evCache.<String> getBulk(values.keySet()), values);
+    }
+
+    @Test
+    public void testDeleteBulk() throws Exception {
+        final Map<String, String> values = values("delete");
+        assertTrue(evCache.setBulk(values, TTL, Policy.ALL).await(5, TimeUnit.SECONDS));
+
+        final EVCacheBulkLatch latch = evCache.deleteBulk(values.keySet(), Policy.ALL);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(latch.getFailedKeys().isEmpty());
+        for (String key : values.keySet()) {
+            assertEquals(copies(PREFIX + ":" + key), 0, key);
+        }
+    }
+
+    @Test
+    public void testTouchBulkReportsTheMissingKeys() throws Exception {
+        assertTrue(evCache.set("touched", "value", TTL, Policy.ALL).await(5, TimeUnit.SECONDS));
+
+        final EVCacheBulkLatch latch = evCache.touchBulk(Arrays.asList("touched", "missing"), TTL, Policy.ALL);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(latch.getSuccessCount("touched"), SERVER_GROUPS);
+        assertEquals(latch.getSuccessCount("missing"), 0);
+        assertEquals(latch.getFailedKeys(), Collections.singleton("missing"));
+        assertEquals(latch.getFailureCount(), SERVER_GROUPS);
+    }
+
+    @Test
+    public void testKeyNotInTheLatch() throws Exception {
+        final EVCacheBulkLatch latch = evCache.setBulk(Collections.singletonMap("single", "value"), TTL, Policy.ONE);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(latch.getFutures("other").isEmpty());
+        assertEquals(latch.getSuccessCount("other"), 0);
+    }
+
+    @Test
+    public void testThrottledWriteFailsEveryKey() throws Exception {
+        final Map<String, String> values = values("throttled");
+        final EVCacheEventListener listener = new EVCacheEventListener() {
+            @Override
+            public void onStart(EVCacheEvent e) {
+            }
+
+            @Override
+            public void onComplete(EVCacheEvent e) {
+            }
+
+            @Override
+            public void onError(EVCacheEvent e, Throwable t) {
+            }
+
+            @Override
+            public boolean onThrottle(EVCacheEvent e) {
+                return APP_NAME.equals(e.getAppName()) && e.getCall() == EVCache.Call.SET_BULK;
+            }
+        };
+        EVCacheClientPoolManager.getInstance().addEVCacheEventListener(listener);
+        try {
+            final EVCacheBulkLatch latch = evCache.setBulk(values, TTL, Policy.ALL);
+            assertTrue(latch.isDone());
+            assertTrue(latch.isFastFailure());
+            assertEquals(latch.getFailedKeys(), values.keySet());
+        } finally {
+            EVCacheClientPoolManager.getInstance().removeEVCacheEventListener(listener);
+        }
+    }
+
+    @Test
+    public void testWriteThatFailsToEncodeFailsEveryKey() throws Exception {
+        final Map<String, Object> values = new HashMap<String, Object>(values("unencodable"));
+        final SerializingTranscoder failing = new SerializingTranscoder() {
+            @Override
+            public CachedData encode(Object o) {
+                throw new IllegalStateException("can not encode " + o);
+            }
+        };
+        // no client enqueued its writes, every copy is reported as failed
+        final EVCacheBulkLatch latch = evCache.setBulk(values, failing, TTL, Policy.ALL);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(latch.getFailedKeys(), values.keySet());
+        assertEquals(latch.getFailureCount(), KEYS * SERVER_GROUPS);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testNullValueIsRejected() throws Exception {
+        evCache.setBulk(Collections.<String, String> singletonMap("null_value", null), TTL, Policy.ALL);
+    }
+}
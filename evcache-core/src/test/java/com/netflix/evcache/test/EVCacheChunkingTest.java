@@ -0,0 +1,289 @@
+package com.netflix.evcache.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.netflix.evcache.EVCache;
+import com.netflix.evcache.EVCacheLatch;
+import com.netflix.evcache.EVCacheLatch.Policy;
+import com.netflix.evcache.pool.EVCacheClient;
+import com.netflix.evcache.pool.EVCacheClientPoolManager;
+
+import net.spy.memcached.MemcachedNode;
+import net.spy.memcached.transcoders.SerializingTranscoder;
+
+import rx.schedulers.Schedulers;
+
+/**
+ * Chunked values written to and read from {@link EmbeddedMemcachedServer}s.
+ */
+public class EVCacheChunkingTest extends EmbeddedServerBase {
+
+    private static final String APP_NAME = "EVCACHE_CHUNK";
+    private static final String PREFIX = "chk";
+    private static final int SERVER_GROUPS = 2;
+    private static final int CHUNK_SIZE = 1024;
+    private static final int CHUNK_METADATA_SIZE = 25;
+    private static final int READ_TIMEOUT = 400;
+
+    private final Random random = new Random(42);
+    private EVCache evCache;
+
+    @BeforeClass
+    public void setup() throws Exception {
+        final Properties props = new Properties();
+        props.setProperty(APP_NAME + ".chunk.data", "true");
+        props.setProperty(APP_NAME + ".chunk.size", String.valueOf(CHUNK_SIZE));
+        props.setProperty(APP_NAME + ".chunk.fallback", "false");
+        props.setProperty(APP_NAME + ".EVCacheClientPool.readTimeout", String.valueOf(READ_TIMEOUT));
+        evCache = start(APP_NAME, PREFIX, SERVER_GROUPS, props);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void resetProperties() {
+        clearProperty(APP_NAME + ".chunk.metadata.binary");
+        clearProperty(APP_NAME + ".chunk.prefetch.count");
+        setProperty(APP_NAME + ".chunk.fallback", false);
+        for (EmbeddedMemcachedServer server : servers) {
+            server.setResponseDelay(0);
+        }
+    }
+
+    private long getReadCount() {
+        long reads = 0;
+        for (EmbeddedMemcachedServer server : servers) {
+            reads += server.getReadCount();
+        }
+        return reads;
+    }
+
+    private byte[] value(int size) {
+        final byte[] value = new byte[size];
+        random.nextBytes(value);
+        return value;
+    }
+
+    private void set(String key, byte[] value) throws Exception {
+        final EVCacheLatch latch = evCache.set(key, value, TTL, Policy.ALL);
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertEquals(latch.getSuccessCount(), SERVER_GROUPS);
+    }
+
+    private static String chunkKey(String key, int index) {
+        return PREFIX + ":" + key + (index < 10 ? "_0" : "_") + index;
+    }
+
+    private EVCacheClient client(int server) {
+        for (EVCacheClient client : EVCacheClientPoolManager.getInstance().getEVCacheClientPool(APP_NAME).getEVCacheClientForWrite()) {
+            for (MemcachedNode node : client.getNodeLocator().getAll()) {
+                if (((InetSocketAddress) node.getSocketAddress()).getPort() == servers.get(server).getPort()) return client;
+            }
+        }
+        return null;
+    }
+
+    @DataProvider(name = "metadata")
+    public Object[][] metadata() {
+        return new Object[][] { { Boolean.FALSE }, { Boolean.TRUE } };
+    }
+
+    @Test(dataProvider = "metadata")
+    public void testRoundTrip(Boolean binaryMetadata) throws Exception {
+        setProperty(APP_NAME + ".chunk.metadata.binary", binaryMetadata);
+        // a value that fills its last chunk, one that does not and one spanning many chunks
+        for (int size : new int[] { 3 * (CHUNK_SIZE - 100), 5000, 40000 }) {
+            final String key = "round_trip_" + binaryMetadata + "_" + size;
+            final byte[] value = value(size);
+            set(key, value);
+
+            final byte[] metadata = servers.get(0).getData(chunkKey(key, 0));
+            assertNotNull(metadata, key);
+            // older clients only read the metadata as chunks:size:last chunk:flags:checksum
+            assertEquals(new String(metadata, StandardCharsets.US_ASCII).matches("\\d+:\\d+:\\d+:\\d+:\\d+"), !binaryMetadata, key);
+            if (binaryMetadata) assertEquals(metadata.length, CHUNK_METADATA_SIZE, key);
+            assertNotNull(servers.get(0).getData(chunkKey(key, 1)), key);
+
+            assertEquals(evCache.<byte[]>get(key), value, key);
+            assertEquals(evCache.<byte[]>get(key, Schedulers.computation()).toBlocking().value(), value, key);
+            assertEquals(evCache.<byte[]>getBulk(Arrays.asList(key)).get(key), value, key);
+        }
+    }
+
+    @Test
+    public void testBothMetadataFormatsAreRead() throws Exception {
+        final byte[] value = value(5000);
+        setProperty(APP_NAME + ".chunk.metadata.binary", true);
+        set("binary_metadata", value);
+        setProperty(APP_NAME + ".chunk.metadata.binary", false);
+        set("string_metadata", value);
+
+        // the format read does not depend on the format written
+        assertEquals(evCache.<byte[]>get("binary_metadata"), value);
+        setProperty(APP_NAME + ".chunk.metadata.binary", true);
+        assertEquals(evCache.<byte[]>get("string_metadata"), value);
+    }
+
+    @Test
+    public void testMissingChunkIsAMissOfItsKeyOnly() throws Exception {
+        final Map<String, byte[]> values = new HashMap<String, byte[]>();
+        for (int i = 0; i < 3; i++) {
+            values.put("bulk_" + i, value(5000));
+            set("bulk_" + i, values.get("bulk_" + i));
+        }
+        for (EmbeddedMemcachedServer server : servers) {
+            assertTrue(server.remove(chunkKey("bulk_1", 2)));
+        }
+
+        assertNull(evCache.get("bulk_1"));
+        final Map<String, byte[]> read = evCache.<byte[]>getBulk(values.keySet());
+        assertEquals(read.get("bulk_0"), values.get("bulk_0"));
+        assertFalse(read.get("bulk_1") != null, "a value with a missing chunk is a miss");
+        assertEquals(read.get("bulk_2"), values.get("bulk_2"));
+    }
+
+    @Test
+    public void testCorruptChunkIsAMiss() throws Exception {
+        set("corrupt", value(5000));
+        for (EmbeddedMemcachedServer server : servers) {
+            // the server returns the array it holds, flip a bit of it
+            server.getData(chunkKey("corrupt", 2))[10] ^= 1;
+        }
+        assertNull(evCache.get("corrupt"));
+        assertNull(evCache.get("corrupt", Schedulers.computation()).toBlocking().value());
+    }
+
+    @Test
+    public void testPrefetchReadsTheChunksWithTheMetadata() throws Exception {
+        final byte[] value = value(5000);
+        set("prefetch", value);
+
+        // without prefetch the metadata and then the chunks are read
+        long reads = getReadCount();
+        assertEquals(evCache.<byte[]>get("prefetch"), value);
+        assertEquals(getReadCount() - reads, 2);
+
+        // the value fits in the prefetched chunks so it is read in one round trip
+        setProperty(APP_NAME + ".chunk.prefetch.count", 8);
+        reads = getReadCount();
+        assertEquals(evCache.<byte[]>get("prefetch"), value);
+        assertEquals(evCache.<byte[]>get("prefetch", Schedulers.computation()).toBlocking().value(), value);
+        assertEquals(getReadCount() - reads, 2);
+
+        // only the chunks that were not prefetched are read next
+        setProperty(APP_NAME + ".chunk.prefetch.count", 2);
+        reads = getReadCount();
+        assertEquals(evCache.<byte[]>get("prefetch"), value);
+        assertEquals(getReadCount() - reads, 2);
+    }
+
+    @Test
+    public void testFallbackRecoversAMissingChunk() throws Exception {
+        setProperty(APP_NAME + ".chunk.fallback", true);
+        final byte[] value = value(5000);
+        set("fallback_missing", value);
+        assertTrue(servers.get(0).remove(chunkKey("fallback_missing", 2)));
+
+        // whichever server group is read the value is returned
+        for (int i = 0; i < 6; i++) {
+            assertEquals(evCache.<byte[]>get("fallback_missing"), value);
+        }
+
+        // the value is a miss once no server group has the chunk
+        assertTrue(servers.get(1).remove(chunkKey("fallback_missing", 2)));
+        assertNull(evCache.get("fallback_missing"));
+    }
+
+    @Test
+    public void testFallbackRecoversACorruptChunk() throws Exception {
+        setProperty(APP_NAME + ".chunk.fallback", true);
+        setProperty(APP_NAME + ".chunk.prefetch.count", 2);
+        final byte[] value = value(5000);
+        set("fallback_corrupt", value);
+        servers.get(0).getData(chunkKey("fallback_corrupt", 3))[10] ^= 1;
+
+        for (int i = 0; i < 6; i++) {
+            assertEquals(evCache.<byte[]>get("fallback_corrupt"), value);
+        }
+    }
+
+    @Test
+    public void testFallbackRecoversAMissingChunkOfEveryRead() throws Exception {
+        setProperty(APP_NAME + ".chunk.fallback", true);
+        final byte[] value = value(5000);
+        set("fallback_every", value);
+        assertTrue(servers.get(0).remove(chunkKey("fallback_every", 2)));
+
+        // the server group missing the chunk is read directly so only the fallback of the client can recover it
+        final EVCacheClient client = client(0);
+        assertNotNull(client);
+        final String key = PREFIX + ":fallback_every";
+        final SerializingTranscoder tc = new SerializingTranscoder();
+        assertEquals(client.get(key, tc, false, false), value);
+        assertEquals(client.get(key, tc, false, false, Schedulers.computation()).toBlocking().value(), value);
+        assertEquals(client.getBulk(Arrays.asList(key), tc, false, false).get(key), value);
+        assertEquals(client.getBulk(Arrays.asList(key), tc, false, false, Schedulers.computation()).toBlocking().value().get(key), value);
+    }
+
+    @Test
+    public void testObservedFallbackIsBoundedByTheReadTimeout() throws Exception {
+        setProperty(APP_NAME + ".chunk.fallback", true);
+        final byte[] value = value(5000);
+        set("fallback_observed", value);
+        assertTrue(servers.get(0).remove(chunkKey("fallback_observed", 2)));
+
+        // the fallback server group does not answer within the read timeout, its read times out on the scheduler
+        // instead of holding the thread that completed the read of the first server group
+        final EVCacheClient client = client(0);
+        assertNotNull(client);
+        servers.get(1).setResponseDelay(READ_TIMEOUT * 2);
+        final long start = System.currentTimeMillis();
+        assertNull(client.get(PREFIX + ":fallback_observed", new SerializingTranscoder(), false, false, Schedulers.computation()).toBlocking().value());
+        final long duration = System.currentTimeMillis() - start;
+        assertTrue(duration < READ_TIMEOUT * 2, "read took " + duration + " msec");
+
+        servers.get(1).setResponseDelay(0);
+        Thread.sleep(READ_TIMEOUT * 2);
+        assertEquals(client.get(PREFIX + ":fallback_observed", new SerializingTranscoder(), false, false, Schedulers.computation()).toBlocking().value(), value);
+    }
+
+    @Test
+    public void testReadIsBoundedByTheReadTimeout() throws Exception {
+        final byte[] value = value(5000);
+        set("bounded", value);
+        final EVCacheClient client = EVCacheClientPoolManager.getInstance().getEVCacheClientPool(APP_NAME).getEVCacheClientForRead();
+
+        // each key read is delayed, the metadata (2 keys) is read within the read timeout but the 5 chunks read next
+        // would take it over
+        final long delay = READ_TIMEOUT / 6;
+        for (EmbeddedMemcachedServer server : servers) {
+            server.setResponseDelay(delay);
+        }
+        final long start = System.currentTimeMillis();
+        assertNull(client.get(PREFIX + ":bounded", new SerializingTranscoder(), false, false));
+        final long duration = System.currentTimeMillis() - start;
+        assertTrue(duration < READ_TIMEOUT + delay * 2, "read took " + duration + " msec");
+
+        for (EmbeddedMemcachedServer server : servers) {
+            server.setResponseDelay(0);
+        }
+        // the reads that timed out are still answered, wait for them so the next test is not held up
+        Thread.sleep(READ_TIMEOUT);
+    }
+}
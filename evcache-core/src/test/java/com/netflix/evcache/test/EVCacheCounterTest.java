@@ -0,0 +1,139 @@
+package com.netflix.evcache.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.netflix.evcache.EVCache;
+import com.netflix.evcache.EVCacheLatch.Policy;
+import com.netflix.evcache.pool.EVCacheClient;
+import com.netflix.evcache.pool.EVCacheClientPoolManager;
+
+import net.spy.memcached.MemcachedNode;
+
+/**
+ * Counters are mutated on all the copies in parallel and the copies that are behind are repaired once all of them
+ * have answered.
+ */
+public class EVCacheCounterTest extends EmbeddedServerBase {
+
+    private static final String APP_NAME = "EVCACHE_COUNTER";
+    private static final String PREFIX = "ctr";
+    private static final int MUTATE_TIMEOUT = 300;
+
+    private EVCache evCache;
+
+    @BeforeClass
+    public void setup() throws Exception {
+        final Properties props = new Properties();
+        props.setProperty(APP_NAME + ".mutate.timeout", String.valueOf(MUTATE_TIMEOUT));
+        evCache = start(APP_NAME, PREFIX, 2, props);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void resetDelay() {
+        for (EmbeddedMemcachedServer server : servers) {
+            server.setResponseDelay(0);
+        }
+    }
+
+    private String value(int server, String key) {
+        final byte[] data = servers.get(server).getData(PREFIX + ":" + key);
+        return (data == null) ? null : new String(data, StandardCharsets.US_ASCII);
+    }
+
+    /*
+     * The copies are repaired in the background, wait for the given copy to hold the value.
+     */
+    private void awaitValue(int server, String key, String expected) throws Exception {
+        final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+        while (!expected.equals(value(server, key)) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(value(server, key), expected);
+    }
+
+    private EVCacheClient client(int server) {
+        for (EVCacheClient client : EVCacheClientPoolManager.getInstance().getEVCacheClientPool(APP_NAME).getEVCacheClientForWrite()) {
+            for (MemcachedNode node : client.getNodeLocator().getAll()) {
+                if (((InetSocketAddress) node.getSocketAddress()).getPort() == servers.get(server).getPort()) return client;
+            }
+        }
+        return null;
+    }
+
+    @Test
+    public void testCounterIsCreatedOnAllCopies() throws Exception {
+        assertEquals(evCache.incr("created", 1, 5, TTL), 5);
+        assertEquals(evCache.incr("created", 2, 5, TTL), 7);
+        assertEquals(value(0, "created"), "7");
+        assertEquals(value(1, "created"), "7");
+    }
+
+    @Test
+    public void testDecr() throws Exception {
+        assertEquals(evCache.decr("decremented", 3, 10, TTL), 10);
+        assertEquals(evCache.decr("decremented", 3, 10, TTL), 7);
+        assertEquals(value(0, "decremented"), "7");
+        assertEquals(value(1, "decremented"), "7");
+    }
+
+    @Test
+    public void testCopyBehindIsRepaired() throws Exception {
+        assertEquals(evCache.incr("behind", 1, 5, TTL), 5);
+        final EVCacheClient client = client(0);
+        assertNotNull(client);
+        assertEquals(client.incr(PREFIX + ":behind", 3, 0, TTL), 8);
+
+        // the highest value is returned and set on the other copy
+        assertEquals(evCache.incr("behind", 1, 0, TTL), 9);
+        awaitValue(1, "behind", "9");
+        assertEquals(value(0, "behind"), "9");
+    }
+
+    @Test
+    public void testMissingCopyIsRepaired() throws Exception {
+        assertEquals(evCache.incr("evicted", 1, 5, TTL), 5);
+        assertTrue(servers.get(1).remove(PREFIX + ":evicted"));
+
+        // the evicted copy is created with the default value and then set to the highest value
+        assertEquals(evCache.incr("evicted", 1, 0, TTL), 6);
+        awaitValue(1, "evicted", "6");
+    }
+
+    @Test
+    public void testSlowCopyTimesOut() throws Exception {
+        assertEquals(evCache.incr("slow", 1, 5, TTL), 5);
+        servers.get(1).setResponseDelay(MUTATE_TIMEOUT * 3);
+
+        final long start = System.currentTimeMillis();
+        assertEquals(evCache.incr("slow", 1, 0, TTL), 6);
+        final long duration = System.currentTimeMillis() - start;
+        assertTrue(duration >= MUTATE_TIMEOUT && duration < MUTATE_TIMEOUT * 3, "incr took " + duration + " msec");
+    }
+
+    @Test
+    public void testAsyncIncrCompletesOnceThePolicyIsMet() throws Exception {
+        assertEquals(evCache.incr("async", 1, 5, TTL), 5);
+        servers.get(1).setResponseDelay(MUTATE_TIMEOUT * 3);
+
+        final CompletableFuture<Long> future = evCache.incrAsync("async", 1, 0, TTL, Policy.ONE);
+        // the fast copy answers well before the slow one
+        assertEquals(future.get(MUTATE_TIMEOUT / 2, TimeUnit.MILLISECONDS).longValue(), 6);
+        assertFalse(future.isCompletedExceptionally());
+
+        servers.get(1).setResponseDelay(0);
+        awaitValue(1, "async", "6");
+    }
+}
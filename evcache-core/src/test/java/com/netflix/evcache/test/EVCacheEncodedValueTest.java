@@ -0,0 +1,100 @@
+package com.netflix.evcache.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.netflix.evcache.EVCache;
+import com.netflix.evcache.EVCacheLatch;
+import com.netflix.evcache.EVCacheLatch.Policy;
+
+import net.spy.memcached.CachedData;
+import net.spy.memcached.transcoders.SerializingTranscoder;
+
+/**
+ * Writes to several server groups encode their value once, with and without key hashing.
+ */
+public class EVCacheEncodedValueTest extends EmbeddedServerBase {
+
+    private static final String APP_NAME = "EVCACHE_ENCODE";
+    private static final String PREFIX = "enc";
+    private static final int SERVER_GROUPS = 3;
+
+    private EVCache evCache;
+
+    @BeforeClass
+    public void setup() throws Exception {
+        evCache = start(APP_NAME, PREFIX, SERVER_GROUPS, new Properties());
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void resetHashing() {
+        clearProperty(APP_NAME + ".hash.key");
+    }
+
+    /*
+     * Counts the values it encodes.
+     */
+    private static final class CountingTranscoder extends SerializingTranscoder {
+        private final AtomicInteger encoded = new AtomicInteger();
+
+        @Override
+        public CachedData encode(Object o) {
+            encoded.incrementAndGet();
+            return super.encode(o);
+        }
+    }
+
+    @DataProvider(name = "hashing")
+    public Object[][] hashing() {
+        return new Object[][] { { Boolean.FALSE }, { Boolean.TRUE } };
+    }
+
+    private void assertWritten(EVCacheLatch latch) throws InterruptedException {
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertEquals(latch.getSuccessCount(), SERVER_GROUPS);
+    }
+
+    @Test(dataProvider = "hashing")
+    public void testSetEncodesOnce(Boolean hashKey) throws Exception {
+        setProperty(APP_NAME + ".hash.key", hashKey);
+        final String key = "set_key_" + hashKey;
+        final CountingTranscoder tc = new CountingTranscoder();
+        assertWritten(evCache.set(key, "value", tc, TTL, Policy.ALL));
+        assertEquals(tc.encoded.get(), 1);
+        assertEquals(evCache.get(key, tc), "value");
+        // a hashed key is not stored under its canonical key
+        assertEquals(copies(PREFIX + ":" + key), hashKey ? 0 : SERVER_GROUPS);
+    }
+
+    @Test(dataProvider = "hashing")
+    public void testReplaceEncodesOnce(Boolean hashKey) throws Exception {
+        setProperty(APP_NAME + ".hash.key", hashKey);
+        final String key = "replace_key_" + hashKey;
+        assertWritten(evCache.set(key, "old", TTL, Policy.ALL));
+        final CountingTranscoder tc = new CountingTranscoder();
+        assertWritten(evCache.replace(key, "new", tc, TTL, Policy.ALL));
+        assertEquals(tc.encoded.get(), 1);
+        assertEquals(evCache.get(key, tc), "new");
+    }
+
+    @Test(dataProvider = "hashing")
+    public void testAddEncodesOnce(Boolean hashKey) throws Exception {
+        setProperty(APP_NAME + ".hash.key", hashKey);
+        final String key = "add_key_" + hashKey;
+        evCache.delete(key, Policy.ALL).await(2, TimeUnit.SECONDS);
+        final CountingTranscoder tc = new CountingTranscoder();
+        assertWritten(evCache.add(key, "value", tc, TTL, Policy.ALL));
+        assertEquals(tc.encoded.get(), 1);
+        assertEquals(evCache.get(key, tc), "value");
+        assertEquals(copies(PREFIX + ":" + key), hashKey ? 0 : SERVER_GROUPS);
+    }
+}
@@ -0,0 +1,135 @@
+package com.netflix.evcache.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.netflix.evcache.EVCache;
+import com.netflix.evcache.EVCacheLatch.Policy;
+import com.netflix.evcache.event.EVCacheEvent;
+import com.netflix.evcache.event.EVCacheEventListener;
+import com.netflix.evcache.pool.EVCacheClientPoolManager;
+
+/**
+ * Values loaded into the in-memory cache do not outlive the TTL they have left on the server, which is read with a
+ * meta get and so needs the ASCII protocol. Values loaded without it, and chunked values, only expire after the
+ * configured duration. Keys whose bulk read did not complete are not cached.
+ */
+public class EVCacheInMemoryCacheTest extends EmbeddedServerBase {
+
+    private static final String APP_NAME = "EVCACHE_INMEMORY";
+    private static final String PREFIX = "mem";
+    private static final int SERVER_GROUPS = 2;
+
+    private EVCache evCache;
+
+    @BeforeClass
+    public void setup() throws Exception {
+        final Properties props = new Properties();
+        props.setProperty(APP_NAME + ".use.inmemory.cache", "true");
+        setProperty("evcache.use.binary.protocol", false);
+        try {
+            evCache = start(APP_NAME, PREFIX, SERVER_GROUPS, props);
+        } finally {
+            clearProperty("evcache.use.binary.protocol");
+        }
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void resetProperties() {
+        clearProperty(APP_NAME + ".inmemory.expire.after.write.duration.ms");
+        clearProperty(APP_NAME + ".chunk.data");
+        clearProperty(APP_NAME + ".chunk.size");
+    }
+
+    private void remove(String key) {
+        for (EmbeddedMemcachedServer server : servers) {
+            server.remove(PREFIX + ":" + key);
+        }
+    }
+
+    @Test
+    public void testLoadedValueExpiresWithItsTTL() throws Exception {
+        assertTrue(evCache.set("ttl", "value", 2, Policy.ALL).await(2, TimeUnit.SECONDS));
+        assertEquals(evCache.<String>get("ttl"), "value");
+
+        // no duration is configured, only the TTL read along with the value expires it
+        Thread.sleep(TimeUnit.SECONDS.toMillis(2) + 500);
+        assertNull(evCache.get("ttl"));
+    }
+
+    @Test
+    public void testChunkedValueIsLoaded() throws Exception {
+        setProperty(APP_NAME + ".chunk.data", true);
+        setProperty(APP_NAME + ".chunk.size", 1024);
+        final String value = new String(new char[4096]).replace('\0', 'c');
+        assertTrue(evCache.set("chunked", value, TTL, Policy.ALL).await(2, TimeUnit.SECONDS));
+
+        // meta gets do not assemble the chunks, the value is loaded with a get
+        assertEquals(evCache.<String>get("chunked"), value);
+        remove("chunked");
+        assertEquals(evCache.<String>get("chunked"), value);
+    }
+
+    @Test
+    public void testBulkLoadedValueExpiresAfterTheConfiguredDuration() throws Exception {
+        final long duration = 500;
+        setProperty(APP_NAME + ".inmemory.expire.after.write.duration.ms", duration);
+        final List<String> keys = Arrays.asList("bulk_0", "bulk_1");
+        for (String key : keys) {
+            assertTrue(evCache.set(key, key, TTL, Policy.ALL).await(2, TimeUnit.SECONDS));
+        }
+        assertEquals(evCache.<String>getBulk(keys).get("bulk_0"), "bulk_0");
+
+        // the cached values are returned until the duration passes
+        for (String key : keys) remove(key);
+        assertEquals(evCache.<String>getBulk(keys).get("bulk_1"), "bulk_1");
+        Thread.sleep(duration * 2);
+        assertNull(evCache.<String>getBulk(keys).get("bulk_0"));
+    }
+
+    @Test
+    public void testThrottledBulkLoadIsNotCached() throws Exception {
+        final List<String> keys = Arrays.asList("throttled_0", "throttled_1");
+        for (String key : keys) {
+            assertTrue(evCache.set(key, key, TTL, Policy.ALL).await(2, TimeUnit.SECONDS));
+        }
+        final EVCacheEventListener listener = new EVCacheEventListener() {
+            @Override
+            public void onStart(EVCacheEvent e) {
+            }
+
+            @Override
+            public void onComplete(EVCacheEvent e) {
+            }
+
+            @Override
+            public void onError(EVCacheEvent e, Throwable t) {
+            }
+
+            @Override
+            public boolean onThrottle(EVCacheEvent e) {
+                return APP_NAME.equals(e.getAppName()) && e.getCall() == EVCache.Call.BULK;
+            }
+        };
+        EVCacheClientPoolManager.getInstance().addEVCacheEventListener(listener);
+        try {
+            assertNull(evCache.<String>getBulk(keys).get("throttled_0"));
+        } finally {
+            EVCacheClientPoolManager.getInstance().removeEVCacheEventListener(listener);
+        }
+
+        // the keys were not read so no miss was cached for them
+        assertEquals(evCache.<String>getBulk(keys).get("throttled_0"), "throttled_0");
+        assertEquals(evCache.<String>getBulk(keys).get("throttled_1"), "throttled_1");
+    }
+}
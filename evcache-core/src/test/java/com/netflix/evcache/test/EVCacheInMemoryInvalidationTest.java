@@ -0,0 +1,158 @@
+package com.netflix.evcache.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.netflix.evcache.EVCache;
+import com.netflix.evcache.EVCacheLatch.Policy;
+import com.netflix.evcache.event.invalidation.EVCacheInvalidationListener;
+import com.netflix.evcache.event.invalidation.LoopbackInvalidationBroadcaster;
+import com.netflix.evcache.pool.EVCacheClientPoolManager;
+
+public class EVCacheInMemoryInvalidationTest extends EmbeddedServerBase {
+
+    private static final String APP_NAME = "EVCACHE_INVALIDATION";
+    private static final String PREFIX = "inv";
+    private static final int SERVER_GROUPS = 2;
+
+    private final LoopbackInvalidationBroadcaster broadcaster = new LoopbackInvalidationBroadcaster();
+    private EVCache evCache;
+
+    @BeforeClass
+    public void setup() throws Exception {
+        final Properties props = new Properties();
+        props.setProperty(APP_NAME + ".use.inmemory.cache", "true");
+        props.setProperty(APP_NAME + ".inmemory.expire.after.write.duration.ms", "60000");
+        evCache = start(APP_NAME, PREFIX, SERVER_GROUPS, props);
+        EVCacheClientPoolManager.getInstance().setInvalidationBroadcaster(broadcaster);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void removeBroadcaster() {
+        EVCacheClientPoolManager.getInstance().setInvalidationBroadcaster(null);
+    }
+
+    /*
+     * Records the number of copies each key has on the servers at the time its invalidation is broadcast.
+     */
+    private final class CopiesAtBroadcast implements EVCacheInvalidationListener {
+        private final Map<String, Integer> copies = new ConcurrentHashMap<String, Integer>();
+        private final CountDownLatch latch;
+
+        CopiesAtBroadcast(int keys) {
+            this.latch = new CountDownLatch(keys);
+        }
+
+        @Override
+        public void onInvalidate(String appName, String canonicalKey) {
+            if (!APP_NAME.equals(appName)) return;
+            if (copies.putIfAbsent(canonicalKey, copies(canonicalKey)) == null) latch.countDown();
+        }
+
+        Map<String, Integer> await() throws InterruptedException {
+            assertTrue(latch.await(5, TimeUnit.SECONDS), "invalidations received : " + copies.keySet());
+            return copies;
+        }
+    }
+
+    private CopiesAtBroadcast listen(int keys) {
+        final CopiesAtBroadcast listener = new CopiesAtBroadcast(keys);
+        broadcaster.addListener(listener);
+        return listener;
+    }
+
+    /*
+     * Writes the key and waits for its invalidation, which is broadcast once the futures complete and so can be
+     * received after the latch is released.
+     */
+    private void setAndAwaitBroadcast(String key, String value) throws Exception {
+        final CopiesAtBroadcast listener = listen(1);
+        try {
+            evCache.set(key, value, TTL, Policy.ALL).await(2, TimeUnit.SECONDS);
+            listener.await();
+        } finally {
+            broadcaster.removeListener(listener);
+        }
+    }
+
+    private static String canonical(String key) {
+        return PREFIX + ":" + key;
+    }
+
+    @Test
+    public void testSetIsBroadcastAfterTheWrite() throws Exception {
+        final CopiesAtBroadcast listener = listen(1);
+        try {
+            evCache.set("set_key", "value", TTL, Policy.ALL).await(2, TimeUnit.SECONDS);
+            assertEquals(listener.await().get(canonical("set_key")), Integer.valueOf(SERVER_GROUPS));
+        } finally {
+            broadcaster.removeListener(listener);
+        }
+    }
+
+    @Test
+    public void testDeleteIsBroadcastAfterTheWrite() throws Exception {
+        setAndAwaitBroadcast("delete_key", "value");
+        final CopiesAtBroadcast listener = listen(1);
+        try {
+            evCache.delete("delete_key", Policy.ALL).await(2, TimeUnit.SECONDS);
+            assertEquals(listener.await().get(canonical("delete_key")), Integer.valueOf(0));
+        } finally {
+            broadcaster.removeListener(listener);
+        }
+    }
+
+    @Test
+    public void testSetBulkIsBroadcastAfterTheWrites() throws Exception {
+        final Map<String, String> values = new HashMap<String, String>();
+        for (int i = 0; i < 10; i++) values.put("bulk_key_" + i, "value_" + i);
+        final CopiesAtBroadcast listener = listen(values.size());
+        try {
+            evCache.setBulk(values, TTL, Policy.ALL).await(2, TimeUnit.SECONDS);
+            final Map<String, Integer> copies = listener.await();
+            for (String key : values.keySet()) {
+                assertEquals(copies.get(canonical(key)), Integer.valueOf(SERVER_GROUPS), key);
+            }
+        } finally {
+            broadcaster.removeListener(listener);
+        }
+    }
+
+    @Test
+    public void testIncrIsBroadcastAfterTheWrite() throws Exception {
+        final CopiesAtBroadcast listener = listen(1);
+        try {
+            assertEquals(evCache.incr("incr_key", 1, 5, TTL), 5);
+            assertEquals(listener.await().get(canonical("incr_key")), Integer.valueOf(SERVER_GROUPS));
+        } finally {
+            broadcaster.removeListener(listener);
+        }
+    }
+
+    @Test
+    public void testNearCacheSeesTheNewValue() throws Exception {
+        setAndAwaitBroadcast("near_key", "old");
+        assertEquals(evCache.<String>get("near_key"), "old");
+        final CopiesAtBroadcast listener = listen(1);
+        try {
+            evCache.set("near_key", "new", TTL, Policy.ALL).await(2, TimeUnit.SECONDS);
+            listener.await();
+            assertEquals(evCache.<String>get("near_key"), "new");
+            assertEquals(evCache.<String>getBulk(Arrays.asList("near_key")).get("near_key"), "new");
+        } finally {
+            broadcaster.removeListener(listener);
+        }
+    }
+}
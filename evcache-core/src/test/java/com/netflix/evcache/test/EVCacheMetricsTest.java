@@ -0,0 +1,200 @@
+package com.netflix.evcache.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.netflix.evcache.EVCache;
+import com.netflix.evcache.EVCacheLatch.Policy;
+import com.netflix.evcache.metrics.EVCacheMeterTable;
+import com.netflix.evcache.metrics.EVCacheMetricsFactory;
+import com.netflix.evcache.pool.EVCacheClient;
+import com.netflix.evcache.pool.EVCacheClientPoolManager;
+import com.netflix.spectator.api.Counter;
+import com.netflix.spectator.api.DefaultRegistry;
+import com.netflix.spectator.api.Id;
+import com.netflix.spectator.api.Spectator;
+import com.netflix.spectator.api.Tag;
+import com.netflix.spectator.api.Timer;
+
+import net.spy.memcached.EVCacheNode;
+import net.spy.memcached.transcoders.SerializingTranscoder;
+import net.spy.memcached.transcoders.Transcoder;
+
+/**
+ * The meter tables and the timers they hold, checked against a registry added to the global registry.
+ */
+public class EVCacheMetricsTest extends EmbeddedServerBase {
+
+    private static final String APP_NAME = "EVCACHE_METRICS";
+    private static final String PREFIX = "met";
+    private static final int READ_TIMEOUT = 200;
+
+    private final DefaultRegistry registry = new DefaultRegistry();
+    private final Transcoder<Object> tc = new SerializingTranscoder();
+    private EVCache evCache;
+    private EVCacheClient client;
+
+    @BeforeClass
+    public void setup() throws Exception {
+        Spectator.globalRegistry().add(registry);
+        final Properties props = new Properties();
+        props.setProperty(APP_NAME + ".EVCacheClientPool.readTimeout", String.valueOf(READ_TIMEOUT));
+        evCache = start(APP_NAME, PREFIX, 1, 2, props);
+        client = EVCacheClientPoolManager.getInstance().getEVCacheClientPool(APP_NAME).getEVCacheClientForRead();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void removeRegistry() {
+        Spectator.globalRegistry().remove(registry);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void resetDelay() {
+        for (EmbeddedMemcachedServer server : servers) {
+            server.setResponseDelay(0);
+        }
+    }
+
+    private static String tag(Id id, String key) {
+        for (Tag tag : id.tags()) {
+            if (tag.key().equals(key)) return tag.value();
+        }
+        return null;
+    }
+
+    /*
+     * The timers of this app with the given name and tag.
+     */
+    private List<Timer> timers(String name, String tagKey, String tagValue) {
+        return registry.timers().filter(t -> t.id().name().equals(name)
+                && APP_NAME.equals(tag(t.id(), EVCacheMetricsFactory.CACHE))
+                && (tagValue == null ? tag(t.id(), tagKey) != null : tagValue.equals(tag(t.id(), tagKey))))
+                .collect(Collectors.toList());
+    }
+
+    private static long count(List<Timer> timers) {
+        long count = 0;
+        for (Timer timer : timers) count += timer.count();
+        return count;
+    }
+
+    @Test
+    public void testMeterTable() {
+        final EVCacheMeterTable<Object> table = new EVCacheMeterTable<Object>(4);
+        assertEquals(table.size(), 4);
+        assertNull(table.get(2));
+
+        final Object meter = new Object();
+        assertSame(table.putIfAbsent(2, meter), meter);
+        assertSame(table.putIfAbsent(2, new Object()), meter);
+        assertSame(table.get(2), meter);
+        assertNull(table.get(1));
+    }
+
+    @Test
+    public void testConcurrentFirstUseRegistersOneMeter() throws Exception {
+        final EVCacheMeterTable<Object> table = new EVCacheMeterTable<Object>(1);
+        final int threads = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<Object>> futures = new ArrayList<Future<Object>>(threads);
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return table.putIfAbsent(0, new Object());
+                }));
+            }
+            start.countDown();
+            for (Future<Object> future : futures) {
+                assertSame(future.get(5, TimeUnit.SECONDS), table.get(0));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testIndexOf() {
+        final String[] values = { null, EVCacheMetricsFactory.YES, EVCacheMetricsFactory.NO };
+        assertEquals(EVCacheMeterTable.indexOf(values, null), 0);
+        assertEquals(EVCacheMeterTable.indexOf(values, EVCacheMetricsFactory.NO), 2);
+        // a value built at runtime is found by equality
+        assertEquals(EVCacheMeterTable.indexOf(values, new String(EVCacheMetricsFactory.YES)), 1);
+        assertEquals(EVCacheMeterTable.indexOf(values, "UNKNOWN"), -1);
+        assertEquals(EVCacheMeterTable.indexOf(new String[] { EVCacheMetricsFactory.YES }, null), -1);
+    }
+
+    @Test
+    public void testCounterWithoutTags() {
+        final Counter counter = EVCacheMetricsFactory.getInstance().getCounter("evcache.test.untagged");
+        assertNotNull(counter);
+        assertSame(EVCacheMetricsFactory.getInstance().getCounter("evcache.test.untagged"), counter);
+        EVCacheMetricsFactory.getInstance().increment("evcache.test.untagged");
+    }
+
+    @Test
+    public void testCallTimersAreReused() throws Exception {
+        final long sets = count(timers(EVCacheMetricsFactory.OVERALL_CALL, EVCacheMetricsFactory.CALL_TAG, "SET"));
+        for (int i = 0; i < 3; i++) {
+            evCache.set("timer_key", "value", TTL, Policy.ALL).await(2, TimeUnit.SECONDS);
+        }
+        final List<Timer> setTimers = timers(EVCacheMetricsFactory.OVERALL_CALL, EVCacheMetricsFactory.CALL_TAG, "SET");
+        assertEquals(setTimers.size(), 1, setTimers.toString());
+        assertEquals(count(setTimers), sets + 3);
+
+        // a hit and a miss are timed apart
+        final long hits = count(timers(EVCacheMetricsFactory.OVERALL_CALL, EVCacheMetricsFactory.CACHE_HIT, EVCacheMetricsFactory.YES));
+        final long misses = count(timers(EVCacheMetricsFactory.OVERALL_CALL, EVCacheMetricsFactory.CACHE_HIT, EVCacheMetricsFactory.NO));
+        assertEquals(evCache.<String>get("timer_key"), "value");
+        assertEquals(evCache.<String>get("timer_key"), "value");
+        assertNull(evCache.get("missing_timer_key"));
+        assertEquals(count(timers(EVCacheMetricsFactory.OVERALL_CALL, EVCacheMetricsFactory.CACHE_HIT, EVCacheMetricsFactory.YES)), hits + 2);
+        assertEquals(count(timers(EVCacheMetricsFactory.OVERALL_CALL, EVCacheMetricsFactory.CACHE_HIT, EVCacheMetricsFactory.NO)), misses + 1);
+    }
+
+    @Test
+    public void testFailureTimersAreKeyedByHost() throws Exception {
+        // a key on each of the two servers of the server group
+        final Set<String> hosts = new HashSet<String>();
+        final List<String> keys = new ArrayList<String>();
+        for (int i = 0; hosts.size() < 2 && i < 1000; i++) {
+            final String key = PREFIX + ":failed_key_" + i;
+            final EVCacheNode node = (EVCacheNode) client.getEVCacheMemcachedClient().getEVCacheNode(key);
+            if (hosts.add(node.getHostName())) keys.add(key);
+        }
+        assertEquals(hosts.size(), 2, hosts.toString());
+
+        for (EmbeddedMemcachedServer server : servers) {
+            server.setResponseDelay(READ_TIMEOUT * 3);
+        }
+        for (String key : keys) {
+            assertNull(client.get(key, tc, false, false));
+        }
+        final Set<String> failedHosts = new HashSet<String>();
+        for (Timer timer : timers(EVCacheMetricsFactory.IPC_CALL, EVCacheMetricsFactory.FAILED_HOST, null)) {
+            failedHosts.add(tag(timer.id(), EVCacheMetricsFactory.FAILED_HOST));
+        }
+        assertTrue(failedHosts.containsAll(hosts), "failed hosts " + failedHosts + " for " + hosts);
+    }
+}
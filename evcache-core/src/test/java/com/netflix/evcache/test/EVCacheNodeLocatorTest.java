@@ -0,0 +1,142 @@
+package com.netflix.evcache.test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+import com.netflix.evcache.pool.EVCacheClient;
+import com.netflix.evcache.pool.EVCacheNodeLocator;
+
+import net.spy.memcached.DefaultHashAlgorithm;
+import net.spy.memcached.EVCacheMemcachedNodeROImpl;
+import net.spy.memcached.HashAlgorithm;
+import net.spy.memcached.KetamaNodeLocator;
+import net.spy.memcached.MemcachedNode;
+import net.spy.memcached.NodeLocator;
+import net.spy.memcached.util.DefaultKetamaNodeLocatorConfiguration;
+
+public class EVCacheNodeLocatorTest {
+
+    private static final int KEYS = 20000;
+
+    private EVCacheClient client() {
+        final EVCacheClient client = mock(EVCacheClient.class);
+        when(client.getAppName()).thenReturn("EVCACHE_LOCATOR_TEST");
+        when(client.getServerGroupName()).thenReturn("EVCACHE_LOCATOR_TEST-SG");
+        return client;
+    }
+
+    private List<MemcachedNode> nodes(int count) {
+        final List<MemcachedNode> nodes = new ArrayList<MemcachedNode>(count);
+        for (int i = 0; i < count; i++) {
+            final MemcachedNode node = mock(MemcachedNode.class);
+            when(node.getSocketAddress()).thenReturn(InetSocketAddress.createUnresolved("10.0.0." + i, 11211));
+            nodes.add(node);
+        }
+        return nodes;
+    }
+
+    private void assertSameDistribution(HashAlgorithm alg, int nodeCount) {
+        final List<MemcachedNode> nodes = nodes(nodeCount);
+        final DefaultKetamaNodeLocatorConfiguration conf = new DefaultKetamaNodeLocatorConfiguration();
+        final EVCacheNodeLocator locator = new EVCacheNodeLocator(client(), nodes, alg, conf);
+        final KetamaNodeLocator reference = new KetamaNodeLocator(nodes, alg, conf);
+        for (int i = 0; i < KEYS; i++) {
+            final String key = "key_" + i;
+            assertSame(locator.getPrimary(key), reference.getPrimary(key), key);
+        }
+        assertEquals(locator.getMaxKey(), locator.getKetamaNodeMap().keySet().stream().mapToLong(Long::longValue).max().getAsLong());
+    }
+
+    @Test
+    public void testKetamaDistributionMatchesTreeMapLocator() {
+        assertSameDistribution(DefaultHashAlgorithm.KETAMA_HASH, 1);
+        assertSameDistribution(DefaultHashAlgorithm.KETAMA_HASH, 7);
+        assertSameDistribution(DefaultHashAlgorithm.KETAMA_HASH, 64);
+    }
+
+    @Test
+    public void testNonKetamaDistributionMatchesTreeMapLocator() {
+        assertSameDistribution(DefaultHashAlgorithm.FNV1A_32_HASH, 7);
+        assertSameDistribution(DefaultHashAlgorithm.CRC_HASH, 16);
+    }
+
+    @Test
+    public void testBoundaryHashesWrapAround() {
+        final List<MemcachedNode> nodes = nodes(5);
+        final EVCacheNodeLocator locator = new EVCacheNodeLocator(client(), nodes, DefaultHashAlgorithm.KETAMA_HASH, new DefaultKetamaNodeLocatorConfiguration());
+        final Long first = locator.getKetamaNodeMap().keySet().iterator().next();
+        assertSame(locator.getNodeForKey(0), locator.getKetamaNodeMap().get(first));
+        assertSame(locator.getNodeForKey(first.longValue()), locator.getKetamaNodeMap().get(first));
+        assertSame(locator.getNodeForKey(locator.getMaxKey()), locator.getKetamaNodeMap().get(Long.valueOf(locator.getMaxKey())));
+        assertSame(locator.getNodeForKey(locator.getMaxKey() + 1), locator.getKetamaNodeMap().get(first));
+    }
+
+    @Test
+    public void testUpdateLocatorAndReadonlyCopy() {
+        final List<MemcachedNode> nodes = nodes(8);
+        final DefaultKetamaNodeLocatorConfiguration conf = new DefaultKetamaNodeLocatorConfiguration();
+        final EVCacheNodeLocator locator = new EVCacheNodeLocator(client(), nodes, DefaultHashAlgorithm.KETAMA_HASH, conf);
+
+        final List<MemcachedNode> fewer = new ArrayList<MemcachedNode>(nodes.subList(0, 5));
+        locator.updateLocator(fewer);
+        final KetamaNodeLocator reference = new KetamaNodeLocator(fewer, DefaultHashAlgorithm.KETAMA_HASH, conf);
+        final NodeLocator copy = locator.getReadonlyCopy();
+        // the node list is swapped along with the continuum
+        assertEquals(new ArrayList<MemcachedNode>(locator.getAll()), fewer);
+        assertEquals(copy.getAll().size(), fewer.size());
+        for (int i = 0; i < KEYS; i++) {
+            final String key = "key_" + i;
+            final MemcachedNode node = locator.getPrimary(key);
+            assertSame(node, reference.getPrimary(key), key);
+            assertTrue(locator.getAll().contains(node));
+            final MemcachedNode roNode = copy.getPrimary(key);
+            assertTrue(roNode instanceof EVCacheMemcachedNodeROImpl);
+            assertEquals(roNode.getSocketAddress(), node.getSocketAddress());
+        }
+    }
+
+    @Test
+    public void testGetPrimariesGroupsKeysAndAdmitsOncePerNode() {
+        final List<MemcachedNode> nodes = nodes(6);
+        final EVCacheNodeLocator locator = new EVCacheNodeLocator(client(), nodes, DefaultHashAlgorithm.KETAMA_HASH, new DefaultKetamaNodeLocatorConfiguration());
+        final List<String> keys = new ArrayList<String>();
+        for (int i = 0; i < 500; i++) keys.add("key_" + i);
+
+        final MemcachedNode rejectedNode = nodes.get(2);
+        final Map<MemcachedNode, Integer> admissionCalls = new HashMap<MemcachedNode, Integer>();
+        final Map<MemcachedNode, Collection<String>> keysByNode = locator.getPrimaries(keys, node -> {
+            admissionCalls.merge(node, Integer.valueOf(1), Integer::sum);
+            return node != rejectedNode;
+        });
+
+        int grouped = 0;
+        for (Map.Entry<MemcachedNode, Collection<String>> entry : keysByNode.entrySet()) {
+            assertTrue(entry.getKey() != rejectedNode);
+            for (String key : entry.getValue()) {
+                assertSame(locator.getPrimary(key), entry.getKey(), key);
+                grouped++;
+            }
+        }
+        int expected = 0;
+        for (String key : keys) {
+            if (locator.getPrimary(key) != rejectedNode) expected++;
+        }
+        assertEquals(grouped, expected);
+        for (Integer calls : admissionCalls.values()) {
+            assertEquals(calls.intValue(), 1);
+        }
+        assertEquals(locator.getPrimaries(keys, null).values().stream().mapToInt(Collection::size).sum(), keys.size());
+    }
+}
@@ -0,0 +1,126 @@
+package com.netflix.evcache.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.netflix.evcache.EVCache;
+import com.netflix.evcache.EVCacheLatch;
+import com.netflix.evcache.EVCacheLatch.Policy;
+import com.netflix.evcache.event.invalidation.LoopbackInvalidationBroadcaster;
+import com.netflix.evcache.pool.EVCacheClient;
+import com.netflix.evcache.pool.EVCacheClientPoolManager;
+
+/**
+ * Sets and deletes with {@link Policy#NONE} are sent as quiet binary writes, which the server only answers when they
+ * fail. Their latch is released right away, so the copies are checked on the servers.
+ */
+public class EVCacheQuietWriteTest extends EmbeddedServerBase {
+
+    private static final String APP_NAME = "EVCACHE_QUIET_WRITE";
+    private static final String PREFIX = "qw";
+    private static final int SERVER_GROUPS = 2;
+    private static final int KEYS = 200;
+
+    private EVCache evCache;
+
+    @BeforeClass
+    public void setup() throws Exception {
+        final Properties props = new Properties();
+        props.setProperty(APP_NAME + ".quiet.writes", "true");
+        evCache = start(APP_NAME, PREFIX, SERVER_GROUPS, props);
+    }
+
+    private void awaitCopies(String key, int expected) throws Exception {
+        final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+        while (copies(PREFIX + ":" + key) != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(copies(PREFIX + ":" + key), expected, key);
+    }
+
+    private static Map<String, String> values(String name) {
+        final Map<String, String> values = new HashMap<String, String>();
+        for (int i = 0; i < KEYS; i++) {
+            values.put(name + "_" + i, "value_" + i);
+        }
+        return values;
+    }
+
+    @Test
+    public void testWritesAreQuietOnlyWithPolicyNone() throws Exception {
+        for (EVCacheClient client : EVCacheClientPoolManager.getInstance().getEVCacheClientPool(APP_NAME).getEVCacheClientForWrite()) {
+            assertTrue(client.writesQuietly(Policy.NONE));
+            for (Policy policy : new Policy[] { Policy.ONE, Policy.QUORUM, Policy.ALL_MINUS_1, Policy.ALL }) {
+                assertFalse(client.writesQuietly(policy), policy.name());
+            }
+        }
+    }
+
+    @Test
+    public void testWritesAreNotQuietWithTheInMemoryCache() throws Exception {
+        final EVCacheClientPoolManager poolManager = EVCacheClientPoolManager.getInstance();
+        final EVCacheClient client = poolManager.getEVCacheClientPool(APP_NAME).getEVCacheClientForRead();
+        setProperty(APP_NAME + ".use.inmemory.cache", true);
+        try {
+            assertFalse(client.writesQuietly(Policy.NONE));
+        } finally {
+            clearProperty(APP_NAME + ".use.inmemory.cache");
+        }
+
+        // another instance may cache the keys in memory
+        poolManager.setInvalidationBroadcaster(new LoopbackInvalidationBroadcaster());
+        try {
+            assertFalse(client.writesQuietly(Policy.NONE));
+        } finally {
+            poolManager.setInvalidationBroadcaster(null);
+        }
+        assertTrue(client.writesQuietly(Policy.NONE));
+    }
+
+    @Test
+    public void testQuietSetAndDelete() throws Exception {
+        final EVCacheLatch set = evCache.set("quiet", "value", TTL, Policy.NONE);
+        assertTrue(set.isDone());
+        awaitCopies("quiet", SERVER_GROUPS);
+        assertEquals(evCache.<String> get("quiet"), "value");
+
+        assertTrue(evCache.delete("quiet", Policy.NONE).isDone());
+        awaitCopies("quiet", 0);
+    }
+
+    @Test
+    public void testQuietBulkWrites() throws Exception {
+        final Map<String, String> values = values("bulk");
+        assertTrue(evCache.setBulk(values, TTL, Policy.NONE).isDone());
+        for (String key : values.keySet()) {
+            awaitCopies(key, SERVER_GROUPS);
+        }
+        assertEquals(evCache.<String> getBulk(values.keySet()), values);
+
+        assertTrue(evCache.deleteBulk(values.keySet(), Policy.NONE).isDone());
+        for (String key : values.keySet()) {
+            awaitCopies(key, 0);
+        }
+    }
+
+    @Test
+    public void testFailedQuietWritesDoNotBreakTheConnection() throws Exception {
+        // the server answers each delete of a missing key before the barrier of the merged writes
+        final Map<String, String> values = values("missing");
+        assertTrue(evCache.deleteBulk(values.keySet(), Policy.NONE).isDone());
+
+        final EVCacheLatch latch = evCache.set("acknowledged", "value", TTL, Policy.ALL);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(latch.getSuccessCount(), SERVER_GROUPS);
+        assertEquals(evCache.<String> get("acknowledged"), "value");
+    }
+}
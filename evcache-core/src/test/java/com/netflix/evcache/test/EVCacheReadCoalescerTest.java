@@ -0,0 +1,116 @@
+package com.netflix.evcache.test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+import com.netflix.evcache.operation.EVCacheOperationFuture;
+import com.netflix.evcache.pool.EVCacheReadCoalescer;
+import com.netflix.spectator.api.Tag;
+
+import net.spy.memcached.transcoders.SerializingTranscoder;
+import net.spy.memcached.transcoders.Transcoder;
+
+public class EVCacheReadCoalescerTest {
+
+    /*
+     * A mocked get whose views are all the same mock, so the views handed out can be told apart by the get.
+     */
+    @SuppressWarnings("unchecked")
+    private EVCacheOperationFuture<Object> future() {
+        final EVCacheOperationFuture<Object> future = mock(EVCacheOperationFuture.class);
+        final EVCacheOperationFuture<Object> view = mock(EVCacheOperationFuture.class);
+        when(future.getStartTime()).thenReturn(System.currentTimeMillis());
+        when(future.share()).thenReturn(view);
+        return future;
+    }
+
+    @Test
+    public void testConcurrentReadsShareTheInFlightGet() {
+        final EVCacheReadCoalescer coalescer = new EVCacheReadCoalescer(Collections.<Tag>emptyList());
+        final Transcoder<Object> tc = new SerializingTranscoder();
+        final AtomicInteger sent = new AtomicInteger();
+        final EVCacheOperationFuture<Object> first = future();
+
+        final EVCacheOperationFuture<Object> leader = coalescer.get("key", tc, 1000, () -> { sent.incrementAndGet(); return first; });
+        final EVCacheOperationFuture<Object> follower = coalescer.get("key", tc, 1000, () -> { sent.incrementAndGet(); return future(); });
+        assertSame(leader, first.share());
+        assertSame(follower, first.share());
+        assertEquals(sent.get(), 1);
+
+        // a different key or transcoder is not shared
+        final EVCacheOperationFuture<Object> other = future();
+        assertSame(coalescer.get("other", tc, 1000, () -> other), other.share());
+        final EVCacheOperationFuture<Object> otherTc = future();
+        assertSame(coalescer.get("key", new SerializingTranscoder(), 1000, () -> otherTc), otherTc.share());
+
+        // once the get completes the next read sends a new one
+        when(first.isDone()).thenReturn(true);
+        final EVCacheOperationFuture<Object> second = future();
+        assertSame(coalescer.get("key", tc, 1000, () -> { sent.incrementAndGet(); return second; }), second.share());
+        assertEquals(sent.get(), 2);
+    }
+
+    @Test
+    public void testReadsWaitForTheLeaderToSend() throws Exception {
+        final EVCacheReadCoalescer coalescer = new EVCacheReadCoalescer(Collections.<Tag>emptyList());
+        final Transcoder<Object> tc = new SerializingTranscoder();
+        final AtomicInteger sent = new AtomicInteger();
+        final CountDownLatch sending = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final EVCacheOperationFuture<Object> first = future();
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<EVCacheOperationFuture<Object>> leader = executor.submit(() -> coalescer.get("key", tc, 5000, () -> {
+                sent.incrementAndGet();
+                sending.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return first;
+            }));
+            assertTrue(sending.await(5, TimeUnit.SECONDS));
+
+            // the loader is not called inside the map, another key is not held up by the leader
+            final EVCacheOperationFuture<Object> other = future();
+            assertSame(coalescer.get("other", tc, 5000, () -> other), other.share());
+
+            final Future<EVCacheOperationFuture<Object>> follower = executor.submit(() -> coalescer.get("key", tc, 5000, () -> { sent.incrementAndGet(); return future(); }));
+            release.countDown();
+            assertSame(leader.get(5, TimeUnit.SECONDS), first.share());
+            assertSame(follower.get(5, TimeUnit.SECONDS), first.share());
+            assertEquals(sent.get(), 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailedSendIsNotShared() {
+        final EVCacheReadCoalescer coalescer = new EVCacheReadCoalescer(Collections.<Tag>emptyList());
+        final Transcoder<Object> tc = new SerializingTranscoder();
+        try {
+            coalescer.get("key", tc, 1000, () -> { throw new IllegalStateException("queue full"); });
+            fail("the exception of the loader is thrown to the caller");
+        } catch (IllegalStateException expected) {
+            // the next read sends its own get
+        }
+        final EVCacheOperationFuture<Object> future = future();
+        assertSame(coalescer.get("key", tc, 1000, () -> future), future.share());
+    }
+}
@@ -0,0 +1,112 @@
+package com.netflix.evcache.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.netflix.evcache.EVCache;
+import com.netflix.evcache.EVCacheLatch.Policy;
+import com.netflix.evcache.operation.EVCacheOperationFuture;
+import com.netflix.evcache.pool.EVCacheClient;
+import com.netflix.evcache.pool.EVCacheClientPoolManager;
+
+import net.spy.memcached.EVCacheNode;
+import net.spy.memcached.transcoders.SerializingTranscoder;
+import net.spy.memcached.transcoders.Transcoder;
+
+/**
+ * Coalesced reads over a real connection to an {@link EmbeddedMemcachedServer}.
+ */
+public class EVCacheReadCoalescingTest extends EmbeddedServerBase {
+
+    private static final String APP_NAME = "EVCACHE_COALESCE";
+    private static final String PREFIX = "co";
+    private static final int READ_TIMEOUT = 200;
+    private static final int WAITERS = 8;
+
+    private final Transcoder<Object> tc = new SerializingTranscoder();
+    private EVCache evCache;
+    private EVCacheClient client;
+
+    @BeforeClass
+    public void setup() throws Exception {
+        final Properties props = new Properties();
+        props.setProperty(APP_NAME + ".coalesce.reads", "true");
+        props.setProperty(APP_NAME + ".EVCacheClientPool.readTimeout", String.valueOf(READ_TIMEOUT));
+        evCache = start(APP_NAME, PREFIX, 1, props);
+        client = EVCacheClientPoolManager.getInstance().getEVCacheClientPool(APP_NAME).getEVCacheClientForRead();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void resetDelay() {
+        servers.get(0).setResponseDelay(0);
+    }
+
+    private List<Object> readConcurrently(Callable<Object> read) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(WAITERS);
+        try {
+            final List<Future<Object>> futures = new ArrayList<Future<Object>>(WAITERS);
+            for (int i = 0; i < WAITERS; i++) futures.add(executor.submit(read));
+            final List<Object> values = new ArrayList<Object>(WAITERS);
+            for (Future<Object> future : futures) values.add(future.get(10, TimeUnit.SECONDS));
+            return values;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testConcurrentReadsAreAnswered() throws Exception {
+        evCache.set("shared_key", "value", TTL, Policy.ALL).await(2, TimeUnit.SECONDS);
+        servers.get(0).setResponseDelay(50);
+        for (Object value : readConcurrently(() -> client.get(PREFIX + ":shared_key", tc, false, false))) {
+            assertEquals(value, "value");
+        }
+    }
+
+    @Test
+    public void testTimeoutIsCountedOnce() throws Exception {
+        final String key = PREFIX + ":slow_key";
+        final EVCacheNode node = (EVCacheNode) client.getEVCacheMemcachedClient().getEVCacheNode(key);
+        assertNull(client.get(key, tc, false, false));
+        assertEquals(node.getContinuousTimeout(), 0);
+
+        // the reads share one get that times out, as the waiters time out the get they only count it once
+        servers.get(0).setResponseDelay(READ_TIMEOUT * 5);
+        for (Object value : readConcurrently(() -> client.get(key, tc, false, false))) {
+            assertNull(value);
+        }
+        assertEquals(node.getContinuousTimeout(), 1);
+    }
+
+    @Test
+    public void testCancelDoesNotCancelTheSharedGet() throws Exception {
+        final String key = PREFIX + ":cancel_key";
+        evCache.set("cancel_key", "value", TTL, Policy.ALL).await(2, TimeUnit.SECONDS);
+        servers.get(0).setResponseDelay(READ_TIMEOUT / 2);
+
+        @SuppressWarnings("unchecked")
+        final EVCacheOperationFuture<Object> cancelled = (EVCacheOperationFuture<Object>) client.asyncGet(key, tc, false, false);
+        @SuppressWarnings("unchecked")
+        final EVCacheOperationFuture<Object> waiting = (EVCacheOperationFuture<Object>) client.asyncGet(key, tc, false, false);
+        assertFalse(cancelled.cancel(true));
+        assertFalse(waiting.isCancelled());
+        assertEquals(waiting.get(READ_TIMEOUT * 10, TimeUnit.MILLISECONDS, true, false), "value");
+        assertTrue(cancelled.isDone());
+        assertEquals(cancelled.get(READ_TIMEOUT * 10, TimeUnit.MILLISECONDS, true, false), "value");
+    }
+}
@@ -0,0 +1,134 @@
+package com.netflix.evcache.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.netflix.evcache.EVCache;
+import com.netflix.evcache.EVCacheLatch;
+import com.netflix.evcache.EVCacheLatch.Policy;
+import com.netflix.evcache.metrics.EVCacheMetricsFactory;
+import com.netflix.evcache.pool.EVCacheClientPoolManager;
+import com.netflix.evcache.pool.EVCacheExecutor;
+import com.netflix.spectator.api.Counter;
+import com.netflix.spectator.api.DefaultRegistry;
+import com.netflix.spectator.api.Id;
+import com.netflix.spectator.api.Spectator;
+import com.netflix.spectator.api.Tag;
+
+import rx.schedulers.Schedulers;
+
+/**
+ * Hedged reads against two server groups, one of which is slow.
+ */
+public class EVCacheReadHedgingTest extends EmbeddedServerBase {
+
+    private static final String APP_NAME = "EVCACHE_HEDGE";
+    private static final String PREFIX = "hdg";
+    private static final int SERVER_GROUPS = 2;
+    private static final int READ_TIMEOUT = 1000;
+    private static final int HEDGE_DELAY = 20;
+    private static final int SLOW_DELAY = 400;
+    private static final int READS = 10;
+
+    private final DefaultRegistry registry = new DefaultRegistry();
+    private EVCache evCache;
+
+    @BeforeClass
+    public void setup() throws Exception {
+        Spectator.globalRegistry().add(registry);
+        final Properties props = new Properties();
+        props.setProperty(APP_NAME + ".hedge.reads", "true");
+        props.setProperty(APP_NAME + ".hedge.delay", String.valueOf(HEDGE_DELAY));
+        props.setProperty(APP_NAME + ".coalesce.reads", "true");
+        props.setProperty(APP_NAME + ".EVCacheClientPool.readTimeout", String.valueOf(READ_TIMEOUT));
+        evCache = start(APP_NAME, PREFIX, SERVER_GROUPS, props);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void removeRegistry() {
+        Spectator.globalRegistry().remove(registry);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void resetDelay() throws Exception {
+        servers.get(0).setResponseDelay(0);
+        // the reads left to the slow server group are still answered, wait for them so the next test is not held up
+        Thread.sleep(SLOW_DELAY);
+    }
+
+    private static String tag(Id id, String key) {
+        for (Tag tag : id.tags()) {
+            if (tag.key().equals(key)) return tag.value();
+        }
+        return null;
+    }
+
+    /*
+     * The hedge counters of this app with the given metric tag.
+     */
+    private long count(String metric) {
+        return registry.counters().filter(c -> c.id().name().equals(EVCacheMetricsFactory.INTERNAL_HEDGE)
+                && APP_NAME.equals(tag(c.id(), EVCacheMetricsFactory.CACHE))
+                && metric.equals(tag(c.id(), EVCacheMetricsFactory.METRIC)))
+                .mapToLong(Counter::count).sum();
+    }
+
+    @DataProvider(name = "reads")
+    public Object[][] reads() {
+        return new Object[][] { { Boolean.FALSE }, { Boolean.TRUE } };
+    }
+
+    @Test(dataProvider = "reads")
+    public void testSlowServerGroupIsHedged(Boolean single) throws Exception {
+        final String key = "hedged_key_" + single;
+        final EVCacheLatch latch = evCache.set(key, "value", TTL, Policy.ALL);
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        final long hedgeWins = count(EVCacheMetricsFactory.HEDGE_WIN);
+
+        servers.get(0).setResponseDelay(SLOW_DELAY);
+        // the reads go to both server groups in turn, each one returns the value well before the slow server answers
+        for (int i = 0; i < READS; i++) {
+            final long start = System.currentTimeMillis();
+            final String value = single ? evCache.<String>get(key, Schedulers.computation()).toBlocking().value() : evCache.<String>get(key);
+            final long duration = System.currentTimeMillis() - start;
+            assertEquals(value, "value");
+            assertTrue(duration < SLOW_DELAY / 2, "read took " + duration + " msec");
+        }
+        assertTrue(count(EVCacheMetricsFactory.HEDGE_WIN) > hedgeWins, "no read was answered by the hedged server group");
+    }
+
+    @Test
+    public void testObservedHedgeIsSentFromTheHedgeExecutor() throws Exception {
+        final String key = "hedged_observed_key";
+        assertTrue(evCache.set(key, "value", TTL, Policy.ALL).await(2, TimeUnit.SECONDS));
+        final EVCacheExecutor executor = EVCacheClientPoolManager.getInstance().getEVCacheHedgeExecutor();
+        final long hedged = count(EVCacheMetricsFactory.HEDGED);
+        final long tasks = executor.getTaskCount();
+
+        servers.get(0).setResponseDelay(SLOW_DELAY);
+        for (int i = 0; i < READS; i++) {
+            assertEquals(evCache.<String>get(key, Schedulers.computation()).toBlocking().value(), "value");
+        }
+        // every hedge was sent from the hedge executor rather than from the caller's scheduler
+        assertTrue(count(EVCacheMetricsFactory.HEDGED) > hedged, "no read was hedged");
+        assertTrue(executor.getTaskCount() - tasks >= count(EVCacheMetricsFactory.HEDGED) - hedged, "a hedge was not sent from the hedge executor");
+    }
+
+    @Test
+    public void testHedgedMissFallsBack() throws Exception {
+        servers.get(0).setResponseDelay(SLOW_DELAY);
+        final long start = System.currentTimeMillis();
+        assertEquals(evCache.<String>get("missing_hedged_key"), null);
+        // the hedged read misses and the slow server group is not read again
+        assertTrue(System.currentTimeMillis() - start < READ_TIMEOUT + SLOW_DELAY, "read took " + (System.currentTimeMillis() - start) + " msec");
+    }
+}
@@ -0,0 +1,95 @@
+package com.netflix.evcache.test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.netflix.archaius.api.Property;
+import com.netflix.evcache.metrics.EVCacheMetricsFactory;
+import com.netflix.evcache.pool.EVCacheReadLimiter;
+import com.netflix.spectator.api.BasicTag;
+import com.netflix.spectator.api.Tag;
+
+public class EVCacheReadLimiterTest {
+
+    private static final long RTT = 200_000;
+
+    private EVCacheReadLimiter limiter(String appName, int maxReadQueueSize) {
+        return limiter(appName, maxReadQueueSize, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private EVCacheReadLimiter limiter(String appName, int maxReadQueueSize, List<Tag> tags) {
+        final Property<Integer> property = mock(Property.class);
+        when(property.get()).thenReturn(maxReadQueueSize);
+        return new EVCacheReadLimiter(appName, property, tags);
+    }
+
+    private static long gauges(String host) {
+        return EVCacheMetricsFactory.getInstance().getAllMonitor().keySet().stream().filter(name -> name.contains(host)).count();
+    }
+
+    private void warmup(EVCacheReadLimiter limiter) {
+        for (int i = 0; i < 10; i++) limiter.onSample(RTT, 0, false);
+    }
+
+    @Test
+    public void testStartsAtMaxReadQueueSize() {
+        assertEquals(limiter("LIMITER_START", 50).getLimit(), 50);
+    }
+
+    @Test
+    public void testGrowsWhileLatencyIsSteady() {
+        final EVCacheReadLimiter limiter = limiter("LIMITER_GROW", 50);
+        warmup(limiter);
+        for (int i = 0; i < 200; i++) limiter.onSample(RTT, limiter.getLimit(), false);
+        assertEquals(limiter.getLimit(), 500);
+    }
+
+    @Test
+    public void testDoesNotGrowWhenIdle() {
+        final EVCacheReadLimiter limiter = limiter("LIMITER_IDLE", 50);
+        warmup(limiter);
+        for (int i = 0; i < 200; i++) limiter.onSample(RTT, 1, false);
+        assertEquals(limiter.getLimit(), 50);
+    }
+
+    @Test
+    public void testShrinksWhenLatencyGrows() {
+        final EVCacheReadLimiter limiter = limiter("LIMITER_SHRINK", 50);
+        warmup(limiter);
+        for (int i = 0; i < 20; i++) limiter.onSample(RTT * 10, limiter.getLimit(), false);
+        assertTrue(limiter.getLimit() < 50, "limit : " + limiter.getLimit());
+        assertTrue(limiter.getLimit() >= 10, "limit : " + limiter.getLimit());
+    }
+
+    @Test
+    public void testTimeoutsBackOff() {
+        final EVCacheReadLimiter limiter = limiter("LIMITER_TIMEOUT", 50);
+        limiter.onSample(0, 50, true);
+        assertEquals(limiter.getLimit(), 45);
+        for (int i = 0; i < 100; i++) limiter.onSample(0, 50, true);
+        assertEquals(limiter.getLimit(), 10);
+    }
+
+    @Test
+    public void testGaugeIsRemovedOnShutdown() {
+        final List<Tag> tags = Arrays.<Tag>asList(new BasicTag(EVCacheMetricsFactory.HOST, "limiter-gauge-host"));
+        final EVCacheReadLimiter limiter = limiter("LIMITER_GAUGE", 50, tags);
+        assertEquals(gauges("limiter-gauge-host"), 1);
+
+        // a node replacing the one on the same host shares the gauge, which is kept until both are shut down
+        final EVCacheReadLimiter replacement = limiter("LIMITER_GAUGE", 50, tags);
+        limiter.shutdown();
+        limiter.shutdown();
+        assertEquals(gauges("limiter-gauge-host"), 1);
+        replacement.shutdown();
+        assertEquals(gauges("limiter-gauge-host"), 0);
+    }
+}
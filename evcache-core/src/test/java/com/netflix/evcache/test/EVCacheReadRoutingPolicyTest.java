@@ -0,0 +1,196 @@
+package com.netflix.evcache.test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.Test;
+
+import com.netflix.archaius.api.Property;
+import com.netflix.evcache.pool.EVCacheClient;
+import com.netflix.evcache.pool.EVCacheLatencyTracker;
+import com.netflix.evcache.pool.EVCacheReadRoutingPolicy;
+import com.netflix.evcache.pool.EwmaReadRoutingPolicy;
+import com.netflix.evcache.pool.PowerOfTwoChoicesReadRoutingPolicy;
+import com.netflix.evcache.pool.ServerGroup;
+import com.netflix.evcache.pool.ZoneAffinityReadRoutingPolicy;
+
+public class EVCacheReadRoutingPolicyTest {
+
+    private static final String LOCAL_ZONE = "us-east-1a";
+    private static final String REMOTE_ZONE = "us-east-1b";
+    // long enough for the averages not to decay while a test runs
+    private static final int EWMA_WINDOW = 600_000;
+    private static final int SELECTIONS = 10_000;
+
+    @SuppressWarnings("unchecked")
+    private static <T> Property<T> property(T value) {
+        final Property<T> property = mock(Property.class);
+        when(property.get()).thenReturn(value);
+        return property;
+    }
+
+    private static EVCacheLatencyTracker tracker() {
+        return new EVCacheLatencyTracker(16, property(EWMA_WINDOW));
+    }
+
+    /*
+     * A client of a server group of the given zone whose reads took the given latency, with the given number of
+     * reads still in flight.
+     */
+    private static EVCacheClient client(String zone, String name, long latencyMillis, int inFlight) {
+        final EVCacheLatencyTracker tracker = tracker();
+        tracker.onSend();
+        tracker.record(TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+        for (int i = 0; i < inFlight; i++) tracker.onSend();
+        return client(zone, name, tracker);
+    }
+
+    private static EVCacheClient client(String zone, String name, EVCacheLatencyTracker tracker) {
+        final EVCacheClient client = mock(EVCacheClient.class);
+        when(client.getServerGroup()).thenReturn(new ServerGroup(zone, name));
+        when(client.getReadLatencyTracker()).thenReturn(tracker);
+        return client;
+    }
+
+    private static int count(EVCacheReadRoutingPolicy policy, List<EVCacheClient> clients, EVCacheClient expected) {
+        int count = 0;
+        for (int i = 0; i < SELECTIONS; i++) {
+            if (policy.select(clients, LOCAL_ZONE) == expected) count++;
+        }
+        return count;
+    }
+
+    @Test
+    public void testReadsInFlight() {
+        final EVCacheLatencyTracker tracker = tracker();
+        tracker.onSend();
+        tracker.onSend();
+        tracker.onSend();
+        assertEquals(tracker.getInFlight(), 3);
+        tracker.record(TimeUnit.MILLISECONDS.toNanos(1));
+        assertEquals(tracker.getInFlight(), 2);
+        // a read that could not be enqueued never completes
+        tracker.onSendFailed();
+        assertEquals(tracker.getInFlight(), 1);
+        tracker.record(TimeUnit.MILLISECONDS.toNanos(1));
+        assertEquals(tracker.getInFlight(), 0);
+    }
+
+    @Test
+    public void testMovingAverageFollowsPeaks() {
+        final EVCacheLatencyTracker tracker = tracker();
+        assertEquals(tracker.getEwma(), 0.0);
+        tracker.record(TimeUnit.MILLISECONDS.toNanos(1));
+        tracker.record(TimeUnit.MILLISECONDS.toNanos(10));
+        // a slower read replaces the average
+        assertEquals(tracker.getEwma(), TimeUnit.MILLISECONDS.toNanos(10), TimeUnit.MILLISECONDS.toNanos(10) * 0.01);
+        // a faster one is blended in with at least a tenth of the weight
+        tracker.record(TimeUnit.MILLISECONDS.toNanos(1));
+        assertEquals(tracker.getEwma(), TimeUnit.MICROSECONDS.toNanos(9100), TimeUnit.MICROSECONDS.toNanos(9100) * 0.01);
+    }
+
+    @Test
+    public void testMovingAverageDecaysWhileIdle() throws Exception {
+        final EVCacheLatencyTracker tracker = new EVCacheLatencyTracker(16, property(10));
+        for (int i = 0; i < 100; i++) tracker.record(TimeUnit.MILLISECONDS.toNanos(1));
+        tracker.record(TimeUnit.MILLISECONDS.toNanos(10));
+        Thread.sleep(100);
+        // ten decay windows have passed, the peak is forgotten but not the usual latency
+        final double ewma = tracker.getEwma();
+        assertTrue(ewma > TimeUnit.MILLISECONDS.toNanos(1) * 0.9 && ewma < TimeUnit.MILLISECONDS.toNanos(2), String.valueOf(ewma));
+    }
+
+    @Test
+    public void testStalledServerGroupIsAvoided() throws Exception {
+        final EVCacheLatencyTracker stalled = new EVCacheLatencyTracker(16, property(10));
+        stalled.onSend();
+        stalled.record(TimeUnit.MILLISECONDS.toNanos(1));
+        // the server group stops answering, its read is never recorded
+        stalled.onSend();
+        Thread.sleep(100);
+        assertTrue(stalled.getEwma() >= TimeUnit.MILLISECONDS.toNanos(100), String.valueOf(stalled.getEwma()));
+
+        final EVCacheClient stalledClient = client(LOCAL_ZONE, "stalled", stalled);
+        final EVCacheClient healthy = client(LOCAL_ZONE, "healthy", 1, 0);
+        assertTrue(count(new EwmaReadRoutingPolicy(), Arrays.asList(stalledClient, healthy), healthy) > SELECTIONS * 0.95);
+        assertSame(new ZoneAffinityReadRoutingPolicy(property(2.0)).select(Arrays.asList(stalledClient, healthy), LOCAL_ZONE), healthy);
+    }
+
+    @Test
+    public void testRejectedReadsCount() {
+        final EVCacheLatencyTracker rejecting = tracker();
+        rejecting.onSend();
+        rejecting.record(TimeUnit.MILLISECONDS.toNanos(1));
+        // a rejected read is never sent, so it is neither in flight nor a latency sample
+        rejecting.onRejected(TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(rejecting.getInFlight(), 0);
+        assertEquals(rejecting.getPercentile(50), -1);
+        assertEquals(rejecting.getEwma(), TimeUnit.MILLISECONDS.toNanos(100), TimeUnit.MILLISECONDS.toNanos(100) * 0.01);
+
+        final EVCacheClient rejectingClient = client(LOCAL_ZONE, "rejecting", rejecting);
+        final EVCacheClient healthy = client(LOCAL_ZONE, "healthy", 1, 0);
+        assertTrue(count(new EwmaReadRoutingPolicy(), Arrays.asList(rejectingClient, healthy), healthy) > SELECTIONS * 0.95);
+    }
+
+    @Test
+    public void testEwmaFavorsTheFasterServerGroup() {
+        final EVCacheClient fast = client(LOCAL_ZONE, "fast", 1, 0);
+        final EVCacheClient slow = client(LOCAL_ZONE, "slow", 10, 0);
+        final int fastReads = count(new EwmaReadRoutingPolicy(), Arrays.asList(fast, slow), fast);
+        // the reads are split in inverse proportion to the latency, 10 to 1
+        assertTrue(fastReads > SELECTIONS * 0.85 && fastReads < SELECTIONS * 0.96, String.valueOf(fastReads));
+    }
+
+    @Test
+    public void testPowerOfTwoChoicesAvoidsReadsInFlight() {
+        final EVCacheClient idle = client(LOCAL_ZONE, "idle", 10, 0);
+        final EVCacheClient busy = client(LOCAL_ZONE, "busy", 1, 5);
+        final EVCacheReadRoutingPolicy policy = new PowerOfTwoChoicesReadRoutingPolicy();
+        // with two server groups both are always compared, the one with fewer reads in flight wins whatever its latency
+        assertEquals(count(policy, Arrays.asList(idle, busy), idle), SELECTIONS);
+
+        // with as many reads in flight the lower latency wins
+        final EVCacheClient fast = client(LOCAL_ZONE, "fast", 1, 0);
+        assertEquals(count(policy, Arrays.asList(idle, fast), fast), SELECTIONS);
+
+        // the busiest of three server groups is never picked, the other two are
+        final List<EVCacheClient> clients = Arrays.asList(idle, busy, fast);
+        assertEquals(count(policy, clients, busy), 0);
+        assertTrue(count(policy, clients, idle) > 0);
+    }
+
+    @Test
+    public void testZoneAffinityStaysLocalUntilTheSpilloverRatio() {
+        final EVCacheReadRoutingPolicy policy = new ZoneAffinityReadRoutingPolicy(property(2.0));
+        final EVCacheClient remote = client(REMOTE_ZONE, "remote", 2, 0);
+
+        final EVCacheClient local = client(LOCAL_ZONE, "local", 3, 0);
+        assertSame(policy.select(Arrays.asList(remote, local), LOCAL_ZONE), local);
+
+        final EVCacheClient slowLocal = client(LOCAL_ZONE, "slowLocal", 5, 0);
+        assertSame(policy.select(Arrays.asList(slowLocal, remote), LOCAL_ZONE), remote);
+
+        // the best of the local server groups is compared
+        assertSame(policy.select(Arrays.asList(slowLocal, remote, local), LOCAL_ZONE), local);
+    }
+
+    @Test
+    public void testZoneAffinityCountsReadsInFlight() {
+        final EVCacheReadRoutingPolicy policy = new ZoneAffinityReadRoutingPolicy(property(2.0));
+        final EVCacheClient remote = client(REMOTE_ZONE, "remote", 2, 0);
+        // as fast as the remote one but with 2 reads in flight it costs 3 times as much
+        final EVCacheClient busyLocal = client(LOCAL_ZONE, "busyLocal", 2, 2);
+        assertSame(policy.select(Arrays.asList(busyLocal, remote), LOCAL_ZONE), remote);
+
+        // without a local server group the best remote one is read
+        final EVCacheClient slowRemote = client(REMOTE_ZONE, "slowRemote", 20, 0);
+        assertSame(policy.select(Arrays.asList(slowRemote, remote), LOCAL_ZONE), remote);
+    }
+}
@@ -0,0 +1,194 @@
+package com.netflix.evcache.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.netflix.evcache.EVCache;
+import com.netflix.evcache.EVCacheLatch;
+import com.netflix.evcache.EVCacheLatch.Policy;
+import com.netflix.evcache.event.invalidation.EVCacheInvalidationListener;
+import com.netflix.evcache.event.invalidation.LoopbackInvalidationBroadcaster;
+import com.netflix.evcache.pool.EVCacheClientPoolManager;
+
+/**
+ * Values written with setStream and read with getStream against {@link EmbeddedMemcachedServer}s.
+ */
+public class EVCacheStreamTest extends EmbeddedServerBase {
+
+    private static final String APP_NAME = "EVCACHE_STREAM";
+    private static final String PREFIX = "str";
+    private static final int SERVER_GROUPS = 2;
+    private static final int CHUNK_SIZE = 1024;
+
+    private final Random random = new Random(7);
+    private final LoopbackInvalidationBroadcaster broadcaster = new LoopbackInvalidationBroadcaster();
+    private EVCache evCache;
+
+    @BeforeClass
+    public void setup() throws Exception {
+        final Properties props = new Properties();
+        props.setProperty(APP_NAME + ".chunk.data", "true");
+        props.setProperty(APP_NAME + ".chunk.size", String.valueOf(CHUNK_SIZE));
+        props.setProperty(APP_NAME + ".use.inmemory.cache", "true");
+        props.setProperty(APP_NAME + ".inmemory.expire.after.write.duration.ms", "60000");
+        evCache = start(APP_NAME, PREFIX, SERVER_GROUPS, props);
+        EVCacheClientPoolManager.getInstance().setInvalidationBroadcaster(broadcaster);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void removeBroadcaster() {
+        EVCacheClientPoolManager.getInstance().setInvalidationBroadcaster(null);
+    }
+
+    /*
+     * Records the keys of this app whose invalidation is broadcast.
+     */
+    private static final class Invalidations implements EVCacheInvalidationListener {
+        private final List<String> keys = new CopyOnWriteArrayList<String>();
+
+        @Override
+        public void onInvalidate(String appName, String canonicalKey) {
+            if (APP_NAME.equals(appName)) keys.add(canonicalKey);
+        }
+    }
+
+    private byte[] value(int size) {
+        final byte[] value = new byte[size];
+        random.nextBytes(value);
+        return value;
+    }
+
+    /*
+     * Writes the value in uneven pieces, one of them a single byte, so the pieces do not line up with the chunks.
+     */
+    private static void write(OutputStream out, byte[] value) throws Exception {
+        int off = 0;
+        if (value.length > 0) out.write(value[off++]);
+        while (off < value.length) {
+            final int len = Math.min(777, value.length - off);
+            out.write(value, off, len);
+            off += len;
+        }
+    }
+
+    private byte[] readStream(String key) throws Exception {
+        final InputStream in = evCache.getStream(key);
+        if (in == null) return null;
+        try {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[500];
+            int n;
+            while ((n = in.read(buffer)) != -1) out.write(buffer, 0, n);
+            return out.toByteArray();
+        } finally {
+            in.close();
+        }
+    }
+
+    private static String canonical(String key) {
+        return PREFIX + ":" + key;
+    }
+
+    private static String chunkKey(String key, int index) {
+        return canonical(key) + (index < 10 ? "_0" : "_") + index;
+    }
+
+    @DataProvider(name = "sizes")
+    public Object[][] sizes() {
+        return new Object[][] { { 0 }, { 10 }, { 5000 }, { 40000 } };
+    }
+
+    @Test(dataProvider = "sizes")
+    public void testRoundTrip(int size) throws Exception {
+        final String key = "round_trip_" + size;
+        final byte[] value = value(size);
+        final OutputStream out = evCache.setStream(key, TTL);
+        write(out, value);
+        out.close();
+
+        assertEquals(readStream(key), value);
+        assertEquals(evCache.<byte[]>get(key), value);
+        for (EmbeddedMemcachedServer server : servers) {
+            // an empty value is stored under the key itself, any other under its chunks
+            if (size == 0) {
+                assertNotNull(server.getData(canonical(key)));
+            } else {
+                assertNull(server.getData(canonical(key)));
+                assertNotNull(server.getData(chunkKey(key, 0)));
+            }
+        }
+    }
+
+    @Test
+    public void testPreviousValueIsReadUntilClose() throws Exception {
+        final byte[] previous = value(10);
+        final Invalidations invalidations = new Invalidations();
+        broadcaster.addListener(invalidations);
+        try {
+            final EVCacheLatch latch = evCache.set("replaced", previous, TTL, Policy.ALL);
+            assertTrue(latch.await(2, TimeUnit.SECONDS));
+            // the invalidation of the write is broadcast once its futures complete, which can be after the latch
+            for (int i = 0; i < 100 && invalidations.keys.isEmpty(); i++) Thread.sleep(10);
+            assertEquals(invalidations.keys.size(), 1, invalidations.keys.toString());
+            invalidations.keys.clear();
+            assertEquals(evCache.<byte[]>get("replaced"), previous);
+
+            final byte[] value = value(5000);
+            final OutputStream out = evCache.setStream("replaced", TTL);
+            write(out, value);
+
+            // the chunks are written but the previous value is not replaced yet
+            for (EmbeddedMemcachedServer server : servers) {
+                for (int i = 0; i < 100 && server.getData(chunkKey("replaced", 1)) == null; i++) Thread.sleep(10);
+                assertNotNull(server.getData(chunkKey("replaced", 1)));
+                assertEquals(server.getData(canonical("replaced")), previous);
+            }
+            assertEquals(evCache.<byte[]>get("replaced"), previous);
+            assertTrue(invalidations.keys.isEmpty(), invalidations.keys.toString());
+
+            out.close();
+            assertEquals(invalidations.keys.size(), 1, invalidations.keys.toString());
+            assertEquals(invalidations.keys.get(0), canonical("replaced"));
+            for (EmbeddedMemcachedServer server : servers) {
+                assertNull(server.getData(canonical("replaced")));
+            }
+            // the inmemory cache no longer holds the previous value
+            assertEquals(evCache.<byte[]>get("replaced"), value);
+            assertEquals(readStream("replaced"), value);
+        } finally {
+            broadcaster.removeListener(invalidations);
+        }
+    }
+
+    @Test
+    public void testEmptyValueReplacesAChunkedValue() throws Exception {
+        OutputStream out = evCache.setStream("emptied", TTL);
+        write(out, value(5000));
+        out.close();
+        assertEquals(evCache.<byte[]>get("emptied").length, 5000);
+
+        out = evCache.setStream("emptied", TTL);
+        out.close();
+        for (EmbeddedMemcachedServer server : servers) {
+            assertNull(server.getData(chunkKey("emptied", 0)));
+        }
+        assertEquals(evCache.<byte[]>get("emptied"), new byte[0]);
+        assertEquals(readStream("emptied"), new byte[0]);
+    }
+}
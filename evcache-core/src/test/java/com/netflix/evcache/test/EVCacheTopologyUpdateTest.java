@@ -0,0 +1,231 @@
+package com.netflix.evcache.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.netflix.evcache.EVCache;
+import com.netflix.evcache.EVCacheLatch;
+import com.netflix.evcache.EVCacheLatch.Policy;
+import com.netflix.evcache.metrics.EVCacheMetricsFactory;
+import com.netflix.evcache.pool.EVCacheClient;
+import com.netflix.evcache.pool.EVCacheClientPool;
+import com.netflix.evcache.pool.EVCacheClientPoolManager;
+
+import net.spy.memcached.MemcachedNode;
+
+/**
+ * Nodes added to and removed from a server group are applied to the existing clients, which keep their connections
+ * to the other nodes.
+ */
+public class EVCacheTopologyUpdateTest extends EmbeddedServerBase {
+
+    private static final String APP_NAME = "EVCACHE_TOPOLOGY";
+    private static final String PREFIX = "topo";
+    private static final int NODES = 2;
+    private static final int KEYS = 30;
+
+    private EVCache evCache;
+    private EVCacheClientPool pool;
+
+    @BeforeClass
+    public void setup() throws Exception {
+        evCache = start(APP_NAME, PREFIX, 1, NODES, new Properties());
+        pool = EVCacheClientPoolManager.getInstance().getEVCacheClientPool(APP_NAME);
+    }
+
+    /*
+     * Shuts down the servers added by a test and points the server group back at the first ones.
+     */
+    @AfterMethod(alwaysRun = true)
+    public void restoreNodes() throws Exception {
+        clearProperty(APP_NAME + ".incremental.topology.update");
+        while (servers.size() > NODES) {
+            final EmbeddedMemcachedServer server = servers.get(servers.size() - 1);
+            if (addresses().contains(address(server))) stop(server);
+            servers.remove(servers.size() - 1).shutdown();
+        }
+        setNodes(servers);
+        awaitNodes(NODES);
+    }
+
+    private static InetSocketAddress address(EmbeddedMemcachedServer server) {
+        return new InetSocketAddress("127.0.0.1", server.getPort());
+    }
+
+    /*
+     * Shuts the server down and waits for the client to lose its connection, as it does when an instance is
+     * terminated. A node that is still connected is only dropped once it has been out of discovery for a while.
+     */
+    private void stop(EmbeddedMemcachedServer server) throws Exception {
+        server.shutdown();
+        final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (System.currentTimeMillis() < deadline) {
+            // an idle connection only sees that it was closed when it is written to
+            client().ping();
+            for (MemcachedNode node : client().getNodeLocator().getAll()) {
+                if (node.getSocketAddress().equals(address(server)) && !node.isActive()) return;
+            }
+            Thread.sleep(10);
+        }
+        fail("the connection to " + server.getAddress() + " was not closed");
+    }
+
+    private void setNodes(List<EmbeddedMemcachedServer> nodes) {
+        final StringBuilder list = new StringBuilder("SERVERGROUP1=");
+        for (int i = 0; i < nodes.size(); i++) {
+            if (i > 0) list.append(',');
+            list.append("node").append(servers.indexOf(nodes.get(i)) + 1).append("/127.0.0.1:").append(nodes.get(i).getPort());
+        }
+        setProperty(APP_NAME + "-NODES", list.toString());
+        pool.refreshPool(false, false);
+    }
+
+    private EVCacheClient client() {
+        final Collection<List<EVCacheClient>> clients = pool.getAllInstancesByServerGroup().values();
+        assertEquals(clients.size(), 1);
+        return clients.iterator().next().get(0);
+    }
+
+    private Set<InetSocketAddress> addresses() {
+        final Set<InetSocketAddress> addresses = new HashSet<InetSocketAddress>();
+        for (MemcachedNode node : client().getNodeLocator().getAll()) {
+            addresses.add((InetSocketAddress) node.getSocketAddress());
+        }
+        return addresses;
+    }
+
+    /*
+     * Waits until the client has the given number of nodes and all of them are connected.
+     */
+    private void awaitNodes(int count) throws Exception {
+        final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (System.currentTimeMillis() < deadline) {
+            final Collection<MemcachedNode> nodes = client().getNodeLocator().getAll();
+            boolean active = nodes.size() == count;
+            for (MemcachedNode node : nodes) {
+                active &= node.isActive();
+            }
+            if (active) return;
+            Thread.sleep(10);
+        }
+        assertEquals(client().getNodeLocator().getAll().size(), count);
+    }
+
+    private void assertReadsAndWrites(String name) throws Exception {
+        for (int i = 0; i < KEYS; i++) {
+            final EVCacheLatch latch = evCache.set(name + "_" + i, "value_" + i, TTL, Policy.ALL);
+            assertTrue(latch.await(2, TimeUnit.SECONDS));
+            assertEquals(latch.getSuccessCount(), 1, name + "_" + i);
+        }
+        for (int i = 0; i < KEYS; i++) {
+            assertEquals(evCache.<String>get(name + "_" + i), "value_" + i);
+        }
+    }
+
+    /*
+     * Returns the number of read limit gauges of the nodes with the given host name.
+     */
+    private static long readLimitGauges(String hostName) {
+        return EVCacheMetricsFactory.getInstance().getAllMonitor().keySet().stream()
+                .filter(name -> name.contains(EVCacheMetricsFactory.READ_LIMIT) && name.contains(hostName)).count();
+    }
+
+    /*
+     * The read limiter of a removed node is shut down once the IO thread has closed the node.
+     */
+    private static void awaitNoReadLimitGauge(String hostName) throws Exception {
+        final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (readLimitGauges(hostName) > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(readLimitGauges(hostName), 0, "read limit gauges of " + hostName);
+    }
+
+    private static int keysOn(EmbeddedMemcachedServer server, String name) {
+        int keys = 0;
+        for (int i = 0; i < KEYS; i++) {
+            if (server.getData(PREFIX + ":" + name + "_" + i) != null) keys++;
+        }
+        return keys;
+    }
+
+    @Test
+    public void testAddedNodeIsAppliedToTheExistingClient() throws Exception {
+        final EVCacheClient client = client();
+        final Collection<MemcachedNode> nodes = new ArrayList<MemcachedNode>(client.getNodeLocator().getAll());
+
+        final EmbeddedMemcachedServer added = new EmbeddedMemcachedServer(0);
+        servers.add(added);
+        setNodes(servers);
+        awaitNodes(NODES + 1);
+
+        assertSame(client(), client);
+        // the connections to the nodes that did not change are kept
+        assertTrue(client.getNodeLocator().getAll().containsAll(nodes));
+        assertTrue(addresses().contains(address(added)));
+
+        assertReadsAndWrites("added");
+        assertTrue(keysOn(added, "added") > 0, "no key was written to the added node");
+    }
+
+    @Test
+    public void testRemovedNodeIsDroppedFromTheExistingClient() throws Exception {
+        final EmbeddedMemcachedServer removed = new EmbeddedMemcachedServer(0);
+        servers.add(removed);
+        setNodes(servers);
+        awaitNodes(NODES + 1);
+        final EVCacheClient client = client();
+        final String hostName = "node" + servers.size();
+        assertEquals(readLimitGauges(hostName), 1);
+
+        stop(removed);
+        setNodes(servers.subList(0, NODES));
+        awaitNodes(NODES);
+
+        assertSame(client(), client);
+        assertFalse(addresses().contains(address(removed)));
+        awaitNoReadLimitGauge(hostName);
+
+        assertReadsAndWrites("removed");
+        assertEquals(keysOn(removed, "removed"), 0);
+    }
+
+    @Test
+    public void testNewClientIsCreatedWithoutIncrementalUpdates() throws Exception {
+        setProperty(APP_NAME + ".incremental.topology.update", false);
+        final EVCacheClient client = client();
+        servers.add(new EmbeddedMemcachedServer(0));
+        setNodes(servers);
+        awaitNodes(NODES + 1);
+
+        assertNotSame(client(), client);
+        assertReadsAndWrites("replaced");
+    }
+
+    @Test
+    public void testForcedRefreshCreatesANewClient() throws Exception {
+        final EVCacheClient client = client();
+        pool.refreshPool(false, true);
+        awaitNodes(NODES);
+
+        assertNotSame(client(), client);
+        assertReadsAndWrites("forced");
+    }
+}
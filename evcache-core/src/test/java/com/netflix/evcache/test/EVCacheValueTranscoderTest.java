@@ -0,0 +1,51 @@
+package com.netflix.evcache.test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.Test;
+
+import com.netflix.archaius.api.Property;
+import com.netflix.evcache.EVCacheValueTranscoder;
+import com.netflix.evcache.pool.EVCacheValue;
+
+import net.spy.memcached.CachedData;
+
+public class EVCacheValueTranscoderTest {
+
+    @SuppressWarnings("unchecked")
+    private EVCacheValueTranscoder transcoder(boolean writeBinary) {
+        final Property<Boolean> property = mock(Property.class);
+        when(property.get()).thenReturn(writeBinary);
+        return new EVCacheValueTranscoder(property);
+    }
+
+    @Test
+    public void testBothLayoutsAreRead() {
+        final EVCacheValue val = new EVCacheValue("app:cl\u00e9", new byte[] { 1, 2, 3 }, 2, 900, System.currentTimeMillis());
+        final EVCacheValueTranscoder binary = transcoder(true);
+        final EVCacheValueTranscoder serialized = transcoder(false);
+
+        final CachedData binaryData = binary.encode(val);
+        assertTrue((binaryData.getFlags() & EVCacheValueTranscoder.BINARY_ENVELOPE_FLAG) != 0);
+        final CachedData serializedData = serialized.encode(val);
+        assertEquals(serializedData.getFlags() & EVCacheValueTranscoder.BINARY_ENVELOPE_FLAG, 0);
+        assertTrue(binaryData.getData().length < serializedData.getData().length);
+
+        assertEquals(binary.decode(binaryData), val);
+        assertEquals(binary.decode(serializedData), val);
+        assertEquals(serialized.decode(binaryData), val);
+        assertEquals(serialized.decode(serializedData), val);
+    }
+
+    @Test
+    public void testUnknownVersionIsAMiss() {
+        final EVCacheValueTranscoder binary = transcoder(true);
+        final CachedData data = binary.encode(new EVCacheValue("key", new byte[0], 0, 900, 0));
+        data.getData()[0] = 42;
+        assertNull(binary.decode(data));
+    }
+}
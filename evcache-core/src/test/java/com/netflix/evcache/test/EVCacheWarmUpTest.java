@@ -0,0 +1,200 @@
+package com.netflix.evcache.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.net.ServerSocket;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.netflix.evcache.pool.EVCacheClient;
+import com.netflix.evcache.pool.EVCacheClientPool;
+import com.netflix.evcache.pool.EVCacheClientPoolManager;
+import com.netflix.evcache.pool.ServerGroup;
+
+/**
+ * New clients, including the ones of new server groups, and added nodes are warmed up outside of the refresh lock, all
+ * the server groups at once. The server groups are given a node nothing listens on, which never connects.
+ */
+public class EVCacheWarmUpTest extends EmbeddedServerBase {
+
+    private static final String APP_NAME = "EVCACHE_WARMUP";
+    private static final String PREFIX = "wrm";
+    private static final int WARMUP_TIMEOUT = 1000;
+    // new clients ping their nodes, which waits this long for the dead node
+    private static final int OPERATION_TIMEOUT = 200;
+
+    private EVCacheClientPool pool;
+    private int deadPort;
+
+    @BeforeClass
+    public void setup() throws Exception {
+        final Properties props = new Properties();
+        props.setProperty(APP_NAME + ".warmup.timeout", String.valueOf(WARMUP_TIMEOUT));
+        props.setProperty(APP_NAME + ".warmup.connected.ratio", "1.0");
+        props.setProperty(APP_NAME + ".operation.timeout", String.valueOf(OPERATION_TIMEOUT));
+        start(APP_NAME, PREFIX, 2, props);
+        pool = EVCacheClientPoolManager.getInstance().getEVCacheClientPool(APP_NAME);
+        // a third server, added to a server group by the tests
+        servers.add(new EmbeddedMemcachedServer(0));
+        try (ServerSocket socket = new ServerSocket(0)) {
+            deadPort = socket.getLocalPort();
+        }
+    }
+
+    /*
+     * The dead node is removed from the clients before they are replaced, shutting down a client waits for the queues
+     * of its nodes to drain.
+     */
+    @AfterMethod(alwaysRun = true)
+    public void restoreNodes() {
+        setProperty(APP_NAME + ".warmup.connected.ratio", "1.0");
+        setNodes(live(0), live(1));
+        pool.refreshPool(false, false);
+        pool.refreshPool(false, true);
+    }
+
+    private String live(int server) {
+        return "node" + (server + 1) + "/127.0.0.1:" + servers.get(server).getPort();
+    }
+
+    private String dead() {
+        return "dead/127.0.0.1:" + deadPort;
+    }
+
+    private static void setNodes(String serverGroup1, String serverGroup2) {
+        setProperty(APP_NAME + "-NODES", "SERVERGROUP1=" + serverGroup1 + (serverGroup2 == null ? "" : ";SERVERGROUP2=" + serverGroup2));
+    }
+
+    private long refresh(boolean force) {
+        final long start = System.currentTimeMillis();
+        pool.refreshPool(false, force);
+        return System.currentTimeMillis() - start;
+    }
+
+    private EVCacheClient client(String serverGroup) {
+        for (Map.Entry<ServerGroup, List<EVCacheClient>> entry : pool.getAllInstancesByServerGroup().entrySet()) {
+            if (entry.getKey().getName().equals(serverGroup)) return entry.getValue().get(0);
+        }
+        return null;
+    }
+
+    /*
+     * A server group is only dropped once none of its nodes is connected.
+     */
+    private void removeServerGroup3(EmbeddedMemcachedServer server) throws Exception {
+        server.shutdown();
+        servers.remove(server);
+        setNodes(live(0), live(1));
+        final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (client("SERVERGROUP3") != null && System.currentTimeMillis() < deadline) {
+            client("SERVERGROUP3").ping();
+            refresh(false);
+        }
+        assertNull(client("SERVERGROUP3"));
+    }
+
+    @Test
+    public void testServerGroupsAreWarmedUpTogether() throws Exception {
+        final EVCacheClient client1 = client("SERVERGROUP1");
+        final EVCacheClient client2 = client("SERVERGROUP2");
+        setNodes(live(0) + "," + dead(), live(1) + "," + dead());
+
+        final long duration = refresh(true);
+        // both server groups wait for their dead node at the same time
+        assertTrue(duration >= WARMUP_TIMEOUT && duration < WARMUP_TIMEOUT * 2, "refresh took " + duration + " msec");
+        assertNotSame(client("SERVERGROUP1"), client1);
+        assertNotSame(client("SERVERGROUP2"), client2);
+        assertEquals(client("SERVERGROUP1").getNodeLocator().getAll().size(), 2);
+        assertTrue(client1.isShutdown());
+    }
+
+    @Test
+    public void testConnectedRatioIsEnough() throws Exception {
+        setProperty(APP_NAME + ".warmup.connected.ratio", "0.5");
+        final EVCacheClient client = client("SERVERGROUP1");
+        setNodes(live(0) + "," + dead(), live(1));
+
+        final long duration = refresh(true);
+        assertTrue(duration < WARMUP_TIMEOUT / 2, "refresh took " + duration + " msec");
+        assertNotSame(client("SERVERGROUP1"), client);
+    }
+
+    @Test
+    public void testNewServerGroupIsWarmedUp() throws Exception {
+        final EmbeddedMemcachedServer server = new EmbeddedMemcachedServer(0);
+        servers.add(server);
+        try {
+            // nothing is served from a new server group until its clients are warmed up
+            setNodes(live(0), live(1) + ";SERVERGROUP3=" + live(servers.size() - 1) + "," + dead());
+            final CompletableFuture<Long> warming = CompletableFuture.supplyAsync(() -> refresh(false));
+            Thread.sleep(WARMUP_TIMEOUT / 5);
+            assertFalse(warming.isDone());
+            assertNull(client("SERVERGROUP3"));
+
+            final long duration = warming.get(WARMUP_TIMEOUT * 2, TimeUnit.MILLISECONDS);
+            assertTrue(duration >= WARMUP_TIMEOUT, "refresh took " + duration + " msec");
+            final EVCacheClient client = client("SERVERGROUP3");
+            assertNotNull(client);
+            assertEquals(client.getNodeLocator().getAll().size(), 2);
+        } finally {
+            removeServerGroup3(server);
+        }
+    }
+
+    @Test
+    public void testConnectedServerGroupIsPutInRotationOnceConnected() throws Exception {
+        final EmbeddedMemcachedServer server = new EmbeddedMemcachedServer(0);
+        servers.add(server);
+        try {
+            // the warm-up ends when the node connects, well before the timeout
+            setNodes(live(0), live(1) + ";SERVERGROUP3=" + live(servers.size() - 1));
+            final long duration = refresh(false);
+            assertTrue(duration < WARMUP_TIMEOUT / 2, "refresh took " + duration + " msec");
+            assertNotNull(client("SERVERGROUP3"));
+        } finally {
+            removeServerGroup3(server);
+        }
+    }
+
+    @Test
+    public void testWarmUpDoesNotHoldTheRefreshLock() throws Exception {
+        final EVCacheClient client1 = client("SERVERGROUP1");
+        setNodes(live(0) + "," + dead(), live(1));
+        final CompletableFuture<Long> warming = CompletableFuture.supplyAsync(() -> refresh(false));
+        Thread.sleep(WARMUP_TIMEOUT / 5);
+        assertFalse(warming.isDone());
+        // the node is added to the existing client but not routed to while it connects
+        assertEquals(client("SERVERGROUP1"), client1);
+        assertEquals(client1.getNodeLocator().getAll().size(), 1);
+
+        // the node added to the other server group is routed to once it connects, not once the first refresh is done
+        final EVCacheClient client2 = client("SERVERGROUP2");
+        setNodes(live(0) + "," + dead(), live(1) + "," + live(2));
+        final CompletableFuture<Long> adding = CompletableFuture.supplyAsync(() -> refresh(false));
+        final long deadline = System.currentTimeMillis() + WARMUP_TIMEOUT / 2;
+        while (client2.getNodeLocator().getAll().size() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(client2.getNodeLocator().getAll().size(), 2);
+        assertFalse(warming.isDone());
+        assertEquals(client("SERVERGROUP2"), client2);
+
+        // the dead node is routed to once the warm-up times out
+        assertTrue(warming.get(WARMUP_TIMEOUT * 2, TimeUnit.MILLISECONDS) >= WARMUP_TIMEOUT);
+        adding.get(WARMUP_TIMEOUT * 2, TimeUnit.MILLISECONDS);
+        assertEquals(client("SERVERGROUP1"), client1);
+        assertEquals(client1.getNodeLocator().getAll().size(), 2);
+    }
+}
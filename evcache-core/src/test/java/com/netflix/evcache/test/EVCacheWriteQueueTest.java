@@ -0,0 +1,167 @@
+package com.netflix.evcache.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.Collections;
+import java.util.Properties;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.netflix.evcache.EVCache;
+import com.netflix.evcache.EVCacheBulkLatch;
+import com.netflix.evcache.EVCacheException;
+import com.netflix.evcache.EVCacheLatch;
+import com.netflix.evcache.EVCacheLatch.Policy;
+import com.netflix.evcache.event.EVCacheEvent;
+import com.netflix.evcache.event.EVCacheEventListener;
+import com.netflix.evcache.pool.EVCacheClient;
+import com.netflix.evcache.pool.EVCacheClientPoolManager;
+
+import net.spy.memcached.CachedData;
+import net.spy.memcached.ops.StatusCode;
+
+/**
+ * Writes to a node whose write queue is full are rejected right away. The queue is filled by pausing the
+ * {@link EmbeddedMemcachedServer}, so large values back up behind the socket buffers.
+ */
+public class EVCacheWriteQueueTest extends EmbeddedServerBase {
+
+    private static final String APP_NAME = "EVCACHE_WRITE_QUEUE";
+    private static final String PREFIX = "wq";
+    private static final int MAX_QUEUE_LENGTH = 8;
+    private static final int MAX_WRITES = 1000;
+
+    private final byte[] value = new byte[512 * 1024];
+    private EVCache evCache;
+    private EVCacheClient client;
+
+    @BeforeClass
+    public void setup() throws Exception {
+        final Properties props = new Properties();
+        props.setProperty(APP_NAME + ".max.queue.length", String.valueOf(MAX_QUEUE_LENGTH));
+        // the input queue is as short as the write queue, give the IO thread time to move the writes to the latter
+        props.setProperty(APP_NAME + ".operation.QueueMaxBlockTime", "1000");
+        evCache = start(APP_NAME, PREFIX, 1, props);
+        client = EVCacheClientPoolManager.getInstance().getEVCacheClientPool(APP_NAME).getEVCacheClientForRead();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void resume() throws Exception {
+        clearProperty(APP_NAME + ".chunk.data");
+        clearProperty(APP_NAME + ".events.using.latch");
+        servers.get(0).setPaused(false);
+        awaitDrained();
+    }
+
+    /*
+     * Writes large values until one is rejected and returns it.
+     */
+    private Future<Boolean> fillWriteQueue() throws Exception {
+        servers.get(0).setPaused(true);
+        for (int i = 0; i < MAX_WRITES; i++) {
+            final Future<Boolean> future = client.set(PREFIX + ":fill_" + i, new CachedData(0, value, Integer.MAX_VALUE), TTL, null);
+            if (future instanceof EVCacheClient.DefaultFuture) return future;
+        }
+        fail("no write was rejected after " + MAX_WRITES + " writes of " + value.length + " bytes");
+        return null;
+    }
+
+    private void awaitDrained() throws Exception {
+        final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(30);
+        while (client.getWriteQueueLength() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(client.getWriteQueueLength(), 0);
+    }
+
+    @Test
+    public void testWriteIsRejectedWhenTheWriteQueueIsFull() throws Exception {
+        final Future<Boolean> rejected = fillWriteQueue();
+        assertTrue(rejected.isDone());
+        assertFalse(rejected.get());
+        final EVCacheClient.DefaultFuture defaultFuture = (EVCacheClient.DefaultFuture) rejected;
+        assertNotNull(defaultFuture.getStatus());
+        assertEquals(defaultFuture.getStatus().getStatusCode(), StatusCode.ERR_BUSY);
+
+        // the caller is not blocked and the latch completes with the write counted as failed
+        final long start = System.currentTimeMillis();
+        final EVCacheLatch latch = evCache.set("rejected_key", "value", TTL, Policy.ALL);
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertTrue(System.currentTimeMillis() - start < 500, "the write took " + (System.currentTimeMillis() - start) + " msec");
+        assertEquals(latch.getSuccessCount(), 0);
+        assertEquals(latch.getFailureCount(), 1);
+
+        // a delete and a touch are rejected as well
+        assertTrue(client.delete(PREFIX + ":rejected_key", null) instanceof EVCacheClient.DefaultFuture);
+        assertTrue(client.touch(PREFIX + ":rejected_key", TTL) instanceof EVCacheClient.DefaultFuture);
+    }
+
+    @Test
+    public void testEventOfARejectedBulkWriteIsCompleted() throws Exception {
+        fillWriteQueue();
+        final AtomicInteger completed = new AtomicInteger();
+        final EVCacheEventListener listener = new EVCacheEventListener() {
+            @Override
+            public void onStart(EVCacheEvent e) {
+            }
+
+            @Override
+            public void onComplete(EVCacheEvent e) {
+                if (APP_NAME.equals(e.getAppName()) && e.getCall() == EVCache.Call.SET_BULK) completed.incrementAndGet();
+            }
+
+            @Override
+            public void onError(EVCacheEvent e, Throwable t) {
+            }
+
+            @Override
+            public boolean onThrottle(EVCacheEvent e) {
+                return false;
+            }
+        };
+        setProperty(APP_NAME + ".events.using.latch", true);
+        EVCacheClientPoolManager.getInstance().addEVCacheEventListener(listener);
+        try {
+            // every write is rejected, so the latch is released before the event is set on it
+            final EVCacheBulkLatch latch = evCache.setBulk(Collections.singletonMap("rejected_bulk", "value"), TTL, Policy.ALL);
+            assertTrue(latch.isDone());
+            assertEquals(latch.getFailedKeys(), Collections.singleton("rejected_bulk"));
+            assertEquals(completed.get(), 1);
+        } finally {
+            EVCacheClientPoolManager.getInstance().removeEVCacheEventListener(listener);
+        }
+    }
+
+    @Test
+    public void testStreamIsRejectedWhenTheWriteQueueIsFull() throws Exception {
+        fillWriteQueue();
+        setProperty(APP_NAME + ".chunk.data", true);
+        try {
+            evCache.setStream("rejected_stream", TTL);
+            fail("the stream can not be written to any server group");
+        } catch (EVCacheException expected) {
+            // the only node of the server group has a full write queue
+        }
+    }
+
+    @Test
+    public void testWritesAreAcceptedOnceTheQueueDrains() throws Exception {
+        fillWriteQueue();
+        servers.get(0).setPaused(false);
+        awaitDrained();
+
+        final Future<Boolean> future = client.set(PREFIX + ":accepted_key", new CachedData(0, value, Integer.MAX_VALUE), TTL, null);
+        assertFalse(future instanceof EVCacheClient.DefaultFuture);
+        assertTrue(future.get(5, TimeUnit.SECONDS));
+        assertEquals(servers.get(0).getData(PREFIX + ":accepted_key").length, value.length);
+    }
+}
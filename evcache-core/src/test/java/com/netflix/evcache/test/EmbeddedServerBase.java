@@ -0,0 +1,128 @@
+package com.netflix.evcache.test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.AfterClass;
+
+import com.netflix.archaius.DefaultPropertyFactory;
+import com.netflix.archaius.api.config.CompositeConfig;
+import com.netflix.archaius.api.exceptions.ConfigException;
+import com.netflix.archaius.config.DefaultCompositeConfig;
+import com.netflix.archaius.config.DefaultSettableConfig;
+import com.netflix.archaius.config.SystemConfig;
+import com.netflix.evcache.EVCache;
+import com.netflix.evcache.EVCacheLatch;
+import com.netflix.evcache.EVCacheLatch.Policy;
+import com.netflix.evcache.util.EVCacheConfig;
+
+/**
+ * Base for the tests that run the client against {@link EmbeddedMemcachedServer}s, one per server group.
+ *
+ * The pool manager and the properties are process wide, so every test class should use an app name of its own.
+ * Properties are set through {@link #setProperty(String, Object)}, changes are seen by the properties the client
+ * already holds.
+ */
+public abstract class EmbeddedServerBase {
+
+    protected static final int TTL = 900;
+
+    private static final DefaultSettableConfig PROPERTIES = new DefaultSettableConfig();
+
+    static {
+        // the composite config takes a snapshot of the system properties, so the ports of the servers, which are only
+        // known once they are started, are set on a layer that notifies the properties of its changes
+        try {
+            final CompositeConfig config = new DefaultCompositeConfig();
+            config.addConfig("TEST", PROPERTIES);
+            config.addConfig("SYSTEM", SystemConfig.INSTANCE);
+            new EVCacheConfig(new DefaultPropertyFactory(config));
+        } catch (ConfigException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    protected final List<EmbeddedMemcachedServer> servers = new ArrayList<EmbeddedMemcachedServer>();
+
+    /**
+     * Starts the servers, points the app at them through {@code <APP>-NODES} and returns an {@link EVCache} once a
+     * write is acknowledged by every server group. The given properties are set before the app is built.
+     */
+    protected EVCache start(String appName, String cachePrefix, int serverGroups, Properties props) throws Exception {
+        return start(appName, cachePrefix, serverGroups, 1, props);
+    }
+
+    /**
+     * Starts the given number of servers per server group. When a server group has more than one server they are
+     * named {@code node1}, {@code node2}... so they can be told apart by their host name.
+     */
+    protected EVCache start(String appName, String cachePrefix, int serverGroups, int serversPerServerGroup, Properties props) throws Exception {
+        final StringBuilder nodes = new StringBuilder();
+        for (int i = 0; i < serverGroups; i++) {
+            if (i > 0) nodes.append(';');
+            nodes.append("SERVERGROUP").append(i + 1).append('=');
+            for (int j = 0; j < serversPerServerGroup; j++) {
+                final EmbeddedMemcachedServer server = new EmbeddedMemcachedServer(0);
+                servers.add(server);
+                if (j > 0) nodes.append(',');
+                if (serversPerServerGroup == 1) nodes.append(server.getAddress());
+                else nodes.append("node").append(j + 1).append("/127.0.0.1:").append(server.getPort());
+            }
+        }
+        setProperty("evcache.use.simple.node.list.provider", "true");
+        setProperty(appName + ".use.simple.node.list.provider", "true");
+        setProperty(appName + "-NODES", nodes.toString());
+        for (String name : props.stringPropertyNames()) {
+            setProperty(name, props.getProperty(name));
+        }
+
+        final EVCache evCache = new EVCache.Builder().setAppName(appName).setCachePrefix(cachePrefix).enableRetry().build();
+        awaitReady(evCache, appName, serverGroups);
+        return evCache;
+    }
+
+    protected static void setProperty(String name, Object value) {
+        PROPERTIES.setProperty(name, value);
+    }
+
+    protected static void clearProperty(String name) {
+        PROPERTIES.clearProperty(name);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServers() {
+        for (EmbeddedMemcachedServer server : servers) {
+            server.shutdown();
+        }
+        servers.clear();
+    }
+
+    /*
+     * The pool connects asynchronously, wait until a write is acknowledged by every server group.
+     */
+    private void awaitReady(EVCache evCache, String appName, int serverGroups) throws Exception {
+        final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(30);
+        while (System.currentTimeMillis() < deadline) {
+            final EVCacheLatch latch = evCache.set("ready", "ready", TTL, Policy.ALL);
+            if (latch.await(1, TimeUnit.SECONDS) && latch.getSuccessCount() == serverGroups && "ready".equals(evCache.get("ready"))) {
+                evCache.delete("ready", Policy.ALL).await(1, TimeUnit.SECONDS);
+                return;
+            }
+            Thread.sleep(100);
+        }
+        throw new IllegalStateException("EVCache " + appName + " did not become ready for " + servers);
+    }
+
+    /**
+     * Returns the number of servers that hold the given key.
+     */
+    protected int copies(String canonicalKey) {
+        int copies = 0;
+        for (EmbeddedMemcachedServer server : servers) {
+            if (server.getData(canonicalKey) != null) copies++;
+        }
+        return copies;
+    }
+}
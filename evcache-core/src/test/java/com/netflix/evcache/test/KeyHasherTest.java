@@ -0,0 +1,86 @@
+package com.netflix.evcache.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+
+import org.mockito.Mockito;
+import org.testng.annotations.Test;
+
+import com.google.common.base.Charsets;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.netflix.archaius.api.Property;
+import com.netflix.evcache.EVCacheKey;
+import com.netflix.evcache.util.KeyHasher;
+import com.netflix.evcache.util.KeyHasher.HashingAlgorithm;
+
+public class KeyHasherTest {
+
+    private static final String[] KEYS = { "a", "evcache:key_1", "\u00e9vcache:cl\u00e9", new String(new char[300]).replace('\0', 'k') };
+
+    // the hashed keys used to be computed this way, they must not change or the cached data is lost
+    private static byte[] expected(String key, HashingAlgorithm hashingAlgorithm, Integer maxHashingBytes) {
+        final HashFunction hf;
+        switch (hashingAlgorithm) {
+            case murmur3: hf = Hashing.murmur3_128(); break;
+            case adler32: hf = Hashing.adler32(); break;
+            case crc32: hf = Hashing.crc32(); break;
+            case sha1: hf = Hashing.sha1(); break;
+            case sha256: hf = Hashing.sha256(); break;
+            case siphash24: hf = Hashing.sipHash24(); break;
+            case goodfasthash: hf = Hashing.goodFastHash(128); break;
+            default: hf = Hashing.md5(); break;
+        }
+        final byte[] digest = hf.newHasher().putString(key, Charsets.UTF_8).hash().asBytes();
+        if (maxHashingBytes != null && maxHashingBytes > 0 && maxHashingBytes < digest.length) {
+            return Arrays.copyOfRange(digest, 0, maxHashingBytes);
+        }
+        return digest;
+    }
+
+    @Test
+    public void testHashedKeysMatchGuava() {
+        final ByteBuffer buffer = ByteBuffer.allocate(64);
+        for (HashingAlgorithm hashingAlgorithm : HashingAlgorithm.values()) {
+            for (String key : KEYS) {
+                for (Integer maxHashingBytes : new Integer[] { null, 0, 3, 10 }) {
+                    final byte[] expected = expected(key, hashingAlgorithm, maxHashingBytes);
+                    assertEquals(KeyHasher.getHashedKeyInBytes(key, hashingAlgorithm, maxHashingBytes), expected, hashingAlgorithm + " " + key);
+                    assertEquals(KeyHasher.getHashedKeyEncoded(key, hashingAlgorithm, maxHashingBytes), Base64.getEncoder().withoutPadding().encodeToString(expected));
+
+                    buffer.clear();
+                    assertEquals(KeyHasher.getHashedKey(key, hashingAlgorithm, maxHashingBytes, buffer), expected.length);
+                    assertEquals(Arrays.copyOf(buffer.array(), buffer.position()), expected);
+                }
+            }
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testHashedKeysOfServerGroupsWithDifferentAlgorithms() {
+        final Property<Boolean> shouldEncode = Mockito.mock(Property.class);
+        final Property<Integer> maxHashingBytes = Mockito.mock(Property.class);
+        final EVCacheKey evcKey = new EVCacheKey("EVCACHE", "key_1", "evcache:key_1", HashingAlgorithm.murmur3, shouldEncode, maxHashingBytes);
+
+        final String murmur3 = evcKey.getDerivedKey(false, HashingAlgorithm.murmur3, Boolean.TRUE, 10);
+        final String md5 = evcKey.getDerivedKey(false, HashingAlgorithm.md5, Boolean.TRUE, 10);
+        assertEquals(murmur3, KeyHasher.getHashedKeyEncoded("evcache:key_1", HashingAlgorithm.murmur3, 10));
+        assertEquals(md5, KeyHasher.getHashedKeyEncoded("evcache:key_1", HashingAlgorithm.md5, 10));
+
+        // reads of server groups that alternate between algorithms reuse the hashed form of each of them
+        for (int i = 0; i < 3; i++) {
+            assertSame(evcKey.getDerivedKey(false, HashingAlgorithm.murmur3, Boolean.TRUE, 10), murmur3);
+            assertSame(evcKey.getDerivedKey(false, HashingAlgorithm.md5, Boolean.TRUE, 10), md5);
+        }
+
+        // a change of the max hashing bytes is seen
+        assertEquals(evcKey.getDerivedKey(false, HashingAlgorithm.md5, Boolean.TRUE, 3), KeyHasher.getHashedKeyEncoded("evcache:key_1", HashingAlgorithm.md5, 3));
+        assertEquals(evcKey.getDerivedKey(true, HashingAlgorithm.md5, Boolean.TRUE, 10), KeyHasher.getHashedKeyEncoded("EVCACHE:evcache:key_1", HashingAlgorithm.md5, 10));
+        assertEquals(evcKey.getDerivedKey(false, HashingAlgorithm.NO_HASHING, Boolean.TRUE, 10), "evcache:key_1");
+    }
+}
@@ -0,0 +1,654 @@
+package com.netflix.evcache.test;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A minimal in-process memcached stand-in used by the tests and the benchmarks so that the client can be
+ * exercised and measured without an external memcached deployment.
+ *
+ * The server speaks both the ASCII and the binary protocol on the same port. The protocol is picked per
+ * connection by looking at the first byte: 0x80 is the binary request magic, anything else is treated as
+ * an ASCII command line. It implements the subset of commands spymemcached issues on the EVCache read and
+ * write paths (get/gets/gat, set/add/replace/append/prepend/cas, delete, incr/decr, touch, version, stats,
+ * noop, the quiet binary variants and the ASCII meta get). Expiry is evaluated lazily on read. It is not meant to be a faithful
+ * memcached implementation, only a cheap and deterministic peer.
+ */
+public class EmbeddedMemcachedServer {
+
+    private static final Logger log = LoggerFactory.getLogger(EmbeddedMemcachedServer.class);
+
+    private static final byte REQ_MAGIC = (byte) 0x80;
+    private static final byte RES_MAGIC = (byte) 0x81;
+
+    private static final int GET = 0x00, SET = 0x01, ADD = 0x02, REPLACE = 0x03, DELETE = 0x04, INCR = 0x05,
+            DECR = 0x06, QUIT = 0x07, FLUSH = 0x08, GETQ = 0x09, NOOP = 0x0a, VERSION = 0x0b, GETK = 0x0c,
+            GETKQ = 0x0d, APPEND = 0x0e, PREPEND = 0x0f, STAT = 0x10, SETQ = 0x11, ADDQ = 0x12, REPLACEQ = 0x13,
+            DELETEQ = 0x14, INCRQ = 0x15, DECRQ = 0x16, QUITQ = 0x17, FLUSHQ = 0x18, APPENDQ = 0x19,
+            PREPENDQ = 0x1a, TOUCH = 0x1c, GAT = 0x1d, GATQ = 0x1e;
+
+    private static final short STATUS_OK = 0x00, STATUS_NOT_FOUND = 0x01, STATUS_EXISTS = 0x02,
+            STATUS_NOT_STORED = 0x05, STATUS_NON_NUMERIC = 0x06, STATUS_UNKNOWN_COMMAND = 0x81;
+
+    private static final String VERSION_STRING = "1.6.0-evcache-benchmark";
+    private static final long THIRTY_DAYS_IN_SECONDS = 60 * 60 * 24 * 30;
+
+    private final ConcurrentMap<String, Item> store = new ConcurrentHashMap<String, Item>();
+    private final List<Socket> connections = new CopyOnWriteArrayList<Socket>();
+    private final AtomicLong casCounter = new AtomicLong();
+    private final ServerSocket serverSocket;
+    private final Thread acceptor;
+    private volatile boolean running = true;
+    private volatile long responseDelayMillis = 0;
+    private boolean paused = false;
+    private final AtomicLong gets = new AtomicLong();
+
+    /**
+     * Starts a server listening on the loopback interface. Pass 0 to bind to an ephemeral port.
+     */
+    public EmbeddedMemcachedServer(int port) throws IOException {
+        this.serverSocket = new ServerSocket();
+        this.serverSocket.setReuseAddress(true);
+        this.serverSocket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        this.acceptor = new Thread(this::accept, "EmbeddedMemcached-" + getPort() + "-acceptor");
+        this.acceptor.setDaemon(true);
+        this.acceptor.start();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Returns the host:port string in the format expected by {@code <APP>-NODES}.
+     */
+    public String getAddress() {
+        return "localhost:" + getPort();
+    }
+
+    public int size() {
+        return store.size();
+    }
+
+    public void flush() {
+        store.clear();
+    }
+
+    /**
+     * Delays the processing of every request received from now on by the given time, to simulate a slow server.
+     */
+    public void setResponseDelay(long millis) {
+        this.responseDelayMillis = millis;
+    }
+
+    /**
+     * Stops processing requests, and so reading them from the connections, until it is called with false. The data the
+     * clients write then backs up in the socket buffers and in their write queues.
+     */
+    public synchronized void setPaused(boolean paused) {
+        this.paused = paused;
+        notifyAll();
+    }
+
+    /**
+     * Returns the number of reads received. A read of many keys counts once: a get line of the ASCII protocol, or a
+     * run of quiet gets along with the NOOP ending it in the binary protocol.
+     */
+    public long getReadCount() {
+        return gets.get();
+    }
+
+    private void delay() throws IOException {
+        synchronized (this) {
+            try {
+                while (paused && running) wait(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while paused", e);
+            }
+        }
+        final long millis = responseDelayMillis;
+        if (millis <= 0) return;
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while delaying the response", e);
+        }
+    }
+
+    /**
+     * Returns the value stored under the given key, or null if the key is missing or expired.
+     */
+    public byte[] getData(String key) {
+        final Item item = get(key);
+        return (item == null) ? null : item.data;
+    }
+
+    /**
+     * Removes the given key, to simulate an eviction.
+     */
+    public boolean remove(String key) {
+        return store.remove(key) != null;
+    }
+
+    public void shutdown() {
+        running = false;
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            if (log.isDebugEnabled()) log.debug("Exception closing server socket", e);
+        }
+        for (Socket socket : connections) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                if (log.isDebugEnabled()) log.debug("Exception closing connection " + socket, e);
+            }
+        }
+        connections.clear();
+    }
+
+    private void accept() {
+        while (running) {
+            try {
+                final Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                connections.add(socket);
+                final Thread worker = new Thread(() -> serve(socket), "EmbeddedMemcached-" + getPort() + "-" + socket.getPort());
+                worker.setDaemon(true);
+                worker.start();
+            } catch (IOException e) {
+                if (running) log.warn("Exception accepting connection", e);
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try {
+            final InputStream in = new BufferedInputStream(socket.getInputStream(), 64 * 1024);
+            final OutputStream out = new BufferedOutputStream(socket.getOutputStream(), 64 * 1024);
+            in.mark(1);
+            final int first = in.read();
+            if (first == -1) return;
+            in.reset();
+            if ((byte) first == REQ_MAGIC) {
+                serveBinary(new DataInputStream(in), out);
+            } else {
+                serveAscii(in, out);
+            }
+        } catch (EOFException | SocketException e) {
+            // client went away
+        } catch (IOException e) {
+            if (running) log.warn("Exception serving connection " + socket, e);
+        } finally {
+            connections.remove(socket);
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // ignore
+            }
+        }
+    }
+
+    /*
+     * ----------------------------------------------------------------
+     * ASCII protocol
+     * ----------------------------------------------------------------
+     */
+    private void serveAscii(InputStream in, OutputStream out) throws IOException {
+        String line;
+        while ((line = readLine(in)) != null) {
+            if (line.isEmpty()) continue;
+            delay();
+            final String[] tokens = line.split(" ");
+            final String cmd = tokens[0];
+            switch (cmd) {
+            case "get":
+            case "gets":
+                gets.incrementAndGet();
+                for (int i = 1; i < tokens.length; i++) {
+                    writeAsciiValue(out, tokens[i], get(tokens[i]), cmd.equals("gets"));
+                }
+                writeLine(out, "END");
+                break;
+            case "mg":
+                gets.incrementAndGet();
+                writeAsciiMetaValue(out, get(tokens[1]));
+                break;
+            case "gat":
+            case "gats":
+                final int gatExp = Integer.parseInt(tokens[1]);
+                for (int i = 2; i < tokens.length; i++) {
+                    writeAsciiValue(out, tokens[i], touch(tokens[i], gatExp), cmd.equals("gats"));
+                }
+                writeLine(out, "END");
+                break;
+            case "set":
+            case "add":
+            case "replace":
+            case "append":
+            case "prepend":
+            case "cas": {
+                final String key = tokens[1];
+                final int flags = (int) Long.parseLong(tokens[2]);
+                final int exp = Integer.parseInt(tokens[3]);
+                final int len = Integer.parseInt(tokens[4]);
+                final long cas = cmd.equals("cas") ? Long.parseLong(tokens[5]) : 0;
+                final boolean noreply = "noreply".equals(tokens[tokens.length - 1]);
+                final byte[] data = readFully(in, len);
+                readLine(in);
+                final short status = store(cmd, key, flags, exp, data, cas);
+                if (!noreply) writeLine(out, asciiStoreStatus(status));
+                break;
+            }
+            case "delete": {
+                final boolean removed = store.remove(tokens[1]) != null;
+                if (!"noreply".equals(tokens[tokens.length - 1])) writeLine(out, removed ? "DELETED" : "NOT_FOUND");
+                break;
+            }
+            case "touch": {
+                final Item item = touch(tokens[1], Integer.parseInt(tokens[2]));
+                if (!"noreply".equals(tokens[tokens.length - 1])) writeLine(out, item != null ? "TOUCHED" : "NOT_FOUND");
+                break;
+            }
+            case "incr":
+            case "decr": {
+                final long delta = Long.parseLong(tokens[2]);
+                final boolean noreply = "noreply".equals(tokens[tokens.length - 1]);
+                final Long result;
+                try {
+                    result = mutate(tokens[1], cmd.equals("incr") ? delta : -delta, -1, 0);
+                } catch (NumberFormatException e) {
+                    if (!noreply) writeLine(out, "CLIENT_ERROR cannot increment or decrement non-numeric value");
+                    break;
+                }
+                if (!noreply) writeLine(out, result == null ? "NOT_FOUND" : String.valueOf(result));
+                break;
+            }
+            case "version":
+                writeLine(out, "VERSION " + VERSION_STRING);
+                break;
+            case "stats":
+                writeLine(out, "STAT curr_items " + store.size());
+                writeLine(out, "END");
+                break;
+            case "flush_all":
+                store.clear();
+                writeLine(out, "OK");
+                break;
+            case "quit":
+                return;
+            default:
+                writeLine(out, "ERROR");
+                break;
+            }
+            if (in.available() == 0) out.flush();
+        }
+    }
+
+    private static String asciiStoreStatus(short status) {
+        switch (status) {
+        case STATUS_OK:
+            return "STORED";
+        case STATUS_EXISTS:
+            return "EXISTS";
+        case STATUS_NOT_FOUND:
+            return "NOT_FOUND";
+        default:
+            return "NOT_STORED";
+        }
+    }
+
+    private static void writeAsciiValue(OutputStream out, String key, Item item, boolean withCas) throws IOException {
+        if (item == null) return;
+        final StringBuilder sb = new StringBuilder(key.length() + 32).append("VALUE ").append(key).append(' ')
+                .append(item.flags & 0xffffffffL).append(' ').append(item.data.length);
+        if (withCas) sb.append(' ').append(item.cas);
+        writeLine(out, sb.toString());
+        out.write(item.data);
+        out.write('\r');
+        out.write('\n');
+    }
+
+    /*
+     * Answers a meta get with the size, flags, TTL left (-1 if the item does not expire) and cas of the item, whatever
+     * flags were asked for.
+     */
+    private static void writeAsciiMetaValue(OutputStream out, Item item) throws IOException {
+        if (item == null) {
+            writeLine(out, "EN");
+            return;
+        }
+        final long ttl = (item.expiry == 0) ? -1 : Math.max(1, (item.expiry - System.currentTimeMillis() + 999) / 1000);
+        writeLine(out, "VA " + item.data.length + " s" + item.data.length + " f" + (item.flags & 0xffffffffL) + " t" + ttl + " c" + item.cas);
+        out.write(item.data);
+        out.write('\r');
+        out.write('\n');
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        final ByteArrayOutputStream buf = new ByteArrayOutputStream(64);
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n') {
+                final byte[] bytes = buf.toByteArray();
+                final int len = (bytes.length > 0 && bytes[bytes.length - 1] == '\r') ? bytes.length - 1 : bytes.length;
+                return new String(bytes, 0, len, StandardCharsets.US_ASCII);
+            }
+            buf.write(b);
+        }
+        return null;
+    }
+
+    private static void writeLine(OutputStream out, String line) throws IOException {
+        out.write(line.getBytes(StandardCharsets.US_ASCII));
+        out.write('\r');
+        out.write('\n');
+    }
+
+    private static byte[] readFully(InputStream in, int len) throws IOException {
+        final byte[] data = new byte[len];
+        int read = 0;
+        while (read < len) {
+            final int n = in.read(data, read, len - read);
+            if (n == -1) throw new EOFException();
+            read += n;
+        }
+        return data;
+    }
+
+    /*
+     * ----------------------------------------------------------------
+     * Binary protocol
+     * ----------------------------------------------------------------
+     */
+    private void serveBinary(DataInputStream in, OutputStream out) throws IOException {
+        final byte[] header = new byte[24];
+        boolean quietGets = false;
+        while (true) {
+            in.readFully(header);
+            if (header[0] != REQ_MAGIC) throw new IOException("Invalid request magic " + header[0]);
+            final int opcode = header[1] & 0xff;
+            final int keyLength = ((header[2] & 0xff) << 8) | (header[3] & 0xff);
+            final int extrasLength = header[4] & 0xff;
+            final int bodyLength = readInt(header, 8);
+            final int opaque = readInt(header, 12);
+            final long cas = readLong(header, 16);
+
+            final byte[] extras = new byte[extrasLength];
+            in.readFully(extras);
+            final byte[] keyBytes = new byte[keyLength];
+            in.readFully(keyBytes);
+            final byte[] value = new byte[bodyLength - keyLength - extrasLength];
+            in.readFully(value);
+            delay();
+            final String key = new String(keyBytes, StandardCharsets.US_ASCII);
+
+            switch (opcode) {
+            case GET:
+            case GETQ:
+            case GETK:
+            case GETKQ:
+            case GAT:
+            case GATQ: {
+                final boolean quiet = opcode == GETQ || opcode == GETKQ || opcode == GATQ;
+                final boolean withKey = opcode == GETK || opcode == GETKQ;
+                if (!quiet) gets.incrementAndGet();
+                else quietGets = true;
+                final Item item = (opcode == GAT || opcode == GATQ) ? touch(key, readInt(extras, 0)) : get(key);
+                if (item == null) {
+                    if (!quiet) writeBinary(out, opcode, STATUS_NOT_FOUND, opaque, 0, null, withKey ? keyBytes : null, null);
+                } else {
+                    final byte[] flags = new byte[4];
+                    writeInt(flags, 0, item.flags);
+                    writeBinary(out, opcode, STATUS_OK, opaque, item.cas, flags, withKey ? keyBytes : null, item.data);
+                }
+                break;
+            }
+            case SET:
+            case SETQ:
+            case ADD:
+            case ADDQ:
+            case REPLACE:
+            case REPLACEQ: {
+                final String cmd = (opcode == SET || opcode == SETQ) ? (cas == 0 ? "set" : "cas")
+                        : (opcode == ADD || opcode == ADDQ) ? "add" : "replace";
+                final short status = store(cmd, key, readInt(extras, 0), readInt(extras, 4), value, cas);
+                final boolean quiet = opcode == SETQ || opcode == ADDQ || opcode == REPLACEQ;
+                if (!quiet || status != STATUS_OK) {
+                    final Item stored = status == STATUS_OK ? store.get(key) : null;
+                    writeBinary(out, opcode, status, opaque, stored == null ? 0 : stored.cas, null, null, null);
+                }
+                break;
+            }
+            case APPEND:
+            case APPENDQ:
+            case PREPEND:
+            case PREPENDQ: {
+                final short status = store((opcode == APPEND || opcode == APPENDQ) ? "append" : "prepend", key, 0, 0, value, cas);
+                final boolean quiet = opcode == APPENDQ || opcode == PREPENDQ;
+                if (!quiet || status != STATUS_OK) writeBinary(out, opcode, status, opaque, 0, null, null, null);
+                break;
+            }
+            case DELETE:
+            case DELETEQ: {
+                final boolean removed = store.remove(key) != null;
+                if (opcode == DELETE || !removed) writeBinary(out, opcode, removed ? STATUS_OK : STATUS_NOT_FOUND, opaque, 0, null, null, null);
+                break;
+            }
+            case INCR:
+            case INCRQ:
+            case DECR:
+            case DECRQ: {
+                final long delta = readLong(extras, 0);
+                final long initial = readLong(extras, 8);
+                final int exp = readInt(extras, 16);
+                final Long result;
+                try {
+                    result = mutate(key, (opcode == INCR || opcode == INCRQ) ? delta : -delta, exp == 0xffffffff ? -1 : initial, exp);
+                } catch (NumberFormatException e) {
+                    writeBinary(out, opcode, STATUS_NON_NUMERIC, opaque, 0, null, null, null);
+                    break;
+                }
+                final boolean quiet = opcode == INCRQ || opcode == DECRQ;
+                if (result == null) {
+                    writeBinary(out, opcode, STATUS_NOT_FOUND, opaque, 0, null, null, null);
+                } else if (!quiet) {
+                    final byte[] counter = new byte[8];
+                    writeLong(counter, 0, result.longValue());
+                    writeBinary(out, opcode, STATUS_OK, opaque, 0, null, null, counter);
+                }
+                break;
+            }
+            case TOUCH: {
+                final Item item = touch(key, readInt(extras, 0));
+                writeBinary(out, opcode, item != null ? STATUS_OK : STATUS_NOT_FOUND, opaque, 0, null, null, null);
+                break;
+            }
+            case NOOP:
+                if (quietGets) gets.incrementAndGet();
+                quietGets = false;
+                writeBinary(out, opcode, STATUS_OK, opaque, 0, null, null, null);
+                break;
+            case VERSION:
+                writeBinary(out, opcode, STATUS_OK, opaque, 0, null, null, VERSION_STRING.getBytes(StandardCharsets.US_ASCII));
+                break;
+            case STAT:
+                writeBinary(out, opcode, STATUS_OK, opaque, 0, null, "curr_items".getBytes(StandardCharsets.US_ASCII),
+                        String.valueOf(store.size()).getBytes(StandardCharsets.US_ASCII));
+                writeBinary(out, opcode, STATUS_OK, opaque, 0, null, null, null);
+                break;
+            case FLUSH:
+            case FLUSHQ:
+                store.clear();
+                if (opcode == FLUSH) writeBinary(out, opcode, STATUS_OK, opaque, 0, null, null, null);
+                break;
+            case QUIT:
+            case QUITQ:
+                if (opcode == QUIT) writeBinary(out, opcode, STATUS_OK, opaque, 0, null, null, null);
+                out.flush();
+                return;
+            default:
+                writeBinary(out, opcode, STATUS_UNKNOWN_COMMAND, opaque, 0, null, null, null);
+                break;
+            }
+            if (in.available() == 0) out.flush();
+        }
+    }
+
+    private static void writeBinary(OutputStream out, int opcode, short status, int opaque, long cas, byte[] extras, byte[] key, byte[] value) throws IOException {
+        final int extrasLength = extras == null ? 0 : extras.length;
+        final int keyLength = key == null ? 0 : key.length;
+        final int valueLength = value == null ? 0 : value.length;
+        final byte[] header = new byte[24];
+        header[0] = RES_MAGIC;
+        header[1] = (byte) opcode;
+        header[2] = (byte) (keyLength >> 8);
+        header[3] = (byte) keyLength;
+        header[4] = (byte) extrasLength;
+        header[6] = (byte) (status >> 8);
+        header[7] = (byte) status;
+        writeInt(header, 8, extrasLength + keyLength + valueLength);
+        writeInt(header, 12, opaque);
+        writeLong(header, 16, cas);
+        out.write(header);
+        if (extras != null) out.write(extras);
+        if (key != null) out.write(key);
+        if (value != null) out.write(value);
+    }
+
+    private static int readInt(byte[] b, int off) {
+        return ((b[off] & 0xff) << 24) | ((b[off + 1] & 0xff) << 16) | ((b[off + 2] & 0xff) << 8) | (b[off + 3] & 0xff);
+    }
+
+    private static long readLong(byte[] b, int off) {
+        return ((long) readInt(b, off) << 32) | (readInt(b, off + 4) & 0xffffffffL);
+    }
+
+    private static void writeInt(byte[] b, int off, int v) {
+        b[off] = (byte) (v >>> 24);
+        b[off + 1] = (byte) (v >>> 16);
+        b[off + 2] = (byte) (v >>> 8);
+        b[off + 3] = (byte) v;
+    }
+
+    private static void writeLong(byte[] b, int off, long v) {
+        writeInt(b, off, (int) (v >>> 32));
+        writeInt(b, off + 4, (int) v);
+    }
+
+    /*
+     * ----------------------------------------------------------------
+     * Storage
+     * ----------------------------------------------------------------
+     */
+    private Item get(String key) {
+        final Item item = store.get(key);
+        if (item == null) return null;
+        if (item.isExpired()) {
+            store.remove(key, item);
+            return null;
+        }
+        return item;
+    }
+
+    private Item touch(String key, int exp) {
+        final Item item = get(key);
+        if (item == null) return null;
+        final Item touched = new Item(item.data, item.flags, expiryMillis(exp), casCounter.incrementAndGet());
+        return store.replace(key, item, touched) ? touched : get(key);
+    }
+
+    private short store(String cmd, String key, int flags, int exp, byte[] data, long cas) {
+        final Item existing = get(key);
+        switch (cmd) {
+        case "add":
+            if (existing != null) return STATUS_NOT_STORED;
+            return store.putIfAbsent(key, new Item(data, flags, expiryMillis(exp), casCounter.incrementAndGet())) == null ? STATUS_OK : STATUS_NOT_STORED;
+        case "replace":
+            if (existing == null) return STATUS_NOT_STORED;
+            return store.replace(key, existing, new Item(data, flags, expiryMillis(exp), casCounter.incrementAndGet())) ? STATUS_OK : STATUS_NOT_STORED;
+        case "cas":
+            if (existing == null) return STATUS_NOT_FOUND;
+            if (existing.cas != cas) return STATUS_EXISTS;
+            return store.replace(key, existing, new Item(data, flags, expiryMillis(exp), casCounter.incrementAndGet())) ? STATUS_OK : STATUS_EXISTS;
+        case "append":
+        case "prepend": {
+            if (existing == null) return STATUS_NOT_STORED;
+            final byte[] combined = new byte[existing.data.length + data.length];
+            final boolean append = cmd.equals("append");
+            System.arraycopy(append ? existing.data : data, 0, combined, 0, append ? existing.data.length : data.length);
+            System.arraycopy(append ? data : existing.data, 0, combined, append ? existing.data.length : data.length, append ? data.length : existing.data.length);
+            return store.replace(key, existing, new Item(combined, existing.flags, existing.expiry, casCounter.incrementAndGet())) ? STATUS_OK : STATUS_NOT_STORED;
+        }
+        default:
+            store.put(key, new Item(data, flags, expiryMillis(exp), casCounter.incrementAndGet()));
+            return STATUS_OK;
+        }
+    }
+
+    /**
+     * Returns the new value, or null if the key does not exist and no initial value was supplied (initial < 0).
+     */
+    private Long mutate(String key, long delta, long initial, int exp) {
+        while (true) {
+            final Item existing = get(key);
+            if (existing == null) {
+                if (initial < 0) return null;
+                final Item created = new Item(String.valueOf(initial).getBytes(StandardCharsets.US_ASCII), 0, expiryMillis(exp), casCounter.incrementAndGet());
+                if (store.putIfAbsent(key, created) == null) return Long.valueOf(initial);
+                continue;
+            }
+            final long current = Long.parseLong(new String(existing.data, StandardCharsets.US_ASCII).trim());
+            final long next = Math.max(0, current + delta);
+            final Item updated = new Item(String.valueOf(next).getBytes(StandardCharsets.US_ASCII), existing.flags, existing.expiry, casCounter.incrementAndGet());
+            if (store.replace(key, existing, updated)) return Long.valueOf(next);
+        }
+    }
+
+    private static long expiryMillis(int exp) {
+        if (exp == 0) return 0;
+        if (exp < 0) return 1; // already expired
+        if (exp <= THIRTY_DAYS_IN_SECONDS) return System.currentTimeMillis() + exp * 1000L;
+        return (exp & 0xffffffffL) * 1000L;
+    }
+
+    private static final class Item {
+        private final byte[] data;
+        private final int flags;
+        private final long expiry;
+        private final long cas;
+
+        Item(byte[] data, int flags, long expiry, long cas) {
+            this.data = data;
+            this.flags = flags;
+            this.expiry = expiry;
+            this.cas = cas;
+        }
+
+        boolean isExpired() {
+            return expiry != 0 && expiry <= System.currentTimeMillis();
+        }
+    }
+}